@@ -1,5 +1,6 @@
 package boofcv.android;
 
+import boofcv.core.image.ConvertYuv420;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
@@ -143,7 +144,7 @@ public class ConvertNV21 {
 		else if( output.getNumBands() != 3 )
 			throw new IllegalArgumentException("three bands expected");
 
-		ImplConvertNV21.nv21ToMultiRgb_U8(data,output);
+		ConvertYuv420.yuvToMsRgb_U8(data,width,height,ConvertYuv420.Layout.NV21,output);
 
 		return output;
 	}
@@ -187,7 +188,7 @@ public class ConvertNV21 {
 		else if( output.getNumBands() != 3 )
 			throw new IllegalArgumentException("three bands expected");
 
-		ImplConvertNV21.nv21ToMultiRgb_F32(data,output);
+		ConvertYuv420.yuvToMsRgb_F32(data,width,height,ConvertYuv420.Layout.NV21,output);
 
 		return output;
 	}
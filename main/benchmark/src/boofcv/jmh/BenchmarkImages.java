@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.jmh;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.*;
+
+import java.util.Random;
+
+/**
+ * Functions for creating the input images used by benchmarks.  Images are described using short strings so that
+ * they can be specified as JMH parameters.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkImages {
+
+	/**
+	 * Parses a string of the form "640x480" into width and height
+	 */
+	public static int[] parseSize( String size ) {
+		String[] parts = size.split("x");
+		if( parts.length != 2 )
+			throw new IllegalArgumentException("Expected size of the form WIDTHxHEIGHT, not "+size);
+		return new int[]{Integer.parseInt(parts[0]),Integer.parseInt(parts[1])};
+	}
+
+	/**
+	 * Converts a short string into an image type. U8 = {@link ImageUInt8}, S16 = {@link ImageSInt16},
+	 * F32 = {@link ImageFloat32}
+	 */
+	public static Class<ImageSingleBand> imageType( String type ) {
+		Class c;
+		if( type.equals("U8") )
+			c = ImageUInt8.class;
+		else if( type.equals("S16") )
+			c = ImageSInt16.class;
+		else if( type.equals("F32") )
+			c = ImageFloat32.class;
+		else
+			throw new IllegalArgumentException("Unknown image type "+type);
+		return (Class<ImageSingleBand>)c;
+	}
+
+	/**
+	 * Creates an image of the specified type and size which is filled with uniform random values
+	 * from 0 to 255.
+	 */
+	public static <T extends ImageSingleBand> T createRandom( Class<T> type , String size , long seed ) {
+		int[] shape = parseSize(size);
+		T image = GeneralizedImageOps.createSingleBand(type,shape[0],shape[1]);
+		GImageMiscOps.fillUniform(image,new Random(seed),0,255);
+		return image;
+	}
+}
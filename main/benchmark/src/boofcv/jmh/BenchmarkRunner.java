@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.jmh;
+
+import boofcv.struct.BoofDefaults;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all the benchmarks in this module and saves the results in JSON format to a file which is named using
+ * BoofCV's version, e.g. boofcv_0.16.json.  Command line arguments are interpreted by JMH and override the defaults,
+ * for example "-p size=640x480" or "-rff results.json".
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkRunner {
+	public static void main( String args[] ) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions cmd = new CommandLineOptions(args);
+
+		ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmd);
+
+		if( cmd.getIncludes().isEmpty() )
+			builder.include(BenchmarkRunner.class.getPackage().getName()+".*");
+		if( !cmd.getResultFormat().hasValue() )
+			builder.resultFormat(ResultFormatType.JSON);
+		if( !cmd.getResult().hasValue() )
+			builder.result("boofcv_"+BoofDefaults.version+".json");
+
+		new Runner(builder.build()).run();
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.jmh;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.FastQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Greedy association between two sets of random descriptors.  SURF-like 64 element descriptors are scored using
+ * Euclidean distance and BRIEF-like 512 bit descriptors using Hamming distance.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 2)
+@State(Scope.Benchmark)
+public class JmhAssociate {
+
+	@Param({"500","2000"})
+	public int numFeatures;
+
+	@Param({"true","false"})
+	public boolean backwardsValidation;
+
+	FastQueue<TupleDesc_F64> srcF64 = new FastQueue<TupleDesc_F64>(10,TupleDesc_F64.class,false);
+	FastQueue<TupleDesc_F64> dstF64 = new FastQueue<TupleDesc_F64>(10,TupleDesc_F64.class,false);
+	FastQueue<TupleDesc_B> srcB = new FastQueue<TupleDesc_B>(10,TupleDesc_B.class,false);
+	FastQueue<TupleDesc_B> dstB = new FastQueue<TupleDesc_B>(10,TupleDesc_B.class,false);
+
+	AssociateDescription<TupleDesc_F64> euclidean;
+	AssociateDescription<TupleDesc_B> hamming;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		srcF64.reset(); dstF64.reset(); srcB.reset(); dstB.reset();
+		for( int i = 0; i < numFeatures; i++ ) {
+			srcF64.add(randomF64(rand));
+			dstF64.add(randomF64(rand));
+			srcB.add(randomB(rand));
+			dstB.add(randomB(rand));
+		}
+
+		euclidean = FactoryAssociation.greedy(
+				FactoryAssociation.scoreEuclidean(TupleDesc_F64.class, true), Double.MAX_VALUE, backwardsValidation);
+		hamming = FactoryAssociation.greedy(
+				FactoryAssociation.scoreHamming(TupleDesc_B.class), Double.MAX_VALUE, backwardsValidation);
+	}
+
+	private static TupleDesc_F64 randomF64( Random rand ) {
+		TupleDesc_F64 d = new TupleDesc_F64(64);
+		for( int i = 0; i < d.value.length; i++ )
+			d.value[i] = rand.nextDouble();
+		return d;
+	}
+
+	private static TupleDesc_B randomB( Random rand ) {
+		TupleDesc_B d = new TupleDesc_B(512);
+		for( int i = 0; i < d.data.length; i++ )
+			d.data[i] = rand.nextInt();
+		return d;
+	}
+
+	@Benchmark
+	public void euclideanF64() {
+		euclidean.setSource(srcF64);
+		euclidean.setDestination(dstF64);
+		euclidean.associate();
+	}
+
+	@Benchmark
+	public void hammingB() {
+		hamming.setSource(srcB);
+		hamming.setDestination(dstB);
+		hamming.associate();
+	}
+}
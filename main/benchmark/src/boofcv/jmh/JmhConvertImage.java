@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.jmh;
+
+import boofcv.core.image.GConvertImage;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion between image types
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 2)
+@State(Scope.Benchmark)
+public class JmhConvertImage {
+
+	@Param({"640x480","1920x1080","3840x2160"})
+	public String size;
+
+	@Param({"U8","S16","F32"})
+	public String type;
+
+	ImageSingleBand input;
+	ImageUInt8 outputU8;
+	ImageSInt16 outputS16;
+	ImageFloat32 outputF32;
+	ImageSingleBand averaged;
+	MultiSpectral<ImageSingleBand> color;
+
+	@Setup
+	public void setup() {
+		Class<ImageSingleBand> imageType = BenchmarkImages.imageType(type);
+		input = BenchmarkImages.createRandom(imageType, size, 234);
+
+		outputU8 = new ImageUInt8(input.width, input.height);
+		outputS16 = new ImageSInt16(input.width, input.height);
+		outputF32 = new ImageFloat32(input.width, input.height);
+		averaged = (ImageSingleBand)input._createNew(input.width, input.height);
+
+		color = new MultiSpectral<ImageSingleBand>(imageType, input.width, input.height, 3);
+		for( int i = 0; i < 3; i++ )
+			color.getBand(i).setTo(BenchmarkImages.createRandom(imageType, size, 234 + i));
+	}
+
+	@Benchmark
+	public void toU8() {
+		GConvertImage.convert(input, outputU8);
+	}
+
+	@Benchmark
+	public void toS16() {
+		GConvertImage.convert(input, outputS16);
+	}
+
+	@Benchmark
+	public void toF32() {
+		GConvertImage.convert(input, outputF32);
+	}
+
+	@Benchmark
+	public void average() {
+		GConvertImage.average(color, averaged);
+	}
+}
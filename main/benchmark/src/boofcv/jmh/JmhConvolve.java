@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.jmh;
+
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.filter.convolve.GConvolveImageOps;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.convolve.Kernel2D;
+import boofcv.struct.image.ImageSingleBand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Convolution across the whole image using Gaussian kernels.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 2)
+@State(Scope.Benchmark)
+public class JmhConvolve {
+
+	@Param({"640x480","1920x1080","3840x2160"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	@Param({"2","5"})
+	public int radius;
+
+	ImageSingleBand input;
+	ImageSingleBand blurred;
+	ImageSingleBand storage;
+	ImageSingleBand output;
+
+	Kernel1D kernel1D;
+	Kernel2D kernel2D;
+
+	@Setup
+	public void setup() {
+		Class<ImageSingleBand> imageType = BenchmarkImages.imageType(type);
+		Class<ImageSingleBand> derivType = GImageDerivativeOps.getDerivativeType(imageType);
+
+		input = BenchmarkImages.createRandom(imageType, size, 234);
+		blurred = (ImageSingleBand)input._createNew(input.width, input.height);
+		storage = (ImageSingleBand)input._createNew(input.width, input.height);
+		output = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+
+		// integer images are convolved with 32-bit integer kernels, independent of the image's number of bits
+		boolean isFloat = GeneralizedImageOps.isFloatingPoint(imageType);
+		kernel1D = FactoryKernelGaussian.gaussian(1, isFloat, 32, -1, radius);
+		kernel2D = FactoryKernelGaussian.gaussian(2, isFloat, 32, -1, radius);
+	}
+
+	@Benchmark
+	public void horizontal() {
+		GConvolveImageOps.horizontal(kernel1D, input, output, false);
+	}
+
+	@Benchmark
+	public void vertical() {
+		GConvolveImageOps.vertical(kernel1D, input, output, false);
+	}
+
+	@Benchmark
+	public void convolve2D() {
+		GConvolveImageOps.convolve(kernel2D, input, output);
+	}
+
+	@Benchmark
+	public void horizontalNormalized() {
+		GConvolveImageOps.horizontalNormalized(kernel1D, input, blurred);
+	}
+
+	@Benchmark
+	public void gaussianBlur() {
+		GBlurImageOps.gaussian(input, blurred, -1, radius, storage);
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.jmh;
+
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.struct.image.ImageSingleBand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Image gradient and Hessian computations
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 2)
+@State(Scope.Benchmark)
+public class JmhDerivative {
+
+	@Param({"640x480","1920x1080","3840x2160"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	ImageSingleBand input;
+	ImageSingleBand derivX, derivY;
+	ImageSingleBand derivXX, derivYY, derivXY;
+
+	@Setup
+	public void setup() {
+		Class<ImageSingleBand> imageType = BenchmarkImages.imageType(type);
+		Class<ImageSingleBand> derivType = GImageDerivativeOps.getDerivativeType(imageType);
+
+		input = BenchmarkImages.createRandom(imageType, size, 234);
+		derivX = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+		derivY = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+		derivXX = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+		derivYY = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+		derivXY = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+	}
+
+	@Benchmark
+	public void sobel() {
+		GImageDerivativeOps.sobel(input, derivX, derivY, BorderType.EXTENDED);
+	}
+
+	@Benchmark
+	public void prewitt() {
+		GImageDerivativeOps.prewitt(input, derivX, derivY, BorderType.EXTENDED);
+	}
+
+	@Benchmark
+	public void three() {
+		GImageDerivativeOps.three(input, derivX, derivY, BorderType.EXTENDED);
+	}
+
+	@Benchmark
+	public void hessianSobel() {
+		GImageDerivativeOps.hessianSobel(input, derivXX, derivYY, derivXY, BorderType.EXTENDED);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.jmh;
+
+import boofcv.abst.feature.describe.ConfigBrief;
+import boofcv.abst.feature.describe.ConfigSurfDescribe;
+import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.ImageSingleBand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes a fixed set of randomly located points. Includes the cost of setting the image, e.g. computing the
+ * integral image for SURF.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 2)
+@State(Scope.Benchmark)
+public class JmhDescribe {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	@Param({"500"})
+	public int numPoints;
+
+	ImageSingleBand input;
+	double[] pointX, pointY;
+
+	DescribeRegionPoint<ImageSingleBand,SurfFeature> surfFast;
+	DescribeRegionPoint<ImageSingleBand,SurfFeature> surfStable;
+	DescribeRegionPoint<ImageSingleBand,TupleDesc_B> brief;
+
+	SurfFeature descSurf;
+	TupleDesc_B descBrief;
+
+	@Setup
+	public void setup() {
+		Class<ImageSingleBand> imageType = BenchmarkImages.imageType(type);
+		input = BenchmarkImages.createRandom(imageType, size, 234);
+
+		Random rand = new Random(234);
+		int border = 40;
+		pointX = new double[numPoints];
+		pointY = new double[numPoints];
+		for( int i = 0; i < numPoints; i++ ) {
+			pointX[i] = border + rand.nextDouble()*(input.width - 2*border);
+			pointY[i] = border + rand.nextDouble()*(input.height - 2*border);
+		}
+
+		surfFast = FactoryDescribeRegionPoint.surfFast(new ConfigSurfDescribe.Speed(), imageType);
+		surfStable = FactoryDescribeRegionPoint.surfStable(new ConfigSurfDescribe.Stablility(), imageType);
+		brief = FactoryDescribeRegionPoint.brief(new ConfigBrief(true), imageType);
+
+		descSurf = surfFast.createDescription();
+		descBrief = brief.createDescription();
+	}
+
+	@Benchmark
+	public void surfFast() {
+		describe(surfFast, descSurf);
+	}
+
+	@Benchmark
+	public void surfStable() {
+		describe(surfStable, descSurf);
+	}
+
+	@Benchmark
+	public void brief() {
+		describe(brief, descBrief);
+	}
+
+	private <D extends TupleDesc>
+	void describe( DescribeRegionPoint<ImageSingleBand,D> alg , D desc ) {
+		alg.setImage(input);
+		for( int i = 0; i < numPoints; i++ ) {
+			alg.process(pointX[i], pointY[i], 0.5, 2.0, desc);
+		}
+	}
+}
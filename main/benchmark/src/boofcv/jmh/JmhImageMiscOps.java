@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link ImageMiscOps}.  The "flat" benchmarks use regular images whose rows are stored back to back,
+ * which are filled with a single call to Arrays.fill().  The "rows" benchmarks use sub-images with the same shape
+ * which span all but one column of a larger image, forcing the row by row loops to be used.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 2)
+@State(Scope.Benchmark)
+public class JmhImageMiscOps {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	ImageFloat32 flatF32;
+	ImageUInt8 flatU8;
+
+	ImageFloat32 rowsF32;
+	ImageUInt8 rowsU8;
+
+	@Setup
+	public void setup() {
+		flatF32 = BenchmarkImages.createRandom(ImageFloat32.class, size, 234);
+		flatU8 = BenchmarkImages.createRandom(ImageUInt8.class, size, 234);
+
+		rowsF32 = subimage(flatF32);
+		rowsU8 = subimage(flatU8);
+	}
+
+	/**
+	 * Creates a sub-image with the same shape and contents as the input, but whose rows are not stored back to back
+	 */
+	@SuppressWarnings({"unchecked"})
+	private static <T extends ImageSingleBand> T subimage( T input ) {
+		T larger = (T)input._createNew(input.width + 1, input.height);
+		T sub = (T)larger.subimage(0, 0, input.width, input.height, null);
+		sub.setTo(input);
+		return sub;
+	}
+
+	@Benchmark
+	public void fill_F32_flat() {
+		ImageMiscOps.fill(flatF32, 2.5f);
+	}
+
+	@Benchmark
+	public void fill_F32_rows() {
+		ImageMiscOps.fill(rowsF32, 2.5f);
+	}
+
+	@Benchmark
+	public void fill_U8_flat() {
+		ImageMiscOps.fill(flatU8, 25);
+	}
+
+	@Benchmark
+	public void fill_U8_rows() {
+		ImageMiscOps.fill(rowsU8, 25);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.jmh;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.alg.tracker.klt.KltConfig;
+import boofcv.alg.tracker.klt.PyramidKltFeature;
+import boofcv.alg.tracker.klt.PyramidKltTracker;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.tracker.FactoryTrackerAlg;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pyramidal KLT tracking.  Pyramid construction with its gradient and tracking of a fixed set of features are
+ * measured separately.  The input image is a blurred random image so that features have texture to lock onto.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 2)
+@State(Scope.Benchmark)
+public class JmhKlt {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	@Param({"200"})
+	public int numFeatures;
+
+	@Param({"3"})
+	public int featureRadius;
+
+	int scales[] = new int[]{1,2,4,8};
+
+	ImageSingleBand input;
+	PyramidDiscrete<ImageSingleBand> pyramid;
+	ImageSingleBand[] derivX, derivY;
+	ImageGradient<ImageSingleBand,ImageSingleBand> gradient;
+
+	PyramidKltTracker<ImageSingleBand,ImageSingleBand> tracker;
+	PyramidKltFeature[] features;
+	float[] startX, startY;
+
+	@Setup
+	public void setup() {
+		Class<ImageSingleBand> imageType = BenchmarkImages.imageType(type);
+		Class<ImageSingleBand> derivType = GImageDerivativeOps.getDerivativeType(imageType);
+
+		ImageSingleBand noise = BenchmarkImages.createRandom(imageType, size, 234);
+		input = (ImageSingleBand)noise._createNew(noise.width, noise.height);
+		GBlurImageOps.gaussian(noise, input, -1, 3, null);
+
+		pyramid = FactoryPyramid.discreteGaussian(scales, -1, 2, true, imageType);
+		gradient = FactoryDerivative.sobel(imageType, derivType);
+		tracker = FactoryTrackerAlg.kltPyramid(new KltConfig(), imageType, derivType);
+
+		pyramid.process(input);
+		derivX = PyramidOps.declareOutput(pyramid, derivType);
+		derivY = PyramidOps.declareOutput(pyramid, derivType);
+		PyramidOps.gradient(pyramid, gradient, derivX, derivY);
+		tracker.setImage(pyramid, derivX, derivY);
+
+		// select features away from the border so that every layer can describe them
+		Random rand = new Random(234);
+		int border = featureRadius*scales[scales.length-1]*2;
+		features = new PyramidKltFeature[numFeatures];
+		startX = new float[numFeatures];
+		startY = new float[numFeatures];
+		for( int i = 0; i < numFeatures; i++ ) {
+			features[i] = new PyramidKltFeature(scales.length, featureRadius);
+			startX[i] = border + rand.nextInt(input.width - 2*border);
+			startY[i] = border + rand.nextInt(input.height - 2*border);
+			features[i].setPosition(startX[i], startY[i]);
+			tracker.setDescription(features[i]);
+		}
+	}
+
+	@Benchmark
+	public void pyramidGradient() {
+		pyramid.process(input);
+		PyramidOps.gradient(pyramid, gradient, derivX, derivY);
+	}
+
+	@Benchmark
+	public void track() {
+		for( int i = 0; i < features.length; i++ ) {
+			PyramidKltFeature f = features[i];
+			// start each feature slightly off so that several iterations are required
+			f.setPosition(startX[i] + 1.5f, startY[i] - 1.5f);
+			tracker.track(f);
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.jmh;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-maximum suppression applied to a random intensity image
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 2)
+@State(Scope.Benchmark)
+public class JmhNonMaxSuppression {
+
+	@Param({"640x480","1920x1080","3840x2160"})
+	public String size;
+
+	@Param({"1","2","5"})
+	public int radius;
+
+	@Param({"true","false"})
+	public boolean strict;
+
+	ImageFloat32 intensity;
+	QueueCorner found = new QueueCorner(10);
+
+	NonMaxSuppression nonmax;
+
+	@Setup
+	public void setup() {
+		int[] shape = BenchmarkImages.parseSize(size);
+		intensity = new ImageFloat32(shape[0], shape[1]);
+		// about 1/20 of the image will be above the threshold
+		ImageMiscOps.fillUniform(intensity, new Random(234), 0, 20.0f);
+
+		nonmax = FactoryFeatureExtractor.nonmax(new ConfigExtract(radius, 19.0f, 0, strict));
+	}
+
+	@Benchmark
+	public void process() {
+		found.reset();
+		nonmax.process(intensity, null, null, null, found);
+	}
+}
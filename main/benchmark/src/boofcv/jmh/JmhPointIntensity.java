@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.jmh;
+
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.feature.detect.intensity.HarrisCornerIntensity;
+import boofcv.alg.feature.detect.intensity.ShiTomasiCornerIntensity;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corner intensity images computed from the input image (FAST) or its gradient (Harris and Shi-Tomasi)
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 2)
+@State(Scope.Benchmark)
+public class JmhPointIntensity {
+
+	@Param({"640x480","1920x1080","3840x2160"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	@Param({"2"})
+	public int windowRadius;
+
+	ImageSingleBand input;
+	ImageSingleBand derivX, derivY;
+	ImageFloat32 intensity;
+
+	FastCornerIntensity fast;
+	HarrisCornerIntensity harris;
+	ShiTomasiCornerIntensity shiTomasi;
+	ShiTomasiCornerIntensity shiTomasiWeighted;
+
+	@Setup
+	public void setup() {
+		Class<ImageSingleBand> imageType = BenchmarkImages.imageType(type);
+		Class<ImageSingleBand> derivType = GImageDerivativeOps.getDerivativeType(imageType);
+
+		input = BenchmarkImages.createRandom(imageType, size, 234);
+		derivX = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+		derivY = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+		intensity = new ImageFloat32(input.width, input.height);
+
+		GImageDerivativeOps.sobel(input, derivX, derivY, BorderType.EXTENDED);
+
+		fast = FactoryIntensityPointAlg.fast(20, 9, imageType);
+		harris = FactoryIntensityPointAlg.harris(windowRadius, 0.04f, false, derivType);
+		shiTomasi = FactoryIntensityPointAlg.shiTomasi(windowRadius, false, derivType);
+		shiTomasiWeighted = FactoryIntensityPointAlg.shiTomasi(windowRadius, true, derivType);
+	}
+
+	@Benchmark
+	public void fast9() {
+		fast.process(input, intensity);
+	}
+
+	@Benchmark
+	public void harris() {
+		harris.process(derivX, derivY, intensity);
+	}
+
+	@Benchmark
+	public void shiTomasi() {
+		shiTomasi.process(derivX, derivY, intensity);
+	}
+
+	@Benchmark
+	public void shiTomasiWeighted() {
+		shiTomasiWeighted.process(derivX, derivY, intensity);
+	}
+}
@@ -19,10 +19,12 @@
 package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.filter.blur.BlurImageOps;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
 import boofcv.alg.misc.PixelMath;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.BoofDefaults;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.image.ImageFloat32;
 
@@ -84,6 +86,14 @@ public class SiftImageScaleSpace {
 	// storage for applying blur
 	protected ImageFloat32 storage;
 
+	// Blur kernels.  The first blurs by sigma and is used to seed each octave.  The others
+	// take a scale from the previous one in an octave.  Declared once since they never change
+	private Kernel1D_F32 kernels[];
+	// sigma of each blur kernel
+	private double kernelSigma[];
+	// kernels with a sigma at or above this value are applied using a recursive filter.  Disabled by default
+	private double recursiveSigma = Double.MAX_VALUE;
+
 	/**
 	 * Configures the scale-space.
 	 *
@@ -138,6 +148,22 @@ public class SiftImageScaleSpace {
 				layerSigma[index] = computeScaleSigma(o,s);
 			}
 		}
+
+		kernels = new Kernel1D_F32[ numScales ];
+		kernelSigma = new double[ numScales ];
+		kernels[0] = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigma, -1);
+		kernelSigma[0] = sigma;
+		for( int i = 1; i < numScales; i++ ) {
+			// sigmaA is the amount of blur already applied
+			double sigmaA = sigma*i;
+			// sigmaB is the desired amount of blur at this scale
+			double sigmaB = sigma*(i+1);
+
+			// compute the amount of blur which needs to be applied to get sigmaB
+			double amount = Math.sqrt(sigmaB*sigmaB - sigmaA*sigmaA);
+			kernels[i] = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, amount, -1);
+			kernelSigma[i] = amount;
+		}
 	}
 
 	/**
@@ -151,10 +177,10 @@ public class SiftImageScaleSpace {
 			reshapeToInput(input.width * 2, input.height * 2);
 			upSample(input,scale[1]);
 
-			blurImage(scale[1],scale[0],sigma);
+			blurImage(scale[1],scale[0],0);
 		} else {
 			reshapeToInput(input.width, input.height);
-			blurImage(input, scale[0], sigma);
+			blurImage(input, scale[0], 0);
 		}
 		constructRestOfOctave(0);
 
@@ -172,7 +198,7 @@ public class SiftImageScaleSpace {
 			}
 
 			downSample(scale[indexSeed],scale[indexStart+1]);
-			blurImage(scale[indexStart+1],scale[indexStart],sigma);
+			blurImage(scale[indexStart+1],scale[indexStart],0);
 
 			constructRestOfOctave(o);
 		}
@@ -212,12 +238,16 @@ public class SiftImageScaleSpace {
 	}
 
 	/**
-	 * Applies the specified amount of blur to the input image and stores the results in
-	 * the output image
+	 * Applies the specified blur kernel to the input image and stores the results in
+	 * the output image.  If the kernel's sigma is at least {@link #setRecursiveSigma recursiveSigma} then a recursive
+	 * filter, whose cost does not depend on sigma, is used instead.
 	 */
-	private void blurImage( ImageFloat32 input , ImageFloat32 output , double sigma ) {
-		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigma, -1);
-
+	private void blurImage( ImageFloat32 input , ImageFloat32 output , int which ) {
+		if( kernelSigma[which] >= recursiveSigma ) {
+			BlurImageOps.gaussianRecursive(input, output, kernelSigma[which]);
+			return;
+		}
+		Kernel1D_F32 kernel = kernels[which];
 		storage.reshape(input.width,input.height);
 		ConvolveNormalized.horizontal(kernel, input, storage);
 		ConvolveNormalized.vertical(kernel,storage,output);
@@ -254,16 +284,8 @@ public class SiftImageScaleSpace {
 
 		int indexScales = octave*numScales+1;
 		for( int i = 1; i < numScales; i++ , indexScales++ ) {
-			// sigmaA is the amount of blur already applied
-			double sigmaA = sigma*i;
-			// sigmaB is the desired amount of blur at this scale
-			double sigmaB = sigma*(i+1);
-
-			// compute the amount of blur which needs to be applied to get sigmaB
-			double amount = Math.sqrt(sigmaB*sigmaB - sigmaA*sigmaA);
-
-			// apply the blur
-			blurImage(scale[indexScales-1],scale[indexScales],amount);
+			// apply the blur needed to go from a sigma of sigma*i to sigma*(i+1)
+			blurImage(scale[indexScales-1],scale[indexScales],i);
 		}
 	}
 
@@ -323,6 +345,19 @@ public class SiftImageScaleSpace {
 		return numOctaves;
 	}
 
+	public double getRecursiveSigma() {
+		return recursiveSigma;
+	}
+
+	/**
+	 * Blur kernels with a sigma at or above this value are applied using a recursive Gaussian filter, which is
+	 * faster for large sigmas but only approximates the Gaussian.  The default is {@link Double#MAX_VALUE},
+	 * which disables the recursive filter.  Try {@link BoofDefaults#RECURSIVE_GAUSSIAN_SIGMA}.
+	 */
+	public void setRecursiveSigma(double recursiveSigma) {
+		this.recursiveSigma = recursiveSigma;
+	}
+
 	public int getNumScales() {
 		return numScales;
 	}
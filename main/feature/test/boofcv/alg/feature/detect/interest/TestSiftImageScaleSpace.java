@@ -20,6 +20,7 @@ package boofcv.alg.feature.detect.interest;
 
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageStatistics;
+import boofcv.struct.BoofDefaults;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
@@ -192,4 +193,30 @@ public class TestSiftImageScaleSpace {
 			assertEquals(sum1,sum2,1e-6);
 		}
 	}
+
+	/**
+	 * By default all the blur is computed using convolution.  When enabled, scales whose blur kernel has a
+	 * large sigma are computed using the recursive filter, which should produce a similar image.
+	 */
+	@Test
+	public void recursiveSigma() {
+		SiftImageScaleSpace ss1 = new SiftImageScaleSpace(1.6f, 5, 1, false);
+		SiftImageScaleSpace ss2 = new SiftImageScaleSpace(1.6f, 5, 1, false);
+		ss2.setRecursiveSigma(BoofDefaults.RECURSIVE_GAUSSIAN_SIGMA);
+
+		ImageFloat32 input = new ImageFloat32(80,90);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ss1.constructPyramid(input);
+		ss2.constructPyramid(input);
+
+		// kernels for the first two scales have a sigma of 1.6 and 2.8, so they are still convolved
+		BoofTesting.assertEquals(ss1.scale[0],ss2.scale[0],0);
+		BoofTesting.assertEquals(ss1.scale[1],ss2.scale[1],0);
+
+		// the border is handled differently, so only compare the inner image
+		for( int index = 2; index < 5; index++ ) {
+			BoofTesting.assertEqualsInner(ss1.scale[index],ss2.scale[index],1.0,20,20,false);
+		}
+	}
 }
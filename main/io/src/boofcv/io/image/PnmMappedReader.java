@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.io.image;
+
+import boofcv.struct.image.BufferU8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ * Reads binary PGM (P5) and PPM (P6) images by memory mapping the file instead of loading it into the Java heap.
+ * Horizontal strips of the image can be accessed without copying through {@link #mapStrip}, or copied into
+ * array images using {@link #readStrip}.  Only the part of the file which covers the requested rows is mapped.  The
+ * most recently mapped region, which is at least {@link #getPageSize()} bytes, is kept and reused for strips which
+ * fall inside of it.  This makes it possible to process images which are much larger than the available memory,
+ * and larger than the 2 GB limit of a single mapping, one strip at a time.  Strips can overlap, which is useful
+ * for filters that need rows above and below the rows being processed.
+ * </p>
+ *
+ * <p>
+ * Only images with a maximum value of 255 or less are supported.
+ * </p>
+ *
+ * @see PnmStripWriter
+ *
+ * @author Peter Abeles
+ */
+public class PnmMappedReader implements Closeable {
+
+	/**
+	 * Default minimum number of bytes which are mapped at once
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 64*1024*1024;
+
+	private RandomAccessFile file;
+	private FileChannel channel;
+
+	// shape of the image
+	private int width;
+	private int height;
+	private int numBands;
+	// number of bytes in a row
+	private int rowBytes;
+	// location of the first pixel in the file
+	private long dataOffset;
+
+	// minimum number of bytes mapped at once
+	private int pageSize;
+
+	// currently mapped region of the file
+	private MappedByteBuffer page;
+	private int pageRow0 = -1;
+	private int pageRows;
+
+	/**
+	 * Opens the file and parses the header using the default page size.
+	 *
+	 * @param fileName Location of a PGM or PPM image
+	 */
+	public PnmMappedReader( String fileName ) throws IOException {
+		this(new File(fileName), DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * Opens the file and parses the header.
+	 *
+	 * @param file Location of a PGM or PPM image
+	 * @param pageSize Minimum number of bytes which are mapped at once.  Larger pages reduce the number of mappings.
+	 */
+	public PnmMappedReader( File file , int pageSize ) throws IOException {
+		if( pageSize <= 0 )
+			throw new IllegalArgumentException("pageSize must be positive");
+		this.pageSize = pageSize;
+		this.file = new RandomAccessFile(file,"r");
+		try {
+			readHeader();
+		} catch( IOException e ) {
+			this.file.close();
+			throw e;
+		}
+		this.channel = this.file.getChannel();
+	}
+
+	private void readHeader() throws IOException {
+		String magic = readToken();
+		if( magic.equals("P5") )
+			numBands = 1;
+		else if( magic.equals("P6") )
+			numBands = 3;
+		else
+			throw new IOException("Not a binary PGM or PPM image. magic = "+magic);
+
+		width = Integer.parseInt(readToken());
+		height = Integer.parseInt(readToken());
+		int maxValue = Integer.parseInt(readToken());
+		if( maxValue <= 0 || maxValue > 255 )
+			throw new IOException("Only 8-bit images are supported. max value = "+maxValue);
+
+		// a single white space character separates the header from the pixels
+		rowBytes = width*numBands;
+		dataOffset = file.getFilePointer();
+
+		if( file.length() < dataOffset + (long)rowBytes*height )
+			throw new IOException("File is truncated");
+	}
+
+	/**
+	 * Reads the next white space separated token in the header, skipping over comments.  The white space character
+	 * after the token is consumed.
+	 */
+	private String readToken() throws IOException {
+		StringBuilder s = new StringBuilder();
+		while( true ) {
+			int b = file.read();
+			if( b == -1 )
+				throw new EOFException("Unexpected end of file in header");
+			if( b == '#' && s.length() == 0 ) {
+				while( b != '\n' && b != '\r' && b != -1 )
+					b = file.read();
+			} else if( Character.isWhitespace(b) ) {
+				if( s.length() > 0 )
+					return s.toString();
+			} else {
+				s.append((char)b);
+			}
+		}
+	}
+
+	/**
+	 * Provides direct access to the pixels in rows y0 to y0+rows-1 without copying them.  For PGM images
+	 * the returned image has the same width as the input image.  For PPM images the pixels are interleaved and the
+	 * returned image is 3*width wide, with the red, green, and blue values of each pixel being adjacent.
+	 *
+	 * The returned image is only valid until the next call to mapStrip() or {@link #close()}.
+	 *
+	 * @param y0 First row in the strip
+	 * @param rows Number of rows in the strip
+	 * @param storage (Optional) Image which is modified to reference the strip.  If null a new instance is declared.
+	 * @return Image which references the strip.
+	 */
+	public BufferU8 mapStrip( int y0 , int rows , BufferU8 storage ) throws IOException {
+		if( y0 < 0 || rows < 0 || y0 + rows > height )
+			throw new IllegalArgumentException("Requested rows are outside the image");
+
+		if( storage == null )
+			storage = new BufferU8();
+
+		ByteBuffer region = mapRows(y0,rows);
+		storage.wrap(region,rowBytes,rows,rowBytes);
+
+		return storage;
+	}
+
+	/**
+	 * Copies rows starting at y0 of a PGM image into a gray scale image.
+	 *
+	 * @param y0 First row in the strip
+	 * @param rows Number of rows in the strip.  Only used if storage is null.
+	 * @param storage (Optional) Output image.  The strip has the same number of rows as the storage image.  If null
+	 *                a new image with the specified number of rows is declared.
+	 * @return The strip
+	 */
+	public ImageUInt8 readStrip( int y0 , int rows , ImageUInt8 storage ) throws IOException {
+		if( numBands != 1 )
+			throw new IllegalArgumentException("Image is not a gray scale image");
+		if( storage == null )
+			storage = new ImageUInt8(width,rows);
+		else if( storage.width != width )
+			throw new IllegalArgumentException("Storage must have the same width as the image");
+
+		ByteBuffer region = mapRows(y0,storage.height);
+		for( int y = 0; y < storage.height; y++ ) {
+			region.position(y*rowBytes);
+			region.get(storage.data,storage.startIndex+y*storage.stride,width);
+		}
+
+		return storage;
+	}
+
+	/**
+	 * Copies rows starting at y0 of a PPM image into a 3-band image.
+	 *
+	 * @param y0 First row in the strip
+	 * @param rows Number of rows in the strip.  Only used if storage is null.
+	 * @param storage (Optional) Output image.  The strip has the same number of rows as the storage image.  If null
+	 *                a new image with the specified number of rows is declared.
+	 * @return The strip
+	 */
+	public MultiSpectral<ImageUInt8> readStrip( int y0 , int rows , MultiSpectral<ImageUInt8> storage )
+			throws IOException
+	{
+		if( numBands != 3 )
+			throw new IllegalArgumentException("Image is not a color image");
+		if( storage == null )
+			storage = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,rows,3);
+		else if( storage.width != width || storage.getNumBands() != 3 )
+			throw new IllegalArgumentException("Storage must have the same width as the image and 3 bands");
+
+		ByteBuffer region = mapRows(y0,storage.height);
+
+		ImageUInt8 band0 = storage.getBand(0);
+		ImageUInt8 band1 = storage.getBand(1);
+		ImageUInt8 band2 = storage.getBand(2);
+
+		for( int y = 0; y < storage.height; y++ ) {
+			int indexIn = y*rowBytes;
+			int indexOut = storage.startIndex + y*storage.stride;
+			for( int x = 0; x < width; x++ , indexOut++ ) {
+				band0.data[indexOut] = region.get(indexIn++);
+				band1.data[indexOut] = region.get(indexIn++);
+				band2.data[indexOut] = region.get(indexIn++);
+			}
+		}
+
+		return storage;
+	}
+
+	/**
+	 * Returns a buffer which starts at row y0 and contains at least the requested number of rows.  The currently
+	 * mapped page is used if possible, otherwise a new page is mapped starting at y0.
+	 */
+	private ByteBuffer mapRows( int y0 , int rows ) throws IOException {
+		if( y0 < 0 || rows < 0 || y0 + rows > height )
+			throw new IllegalArgumentException("Requested rows are outside the image");
+		if( (long)rows*rowBytes > Integer.MAX_VALUE )
+			throw new IllegalArgumentException("Strip is too large to be mapped at once");
+
+		if( page == null || y0 < pageRow0 || y0 + rows > pageRow0 + pageRows ) {
+			int pageRowsMin = Math.max(1,pageSize/Math.max(1,rowBytes));
+			int maxRows = (int)Math.min(height-y0,Integer.MAX_VALUE/Math.max(1,rowBytes));
+			pageRows = Math.min(maxRows,Math.max(rows,pageRowsMin));
+			pageRow0 = y0;
+			page = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset + (long)y0*rowBytes, (long)pageRows*rowBytes);
+		}
+
+		ByteBuffer region = page.duplicate();
+		region.position((y0-pageRow0)*rowBytes);
+		region.limit(region.position()+rows*rowBytes);
+		return region.slice();
+	}
+
+	/**
+	 * Releases the file.  The mapped memory is released once it is garbage collected.
+	 */
+	@Override
+	public void close() throws IOException {
+		page = null;
+		pageRow0 = -1;
+		file.close();
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Number of bands in the image.  1 for PGM and 3 for PPM.
+	 */
+	public int getNumBands() {
+		return numBands;
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+}
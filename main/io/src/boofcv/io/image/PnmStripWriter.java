@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.io.image;
+
+import boofcv.struct.image.BufferU8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * Writes binary PGM (P5) and PPM (P6) images one horizontal strip at a time, so that an image never needs to be
+ * fully contained in memory.  The header is written when the file is opened and strips are appended from the
+ * top of the image down.  Closing the writer before all the rows have been written is an error.
+ * </p>
+ *
+ * @see PnmMappedReader
+ *
+ * @author Peter Abeles
+ */
+public class PnmStripWriter implements Closeable {
+
+	private OutputStream out;
+
+	private int width;
+	private int height;
+	private int numBands;
+
+	// number of rows written so far
+	private int rowsWritten;
+
+	// storage for a single row
+	private byte row[];
+
+	/**
+	 * Creates the file and writes the header.
+	 *
+	 * @param fileName Location where the image is to be written to.
+	 * @param width Image width
+	 * @param height Image height
+	 * @param numBands 1 for a PGM image or 3 for a PPM image
+	 */
+	public PnmStripWriter( String fileName , int width , int height , int numBands ) throws IOException {
+		if( numBands != 1 && numBands != 3 )
+			throw new IllegalArgumentException("numBands must be 1 or 3");
+		this.width = width;
+		this.height = height;
+		this.numBands = numBands;
+		this.row = new byte[width*numBands];
+
+		out = new BufferedOutputStream(new FileOutputStream(fileName),1024*1024);
+		String header = String.format("%s\n%d %d\n255\n", numBands == 1 ? "P5" : "P6", width, height);
+		out.write(header.getBytes());
+	}
+
+	/**
+	 * Appends the rows in the gray scale image to the PGM file.
+	 *
+	 * @param strip Rows which are to be written.  Must have the same width as the image.
+	 */
+	public void writeStrip( ImageUInt8 strip ) throws IOException {
+		checkStrip(strip.width,strip.height,1);
+
+		for( int y = 0; y < strip.height; y++ ) {
+			out.write(strip.data,strip.startIndex+y*strip.stride,width);
+		}
+		rowsWritten += strip.height;
+	}
+
+	/**
+	 * Appends the rows in the strip to the file.  For a PGM image the strip has the same width as the image.  For a
+	 * PPM image the pixels are interleaved and the strip is 3*width wide, which is the same layout returned by
+	 * {@link PnmMappedReader#mapStrip}.
+	 *
+	 * @param strip Rows which are to be written.
+	 */
+	public void writeStrip( BufferU8 strip ) throws IOException {
+		if( strip.width != width*numBands )
+			throw new IllegalArgumentException("Strip width must be "+numBands+" times the image width");
+		checkStrip(width,strip.height,numBands);
+
+		ByteBuffer src = strip.data.duplicate();
+		for( int y = 0; y < strip.height; y++ ) {
+			src.position(strip.startIndex+y*strip.stride);
+			src.get(row,0,row.length);
+			out.write(row,0,row.length);
+		}
+		rowsWritten += strip.height;
+	}
+
+	/**
+	 * Appends the rows in the RGB image to the PPM file.
+	 *
+	 * @param strip Rows which are to be written.  Must have the same width as the image.
+	 */
+	public void writeStrip( MultiSpectral<ImageUInt8> strip ) throws IOException {
+		checkStrip(strip.width,strip.height,strip.getNumBands());
+
+		ImageUInt8 band0 = strip.getBand(0);
+		ImageUInt8 band1 = strip.getBand(1);
+		ImageUInt8 band2 = strip.getBand(2);
+
+		for( int y = 0; y < strip.height; y++ ) {
+			int index = strip.startIndex + y*strip.stride;
+			int indexOut = 0;
+			for( int x = 0; x < width; x++ , index++ ) {
+				row[indexOut++] = band0.data[index];
+				row[indexOut++] = band1.data[index];
+				row[indexOut++] = band2.data[index];
+			}
+			out.write(row,0,row.length);
+		}
+		rowsWritten += strip.height;
+	}
+
+	private void checkStrip( int stripWidth , int stripHeight , int stripBands ) {
+		if( stripBands != numBands )
+			throw new IllegalArgumentException("Expected an image with "+numBands+" bands");
+		if( stripWidth != width )
+			throw new IllegalArgumentException("Strip width doesn't match the image width");
+		if( rowsWritten + stripHeight > height )
+			throw new IllegalArgumentException("Too many rows. The image only has "+height+" rows");
+	}
+
+	/**
+	 * Flushes and closes the file.
+	 *
+	 * @throws IOException If the file could not be written or not all of the rows have been written
+	 */
+	@Override
+	public void close() throws IOException {
+		out.close();
+		if( rowsWritten != height )
+			throw new IOException("Only "+rowsWritten+" out of "+height+" rows were written");
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getNumBands() {
+		return numBands;
+	}
+
+	/**
+	 * Number of rows which have been written so far
+	 */
+	public int getRowsWritten() {
+		return rowsWritten;
+	}
+}
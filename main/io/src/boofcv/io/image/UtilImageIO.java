@@ -384,6 +384,36 @@ public class UtilImageIO {
 		return storage;
 	}
 
+	/**
+	 * Opens a binary PGM or PPM image for reading with a memory mapped file.  Instead of loading the whole image
+	 * into memory, horizontal strips can be accessed one at a time.  Intended for images which are too large to
+	 * be loaded all at once.  The reader must be closed when finished.
+	 *
+	 * @param fileName Location of PGM or PPM image
+	 * @return Reader for the image
+	 * @throws IOException
+	 */
+	public static PnmMappedReader mapPNM( String fileName ) throws IOException {
+		return new PnmMappedReader(fileName);
+	}
+
+	/**
+	 * Creates a binary PGM or PPM image which is written one horizontal strip at a time.  The writer must be closed
+	 * after all the rows have been written.
+	 *
+	 * @param fileName Location where the image is to be written to.
+	 * @param width Image width
+	 * @param height Image height
+	 * @param numBands 1 for PGM or 3 for PPM
+	 * @return Writer for the image
+	 * @throws IOException
+	 */
+	public static PnmStripWriter streamPNM( String fileName , int width , int height , int numBands )
+			throws IOException
+	{
+		return new PnmStripWriter(fileName,width,height,numBands);
+	}
+
 	/**
 	 * Saves an image in PPM format.
 	 *
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.io.image;
+
+import boofcv.alg.filter.binary.ThresholdImageBufferOps;
+import boofcv.alg.filter.binary.ThresholdImageOps;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.image.BufferU8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPnmMappedReader {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 30;
+
+	@Test
+	public void mapStrip_gray() throws IOException {
+		ImageUInt8 orig = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(orig,rand,0,256);
+		UtilImageIO.savePGM(orig,"temp.pgm");
+
+		// small page size to force several pages to be mapped
+		PnmMappedReader reader = new PnmMappedReader(new File("temp.pgm"),width*7);
+		assertEquals(width,reader.getWidth());
+		assertEquals(height,reader.getHeight());
+		assertEquals(1,reader.getNumBands());
+
+		BufferU8 strip = null;
+		for( int y0 = 0; y0 < height; y0 += 4 ) {
+			int rows = Math.min(6,height-y0);
+			strip = reader.mapStrip(y0,rows,strip);
+			assertEquals(width,strip.width);
+			assertEquals(rows,strip.height);
+			for( int y = 0; y < rows; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					assertEquals(orig.get(x,y0+y),strip.get(x,y));
+				}
+			}
+		}
+		reader.close();
+
+		assertTrue(new File("temp.pgm").delete());
+	}
+
+	@Test
+	public void readStrip_gray() throws IOException {
+		ImageUInt8 orig = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(orig,rand,0,256);
+		UtilImageIO.savePGM(orig,"temp.pgm");
+
+		PnmMappedReader reader = UtilImageIO.mapPNM("temp.pgm");
+		ImageUInt8 strip = BoofTesting.createSubImageOf(new ImageUInt8(width,5));
+		reader.readStrip(12,5,strip);
+		BoofTesting.assertEquals(orig.subimage(0,12,width,17,null),strip,0);
+		reader.close();
+
+		assertTrue(new File("temp.pgm").delete());
+	}
+
+	@Test
+	public void readStrip_color() throws IOException {
+		MultiSpectral<ImageUInt8> orig = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		GImageMiscOps.fillUniform(orig,rand,0,256);
+		UtilImageIO.savePPM(orig,"temp.ppm",null);
+
+		PnmMappedReader reader = UtilImageIO.mapPNM("temp.ppm");
+		assertEquals(3,reader.getNumBands());
+		MultiSpectral<ImageUInt8> strip = reader.readStrip(3,10,(MultiSpectral<ImageUInt8>)null);
+		for( int y = 0; y < 10; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				for( int k = 0; k < 3; k++ )
+					assertEquals(orig.getBand(k).get(x,y+3),strip.getBand(k).get(x,y));
+			}
+		}
+
+		// interleaved pixels when mapped
+		BufferU8 mapped = reader.mapStrip(3,10,null);
+		assertEquals(width*3,mapped.width);
+		assertEquals(orig.getBand(1).get(4,2+3),mapped.get(4*3+1,2));
+		reader.close();
+
+		assertTrue(new File("temp.ppm").delete());
+	}
+
+	/**
+	 * Threshold a file strip by strip and compare to thresholding the whole image
+	 */
+	@Test
+	public void thresholdByStrips() throws IOException {
+		ImageUInt8 orig = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(orig,rand,0,256);
+		UtilImageIO.savePGM(orig,"temp.pgm");
+
+		PnmMappedReader reader = UtilImageIO.mapPNM("temp.pgm");
+		PnmStripWriter writer = UtilImageIO.streamPNM("temp_out.pgm",width,height,1);
+
+		BufferU8 strip = null;
+		ImageUInt8 binary = new ImageUInt8(width,7);
+		for( int y0 = 0; y0 < height; y0 += 7 ) {
+			int rows = Math.min(7,height-y0);
+			strip = reader.mapStrip(y0,rows,strip);
+			binary.reshape(width,rows);
+			ThresholdImageBufferOps.threshold(strip,binary,100,false);
+			writer.writeStrip(binary);
+		}
+		writer.close();
+		reader.close();
+
+		ImageUInt8 expected = ThresholdImageOps.threshold(orig,null,100,false);
+		ImageUInt8 found = UtilImageIO.loadPGM_U8("temp_out.pgm",null);
+		BoofTesting.assertEquals(expected,found,0);
+
+		assertTrue(new File("temp.pgm").delete());
+		assertTrue(new File("temp_out.pgm").delete());
+	}
+
+	/**
+	 * Header with comments and unusual white space
+	 */
+	@Test
+	public void header() throws IOException {
+		FileOutputStream out = new FileOutputStream("temp.pgm");
+		out.write("P5 # comment\n3\t2\n#another\n255\n".getBytes());
+		out.write(new byte[]{1,2,3,4,5,6});
+		out.close();
+
+		PnmMappedReader reader = UtilImageIO.mapPNM("temp.pgm");
+		assertEquals(3,reader.getWidth());
+		assertEquals(2,reader.getHeight());
+		BufferU8 strip = reader.mapStrip(0,2,null);
+		assertEquals(1,strip.get(0,0));
+		assertEquals(6,strip.get(2,1));
+		reader.close();
+
+		assertTrue(new File("temp.pgm").delete());
+	}
+
+	@Test
+	public void truncated() throws IOException {
+		FileOutputStream out = new FileOutputStream("temp.pgm");
+		out.write("P5\n3 2\n255\n".getBytes());
+		out.write(new byte[]{1,2,3,4,5});
+		out.close();
+
+		try {
+			new PnmMappedReader("temp.pgm");
+			fail("Exception should have been thrown");
+		} catch( IOException ignore ) {}
+
+		assertTrue(new File("temp.pgm").delete());
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.io.image;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.ConvertImageBuffer;
+import boofcv.struct.image.BufferU8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPnmStripWriter {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 30;
+
+	@Test
+	public void gray() throws IOException {
+		ImageUInt8 orig = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(orig,rand,0,256);
+
+		PnmStripWriter writer = new PnmStripWriter("temp.pgm",width,height,1);
+		writer.writeStrip(orig.subimage(0,0,width,10,null));
+		writer.writeStrip(ConvertImageBuffer.convert(orig.subimage(0,10,width,25,null),(BufferU8)null));
+		writer.writeStrip(orig.subimage(0,25,width,height,null));
+		assertEquals(height,writer.getRowsWritten());
+		writer.close();
+
+		ImageUInt8 found = UtilImageIO.loadPGM_U8("temp.pgm",null);
+		BoofTesting.assertEquals(orig,found,0);
+
+		assertTrue(new File("temp.pgm").delete());
+	}
+
+	@Test
+	public void color() throws IOException {
+		MultiSpectral<ImageUInt8> orig = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		GImageMiscOps.fillUniform(orig,rand,0,256);
+
+		PnmStripWriter writer = new PnmStripWriter("temp.ppm",width,height,3);
+		writer.writeStrip(orig.subimage(0,0,width,16,null));
+		writer.writeStrip(orig.subimage(0,16,width,height,null));
+		writer.close();
+
+		MultiSpectral<ImageUInt8> found = UtilImageIO.loadPPM_U8("temp.ppm",null,null);
+		for( int k = 0; k < 3; k++ )
+			BoofTesting.assertEquals(orig.getBand(k),found.getBand(k),0);
+
+		assertTrue(new File("temp.ppm").delete());
+	}
+
+	@Test
+	public void color_buffer() throws IOException {
+		MultiSpectral<ImageUInt8> orig = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		GImageMiscOps.fillUniform(orig,rand,0,256);
+
+		// interleave the bands the same way they are stored in the file
+		BufferU8 interleaved = new BufferU8(width*3,height);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				for( int k = 0; k < 3; k++ )
+					interleaved.set(x*3+k,y,orig.getBand(k).get(x,y));
+			}
+		}
+
+		PnmStripWriter writer = new PnmStripWriter("temp.ppm",width,height,3);
+		writer.writeStrip(interleaved.subimage(0,0,width*3,12,null));
+		writer.writeStrip(interleaved.subimage(0,12,width*3,height,null));
+		writer.close();
+
+		MultiSpectral<ImageUInt8> found = UtilImageIO.loadPPM_U8("temp.ppm",null,null);
+		for( int k = 0; k < 3; k++ )
+			BoofTesting.assertEquals(orig.getBand(k),found.getBand(k),0);
+
+		assertTrue(new File("temp.ppm").delete());
+	}
+
+	/**
+	 * A PPM file needs interleaved strips which are 3*width wide
+	 */
+	@Test
+	public void color_buffer_badWidth() throws IOException {
+		PnmStripWriter writer = new PnmStripWriter("temp.ppm",width,height,3);
+
+		try {
+			writer.writeStrip(new BufferU8(width,5));
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+
+		try {
+			writer.close();
+			fail("Exception should have been thrown");
+		} catch( IOException ignore ) {}
+
+		assertTrue(new File("temp.ppm").delete());
+	}
+
+	@Test
+	public void incomplete() throws IOException {
+		PnmStripWriter writer = new PnmStripWriter("temp.pgm",width,height,1);
+		writer.writeStrip(new ImageUInt8(width,5));
+
+		try {
+			writer.writeStrip(new ImageUInt8(width+1,5));
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+
+		try {
+			writer.close();
+			fail("Exception should have been thrown");
+		} catch( IOException ignore ) {}
+
+		assertTrue(new File("temp.pgm").delete());
+	}
+}
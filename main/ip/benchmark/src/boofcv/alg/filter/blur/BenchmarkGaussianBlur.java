@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+
+import java.util.Random;
+
+/**
+ * Compares Gaussian blur computed using convolution against the recursive approximation.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkGaussianBlur extends SimpleBenchmark {
+	static int imgWidth = 640;
+	static int imgHeight = 480;
+
+	static ImageFloat32 imgFloat32 = new ImageFloat32(imgWidth,imgHeight);
+	static ImageFloat32 out_F32 = new ImageFloat32(imgWidth,imgHeight);
+	static ImageFloat32 storage_F32 = new ImageFloat32(imgWidth,imgHeight);
+	static ImageUInt8 imgInt8 = new ImageUInt8(imgWidth,imgHeight);
+	static ImageUInt8 out_I8 = new ImageUInt8(imgWidth,imgHeight);
+	static ImageUInt8 storage_I8 = new ImageUInt8(imgWidth,imgHeight);
+
+	// iterate through different sized sigmas
+	@Param({"1", "2", "3", "4", "6", "10", "20"}) private double sigma;
+
+	public BenchmarkGaussianBlur() {
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(imgInt8,rand, 0, 100);
+		ImageMiscOps.fillUniform(imgFloat32,rand,0,200);
+	}
+
+	public int timeConvolve_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BlurImageOps.gaussian(imgInt8, out_I8, sigma, -1, storage_I8);
+		return 0;
+	}
+
+	public int timeRecursive_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BlurImageOps.gaussianRecursive(imgInt8, out_I8, sigma, storage_F32);
+		return 0;
+	}
+
+	public int timeConvolve_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BlurImageOps.gaussian(imgFloat32, out_F32, sigma, -1, storage_F32);
+		return 0;
+	}
+
+	public int timeRecursive_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BlurImageOps.gaussianRecursive(imgFloat32, out_F32, sigma);
+		return 0;
+	}
+
+	public static void main( String args[] ) {
+		System.out.println("=========  Profile Image Size "+imgWidth+" x "+imgHeight+" ==========");
+		System.out.println();
+
+		Runner.main(BenchmarkGaussianBlur.class, args);
+	}
+}
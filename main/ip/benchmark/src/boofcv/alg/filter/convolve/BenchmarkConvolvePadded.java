@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.*;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+
+import java.util.Random;
+
+/**
+ * Compares convolution using {@link ImageBorder} against convolution of a padded image.  Small images are used
+ * since that's when the border dominates the computation.  Time to pad the input image is included.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkConvolvePadded extends SimpleBenchmark {
+	static private int imgWidth = 64;
+	static private int imgHeight = 48;
+
+	static private Kernel2D_F32 kernel2D_F32;
+	static private Kernel1D_F32 kernelF32;
+	static private ImageFloat32 imgFloat32;
+	static private ImageFloat32 storage_F32;
+	static private ImageFloat32 out_F32;
+	static private ImageBorder_F32 border_F32 = new ImageBorder1D_F32(BorderIndex1D_Extend.class);
+
+	static private ImagePadded<ImageFloat32> paddedA;
+	static private ImagePadded<ImageFloat32> paddedB;
+
+	// iterate through different sized kernel radius
+	@Param({"1", "2", "3", "5","10"}) private int radius;
+
+	public BenchmarkConvolvePadded() {
+		imgFloat32 = new ImageFloat32(imgWidth,imgHeight);
+		storage_F32 = new ImageFloat32(imgWidth,imgHeight);
+		out_F32 = new ImageFloat32(imgWidth,imgHeight);
+
+		Random rand = new Random(234234);
+		ImageMiscOps.fillUniform(imgFloat32,rand,0,200);
+	}
+
+	@Override protected void setUp() throws Exception {
+		kernelF32 = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,radius);
+		kernel2D_F32 = FactoryKernelGaussian.gaussian(Kernel2D_F32.class,-1,radius);
+
+		paddedA = new ImagePadded<ImageFloat32>(ImageFloat32.class,radius,BorderType.EXTENDED);
+		paddedB = new ImagePadded<ImageFloat32>(ImageFloat32.class,radius,BorderType.EXTENDED);
+	}
+
+	public int timeSeparable_Border_F32(int reps) {
+		for( int i = 0; i < reps; i++ ) {
+			ConvolveWithBorder.horizontal(kernelF32,imgFloat32,storage_F32,border_F32);
+			ConvolveWithBorder.vertical(kernelF32,storage_F32,out_F32,border_F32);
+		}
+		return 0;
+	}
+
+	public int timeSeparable_Padded_F32(int reps) {
+		for( int i = 0; i < reps; i++ ) {
+			paddedA.setTo(imgFloat32);
+			ConvolvePadded.horizontal(kernelF32,paddedA,paddedB);
+			ConvolvePadded.vertical(kernelF32,paddedB,paddedA);
+		}
+		return 0;
+	}
+
+	public int timeConvolve2D_Border_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveWithBorder.convolve(kernel2D_F32,imgFloat32,out_F32,border_F32);
+		return 0;
+	}
+
+	public int timeConvolve2D_Padded_F32(int reps) {
+		for( int i = 0; i < reps; i++ ) {
+			paddedA.setTo(imgFloat32);
+			ConvolvePadded.convolve(kernel2D_F32,paddedA,paddedB);
+		}
+		return 0;
+	}
+
+	public static void main( String args[] ) {
+		System.out.println("=========  Profile Image Size "+ imgWidth +" x "+ imgHeight +" ==========");
+
+		Runner.main(BenchmarkConvolvePadded.class, args);
+	}
+}
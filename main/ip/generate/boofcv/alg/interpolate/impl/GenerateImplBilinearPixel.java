@@ -62,6 +62,7 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 	private void printPreamble() throws FileNotFoundException {
 		setOutputFile(className);
 		out.print("import boofcv.alg.interpolate.BilinearPixel;\n" +
+				"import boofcv.alg.interpolate.InterpolatePixelS;\n" +
 				"import boofcv.struct.image."+image.getSingleBandName()+";\n");
 		out.println();
 		out.println();
@@ -89,6 +90,7 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 
 	private void printTheRest() {
 		String bitWise = image.getBitWise();
+		String cast = floatType.equals("double") ? "(float)" : "";
 
 
 
@@ -108,7 +110,7 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 				"\t\tval += ax * ay * (data[index + 1 + stride] "+bitWise+"); // (x+1,y+1)\n" +
 				"\t\tval += (1.0"+f+" - ax) * ay * (data[index + stride] "+bitWise+"); // (x,y+1)\n" +
 				"\n" +
-				"\t\treturn val;\n" +
+				"\t\treturn "+cast+"val;\n" +
 				"\t}\n" +
 				"\n" +
 				"\t@Override\n" +
@@ -135,7 +137,34 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 				"\t\tval += ax * ay * (data[index + dx + dy] "+bitWise+"); // (x+1,y+1)\n" +
 				"\t\tval += (1.0"+f+" - ax) * ay * (data[index + dy] "+bitWise+"); // (x,y+1)\n" +
 				"\n" +
-				"\t\treturn val;\n" +
+				"\t\treturn "+cast+"val;\n" +
+				"\t}\n\n" +
+				"\t@Override\n" +
+				"\tpublic void get_fast(float[] x, float[] y, float[] values, int length) {\n" +
+				"\t\t"+image.getDataType()+"[] data = orig.data;\n" +
+				"\t\tfinal int startIndex = orig.startIndex;\n" +
+				"\t\tfinal int stride = this.stride;\n" +
+				"\n" +
+				"\t\tfor (int i = 0; i < length; i++) {\n" +
+				"\t\t\tint xt = (int) x[i];\n" +
+				"\t\t\tint yt = (int) y[i];\n" +
+				"\t\t\t"+floatType+" ax = x[i] - xt;\n" +
+				"\t\t\t"+floatType+" ay = y[i] - yt;\n" +
+				"\n" +
+				"\t\t\tint index = startIndex + yt * stride + xt;\n" +
+				"\n" +
+				"\t\t\t"+floatType+" val = (1.0"+f+" - ax) * (1.0"+f+" - ay) * (data[index] "+bitWise+"); // (x,y)\n" +
+				"\t\t\tval += ax * (1.0"+f+" - ay) * (data[index + 1] "+bitWise+"); // (x+1,y)\n" +
+				"\t\t\tval += ax * ay * (data[index + 1 + stride] "+bitWise+"); // (x+1,y+1)\n" +
+				"\t\t\tval += (1.0"+f+" - ax) * ay * (data[index + stride] "+bitWise+"); // (x,y+1)\n" +
+				"\n" +
+				"\t\t\tvalues[i] = "+cast+"val;\n" +
+				"\t\t}\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tpublic InterpolatePixelS<"+image.getSingleBandName()+"> copy() {\n" +
+				"\t\treturn new "+className+"();\n" +
 				"\t}\n\n");
 	}
 
@@ -195,6 +195,18 @@ public class GenerateImplInterpolatePixelConvolution extends CodeGeneratorBase {
 				"\t@Override\n" +
 				"\tpublic int getFastBorderY() {\n" +
 				"\t\treturn kernel.getRadius();\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tpublic void get_fast(float[] x, float[] y, float[] values, int length) {\n" +
+				"\t\tfor( int i = 0; i < length; i++ ) {\n" +
+				"\t\t\tvalues[i] = get_fast(x[i],y[i]);\n" +
+				"\t\t}\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tpublic InterpolatePixelS<"+inputType.getSingleBandName()+"> copy() {\n" +
+				"\t\treturn new ImplInterpolatePixelConvolution_"+inputType.getAbbreviatedType()+"(kernel,min,max);\n" +
 				"\t}\n");
 	}
 
@@ -53,7 +53,8 @@ public class GenerateImplPolynomialPixel extends CodeGeneratorBase {
 
 	private void printPreamble() throws FileNotFoundException {
 		setOutputFile(className);
-		out.print("import boofcv.alg.interpolate.PolynomialPixel;\n" +
+		out.print("import boofcv.alg.interpolate.InterpolatePixelS;\n" +
+				"import boofcv.alg.interpolate.PolynomialPixel;\n" +
 				"import boofcv.struct.image.*;\n");
 		out.println();
 		out.print("/**\n" +
@@ -141,7 +142,11 @@ public class GenerateImplPolynomialPixel extends CodeGeneratorBase {
 				"\t\t\tret = min;\n" +
 				"\t\t}\n" +
 				"\t\treturn ret;\n" +
-				"\t}\n\n");
+				"\t}\n\n" +
+				"\t@Override\n" +
+				"\tpublic InterpolatePixelS<"+image.getSingleBandName()+"> copy() {\n" +
+				"\t\treturn new "+className+"(M,min,max);\n" +
+				"\t}\n");
 	}
 
 	public static void main( String args[] ) throws FileNotFoundException {
@@ -57,8 +57,10 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 		out.print("import boofcv.alg.InputSanityCheck;\n" +
 				"import boofcv.alg.misc.PixelMath;\n" +
 				"import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformBorder;\n" +
+				"import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformConcurrent;\n" +
 				"import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformInner;\n" +
 				"import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformNaive;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
 				"import boofcv.struct.image.ImageFloat32;\n" +
 				"import boofcv.struct.image.ImageSInt32;\n" +
 				"import boofcv.struct.wavelet.WaveletDescription;\n" +
@@ -155,6 +157,11 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t\tif( input.getWidth() <= minSize || input.getHeight() <= minSize ) {\n" +
 				"\t\t\tImplWaveletTransformNaive.horizontal(desc.getBorder(),coef,input,storage);\n" +
 				"\t\t\tImplWaveletTransformNaive.vertical(desc.getBorder(),coef,storage,output);\n" +
+				"\t\t} else if( BoofConcurrency.isConcurrent(output) ) {\n" +
+				"\t\t\tImplWaveletTransformConcurrent.horizontal(coef,input,storage);\n" +
+				"\t\t\tImplWaveletTransformBorder.horizontal(desc.getBorder(),coef,input,storage);\n" +
+				"\t\t\tImplWaveletTransformConcurrent.vertical(coef,storage,output);\n" +
+				"\t\t\tImplWaveletTransformBorder.vertical(desc.getBorder(),coef,storage,output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplWaveletTransformInner.horizontal(coef,input,storage);\n" +
 				"\t\t\tImplWaveletTransformBorder.horizontal(desc.getBorder(),coef,input,storage);\n" +
@@ -249,6 +256,11 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t\tif( output.getWidth() <= minSize || output.getHeight() <= minSize ) {\n" +
 				"\t\t\tImplWaveletTransformNaive.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);\n" +
 				"\t\t\tImplWaveletTransformNaive.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);\n" +
+				"\t\t} else if( BoofConcurrency.isConcurrent(output) ) {\n" +
+				"\t\t\tImplWaveletTransformConcurrent.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);\n" +
+				"\t\t\tImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);\n" +
+				"\t\t\tImplWaveletTransformConcurrent.horizontalInverse(desc.getInverse().getInnerCoefficients(),storage,output);\n" +
+				"\t\t\tImplWaveletTransformBorder.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplWaveletTransformInner.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);\n" +
 				"\t\t\tImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);\n" +
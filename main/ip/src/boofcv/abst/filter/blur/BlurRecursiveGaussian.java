@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter.blur;
+
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Simplified interface for recursive Gaussian blur, see {@link boofcv.alg.filter.blur.impl.ImplRecursiveGaussian}.
+ * The filter's cost does not depend on sigma.  Since the filter has no radius, the radius is derived from sigma
+ * and changing the radius changes sigma.
+ *
+ * @author Peter Abeles
+ */
+public class BlurRecursiveGaussian<T extends ImageSingleBand> implements BlurFilter<T> {
+
+	// the Gaussian's standard deviation
+	double sigma;
+	// stores intermediate results for integer images
+	ImageFloat32 storage;
+
+	// type of image it processes
+	Class<T> inputType;
+
+	public BlurRecursiveGaussian( Class<T> inputType , double sigma ) {
+		if( inputType != ImageUInt8.class && inputType != ImageFloat32.class )
+			throw new IllegalArgumentException("Unsupported image type "+inputType.getSimpleName());
+
+		this.inputType = inputType;
+		this.sigma = sigma;
+	}
+
+	/**
+	 * Radius of a Gaussian kernel with the same sigma.
+	 *
+	 * @return Blur region's radius.
+	 */
+	@Override
+	public int getRadius() {
+		return FactoryKernelGaussian.radiusForSigma(sigma,0);
+	}
+
+	@Override
+	public void setRadius(int radius) {
+		this.sigma = FactoryKernelGaussian.sigmaForRadius(radius,0);
+	}
+
+	public double getSigma() {
+		return sigma;
+	}
+
+	public void setSigma(double sigma) {
+		this.sigma = sigma;
+	}
+
+	@Override
+	public void process(T input, T output) {
+		if( input instanceof ImageUInt8 ) {
+			if( storage == null )
+				storage = new ImageFloat32(input.width,input.height);
+			else
+				storage.reshape(input.width,input.height);
+		}
+		GBlurImageOps.gaussianRecursive(input,output,sigma,storage);
+	}
+
+	@Override
+	public int getHorizontalBorder() {
+		return 0;
+	}
+
+	@Override
+	public int getVerticalBorder() {
+		return 0;
+	}
+
+	@Override
+	public Class<T> getInputType() {
+		return inputType;
+	}
+}
@@ -19,7 +19,8 @@
 package boofcv.abst.filter.blur;
 
 import boofcv.alg.filter.blur.BlurImageOps;
-import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageInterleaved;
 import boofcv.testing.BoofTesting;
 
 import java.lang.reflect.InvocationTargetException;
@@ -31,7 +32,7 @@ import java.lang.reflect.Method;
  *
  * @author Peter Abeles
  */
-public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<T> {
+public class BlurStorageFilter<T extends ImageBase> implements BlurFilter<T> {
 
 	// the blur function inside of BlurImageOps being invoked
 	private Method m;
@@ -40,7 +41,7 @@ public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<
 	// size of the blur region
 	private int radius;
 	// stores intermediate results
-	private ImageSingleBand storage;
+	private ImageBase storage;
 	// if sigma is an input or not
 	private boolean hasSigma;
 
@@ -89,8 +90,11 @@ public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<
 	public void process(T input, T output) {
 		try {
 			if( storage == null ) {
-				storage = (ImageSingleBand)output._createNew(output.width,output.height);
+				storage = (ImageBase)output._createNew(output.width,output.height);
 			} else {
+				// the number of bands in an interleaved image can change between calls
+				if( storage instanceof ImageInterleaved )
+					((ImageInterleaved<?>)storage).setNumBands(((ImageInterleaved<?>)output).numBands);
 				storage.reshape(output.width,output.height);
 			}
 			if( hasSigma )
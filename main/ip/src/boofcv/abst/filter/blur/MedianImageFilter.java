@@ -19,6 +19,7 @@
 package boofcv.abst.filter.blur;
 
 import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.filter.blur.MedianAlgorithm;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.testing.BoofTesting;
 
@@ -41,13 +42,19 @@ public class MedianImageFilter<T extends ImageSingleBand> implements BlurFilter<
 	Class<T> imageType;
 
 	public MedianImageFilter( Class<T> imageType , int radius) {
+		this(imageType,radius,MedianAlgorithm.DEFAULT);
+	}
+
+	public MedianImageFilter( Class<T> imageType , int radius, MedianAlgorithm algorithm ) {
 		this.radius = radius;
 		this.imageType = imageType;
 
-		m = BoofTesting.findMethod(BlurImageOps.class,"median",imageType,imageType,int.class);
+		String name = algorithm == MedianAlgorithm.CONSTANT_TIME ? "medianConstantTime" : "median";
+		m = BoofTesting.findMethod(BlurImageOps.class,name,imageType,imageType,int.class);
 
 		if( m == null )
-			throw new IllegalArgumentException("Can't find matching function for image type "+imageType.getSimpleName());
+			throw new IllegalArgumentException("Can't find matching function for image type "+
+					imageType.getSimpleName()+" and algorithm "+algorithm);
 	}
 
 	/**
@@ -19,13 +19,13 @@
 package boofcv.abst.filter.derivative;
 
 import boofcv.core.image.border.BorderType;
-import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageBase;
 
 
 /**
  * @author Peter Abeles
  */
-public interface ImageDerivative<T extends ImageSingleBand, D extends ImageSingleBand> {
+public interface ImageDerivative<T extends ImageBase, D extends ImageBase> {
 
 	/**
 	 * Overrides the default border behavior.  See {@link boofcv.factory.filter.derivative.FactoryDerivative} for a discussion
@@ -18,7 +18,7 @@
 
 package boofcv.abst.filter.derivative;
 
-import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageBase;
 
 
 /**
@@ -26,7 +26,7 @@ import boofcv.struct.image.ImageSingleBand;
  *
  * @author Peter Abeles
  */
-public interface ImageGradient<Input extends ImageSingleBand, Output extends ImageSingleBand> extends ImageDerivative<Input,Output> {
+public interface ImageGradient<Input extends ImageBase, Output extends ImageBase> extends ImageDerivative<Input,Output> {
 
 	/**
 	 * Computes the image gradient from the input image and stores the results into
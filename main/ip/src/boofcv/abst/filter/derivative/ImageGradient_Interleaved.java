@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter.derivative;
+
+import boofcv.core.image.border.BorderType;
+import boofcv.struct.BoofDefaults;
+import boofcv.struct.image.ImageInterleaved;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+
+/**
+ * Uses reflections to call derivative functions for {@link ImageInterleaved} images, e.g.
+ * {@link boofcv.alg.filter.derivative.GradientSobelInterleaved}.  Each band is differentiated independently.
+ * Only {@link BorderType#EXTENDED} and {@link BorderType#SKIP} borders are supported.
+ *
+ * @author Peter Abeles
+ */
+public class ImageGradient_Interleaved<Input extends ImageInterleaved, Output extends ImageInterleaved>
+		implements ImageGradient<Input, Output>
+{
+	// How the image border should be handled
+	BorderType borderType = BoofDefaults.DERIV_BORDER_TYPE;
+
+	// the image derivative function
+	private Method m;
+
+	public ImageGradient_Interleaved(Method m) {
+		this.m = m;
+		setBorderType(borderType);
+	}
+
+	@Override
+	public void process(Input inputImage , Output derivX, Output derivY) {
+		try {
+			m.invoke(null,inputImage, derivX, derivY, borderType != BorderType.SKIP);
+		} catch (IllegalAccessException e) {
+			throw new RuntimeException(e);
+		} catch (InvocationTargetException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public void setBorderType(BorderType type) {
+		if( type != BorderType.EXTENDED && type != BorderType.SKIP )
+			throw new IllegalArgumentException("Interleaved images only support EXTENDED and SKIP borders");
+		this.borderType = type;
+	}
+
+	@Override
+	public BorderType getBorderType() {
+		return borderType;
+	}
+
+	@Override
+	public int getBorder() {
+		if( borderType != BorderType.SKIP)
+			return 0;
+		else
+			return 1;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public Class<Output> getDerivType() {
+		return (Class<Output>)m.getParameterTypes()[1];
+	}
+}
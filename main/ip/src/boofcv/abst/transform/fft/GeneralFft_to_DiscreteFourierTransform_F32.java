@@ -19,24 +19,25 @@
 package boofcv.abst.transform.fft;
 
 import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.alg.transform.fft.FftPlanCache;
 import boofcv.alg.transform.fft.GeneralPurposeFFT_F32_2D;
+import boofcv.alg.transform.fft.RowColumnFFT_F32_2D;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.InterleavedF32;
 
 /**
- * Wrapper around {@link GeneralPurposeFFT_F32_2D} which implements {@link DiscreteFourierTransform}
+ * Wrapper around {@link GeneralPurposeFFT_F32_2D} which implements {@link DiscreteFourierTransform}.  Plans are
+ * borrowed from {@link FftPlanCache} for each call, so twiddle factors are only computed once for each image
+ * size.  Large images are processed by {@link RowColumnFFT_F32_2D} using multiple threads.
  *
  * @author Peter Abeles
  */
 public class GeneralFft_to_DiscreteFourierTransform_F32
 		implements DiscreteFourierTransform<ImageFloat32,InterleavedF32>
 {
-	// previous size of input image
-	private int prevWidth = -1;
-	private int prevHeight = -1;
-
-	// performs the FFT
-	private GeneralPurposeFFT_F32_2D alg;
+	// performs the FFT using multiple threads
+	private RowColumnFFT_F32_2D rowColumn;
 
 	// storage for temporary results
 	private InterleavedF32 tmp = new InterleavedF32(1,1,2);
@@ -50,13 +51,19 @@ public class GeneralFft_to_DiscreteFourierTransform_F32
 		if( image.isSubimage() || transform.isSubimage() )
 			throw new IllegalArgumentException("Subimages are not supported");
 
-		checkDeclareAlg(image);
+		if( BoofConcurrency.isConcurrent(image) ) {
+			checkDeclareAlg(image);
+			rowColumn.realForwardFull(image.data,transform.data);
+			return;
+		}
 
 		int N = image.width*image.height;
 		System.arraycopy(image.data,0,transform.data,0,N);
 
 		// the transform over writes the input data
+		GeneralPurposeFFT_F32_2D alg = FftPlanCache.borrow_F32(image.height,image.width);
 		alg.realForwardFull(transform.data);
+		FftPlanCache.recycle(alg);
 	}
 
 	@Override
@@ -65,8 +72,6 @@ public class GeneralFft_to_DiscreteFourierTransform_F32
 		if( image.isSubimage() || transform.isSubimage() )
 			throw new IllegalArgumentException("Subimages are not supported");
 
-		checkDeclareAlg(image);
-
 		// If he user lets us, modify the transform
 		InterleavedF32 workImage;
 		if(modifyInputs) {
@@ -77,7 +82,14 @@ public class GeneralFft_to_DiscreteFourierTransform_F32
 			workImage = tmp;
 		}
 
-		alg.complexInverse(workImage.data, true);
+		if( BoofConcurrency.isConcurrent(image) ) {
+			checkDeclareAlg(image);
+			rowColumn.complexInverse(workImage.data, true);
+		} else {
+			GeneralPurposeFFT_F32_2D alg = FftPlanCache.borrow_F32(image.height,image.width);
+			alg.complexInverse(workImage.data, true);
+			FftPlanCache.recycle(alg);
+		}
 
 		// copy the real portion.  imaginary should be zeros
 		int N = image.width*image.height;
@@ -90,10 +102,8 @@ public class GeneralFft_to_DiscreteFourierTransform_F32
 	 * Declare the algorithm if the image size has changed
 	 */
 	private void checkDeclareAlg(ImageFloat32 image) {
-		if( prevWidth != image.width || prevHeight != image.height ) {
-			prevWidth = image.width;
-			prevHeight = image.height;
-			alg = new GeneralPurposeFFT_F32_2D(image.height,image.width);
+		if( rowColumn == null || rowColumn.getColumns() != image.width || rowColumn.getRows() != image.height ) {
+			rowColumn = new RowColumnFFT_F32_2D(image.height,image.width);
 		}
 	}
 
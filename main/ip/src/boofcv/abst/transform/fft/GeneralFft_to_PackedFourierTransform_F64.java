@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.transform.fft;
+
+import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.alg.transform.fft.RowColumnFFT_F64_2D;
+import boofcv.struct.image.ImageFloat64;
+import boofcv.struct.image.InterleavedF64;
+
+/**
+ * Wrapper around {@link RowColumnFFT_F64_2D} which implements {@link DiscreteFourierTransform} using the packed
+ * layout.  The transform of a real image is conjugate symmetric, so only the first width/2+1 columns of the
+ * transform are saved.  The transform must have a width of width/2+1 and the same height as the image.
+ *
+ * @author Peter Abeles
+ */
+public class GeneralFft_to_PackedFourierTransform_F64
+		implements DiscreteFourierTransform<ImageFloat64,InterleavedF64>
+{
+	// performs the FFT
+	private RowColumnFFT_F64_2D alg;
+
+	// storage for temporary results
+	private InterleavedF64 tmp = new InterleavedF64(1,1,2);
+
+	// if true then it can modify the input images
+	private boolean modifyInputs = false;
+
+	@Override
+	public void forward(ImageFloat64 image, InterleavedF64 transform ) {
+		DiscreteFourierTransformOps.checkPackedArguments(image, transform);
+		if( image.isSubimage() || transform.isSubimage() )
+			throw new IllegalArgumentException("Subimages are not supported");
+
+		checkDeclareAlg(image);
+
+		alg.realForwardPacked(image.data,transform.data);
+	}
+
+	@Override
+	public void inverse(InterleavedF64 transform, ImageFloat64 image ) {
+		DiscreteFourierTransformOps.checkPackedArguments(image, transform);
+		if( image.isSubimage() || transform.isSubimage() )
+			throw new IllegalArgumentException("Subimages are not supported");
+
+		checkDeclareAlg(image);
+
+		// If he user lets us, modify the transform
+		InterleavedF64 workImage;
+		if(modifyInputs) {
+			workImage = transform;
+		} else {
+			tmp.reshape(transform.width,transform.height);
+			tmp.setTo(transform);
+			workImage = tmp;
+		}
+
+		alg.realInversePacked(workImage.data, image.data, true);
+	}
+
+	/**
+	 * Declare the algorithm if the image size has changed
+	 */
+	private void checkDeclareAlg(ImageFloat64 image) {
+		if( alg == null || alg.getColumns() != image.width || alg.getRows() != image.height ) {
+			alg = new RowColumnFFT_F64_2D(image.height,image.width);
+		}
+	}
+
+	@Override
+	public void setModifyInputs(boolean modify) {
+		this.modifyInputs = modify;
+	}
+
+	@Override
+	public boolean isModifyInputs() {
+		return modifyInputs;
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.alg;
 
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageInterleaved;
 import boofcv.struct.image.ImageSingleBand;
 
 /**
@@ -53,7 +54,7 @@ public class InputSanityCheck {
 	 * If the output has not been declared a new instance is declared.  If an instance of the output
 	 * is provided its bounds are checked.
 	 */
-	public static <T extends ImageSingleBand> T checkDeclare(T input, T output) {
+	public static <T extends ImageBase> T checkDeclare(T input, T output) {
 		if (output == null) {
 			output = (T) input._createNew(input.width, input.height);
 		} else if (output.width != input.width || output.height != input.height)
@@ -76,6 +77,12 @@ public class InputSanityCheck {
 			throw new IllegalArgumentException("Image heights do not match.");
 	}
 
+	public static void checkSameShape(ImageInterleaved<?> imgA, ImageInterleaved<?> imgB) {
+		checkSameShape((ImageBase)imgA,(ImageBase)imgB);
+		if (imgA.numBands != imgB.numBands)
+			throw new IllegalArgumentException("Number of bands do not match.");
+	}
+
 	public static void checkSameShape(ImageBase<?> imgA, ImageBase<?> imgB, ImageBase<?> imgC) {
 		if (imgA.width != imgB.width || imgA.width != imgC.width)
 			throw new IllegalArgumentException("Image widths do not match.");
@@ -19,6 +19,8 @@
 package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.MultiSpectral;
 
@@ -56,6 +58,9 @@ import boofcv.struct.image.MultiSpectral;
 
 public class ColorHsv {
 
+	// minimum number of rows processed by a thread
+	private static final int MIN_ROWS = 16;
+
 	// 60 degrees in radians
 	public static final double d60_F64 = 60.0*Math.PI/180.0;
 	public static final float d60_F32 = (float)d60_F64;
@@ -248,10 +253,24 @@ public class ColorHsv {
 	 * @param hsv (Input) Image in HSV format
 	 * @param rgb (Output) Image in RGB format
 	 */
-	public static void hsvToRgb_F32( MultiSpectral<ImageFloat32> hsv , MultiSpectral<ImageFloat32> rgb ) {
+	public static void hsvToRgb_F32( final MultiSpectral<ImageFloat32> hsv , final MultiSpectral<ImageFloat32> rgb ) {
 
 		InputSanityCheck.checkSameShape(hsv, rgb);
 
+		if( BoofConcurrency.isConcurrent(hsv) ) {
+			BoofConcurrency.loopBands(0, hsv.height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					hsvToRgb_F32(hsv, rgb, row0, row1);
+				}
+			});
+		} else {
+			hsvToRgb_F32(hsv, rgb, 0, hsv.height);
+		}
+	}
+
+	private static void hsvToRgb_F32( MultiSpectral<ImageFloat32> hsv , MultiSpectral<ImageFloat32> rgb ,
+									int row0 , int row1 ) {
 		ImageFloat32 H = hsv.getBand(0);
 		ImageFloat32 S = hsv.getBand(1);
 		ImageFloat32 V = hsv.getBand(2);
@@ -260,7 +279,7 @@ public class ColorHsv {
 		ImageFloat32 G = rgb.getBand(1);
 		ImageFloat32 B = rgb.getBand(2);
 
-		for( int row = 0; row < hsv.height; row++ ) {
+		for( int row = row0; row < row1; row++ ) {
 			int indexYuv = hsv.startIndex + row*hsv.stride;
 			int indexRgb = rgb.startIndex + row*rgb.stride;
 
@@ -311,10 +330,24 @@ public class ColorHsv {
 	 * @param rgb (Input) Image in RGB format
 	 * @param hsv (Output) Image in HSV format
 	 */
-	public static void rgbToHsv_F32( MultiSpectral<ImageFloat32> rgb , MultiSpectral<ImageFloat32> hsv ) {
+	public static void rgbToHsv_F32( final MultiSpectral<ImageFloat32> rgb , final MultiSpectral<ImageFloat32> hsv ) {
 
 		InputSanityCheck.checkSameShape(rgb, hsv);
 
+		if( BoofConcurrency.isConcurrent(hsv) ) {
+			BoofConcurrency.loopBands(0, hsv.height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					rgbToHsv_F32(rgb, hsv, row0, row1);
+				}
+			});
+		} else {
+			rgbToHsv_F32(rgb, hsv, 0, hsv.height);
+		}
+	}
+
+	private static void rgbToHsv_F32( MultiSpectral<ImageFloat32> rgb , MultiSpectral<ImageFloat32> hsv ,
+									int row0 , int row1 ) {
 		ImageFloat32 R = rgb.getBand(0);
 		ImageFloat32 G = rgb.getBand(1);
 		ImageFloat32 B = rgb.getBand(2);
@@ -323,7 +356,7 @@ public class ColorHsv {
 		ImageFloat32 S = hsv.getBand(1);
 		ImageFloat32 V = hsv.getBand(2);
 
-		for( int row = 0; row < hsv.height; row++ ) {
+		for( int row = row0; row < row1; row++ ) {
 			int indexRgb = rgb.startIndex + row*rgb.stride;
 			int indexHsv = hsv.startIndex + row*hsv.stride;
 
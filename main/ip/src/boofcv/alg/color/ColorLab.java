@@ -19,6 +19,8 @@
 package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.image.MultiSpectral;
@@ -32,6 +34,9 @@ import boofcv.struct.image.MultiSpectral;
  */
 public class ColorLab {
 
+	// minimum number of rows processed by a thread
+	private static final int MIN_ROWS = 16;
+
 	// 64 bit
 	public static final double epsilon = 0.008856;	//actual CIE standard
 	public static final double kappa   = 903.3;		//actual CIE standard
@@ -105,17 +110,29 @@ public class ColorLab {
 
 	/**
 	 * Convert a 3-channel {@link boofcv.struct.image.MultiSpectral} image from RGB into LAB.  RGB is assumed
-	 * to have a range from 0:255
-	 *
-	 * NOTE: Input and output image can be the same instance.
+	 * to have a range from 0:255.  The conversion into XYZ is done using lookup tables.
 	 *
 	 * @param rgb (Input) RGB encoded image
 	 * @param lab (Output) LAB encoded image
 	 */
-	public static void rgbToLab_U8( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageFloat32> lab ) {
+	public static void rgbToLab_U8( final MultiSpectral<ImageUInt8> rgb , final MultiSpectral<ImageFloat32> lab ) {
 
 		InputSanityCheck.checkSameShape(lab, rgb);
 
+		if( BoofConcurrency.isConcurrent(lab) ) {
+			BoofConcurrency.loopBands(0, lab.height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					rgbToLab_U8(rgb, lab, row0, row1);
+				}
+			});
+		} else {
+			rgbToLab_U8(rgb, lab, 0, lab.height);
+		}
+	}
+
+	private static void rgbToLab_U8( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageFloat32> lab ,
+									 int row0 , int row1 ) {
 		ImageUInt8 R = rgb.getBand(0);
 		ImageUInt8 G = rgb.getBand(1);
 		ImageUInt8 B = rgb.getBand(2);
@@ -124,30 +141,22 @@ public class ColorLab {
 		ImageFloat32 A_ = lab.getBand(1);
 		ImageFloat32 B_ = lab.getBand(2);
 
-		for( int row = 0; row < lab.height; row++ ) {
+		for( int row = row0; row < row1; row++ ) {
 			int indexLab = lab.startIndex + row*lab.stride;
 			int indexRgb = rgb.startIndex + row*rgb.stride;
 
 			for( int col = 0; col < lab.width; col++ , indexLab++ , indexRgb++) {
-				float r = (R.data[indexRgb]&0xFF)/255f;
-				float g = (G.data[indexRgb]&0xFF)/255f;
-				float b = (B.data[indexRgb]&0xFF)/255f;
+				int r = R.data[indexRgb]&0xFF;
+				int g = G.data[indexRgb]&0xFF;
+				int b = B.data[indexRgb]&0xFF;
 
-				float X = 0.412453f*r + 0.35758f*g + 0.180423f*b;
-				float Y = 0.212671f*r + 0.71516f*g + 0.072169f*b;
-				float Z = 0.019334f*r + 0.119193f*g + 0.950227f*b;
+				float X = ColorXyz.TABLE_XR[r] + ColorXyz.TABLE_XG[g] + ColorXyz.TABLE_XB[b];
+				float Y = ColorXyz.TABLE_YR[r] + ColorXyz.TABLE_YG[g] + ColorXyz.TABLE_YB[b];
+				float Z = ColorXyz.TABLE_ZR[r] + ColorXyz.TABLE_ZG[g] + ColorXyz.TABLE_ZB[b];
 
-				float xr = X/Xr_f;
-				float yr = Y/Yr_f;
-				float zr = Z/Zr_f;
-
-				float fx, fy, fz;
-				if(xr > epsilon_f)	fx = (float)Math.pow(xr, 1.0f/3.0f);
-				else				fx = (kappa_f*xr + 16.0f)/116.0f;
-				if(yr > epsilon_f)	fy = (float)Math.pow(yr, 1.0/3.0f);
-				else				fy = (kappa_f*yr + 16.0f)/116.0f;
-				if(zr > epsilon_f)	fz = (float)Math.pow(zr, 1.0/3.0f);
-				else				fz = (kappa_f*zr + 16.0f)/116.0f;
+				float fx = f(X/Xr_f);
+				float fy = f(Y/Yr_f);
+				float fz = f(Z/Zr_f);
 
 				L_.data[indexLab] = 116.0f*fy-16.0f;
 				A_.data[indexLab] = 500.0f*(fx-fy);
@@ -165,10 +174,24 @@ public class ColorLab {
 	 * @param rgb (Input) RGB encoded image
 	 * @param lab (Output) LAB encoded image
 	 */
-	public static void rgbToLab_F32( MultiSpectral<ImageFloat32> rgb , MultiSpectral<ImageFloat32> lab ) {
+	public static void rgbToLab_F32( final MultiSpectral<ImageFloat32> rgb , final MultiSpectral<ImageFloat32> lab ) {
 
 		InputSanityCheck.checkSameShape(lab, rgb);
 
+		if( BoofConcurrency.isConcurrent(lab) ) {
+			BoofConcurrency.loopBands(0, lab.height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					rgbToLab_F32(rgb, lab, row0, row1);
+				}
+			});
+		} else {
+			rgbToLab_F32(rgb, lab, 0, lab.height);
+		}
+	}
+
+	private static void rgbToLab_F32( MultiSpectral<ImageFloat32> rgb , MultiSpectral<ImageFloat32> lab ,
+									  int row0 , int row1 ) {
 		ImageFloat32 R = rgb.getBand(0);
 		ImageFloat32 G = rgb.getBand(1);
 		ImageFloat32 B = rgb.getBand(2);
@@ -177,7 +200,7 @@ public class ColorLab {
 		ImageFloat32 A_ = lab.getBand(1);
 		ImageFloat32 B_ = lab.getBand(2);
 
-		for( int row = 0; row < lab.height; row++ ) {
+		for( int row = row0; row < row1; row++ ) {
 			int indexLab = lab.startIndex + row*lab.stride;
 			int indexRgb = rgb.startIndex + row*rgb.stride;
 
@@ -190,17 +213,9 @@ public class ColorLab {
 				float Y = 0.212671f*r + 0.71516f*g + 0.072169f*b;
 				float Z = 0.019334f*r + 0.119193f*g + 0.950227f*b;
 
-				float xr = X/Xr_f;
-				float yr = Y/Yr_f;
-				float zr = Z/Zr_f;
-
-				float fx, fy, fz;
-				if(xr > epsilon_f)	fx = (float)Math.pow(xr, 1.0f/3.0f);
-				else				fx = (kappa_f*xr + 16.0f)/116.0f;
-				if(yr > epsilon_f)	fy = (float)Math.pow(yr, 1.0/3.0f);
-				else				fy = (kappa_f*yr + 16.0f)/116.0f;
-				if(zr > epsilon_f)	fz = (float)Math.pow(zr, 1.0/3.0f);
-				else				fz = (kappa_f*zr + 16.0f)/116.0f;
+				float fx = f(X/Xr_f);
+				float fy = f(Y/Yr_f);
+				float fz = f(Z/Zr_f);
 
 				L_.data[indexLab] = 116.0f*fy-16.0f;
 				A_.data[indexLab] = 500.0f*(fx-fy);
@@ -208,4 +223,14 @@ public class ColorLab {
 			}
 		}
 	}
+
+	/**
+	 * Non-linear function applied to each normalized XYZ value.  Math.cbrt() is much faster than Math.pow().
+	 */
+	private static float f( float t ) {
+		if( t > epsilon_f )
+			return (float)Math.cbrt(t);
+		else
+			return (kappa_f*t + 16.0f)/116.0f;
+	}
 }
@@ -19,6 +19,8 @@
 package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.image.MultiSpectral;
@@ -46,6 +48,19 @@ import boofcv.struct.image.MultiSpectral;
  */
 public class ColorXyz {
 
+	// minimum number of rows processed by a thread
+	private static final int MIN_ROWS = 16;
+
+	// lookup tables for the contribution of each 8-bit RGB value to X, Y, and Z.
+	static final float[] TABLE_XR = createTable(0.412453f);
+	static final float[] TABLE_XG = createTable(0.35758f);
+	static final float[] TABLE_XB = createTable(0.180423f);
+	static final float[] TABLE_YR = createTable(0.212671f);
+	static final float[] TABLE_YG = createTable(0.71516f);
+	static final float[] TABLE_YB = createTable(0.072169f);
+	static final float[] TABLE_ZR = createTable(0.019334f);
+	static final float[] TABLE_ZG = createTable(0.119193f);
+	static final float[] TABLE_ZB = createTable(0.950227f);
 
 	/**
 	 * Conversion from 8-bit RGB into XYZ.
@@ -106,10 +121,24 @@ public class ColorXyz {
 	 * @param rgb (Input) RGB encoded image
 	 * @param xyz (Output) XYZ encoded image
 	 */
-	public static void rgbToXyz_F32( MultiSpectral<ImageFloat32> rgb , MultiSpectral<ImageFloat32> xyz ) {
+	public static void rgbToXyz_F32( final MultiSpectral<ImageFloat32> rgb , final MultiSpectral<ImageFloat32> xyz ) {
 
 		InputSanityCheck.checkSameShape(xyz, rgb);
 
+		if( BoofConcurrency.isConcurrent(xyz) ) {
+			BoofConcurrency.loopBands(0, xyz.height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					rgbToXyz_F32(rgb, xyz, row0, row1);
+				}
+			});
+		} else {
+			rgbToXyz_F32(rgb, xyz, 0, xyz.height);
+		}
+	}
+
+	private static void rgbToXyz_F32( MultiSpectral<ImageFloat32> rgb , MultiSpectral<ImageFloat32> xyz ,
+									  int row0 , int row1 ) {
 		ImageFloat32 R = rgb.getBand(0);
 		ImageFloat32 G = rgb.getBand(1);
 		ImageFloat32 B = rgb.getBand(2);
@@ -118,7 +147,7 @@ public class ColorXyz {
 		ImageFloat32 Y = xyz.getBand(1);
 		ImageFloat32 Z = xyz.getBand(2);
 
-		for( int row = 0; row < xyz.height; row++ ) {
+		for( int row = row0; row < row1; row++ ) {
 			int indexXyz = xyz.startIndex + row*xyz.stride;
 			int indexRgb = rgb.startIndex + row*rgb.stride;
 
@@ -136,17 +165,30 @@ public class ColorXyz {
 
 	/**
 	 * Convert a 3-channel {@link boofcv.struct.image.MultiSpectral} image from RGB into XYZ.  RGB is assumed
-	 * to have a range from 0:255
-	 *
-	 * NOTE: Input and output image can be the same instance.
+	 * to have a range from 0:255.  Each term in the matrix multiplication is looked up in a table instead
+	 * of being computed.
 	 *
 	 * @param rgb (Input) RGB encoded image
 	 * @param xyz (Output) XYZ encoded image
 	 */
-	public static void rgbToXyz_U8( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageFloat32> xyz ) {
+	public static void rgbToXyz_U8( final MultiSpectral<ImageUInt8> rgb , final MultiSpectral<ImageFloat32> xyz ) {
 
 		InputSanityCheck.checkSameShape(xyz, rgb);
 
+		if( BoofConcurrency.isConcurrent(xyz) ) {
+			BoofConcurrency.loopBands(0, xyz.height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					rgbToXyz_U8(rgb, xyz, row0, row1);
+				}
+			});
+		} else {
+			rgbToXyz_U8(rgb, xyz, 0, xyz.height);
+		}
+	}
+
+	private static void rgbToXyz_U8( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageFloat32> xyz ,
+									 int row0 , int row1 ) {
 		ImageUInt8 R = rgb.getBand(0);
 		ImageUInt8 G = rgb.getBand(1);
 		ImageUInt8 B = rgb.getBand(2);
@@ -155,19 +197,30 @@ public class ColorXyz {
 		ImageFloat32 Y = xyz.getBand(1);
 		ImageFloat32 Z = xyz.getBand(2);
 
-		for( int row = 0; row < xyz.height; row++ ) {
+		for( int row = row0; row < row1; row++ ) {
 			int indexXyz = xyz.startIndex + row*xyz.stride;
 			int indexRgb = rgb.startIndex + row*rgb.stride;
 
 			for( int col = 0; col < xyz.width; col++ , indexXyz++ , indexRgb++) {
-				float r = (R.data[indexRgb]&0xFF)/255f;
-				float g = (G.data[indexRgb]&0xFF)/255f;
-				float b = (B.data[indexRgb]&0xFF)/255f;
+				int r = R.data[indexRgb]&0xFF;
+				int g = G.data[indexRgb]&0xFF;
+				int b = B.data[indexRgb]&0xFF;
 
-				X.data[indexXyz] = 0.412453f*r + 0.35758f*g + 0.180423f*b;
-				Y.data[indexXyz] = 0.212671f*r + 0.71516f*g + 0.072169f*b;
-				Z.data[indexXyz] = 0.019334f*r + 0.119193f*g + 0.950227f*b;
+				X.data[indexXyz] = TABLE_XR[r] + TABLE_XG[g] + TABLE_XB[b];
+				Y.data[indexXyz] = TABLE_YR[r] + TABLE_YG[g] + TABLE_YB[b];
+				Z.data[indexXyz] = TABLE_ZR[r] + TABLE_ZG[g] + TABLE_ZB[b];
 			}
 		}
 	}
+
+	/**
+	 * Computes coef*(value/255) for every possible 8-bit value.  Rounding is identical to computing it directly.
+	 */
+	private static float[] createTable( float coef ) {
+		float table[] = new float[256];
+		for( int i = 0; i < table.length; i++ ) {
+			table[i] = coef*(i/255f);
+		}
+		return table;
+	}
 }
@@ -19,6 +19,8 @@
 package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.image.MultiSpectral;
@@ -51,6 +53,9 @@ import boofcv.struct.image.MultiSpectral;
  */
 public class ColorYuv {
 
+	// minimum number of rows processed by a thread
+	private static final int MIN_ROWS = 16;
+
 	/**
 	 * Conversion from RGB to YUV using same equations as Intel IPP.
 	 */
@@ -137,10 +142,24 @@ public class ColorYuv {
 	 * @param rgb (Input) RGB encoded image
 	 * @param yuv (Output) YUV encoded image
 	 */
-	public static void yuvToRgb_F32( MultiSpectral<ImageFloat32> yuv , MultiSpectral<ImageFloat32> rgb ) {
+	public static void yuvToRgb_F32( final MultiSpectral<ImageFloat32> yuv , final MultiSpectral<ImageFloat32> rgb ) {
 
 		InputSanityCheck.checkSameShape(yuv,rgb);
 
+		if( BoofConcurrency.isConcurrent(yuv) ) {
+			BoofConcurrency.loopBands(0, yuv.height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					yuvToRgb_F32(yuv, rgb, row0, row1);
+				}
+			});
+		} else {
+			yuvToRgb_F32(yuv, rgb, 0, yuv.height);
+		}
+	}
+
+	private static void yuvToRgb_F32( MultiSpectral<ImageFloat32> yuv , MultiSpectral<ImageFloat32> rgb ,
+									int row0 , int row1 ) {
 		ImageFloat32 Y = yuv.getBand(0);
 		ImageFloat32 U = yuv.getBand(1);
 		ImageFloat32 V = yuv.getBand(2);
@@ -149,7 +168,7 @@ public class ColorYuv {
 		ImageFloat32 G = rgb.getBand(1);
 		ImageFloat32 B = rgb.getBand(2);
 
-		for( int row = 0; row < yuv.height; row++ ) {
+		for( int row = row0; row < row1; row++ ) {
 			int indexYuv = yuv.startIndex + row*yuv.stride;
 			int indexRgb = rgb.startIndex + row*rgb.stride;
 
@@ -173,10 +192,24 @@ public class ColorYuv {
 	 * @param rgb (Input) RGB encoded image
 	 * @param yuv (Output) YUV encoded image
 	 */
-	public static void rgbToYuv_F32( MultiSpectral<ImageFloat32> rgb , MultiSpectral<ImageFloat32> yuv ) {
+	public static void rgbToYuv_F32( final MultiSpectral<ImageFloat32> rgb , final MultiSpectral<ImageFloat32> yuv ) {
 
 		InputSanityCheck.checkSameShape(yuv,rgb);
 
+		if( BoofConcurrency.isConcurrent(yuv) ) {
+			BoofConcurrency.loopBands(0, yuv.height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					rgbToYuv_F32(rgb, yuv, row0, row1);
+				}
+			});
+		} else {
+			rgbToYuv_F32(rgb, yuv, 0, yuv.height);
+		}
+	}
+
+	private static void rgbToYuv_F32( MultiSpectral<ImageFloat32> rgb , MultiSpectral<ImageFloat32> yuv ,
+									int row0 , int row1 ) {
 		ImageFloat32 R = rgb.getBand(0);
 		ImageFloat32 G = rgb.getBand(1);
 		ImageFloat32 B = rgb.getBand(2);
@@ -185,7 +218,7 @@ public class ColorYuv {
 		ImageFloat32 U = yuv.getBand(1);
 		ImageFloat32 V = yuv.getBand(2);
 
-		for( int row = 0; row < yuv.height; row++ ) {
+		for( int row = row0; row < row1; row++ ) {
 			int indexYuv = yuv.startIndex + row*yuv.stride;
 			int indexRgb = rgb.startIndex + row*rgb.stride;
 
@@ -211,8 +244,24 @@ public class ColorYuv {
 	 * @param yuv YCbCr encoded 8-bit image
 	 * @param rgb RGB encoded 8-bit image
 	 */
-	public static void ycbcrToRgb_U8( MultiSpectral<ImageUInt8> yuv , MultiSpectral<ImageUInt8> rgb ) {
+	public static void ycbcrToRgb_U8( final MultiSpectral<ImageUInt8> yuv , final MultiSpectral<ImageUInt8> rgb ) {
+
+		InputSanityCheck.checkSameShape(yuv,rgb);
 
+		if( BoofConcurrency.isConcurrent(yuv) ) {
+			BoofConcurrency.loopBands(0, yuv.height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					ycbcrToRgb_U8(yuv, rgb, row0, row1);
+				}
+			});
+		} else {
+			ycbcrToRgb_U8(yuv, rgb, 0, yuv.height);
+		}
+	}
+
+	private static void ycbcrToRgb_U8( MultiSpectral<ImageUInt8> yuv , MultiSpectral<ImageUInt8> rgb ,
+									int row0 , int row1 ) {
 		ImageUInt8 Y = yuv.getBand(0);
 		ImageUInt8 U = yuv.getBand(1);
 		ImageUInt8 V = yuv.getBand(2);
@@ -221,7 +270,7 @@ public class ColorYuv {
 		ImageUInt8 G = rgb.getBand(1);
 		ImageUInt8 B = rgb.getBand(2);
 
-		for( int row = 0; row < yuv.height; row++ ) {
+		for( int row = row0; row < row1; row++ ) {
 			int indexYuv = yuv.startIndex + row*yuv.stride;
 			int indexRgb = rgb.startIndex + row*rgb.stride;
 
@@ -250,4 +299,53 @@ public class ColorYuv {
 		}
 	}
 
+	/**
+	 * Conversion from RGB to YCbCr.  See [Jack07].
+	 *
+	 * NOTE: Input and output image can be the same instance.
+	 *
+	 * @param rgb RGB encoded 8-bit image
+	 * @param yuv YCbCr encoded 8-bit image
+	 */
+	public static void rgbToYCbCr_U8( final MultiSpectral<ImageUInt8> rgb , final MultiSpectral<ImageUInt8> yuv ) {
+
+		InputSanityCheck.checkSameShape(yuv,rgb);
+
+		if( BoofConcurrency.isConcurrent(yuv) ) {
+			BoofConcurrency.loopBands(0, yuv.height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					rgbToYCbCr_U8(rgb, yuv, row0, row1);
+				}
+			});
+		} else {
+			rgbToYCbCr_U8(rgb, yuv, 0, yuv.height);
+		}
+	}
+
+	private static void rgbToYCbCr_U8( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageUInt8> yuv ,
+									int row0 , int row1 ) {
+		ImageUInt8 R = rgb.getBand(0);
+		ImageUInt8 G = rgb.getBand(1);
+		ImageUInt8 B = rgb.getBand(2);
+
+		ImageUInt8 Y = yuv.getBand(0);
+		ImageUInt8 U = yuv.getBand(1);
+		ImageUInt8 V = yuv.getBand(2);
+
+		for( int row = row0; row < row1; row++ ) {
+			int indexYuv = yuv.startIndex + row*yuv.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < yuv.width; col++ , indexYuv++ , indexRgb++) {
+				int r = R.data[indexRgb]&0xFF;
+				int g = G.data[indexRgb]&0xFF;
+				int b = B.data[indexRgb]&0xFF;
+
+				Y.data[indexYuv] = (byte)((( 187*r + 629*g + 63*b ) >> 10) + 16);
+				U.data[indexYuv] = (byte)(((-103*r - 346*g + 450*b) >> 10) + 128);
+				V.data[indexYuv] = (byte)((( 450*r - 409*g - 41*b ) >> 10) + 128);
+			}
+		}
+	}
 }
@@ -19,7 +19,6 @@
 package boofcv.alg.denoise.wavelet;
 
 import boofcv.alg.denoise.ShrinkThresholdRule;
-import boofcv.alg.misc.ImageStatistics;
 import boofcv.struct.image.ImageFloat32;
 
 
@@ -46,6 +45,9 @@ public class DenoiseBayesShrink_F32 extends SubbandShrink<ImageFloat32> {
 
 	float noiseVariance;
 
+	// storage used when estimating the noise.  Recycled between calls
+	float storage[] = new float[1];
+
 	public DenoiseBayesShrink_F32( ShrinkThresholdRule<ImageFloat32> rule ) {
 		super(rule);
 	}
@@ -53,22 +55,21 @@ public class DenoiseBayesShrink_F32 extends SubbandShrink<ImageFloat32> {
 	@Override
 	protected Number computeThreshold( ImageFloat32 subband )
 	{
-		// the maximum magnitude coefficient is used to normalize all the other coefficients
-		// and reduce numerical round-off error
-		float max = ImageStatistics.maxAbs(subband);
-		float varianceY = 0;
+		// sum the squares in a single pass.  A double accumulator avoids the round-off error which
+		// would otherwise require the coefficients to be normalized by their maximum magnitude first
+		double sumSq = 0;
 		for( int y = 0; y < subband.height; y++ ) {
 			int index = subband.startIndex + subband.stride*y;
 			int end = index + subband.width;
 
 			for( ;index < end; index++ ) {
-				float v = subband.data[index]/max;
-				varianceY += v*v;
+				float v = subband.data[index];
+				sumSq += v*v;
 			}
 		}
-		// undo normalization.
+
 		// these coefficients are modeled as being zero mean, so the variance can be computed this way
-		varianceY = (varianceY/(subband.width*subband.height))*max*max;
+		float varianceY = (float)(sumSq/(subband.width*subband.height));
 
 		// signal standard deviation
 		float inner = varianceY-noiseVariance;
@@ -86,7 +87,10 @@ public class DenoiseBayesShrink_F32 extends SubbandShrink<ImageFloat32> {
 		int h = transform.height;
 
 		// compute the noise variance using the HH_1 subband
-		noiseVariance = UtilDenoiseWavelet.estimateNoiseStdDev(transform.subimage(w/2,h/2,w,h, null),null);
+		ImageFloat32 subbandHH = transform.subimage(w/2,h/2,w,h, null);
+		if( storage.length < subbandHH.width*subbandHH.height )
+			storage = new float[ subbandHH.width*subbandHH.height ];
+		noiseVariance = UtilDenoiseWavelet.estimateNoiseStdDev(subbandHH,storage);
 		noiseVariance *= noiseVariance;
 
 //		System.out.println("Noise Variance: "+noiseVariance);
@@ -45,6 +45,10 @@ public class DenoiseSureShrink_F32 extends SubbandShrink<ImageFloat32> {
 
 	float noiseSigma;
 
+	// storage for the sorted absolute value of each coefficient in a subband.  Sized for the largest
+	// subband, HH_1, and recycled between subbands and calls
+	float storage[] = new float[1];
+
 	public DenoiseSureShrink_F32() {
 		super(new ShrinkThresholdSoft_F32());
 	}
@@ -52,19 +56,20 @@ public class DenoiseSureShrink_F32 extends SubbandShrink<ImageFloat32> {
 	@Override
 	protected Number computeThreshold( ImageFloat32 subband  )
 	{
-		float coef[] = new float[ subband.width*subband.height ];
-		UtilDenoiseWavelet.subbandAbsVal(subband,coef);
-		Arrays.sort(coef);
+		final int length = subband.width*subband.height;
+		storage = UtilDenoiseWavelet.subbandAbsVal(subband,storage);
+		float coef[] = storage;
+		Arrays.sort(coef,0,length);
 
 		float maxThreshold =(float) UtilDenoiseWavelet.universalThreshold(subband,1.0);
 
-		float N = coef.length;
+		float N = length;
 
 		float threshold = maxThreshold;
 		float bestRisk = Float.MAX_VALUE;
 		float sumW = 0;
 		float right = N-2.0f;
-		for( int i = 0; i < coef.length; i++ , right -= 2.0f) {
+		for( int i = 0; i < length; i++ , right -= 2.0f) {
 			float c = coef[i]/noiseSigma;
 			if( c > maxThreshold ) {
 				break;
@@ -89,7 +94,10 @@ public class DenoiseSureShrink_F32 extends SubbandShrink<ImageFloat32> {
 		int h = transform.height;
 
 		// compute the noise variance using the HH_1 subband
-		noiseSigma = UtilDenoiseWavelet.estimateNoiseStdDev(transform.subimage(w/2,h/2,w,h, null),null);
+		ImageFloat32 subbandHH = transform.subimage(w/2,h/2,w,h, null);
+		if( storage.length < subbandHH.width*subbandHH.height )
+			storage = new float[ subbandHH.width*subbandHH.height ];
+		noiseSigma = UtilDenoiseWavelet.estimateNoiseStdDev(subbandHH,storage);
 
 //		System.out.println("Noise sigma: "+noiseSigma);
 
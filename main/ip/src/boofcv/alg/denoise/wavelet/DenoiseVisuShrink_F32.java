@@ -41,6 +41,10 @@ public class DenoiseVisuShrink_F32 implements DenoiseWavelet<ImageFloat32> {
 
 	ShrinkThresholdRule<ImageFloat32> rule = new ShrinkThresholdSoft_F32();
 
+	// storage used when estimating the noise and sub-images of the transform.  Recycled between calls
+	float storage[] = new float[1];
+	ImageFloat32 subband = new ImageFloat32();
+
 	/**
 	 * Applies VisuShrink denoising to the provided multilevel wavelet transform using
 	 * the provided threshold.
@@ -59,12 +63,14 @@ public class DenoiseVisuShrink_F32 implements DenoiseWavelet<ImageFloat32> {
 		final int innerWidth = w/scale;
 		final int innerHeight = h/scale;
 
-		ImageFloat32 subbandHH = transform.subimage(w/2,h/2,w,h, null);
-		float sigma = UtilDenoiseWavelet.estimateNoiseStdDev(subbandHH,null);
+		ImageFloat32 subbandHH = transform.subimage(w/2,h/2,w,h, subband);
+		if( storage.length < subbandHH.width*subbandHH.height )
+			storage = new float[ subbandHH.width*subbandHH.height ];
+		float sigma = UtilDenoiseWavelet.estimateNoiseStdDev(subbandHH,storage);
 		float threshold = (float) UtilDenoiseWavelet.universalThreshold(subbandHH,sigma);
 
 		// apply same threshold to all wavelet coefficients
-		rule.process(transform.subimage(innerWidth,0,w,h, null),threshold);
-		rule.process(transform.subimage(0,innerHeight,innerWidth,h, null),threshold);
+		rule.process(transform.subimage(innerWidth,0,w,h, subband),threshold);
+		rule.process(transform.subimage(0,innerHeight,innerWidth,h, subband),threshold);
 	}
 }
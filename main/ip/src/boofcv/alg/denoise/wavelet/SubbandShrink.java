@@ -34,6 +34,10 @@ public abstract class SubbandShrink<I extends ImageSingleBand<I>> implements Den
 	// specifies how the threshold is applied to each pixel in the image
 	protected ShrinkThresholdRule<I> rule;
 
+	// sub-images which are recycled between subbands and levels to avoid declaring new images
+	private I level;
+	private I subband;
+
 	protected SubbandShrink(ShrinkThresholdRule<I> rule) {
 		this.rule = rule;
 	}
@@ -55,37 +59,39 @@ public abstract class SubbandShrink<I extends ImageSingleBand<I>> implements Den
 	 */
 	protected void performShrinkage( I transform , int numLevels ) {
 
+		level = transform.subimage(0,0,transform.width,transform.height,level);
+
 		// step through each layer in the pyramid.
 		for( int i = 0; i < numLevels; i++ ) {
-			int w = transform.width;
-			int h = transform.height;
+			int w = level.width;
+			int h = level.height;
 			int ww = w/2;
 			int hh = h/2;
 			Number threshold;
-			I subband;
 
 			// HL
-			subband = transform.subimage(ww,0,w,hh, null);
+			subband = level.subimage(ww,0,w,hh, subband);
 			threshold = computeThreshold(subband);
 			rule.process(subband,threshold);
 
 //			System.out.print("HL = "+threshold);
 
 			// LH
-			subband = transform.subimage(0,hh,ww,h, null);
+			subband = level.subimage(0,hh,ww,h, subband);
 			threshold = computeThreshold(subband);
 			rule.process(subband,threshold);
 
 //			System.out.print("  LH = "+threshold);
 
 			// HH
-			subband = transform.subimage(ww,hh,w,h, null);
+			subband = level.subimage(ww,hh,w,h, subband);
 			threshold = computeThreshold(subband);
 			rule.process(subband,threshold);
 
 //			System.out.println("  HH = "+threshold);
 
-			transform = transform.subimage(0,0,ww,hh, null);
+			// the scaling image is in the upper left corner and contains the next level
+			level = level.subimage(0,0,ww,hh, level);
 		}
 
 	}
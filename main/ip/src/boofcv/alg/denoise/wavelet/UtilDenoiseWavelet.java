@@ -47,7 +47,8 @@ public class UtilDenoiseWavelet {
 	 * </p>
 	 *
 	 * @param subband The subband the image is being computed from. Not modified.
-	 * @param storage Used to temporarily store the absolute value of each element in the subband.
+	 * @param storage Used to temporarily store the absolute value of each element in the subband.  Can be
+	 *                larger than the subband.  If null or too small a new array is declared.
 	 * @return estimated noise variance.
 	 */
 	public static float estimateNoiseStdDev( ImageFloat32 subband , float storage[] ) {
@@ -63,7 +64,7 @@ public class UtilDenoiseWavelet {
 	 * 'coef'
 	 */
 	public static float[] subbandAbsVal(ImageFloat32 subband, float[] coef ) {
-		if( coef == null ) {
+		if( coef == null || coef.length < subband.width*subband.height ) {
 			coef = new float[subband.width*subband.height];
 		}
 
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.distort;
+
+import boofcv.struct.distort.PixelTransform_F32;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * <p>
+ * Precomputed location of each destination pixel inside the source image.  Coordinates are stored in flat
+ * primitive arrays, one entry per pixel, which requires 8 bytes per pixel instead of an object per pixel.
+ * Coordinates are either stored as floats or as 16.16 fixed point integers.  With fixed point coordinates
+ * the lower 16-bits are the fractional part and directly provide the weights for bilinear interpolation.
+ * </p>
+ *
+ * <p>
+ * The map is computed lazily in square tiles the first time a region is requested.  Once computed the map
+ * does not change, which allows a single instance to be shared between threads and {@link ImageDistortCache}
+ * instances for the same camera model.  The transform passed in is owned by the map and must not be modified
+ * or used elsewhere after the map has been created.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DistortionMap {
+
+	// default width and height of a tile
+	public static final int DEFAULT_TILE = 64;
+
+	// number of fractional bits in fixed point coordinates
+	public static final int FIXED_SHIFT = 16;
+	public static final int FIXED_ONE = 1 << FIXED_SHIFT;
+	// largest magnitude coordinate which can be saved in fixed point
+	private static final double FIXED_MAX = Short.MAX_VALUE;
+
+	// size of the destination image
+	private final int width, height;
+	// size of a tile and number of tiles along each axis
+	private final int tileSize, tilesX, tilesY;
+
+	// transform from destination to source pixels.  Only accessed while synchronized
+	private final PixelTransform_F32 dstToSrc;
+
+	// source image coordinate for each pixel, index = y*width + x
+	private final float mapX[], mapY[];
+	private final int fixedX[], fixedY[];
+
+	// indicates if a tile has been computed.  Also ensures the map is visible to other threads
+	private final AtomicIntegerArray computed;
+
+	/**
+	 * Creates a map which stores coordinates as floats and uses the default tile size
+	 *
+	 * @param width Width of destination image
+	 * @param height Height of destination image
+	 * @param dstToSrc Transform from destination to source pixels.  Now owned by this map.
+	 */
+	public DistortionMap(int width, int height, PixelTransform_F32 dstToSrc) {
+		this(width, height, dstToSrc, false, DEFAULT_TILE);
+	}
+
+	/**
+	 * Creates the map.  No coordinates are computed until requested.
+	 *
+	 * @param width Width of destination image
+	 * @param height Height of destination image
+	 * @param dstToSrc Transform from destination to source pixels.  Now owned by this map.
+	 * @param fixedPoint If true coordinates are saved as 16.16 fixed point, otherwise as floats
+	 * @param tileSize Width and height of the tiles which are computed at once.
+	 */
+	public DistortionMap(int width, int height, PixelTransform_F32 dstToSrc, boolean fixedPoint, int tileSize) {
+		if( tileSize <= 0 )
+			throw new IllegalArgumentException("Tile size must be positive");
+		this.width = width;
+		this.height = height;
+		this.dstToSrc = dstToSrc;
+		this.tileSize = tileSize;
+		this.tilesX = (width + tileSize - 1)/tileSize;
+		this.tilesY = (height + tileSize - 1)/tileSize;
+
+		if( fixedPoint ) {
+			mapX = mapY = null;
+			fixedX = new int[ width*height ];
+			fixedY = new int[ width*height ];
+		} else {
+			mapX = new float[ width*height ];
+			mapY = new float[ width*height ];
+			fixedX = fixedY = null;
+		}
+
+		computed = new AtomicIntegerArray(tilesX*tilesY);
+	}
+
+	/**
+	 * Ensures that the map is computed inside the specified region
+	 *
+	 * @param x0 Lower extent, inclusive.
+	 * @param y0 Lower extent, inclusive.
+	 * @param x1 Upper extent, exclusive.
+	 * @param y1 Upper extent, exclusive.
+	 */
+	public void computeRegion( int x0 , int y0 , int x1 , int y1 ) {
+		if( x1 <= x0 || y1 <= y0 )
+			return;
+		int tx0 = x0/tileSize, tx1 = (x1-1)/tileSize;
+		int ty0 = y0/tileSize, ty1 = (y1-1)/tileSize;
+
+		for( int ty = ty0; ty <= ty1; ty++ ) {
+			for( int tx = tx0; tx <= tx1; tx++ ) {
+				int tile = ty*tilesX + tx;
+				if( computed.get(tile) == 0 )
+					computeTile(tile);
+			}
+		}
+	}
+
+	/**
+	 * Computes the entire map
+	 */
+	public void computeAll() {
+		computeRegion(0, 0, width, height);
+	}
+
+	private synchronized void computeTile( int tile ) {
+		// another thread might have computed it while waiting
+		if( computed.get(tile) != 0 )
+			return;
+
+		int x0 = (tile % tilesX)*tileSize;
+		int y0 = (tile / tilesX)*tileSize;
+		int x1 = Math.min(width, x0 + tileSize);
+		int y1 = Math.min(height, y0 + tileSize);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = y*width + x0;
+			for( int x = x0; x < x1; x++ , index++ ) {
+				dstToSrc.compute(x,y);
+				if( mapX != null ) {
+					mapX[index] = dstToSrc.distX;
+					mapY[index] = dstToSrc.distY;
+				} else {
+					fixedX[index] = toFixed(dstToSrc.distX);
+					fixedY[index] = toFixed(dstToSrc.distY);
+				}
+			}
+		}
+
+		computed.set(tile, 1);
+	}
+
+	/**
+	 * Converts a coordinate into 16.16 fixed point.  Values which can't be represented are saturated
+	 */
+	public static int toFixed( float value ) {
+		if( value >= FIXED_MAX )
+			return (int)(FIXED_MAX*FIXED_ONE);
+		else if( value <= -FIXED_MAX || Float.isNaN(value) )
+			return (int)(-FIXED_MAX*FIXED_ONE);
+		return (int)Math.round(value*(double)FIXED_ONE);
+	}
+
+	/**
+	 * Returns true if the specified tile has been computed
+	 */
+	public boolean isComputed( int tileX , int tileY ) {
+		return computed.get(tileY*tilesX + tileX) != 0;
+	}
+
+	/**
+	 * Source image x-coordinate at the specified index.  The region containing the index must have been computed.
+	 *
+	 * @param index y*width + x
+	 */
+	public float getX( int index ) {
+		if( mapX != null )
+			return mapX[index];
+		else
+			return fixedX[index]/(float)FIXED_ONE;
+	}
+
+	/**
+	 * Source image y-coordinate at the specified index.  The region containing the index must have been computed.
+	 *
+	 * @param index y*width + x
+	 */
+	public float getY( int index ) {
+		if( mapY != null )
+			return mapY[index];
+		else
+			return fixedY[index]/(float)FIXED_ONE;
+	}
+
+	/**
+	 * Source image x-coordinate in 16.16 fixed point.  Only valid if {@link #isFixedPoint()} is true.
+	 */
+	public int getFixedX( int index ) {
+		return fixedX[index];
+	}
+
+	/**
+	 * Source image y-coordinate in 16.16 fixed point.  Only valid if {@link #isFixedPoint()} is true.
+	 */
+	public int getFixedY( int index ) {
+		return fixedY[index];
+	}
+
+	public boolean isFixedPoint() {
+		return fixedX != null;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getTileSize() {
+		return tileSize;
+	}
+}
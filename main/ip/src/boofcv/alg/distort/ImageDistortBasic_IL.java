@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.struct.distort.PixelTransform_F32;
+import boofcv.struct.image.ImageInterleaved;
+
+/**
+ * Implementation of {@link ImageDistort} for {@link ImageInterleaved} images.  Computes the distortion from
+ * the dst to src image for each pixel and then interpolates all the bands of the src image at once, instead of
+ * distorting each band independently.  The distortion only needs to be computed once per pixel.
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImageDistortBasic_IL<T extends ImageInterleaved> implements ImageDistort<T> {
+
+	// distortion model from the dst to src image
+	protected PixelTransform_F32 dstToSrc;
+	// sub pixel interpolation
+	protected InterpolatePixelMB<T> interp;
+	// value of each band for pixels outside the src image.  If null they are not modified
+	protected float[] outsideValue;
+
+	// crop boundary
+	protected int x0,y0,x1,y1;
+
+	protected T srcImg;
+	protected T dstImg;
+
+	// storage for the interpolated value of each band
+	protected float[] values = new float[0];
+
+	/**
+	 * Specifies configuration parameters
+	 *
+	 * @param interp Interpolation algorithm
+	 * @param outsideValue Value of each band assigned to pixels which are outside the src image.  If null those
+	 *                     pixels are not modified.
+	 */
+	public ImageDistortBasic_IL(InterpolatePixelMB<T> interp, float[] outsideValue) {
+		this.interp = interp;
+		this.outsideValue = outsideValue;
+	}
+
+	@Override
+	public void setModel(PixelTransform_F32 dstToSrc) {
+		this.dstToSrc = dstToSrc;
+	}
+
+	@Override
+	public void apply(T srcImg, T dstImg) {
+		apply(srcImg, dstImg, 0, 0, dstImg.width, dstImg.height);
+	}
+
+	@Override
+	public void apply(T srcImg, T dstImg, int dstX0, int dstY0, int dstX1, int dstY1) {
+		if( srcImg.numBands != dstImg.numBands )
+			throw new IllegalArgumentException("Number of bands do not match");
+		if( outsideValue != null && outsideValue.length != srcImg.numBands )
+			throw new IllegalArgumentException("Length of outsideValue must match the number of bands");
+
+		this.srcImg = srcImg;
+		this.dstImg = dstImg;
+		interp.setImage(srcImg);
+
+		if( values.length != srcImg.numBands )
+			values = new float[ srcImg.numBands ];
+
+		x0 = dstX0;y0 = dstY0;x1 = dstX1;y1 = dstY1;
+
+		final float minInterpX = interp.getFastBorderX();
+		final float minInterpY = interp.getFastBorderY();
+		final float maxInterpX = srcImg.getWidth()-interp.getFastBorderX()-1;
+		final float maxInterpY = srcImg.getHeight()-interp.getFastBorderY()-1;
+
+		final float widthF = srcImg.getWidth()-1;
+		final float heightF = srcImg.getHeight()-1;
+
+		final int numBands = dstImg.numBands;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*numBands;
+			for( int x = x0; x < x1; x++ , indexDst += numBands ) {
+				dstToSrc.compute(x,y);
+
+				if( dstToSrc.distX < minInterpX || dstToSrc.distX > maxInterpX ||
+						dstToSrc.distY < minInterpY || dstToSrc.distY > maxInterpY ) {
+					if( dstToSrc.distX >= 0f && dstToSrc.distX <= widthF && dstToSrc.distY >= 0f && dstToSrc.distY <= heightF ) {
+						interp.get(dstToSrc.distX, dstToSrc.distY, values);
+						assign(indexDst, values);
+					} else if( outsideValue != null ) {
+						assign(indexDst, outsideValue);
+					}
+				} else {
+					interp.get_fast(dstToSrc.distX, dstToSrc.distY, values);
+					assign(indexDst, values);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Assigns the value of each band in a pixel
+	 *
+	 * @param indexDst Index of the first band in the pixel
+	 * @param values Value of each band
+	 */
+	protected abstract void assign( int indexDst , float[] values );
+}
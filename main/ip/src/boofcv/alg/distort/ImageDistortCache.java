@@ -19,25 +19,49 @@
 package boofcv.alg.distort;
 
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.struct.distort.PixelTransform_F32;
 import boofcv.struct.image.ImageSingleBand;
-import georegression.struct.point.Point2D_F32;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
+ * <p>
  * Except for very simple functions, computing the per pixel distortion is an expensive operation.
  * To overcome this problem the distortion is computed once and cached.  Then when the image is distorted
  * again the save results are simply recalled and not computed again.
+ * </p>
+ *
+ * <p>
+ * The cached distortion is stored in a {@link DistortionMap}, which is only computed inside of regions
+ * which have been distorted.  A map can be shared between multiple instances and threads which distort
+ * images from the same camera model, see {@link #setMap}.
+ * </p>
+ *
+ * <p>
+ * Rows in the destination image are split across threads when {@link BoofConcurrency} allows it.  Each thread
+ * uses its own copy of the interpolation algorithm and interpolates all the pixels in a row which are far from
+ * the source image's border with a single call.
+ * </p>
  *
  * @author Peter Abeles
  */
 public abstract class ImageDistortCache<T extends ImageSingleBand> implements ImageDistort<T> {
 
+	// minimum number of rows processed by a thread
+	public static int MIN_ROWS = 16;
+
 	// size of output image
 	private int width=-1,height=-1;
-	private Point2D_F32 map[];
+	// cached location of each destination pixel in the source image
+	protected DistortionMap map;
+	// should coordinates in maps created by this class be saved in fixed point
+	private boolean fixedPoint = false;
 	// sub pixel interpolation
-	private InterpolatePixelS<T> interp;
+	protected InterpolatePixelS<T> interp;
 	// handle the image border
 	private ImageBorder<T> border;
 
@@ -52,6 +76,11 @@ public abstract class ImageDistortCache<T extends ImageSingleBand> implements Im
 
 	protected boolean dirty;
 
+	// storage and interpolation used when processing in a single thread
+	private Worker mainWorker;
+	// storage and interpolation for each thread
+	private final List<Worker> workers = new ArrayList<Worker>();
+
 	/**
 	 * Specifies configuration parameters
 	 *
@@ -70,6 +99,39 @@ public abstract class ImageDistortCache<T extends ImageSingleBand> implements Im
 		this.dstToSrc = dstToSrc;
 	}
 
+	/**
+	 * Uses a precomputed, possibly shared, map instead of computing one from the model.  The map's size must
+	 * match the destination image.
+	 *
+	 * @param map Cached distortion.
+	 */
+	public void setMap( DistortionMap map ) {
+		this.map = map;
+		this.dstToSrc = null;
+		this.dirty = false;
+		this.width = map.getWidth();
+		this.height = map.getHeight();
+	}
+
+	/**
+	 * Returns the map used the last time an image was distorted.  Can be shared with other instances.
+	 */
+	public DistortionMap getMap() {
+		return map;
+	}
+
+	/**
+	 * If true then maps created from the model will save coordinates in 16.16 fixed point.  Must be called
+	 * before the model is set.
+	 */
+	public void setFixedPoint(boolean fixedPoint) {
+		this.fixedPoint = fixedPoint;
+	}
+
+	public boolean isFixedPoint() {
+		return fixedPoint;
+	}
+
 	@Override
 	public void apply(T srcImg, T dstImg) {
 		init(srcImg, dstImg);
@@ -96,58 +158,67 @@ public abstract class ImageDistortCache<T extends ImageSingleBand> implements Im
 
 	private void init(T srcImg, T dstImg) {
 		if( dirty || width != dstImg.width || height != dstImg.height) {
+			if( dstToSrc == null )
+				throw new IllegalArgumentException("Unexpected dstImg dimension");
 			width = dstImg.width;
 			height = dstImg.height;
-			map = new Point2D_F32[width*height];
-			for( int i = 0; i < map.length; i++ ) {
-				map[i] = new Point2D_F32();
-			}
-
-			int index = 0;
-			for( int y = 0; y < height; y++ ) {
-				for( int x = 0; x < width; x++ ) {
-					dstToSrc.compute(x,y);
-					map[index++].set(dstToSrc.distX,dstToSrc.distY);
-				}
-			}
-		} else if( dstImg.width != width || dstImg.height != height )
-			throw new IllegalArgumentException("Unexpected dstImg dimension");
+			map = new DistortionMap(width,height,dstToSrc,fixedPoint,DistortionMap.DEFAULT_TILE);
+			dirty = false;
+		}
 
 		this.srcImg = srcImg;
 		this.dstImg = dstImg;
 		interp.setImage(srcImg);
 	}
 
+	/**
+	 * Distorts the image inside the crop boundary and uses the border to assign pixels outside the source image
+	 */
 	public void applyBorder() {
-
 		border.setImage(srcImg);
+		applyRegion();
+	}
 
-		final float minInterpX = interp.getFastBorderX();
-		final float minInterpY = interp.getFastBorderY();
-		final float maxInterpX = srcImg.getWidth()-interp.getFastBorderX()-1;
-		final float maxInterpY = srcImg.getHeight()-interp.getFastBorderY()-1;
+	/**
+	 * Distorts the image inside the crop boundary and skips pixels which are outside the source image
+	 */
+	public void applyNoBorder() {
+		applyRegion();
+	}
 
-		final float widthF = srcImg.getWidth()-1;
-		final float heightF = srcImg.getHeight()-1;
+	/**
+	 * Splits the crop region into bands of rows which are processed in parallel
+	 */
+	private void applyRegion() {
+		map.computeRegion(x0,y0,x1,y1);
 
-		for( int y = y0; y < y1; y++ ) {
-			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
-			for( int x = x0; x < x1; x++ , indexDst++ ) {
-				Point2D_F32 s = map[indexDst];
-
-				if( s.x < minInterpX || s.x > maxInterpX || s.y < minInterpY || s.y > maxInterpY ) {
-					if( s.x < 0f || s.x > widthF || s.y < 0f || s.y > heightF )
-						assign(indexDst,(float)border.getGeneral((int)s.x,(int)s.y));
-					else
-						assign(indexDst,interp.get(s.x, s.y));
-				} else {
-					assign(indexDst,interp.get_fast(s.x, s.y));
+		if( BoofConcurrency.isConcurrent(x1-x0,y1-y0) ) {
+			BoofConcurrency.loopBands(y0, y1, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int minInclusive, int maxExclusive) {
+					Worker worker = takeWorker();
+					try {
+						applyRows(worker, minInclusive, maxExclusive);
+					} finally {
+						recycleWorker(worker);
+					}
 				}
-			}
+			});
+		} else {
+			if( mainWorker == null )
+				mainWorker = new Worker(interp);
+			applyRows(mainWorker, y0, y1);
 		}
 	}
 
-	public void applyNoBorder() {
+	/**
+	 * Distorts the specified rows.  Pixels which are inside the fast interpolation region are interpolated in
+	 * a single batch for each row.
+	 */
+	private void applyRows( Worker worker , int rowY0 , int rowY1 ) {
+		final InterpolatePixelS<T> interp = worker.interp;
+		final boolean hasBorder = border != null;
+
 		final float minInterpX = interp.getFastBorderX();
 		final float minInterpY = interp.getFastBorderY();
 		final float maxInterpX = srcImg.getWidth()-interp.getFastBorderX()-1;
@@ -156,20 +227,105 @@ public abstract class ImageDistortCache<T extends ImageSingleBand> implements Im
 		final float widthF = srcImg.getWidth()-1;
 		final float heightF = srcImg.getHeight()-1;
 
-		for( int y = y0; y < y1; y++ ) {
+		worker.resize(x1-x0);
+		final int indexesMap[] = worker.indexesMap;
+		final int indexesDst[] = worker.indexesDst;
+		final float batchX[] = worker.x;
+		final float batchY[] = worker.y;
+		final float values[] = worker.values;
+
+		for( int y = rowY0; y < rowY1; y++ ) {
 			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
-			for( int x = x0; x < x1; x++ , indexDst++ ) {
-				Point2D_F32 s = map[indexDst];
+			int indexMap = y*width + x0;
+			int length = 0;
+			for( int x = x0; x < x1; x++ , indexDst++ , indexMap++ ) {
+				float sx = map.getX(indexMap);
+				float sy = map.getY(indexMap);
 
-				if( s.x < minInterpX || s.x > maxInterpX || s.y < minInterpY || s.y > maxInterpY ) {
-					if( s.x >= 0f && s.x <= widthF && s.y >= 0f && s.y <= heightF )
-						assign(indexDst,interp.get(s.x, s.y));
+				if( sx < minInterpX || sx > maxInterpX || sy < minInterpY || sy > maxInterpY ) {
+					if( sx >= 0f && sx <= widthF && sy >= 0f && sy <= heightF )
+						assign(indexDst,interp.get(sx, sy));
+					else if( hasBorder )
+						assign(indexDst,(float)border.getGeneral((int)sx,(int)sy));
 				} else {
-					assign(indexDst,interp.get_fast(s.x, s.y));
+					indexesMap[length] = indexMap;
+					indexesDst[length] = indexDst;
+					batchX[length] = sx;
+					batchY[length] = sy;
+					length++;
 				}
 			}
+
+			interpolateFast(interp, indexesMap, batchX, batchY, values, length);
+			for( int i = 0; i < length; i++ ) {
+				assign(indexesDst[i],values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Interpolates a batch of points which are inside the fast interpolation region.  Can be overridden
+	 * to take advantage of fixed point maps.
+	 *
+	 * @param interp Interpolation instance owned by the calling thread
+	 * @param indexesMap Index of each point in the map
+	 * @param x Source x-coordinates
+	 * @param y Source y-coordinates
+	 * @param values Output. Interpolated values
+	 * @param length Number of points
+	 */
+	protected void interpolateFast( InterpolatePixelS<T> interp ,
+									int indexesMap[] , float x[] , float y[] , float values[] , int length ) {
+		interp.get_fast(x, y, values, length);
+	}
+
+	/**
+	 * Returns a worker for a band of rows.  Each worker has its own copy of the interpolation algorithm.
+	 */
+	private Worker takeWorker() {
+		synchronized ( workers ) {
+			if( workers.isEmpty() ) {
+				InterpolatePixelS<T> copy = interp.copy();
+				copy.setImage(srcImg);
+				return new Worker(copy);
+			}
+			Worker w = workers.remove(workers.size()-1);
+			w.interp.setImage(srcImg);
+			return w;
+		}
+	}
+
+	private void recycleWorker( Worker w ) {
+		synchronized ( workers ) {
+			workers.add(w);
 		}
 	}
 
 	protected abstract void assign( int indexDst , float value );
+
+	/**
+	 * Interpolation algorithm and storage used to process a band of rows
+	 */
+	private class Worker {
+		InterpolatePixelS<T> interp;
+		int indexesMap[] = new int[0];
+		int indexesDst[] = new int[0];
+		float x[] = new float[0];
+		float y[] = new float[0];
+		float values[] = new float[0];
+
+		Worker(InterpolatePixelS<T> interp) {
+			this.interp = interp;
+		}
+
+		void resize( int length ) {
+			if( x.length < length ) {
+				indexesMap = new int[length];
+				indexesDst = new int[length];
+				x = new float[length];
+				y = new float[length];
+				values = new float[length];
+			}
+		}
+	}
 }
@@ -46,12 +46,32 @@ public class DistortSupport {
 	 */
 	public static PixelTransformAffine_F32 transformScale(ImageBase from, ImageBase to)
 	{
+		return transformScale(from,to,null);
+	}
+
+	/**
+	 * Computes a transform which is used to rescale an image.  The scale is computed
+	 * directly from the size of the two input images and independently scales
+	 * the x and y axises.
+	 *
+	 * @param from Image being rescaled.
+	 * @param to Image which stores the rescaled image.
+	 * @param distort (Optional) Storage for the transform.  If null a new instance is declared.
+	 * @return The transform
+	 */
+	public static PixelTransformAffine_F32 transformScale(ImageBase from, ImageBase to,
+														  PixelTransformAffine_F32 distort)
+	{
+		if( distort == null )
+			distort = new PixelTransformAffine_F32();
+
 		float scaleX = (float)(to.width-1)/(float)(from.width-1);
 		float scaleY = (float)(to.height-1)/(float)(from.height-1);
 
-		Affine2D_F32 affine = new Affine2D_F32(scaleX,0,0,scaleY,0,0);
-		PixelTransformAffine_F32 distort = new PixelTransformAffine_F32();
-		distort.set(affine);
+		Affine2D_F32 affine = distort.getModel();
+		affine.a11 = scaleX; affine.a12 = 0;
+		affine.a21 = 0;      affine.a22 = scaleY;
+		affine.tx = 0;       affine.ty = 0;
 
 		return distort;
 	}
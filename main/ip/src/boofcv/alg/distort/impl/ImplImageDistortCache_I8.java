@@ -19,12 +19,22 @@
 package boofcv.alg.distort.impl;
 
 import boofcv.alg.distort.ImageDistortCache;
+import boofcv.alg.distort.DistortionMap;
+import boofcv.alg.interpolate.BilinearPixel;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.struct.image.ImageInt8;
+import boofcv.struct.image.ImageUInt8;
 
 /**
+ * <p>
  * Implementation of {@link boofcv.alg.distort.ImageDistortCache} for {@link boofcv.struct.image.ImageUInt8}.
+ * </p>
+ *
+ * <p>
+ * If the map is in fixed point and bilinear interpolation is used then interpolation is done with integer
+ * arithmetic.  The fractional part of the fixed point coordinate is used as an 8-bit bilinear weight.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -35,6 +45,38 @@ public class ImplImageDistortCache_I8<T extends ImageInt8> extends ImageDistortC
 		super( interp, border);
 	}
 
+	@Override
+	protected void interpolateFast(InterpolatePixelS<T> interp,
+								   int[] indexesMap, float[] x, float[] y, float[] values, int length) {
+		if( !map.isFixedPoint() || !(interp instanceof BilinearPixel) || !(srcImg instanceof ImageUInt8) ) {
+			super.interpolateFast(interp, indexesMap, x, y, values, length);
+			return;
+		}
+
+		final byte data[] = srcImg.data;
+		final int startIndex = srcImg.startIndex;
+		final int stride = srcImg.stride;
+
+		for( int i = 0; i < length; i++ ) {
+			int fx = map.getFixedX(indexesMap[i]);
+			int fy = map.getFixedY(indexesMap[i]);
+
+			int xt = fx >> DistortionMap.FIXED_SHIFT;
+			int yt = fy >> DistortionMap.FIXED_SHIFT;
+			// bilinear weights, 0 to 255
+			int ax = (fx >> (DistortionMap.FIXED_SHIFT-8)) & 0xFF;
+			int ay = (fy >> (DistortionMap.FIXED_SHIFT-8)) & 0xFF;
+
+			int index = startIndex + yt*stride + xt;
+
+			int top = (256-ax)*(data[index] & 0xFF) + ax*(data[index+1] & 0xFF);
+			index += stride;
+			int bottom = (256-ax)*(data[index] & 0xFF) + ax*(data[index+1] & 0xFF);
+
+			values[i] = ((256-ay)*top + ay*bottom)/65536.0f;
+		}
+	}
+
 	@Override
 	protected void assign(int indexDst, float value) {
 		dstImg.data[indexDst] = (byte)value;
@@ -21,6 +21,8 @@ package boofcv.alg.enhance;
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.enhance.impl.ImplEnhanceFilter;
 import boofcv.alg.enhance.impl.ImplEnhanceHistogram;
+import boofcv.alg.enhance.impl.ImplEnhanceHistogramSliding;
+import boofcv.alg.enhance.impl.ImplEnhanceHistogramTiles;
 import boofcv.alg.misc.ImageStatistics;
 import boofcv.struct.image.*;
 
@@ -132,12 +134,16 @@ public class EnhanceImageOps {
 	}
 
 	/**
-	 * Equalizes the local image histogram on a per pixel basis.
+	 * Equalizes the local image histogram on a per pixel basis.  If the image is at least as large as the local
+	 * region then a sliding histogram is used, see {@link ImplEnhanceHistogramSliding}.  The sliding histogram
+	 * declares its own storage for each thread and does not use the histogram and transform arrays, except for the
+	 * histogram's length.
 	 *
 	 * @param input Input image.
 	 * @param radius Radius of square local histogram.
 	 * @param output Output image.
-	 * @param histogram Storage for image histogram.  Must be large enough to contain all possible values.
+	 * @param histogram Storage for image histogram.  Must be large enough to contain all possible values.  Its
+	 *                  length is the number of bins.
 	 * @param transform Storage for transformation table.  Must be large enough to contain all possible values.
 	 */
 	public static void equalizeLocal( ImageUInt8 input , int radius , ImageUInt8 output ,
@@ -149,18 +155,7 @@ public class EnhanceImageOps {
 
 		// use more efficient algorithms if possible
 		if( input.width >= width && input.height >= width ) {
-			ImplEnhanceHistogram.equalizeLocalInner(input,radius,output,histogram);
-
-			// top border
-			ImplEnhanceHistogram.equalizeLocalRow(input,radius,0,output,histogram,transform);
-			// bottom border
-			ImplEnhanceHistogram.equalizeLocalRow(input,radius,input.height-radius,output,histogram,transform);
-
-			// left border
-			ImplEnhanceHistogram.equalizeLocalCol(input,radius,0,output,histogram,transform);
-			// right border
-			ImplEnhanceHistogram.equalizeLocalCol(input,radius,input.width-radius,output,histogram,transform);
-
+			ImplEnhanceHistogramSliding.equalizeLocal(input,radius,output,histogram.length);
 		} else if( input.width < width && input.height < width ) {
 			// the local region is larger than the image.  just use the full image algorithm
 			ImageStatistics.histogram(input,histogram);
@@ -172,12 +167,16 @@ public class EnhanceImageOps {
 	}
 
 	/**
-	 * Equalizes the local image histogram on a per pixel basis.
+	 * Equalizes the local image histogram on a per pixel basis.  If the image is at least as large as the local
+	 * region then a sliding histogram is used, see {@link ImplEnhanceHistogramSliding}.  The sliding histogram
+	 * declares its own storage for each thread and does not use the histogram and transform arrays, except for the
+	 * histogram's length.
 	 *
 	 * @param input Input image.
 	 * @param radius Radius of square local histogram.
 	 * @param output Output image.
-	 * @param histogram Storage for image histogram.  Must be large enough to contain all possible values.
+	 * @param histogram Storage for image histogram.  Must be large enough to contain all possible values.  Its
+	 *                  length is the number of bins.
 	 * @param transform Storage for transformation table.  Must be large enough to contain all possible values.
 	 */
 	public static void equalizeLocal( ImageUInt16 input , int radius , ImageUInt16 output ,
@@ -189,18 +188,7 @@ public class EnhanceImageOps {
 
 		// use more efficient algorithms if possible
 		if( input.width >= width && input.height >= width ) {
-			ImplEnhanceHistogram.equalizeLocalInner(input,radius,output,histogram);
-
-			// top border
-			ImplEnhanceHistogram.equalizeLocalRow(input,radius,0,output,histogram,transform);
-			// bottom border
-			ImplEnhanceHistogram.equalizeLocalRow(input,radius,input.height-radius,output,histogram,transform);
-
-			// left border
-			ImplEnhanceHistogram.equalizeLocalCol(input,radius,0,output,histogram,transform);
-			// right border
-			ImplEnhanceHistogram.equalizeLocalCol(input,radius,input.width-radius,output,histogram,transform);
-
+			ImplEnhanceHistogramSliding.equalizeLocal(input,radius,output,histogram.length);
 		} else if( input.width < width && input.height < width ) {
 			// the local region is larger than the image.  just use the full image algorithm
 			ImageStatistics.histogram(input,histogram);
@@ -211,6 +199,53 @@ public class EnhanceImageOps {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Tiled adaptive histogram equalization.  An equalization transform is computed for each tile in a grid
+	 * and the transforms of the four closest tiles are bilinearly interpolated for each pixel.  If the
+	 * clip limit is positive then contrast limited adaptive histogram equalization (CLAHE) is performed
+	 * by clipping each tile's histogram.  Much faster than {@link #equalizeLocal} and the tiles don't need
+	 * to be square.
+	 * </p>
+	 *
+	 * @param input Input image.
+	 * @param numTilesX Number of tiles along the x-axis.
+	 * @param numTilesY Number of tiles along the y-axis.
+	 * @param clipLimit Maximum height of a histogram bin relative to the average bin height, e.g. 3.
+	 *                  If &le; 0 then the histogram isn't clipped.
+	 * @param output Output image.
+	 */
+	public static void equalizeLocalTiles( ImageUInt8 input , int numTilesX , int numTilesY , double clipLimit ,
+										   ImageUInt8 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImplEnhanceHistogramTiles.equalize(input,numTilesX,numTilesY,clipLimit,output);
+	}
+
+	/**
+	 * <p>
+	 * Tiled adaptive histogram equalization.  An equalization transform is computed for each tile in a grid
+	 * and the transforms of the four closest tiles are bilinearly interpolated for each pixel.  If the
+	 * clip limit is positive then contrast limited adaptive histogram equalization (CLAHE) is performed
+	 * by clipping each tile's histogram.  Much faster than {@link #equalizeLocal} and the tiles don't need
+	 * to be square.
+	 * </p>
+	 *
+	 * @param input Input image.
+	 * @param maxValue Maximum possible pixel value.  Larger values require more memory.
+	 * @param numTilesX Number of tiles along the x-axis.
+	 * @param numTilesY Number of tiles along the y-axis.
+	 * @param clipLimit Maximum height of a histogram bin relative to the average bin height, e.g. 3.
+	 *                  If &le; 0 then the histogram isn't clipped.
+	 * @param output Output image.
+	 */
+	public static void equalizeLocalTiles( ImageUInt16 input , int maxValue , int numTilesX , int numTilesY ,
+										   double clipLimit , ImageUInt16 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImplEnhanceHistogramTiles.equalize(input,maxValue,numTilesX,numTilesY,clipLimit,output);
+	}
+
 	/**
 	 * Applies a Laplacian-4 based sharpen filter to the image.
 	 *
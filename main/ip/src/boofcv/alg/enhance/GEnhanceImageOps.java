@@ -79,6 +79,28 @@ public class GEnhanceImageOps {
 		}
 	}
 
+	/**
+	 * Tiled adaptive histogram equalization.  See {@link EnhanceImageOps#equalizeLocalTiles(ImageUInt8, int, int, double, ImageUInt8)}
+	 *
+	 * @param input Input image.
+	 * @param maxValue Maximum possible pixel value.  Ignored for {@link ImageUInt8}.
+	 * @param numTilesX Number of tiles along the x-axis.
+	 * @param numTilesY Number of tiles along the y-axis.
+	 * @param clipLimit Maximum height of a histogram bin relative to the average bin height.
+	 *                  If &le; 0 then the histogram isn't clipped.
+	 * @param output Output image.
+	 */
+	public static <T extends ImageSingleBand>
+	void equalizeLocalTiles( T input , int maxValue , int numTilesX , int numTilesY , double clipLimit , T output ) {
+		if( input instanceof ImageUInt8 ) {
+			EnhanceImageOps.equalizeLocalTiles((ImageUInt8)input,numTilesX,numTilesY,clipLimit,(ImageUInt8)output);
+		} else if( input instanceof ImageUInt16 ) {
+			EnhanceImageOps.equalizeLocalTiles((ImageUInt16)input,maxValue,numTilesX,numTilesY,clipLimit,(ImageUInt16)output);
+		} else {
+			throw new IllegalArgumentException("Unsupported image type "+input.getClass().getSimpleName());
+		}
+	}
+
 	/**
 	 * Applies a Laplacian-4 based sharpen filter to the image.
 	 *
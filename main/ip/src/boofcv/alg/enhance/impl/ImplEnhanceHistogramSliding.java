@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.enhance.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Local histogram equalization where the histogram is updated incrementally as the window slides across the
+ * image, instead of being recomputed.  Produces the same output as
+ * {@link ImplEnhanceHistogram#equalizeLocalNaive(ImageUInt8, int, ImageUInt8, int[])}.  The image must be at least
+ * as large as the window along each axis.  Along the image border the window is shifted so that it is
+ * entirely inside the image.
+ * </p>
+ *
+ * <p>
+ * {@link ImageUInt8}: A histogram is maintained for each column of the image and is updated by one pixel as the
+ * window moves down a row.  The window's histogram is the sum of the column histograms inside the window and has
+ * 16 coarse bins, which are always up to date, and 256 fine bins, where each 16 element segment is only updated when a
+ * pixel's value falls inside of it.  The cost per pixel does not depend on the radius.  Same approach
+ * as {@link boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant}.
+ * </p>
+ *
+ * <p>
+ * {@link ImageUInt16}: Column histograms would require too much memory.  Instead the window's histogram
+ * moves through the stripe in a serpentine pattern, adding and removing one row or column at a time.  The
+ * cumulative count is kept for the value of the previous pixel and is only adjusted by the bins between it
+ * and the current pixel's value, which are close together in natural images.
+ * </p>
+ *
+ * <p>
+ * The image is split into horizontal stripes which are processed in parallel.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplEnhanceHistogramSliding {
+
+	// minimum number of rows in a stripe
+	public static int MIN_STRIPE = 32;
+
+	/**
+	 * Equalizes the local image histogram on a per pixel basis.
+	 *
+	 * @param input Input image.
+	 * @param radius Radius of square local histogram.
+	 * @param output Output image.
+	 * @param numBins Number of bins in the histogram.  The maximum value of an output pixel is numBins-1.
+	 */
+	public static void equalizeLocal( final ImageUInt8 input , final int radius , final ImageUInt8 output ,
+									  final int numBins ) {
+		checkSize(input.width,input.height,radius);
+
+		if( BoofConcurrency.isConcurrent(input) ) {
+			BoofConcurrency.loopBands(0,input.height,minStripe(radius),new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					equalizeLocal(input,radius,output,numBins,y0,y1);
+				}
+			});
+		} else {
+			equalizeLocal(input,radius,output,numBins,0,input.height);
+		}
+	}
+
+	/**
+	 * Equalizes the local image histogram on a per pixel basis.
+	 *
+	 * @param input Input image.
+	 * @param radius Radius of square local histogram.
+	 * @param output Output image.
+	 * @param numBins Number of bins in the histogram.  All pixels must have a value less than this.
+	 */
+	public static void equalizeLocal( final ImageUInt16 input , final int radius , final ImageUInt16 output ,
+									  final int numBins ) {
+		checkSize(input.width,input.height,radius);
+
+		if( BoofConcurrency.isConcurrent(input) ) {
+			BoofConcurrency.loopBands(0,input.height,minStripe(radius),new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					equalizeLocal(input,radius,output,numBins,y0,y1);
+				}
+			});
+		} else {
+			equalizeLocal(input,radius,output,numBins,0,input.height);
+		}
+	}
+
+	/**
+	 * Equalizes a stripe of rows using column histograms.
+	 *
+	 * @param y0 First row in the stripe, inclusive.
+	 * @param y1 Last row in the stripe, exclusive.
+	 */
+	public static void equalizeLocal( ImageUInt8 input , int radius , ImageUInt8 output , int numBins ,
+									  int y0 , int y1 ) {
+		final int width = input.width;
+		final int height = input.height;
+		final int maxValue = numBins-1;
+		final int area = (2*radius+1)*(2*radius+1);
+
+		// histogram of each column inside the window
+		int columnFine[] = new int[ width*256 ];
+		int columnCoarse[] = new int[ width*16 ];
+		// histogram of the window
+		int kernelFine[] = new int[ 256 ];
+		int kernelCoarse[] = new int[ 16 ];
+		// center x-coordinate of the window when each segment in the fine histogram was last updated. -1 if not valid
+		int segmentX[] = new int[ 16 ];
+
+		int centerY = center(y0,radius,height);
+		for( int y = centerY-radius; y <= centerY+radius; y++ ) {
+			updateColumns(input, y, columnFine, columnCoarse, 1);
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			// move the column histograms down one row
+			int c = center(y,radius,height);
+			if( c != centerY ) {
+				updateColumns(input, centerY-radius, columnFine, columnCoarse, -1);
+				updateColumns(input, c+radius, columnFine, columnCoarse, 1);
+				centerY = c;
+			}
+
+			// initialize the window at the start of the row.  Fine segments are computed when first needed
+			Arrays.fill(kernelCoarse,0);
+			Arrays.fill(segmentX,-1);
+			for( int x = 0; x <= 2*radius; x++ ) {
+				int index = x*16;
+				for( int i = 0; i < 16; i++ ) {
+					kernelCoarse[i] += columnCoarse[index+i];
+				}
+			}
+
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			int centerX = radius;
+
+			for( int x = 0; x < width; x++ ) {
+				c = center(x,radius,width);
+				if( c != centerX ) {
+					int indexAdd = (c+radius)*16;
+					int indexRemove = (centerX-radius)*16;
+					for( int i = 0; i < 16; i++ ) {
+						kernelCoarse[i] += columnCoarse[indexAdd+i] - columnCoarse[indexRemove+i];
+					}
+					centerX = c;
+				}
+
+				int value = input.data[indexIn++] & 0xFF;
+				int segment = value >> 4;
+
+				// number of pixels in the window with a value less than or equal to this pixel
+				int count = 0;
+				for( int i = 0; i < segment; i++ ) {
+					count += kernelCoarse[i];
+				}
+
+				updateSegment(columnFine, kernelFine, segmentX, segment, centerX, radius);
+
+				for( int i = segment*16; i <= value; i++ ) {
+					count += kernelFine[i];
+				}
+
+				output.data[indexOut++] = (byte)((count*maxValue)/area);
+			}
+		}
+	}
+
+	/**
+	 * Equalizes a stripe of rows by moving the window's histogram through it in a serpentine pattern.
+	 *
+	 * @param y0 First row in the stripe, inclusive.
+	 * @param y1 Last row in the stripe, exclusive.
+	 */
+	public static void equalizeLocal( ImageUInt16 input , int radius , ImageUInt16 output , int numBins ,
+									  int y0 , int y1 ) {
+		final int width = input.width;
+		final int height = input.height;
+		final int area = (2*radius+1)*(2*radius+1);
+		final int maxValue = numBins-1;
+
+		int histogram[] = new int[ numBins ];
+
+		int centerY = center(y0,radius,height);
+		int centerX = radius;
+		for( int y = centerY-radius; y <= centerY+radius; y++ ) {
+			updateRow(input,y,centerX-radius,centerX+radius+1,histogram,1);
+		}
+
+		// value that the cumulative count is for and the number of pixels less than or equal to it
+		int threshold = 0;
+		int count = histogram[0];
+
+		for( int y = y0; y < y1; y++ ) {
+			// move the window down one row
+			int c = center(y,radius,height);
+			if( c != centerY ) {
+				int x0 = centerX-radius, x1 = centerX+radius+1;
+				count -= updateRow(input,centerY-radius,x0,x1,histogram,-1,threshold);
+				count += updateRow(input,c+radius,x0,x1,histogram,1,threshold);
+				centerY = c;
+			}
+
+			// alternate the direction the window moves along each row so that it never needs to be rebuilt
+			boolean forward = centerX == radius;
+			int step = forward ? 1 : -1;
+			int x = forward ? 0 : width-1;
+
+			int indexIn = input.startIndex + y*input.stride + x;
+			int indexOut = output.startIndex + y*output.stride + x;
+
+			for( int i = 0; i < width; i++ , x += step , indexIn += step , indexOut += step ) {
+				c = center(x,radius,width);
+				if( c != centerX ) {
+					int y0w = centerY-radius, y1w = centerY+radius+1;
+					if( forward ) {
+						count -= updateColumn(input,centerX-radius,y0w,y1w,histogram,-1,threshold);
+						count += updateColumn(input,c+radius,y0w,y1w,histogram,1,threshold);
+					} else {
+						count -= updateColumn(input,centerX+radius,y0w,y1w,histogram,-1,threshold);
+						count += updateColumn(input,c-radius,y0w,y1w,histogram,1,threshold);
+					}
+					centerX = c;
+				}
+
+				// move the cumulative count to the pixel's value
+				int value = input.data[indexIn] & 0xFFFF;
+				while( threshold < value ) {
+					count += histogram[++threshold];
+				}
+				while( threshold > value ) {
+					count -= histogram[threshold--];
+				}
+
+				output.data[indexOut] = (short)((count*maxValue)/area);
+			}
+		}
+	}
+
+	/**
+	 * Index of the window's center which is closest to the specified index while keeping the window
+	 * inside the image
+	 */
+	private static int center( int index , int radius , int length ) {
+		if( index < radius )
+			return radius;
+		else if( index >= length-radius )
+			return length-radius-1;
+		return index;
+	}
+
+	private static int minStripe( int radius ) {
+		// the cost of initializing a stripe is about the same as processing 2*radius+1 rows
+		return Math.max(MIN_STRIPE,2*radius+1);
+	}
+
+	private static void checkSize( int width , int height , int radius ) {
+		int w = 2*radius+1;
+		if( width < w || height < w )
+			throw new IllegalArgumentException("Image must be at least as large as the local region");
+	}
+
+	/**
+	 * Adds or removes the pixels in a row from the column histograms
+	 */
+	private static void updateColumns( ImageUInt8 input , int y , int columnFine[] , int columnCoarse[] , int delta ) {
+		int index = input.startIndex + y*input.stride;
+		for( int x = 0; x < input.width; x++ ) {
+			int value = input.data[index++] & 0xFF;
+			columnFine[x*256 + value] += delta;
+			columnCoarse[x*16 + (value >> 4)] += delta;
+		}
+	}
+
+	/**
+	 * Brings a segment of the fine kernel histogram up to date for the window centered at x.  If it was recently
+	 * updated then the columns it missed are added and removed, otherwise it is computed from scratch.
+	 */
+	private static void updateSegment( int columnFine[] , int kernelFine[] , int segmentX[] ,
+									   int segment , int x , int radius ) {
+		int last = segmentX[segment];
+		int offset = segment*16;
+
+		if( last < 0 || 2*(x-last) > 2*radius+1 ) {
+			for( int i = 0; i < 16; i++ ) {
+				kernelFine[offset+i] = 0;
+			}
+			for( int col = x-radius; col <= x+radius; col++ ) {
+				int index = col*256 + offset;
+				for( int i = 0; i < 16; i++ ) {
+					kernelFine[offset+i] += columnFine[index+i];
+				}
+			}
+		} else {
+			for( int j = last+1; j <= x; j++ ) {
+				int indexAdd = (j+radius)*256 + offset;
+				int indexRemove = (j-radius-1)*256 + offset;
+				for( int i = 0; i < 16; i++ ) {
+					kernelFine[offset+i] += columnFine[indexAdd+i] - columnFine[indexRemove+i];
+				}
+			}
+		}
+		segmentX[segment] = x;
+	}
+
+	/**
+	 * Adds the pixels in a row segment to the histogram
+	 */
+	private static void updateRow( ImageUInt16 input , int y , int x0 , int x1 , int histogram[] , int delta ) {
+		int index = input.startIndex + y*input.stride + x0;
+		for( int x = x0; x < x1; x++ ) {
+			histogram[input.data[index++] & 0xFFFF] += delta;
+		}
+	}
+
+	/**
+	 * Adds or removes the pixels in a row segment from the histogram.
+	 *
+	 * @return Number of pixels which have a value less than or equal to the threshold
+	 */
+	private static int updateRow( ImageUInt16 input , int y , int x0 , int x1 , int histogram[] , int delta ,
+								  int threshold ) {
+		int below = 0;
+		int index = input.startIndex + y*input.stride + x0;
+		for( int x = x0; x < x1; x++ ) {
+			int value = input.data[index++] & 0xFFFF;
+			histogram[value] += delta;
+			if( value <= threshold )
+				below++;
+		}
+		return below;
+	}
+
+	/**
+	 * Adds or removes the pixels in a column segment from the histogram.
+	 *
+	 * @return Number of pixels which have a value less than or equal to the threshold
+	 */
+	private static int updateColumn( ImageUInt16 input , int x , int y0 , int y1 , int histogram[] , int delta ,
+									 int threshold ) {
+		int below = 0;
+		int index = input.startIndex + y0*input.stride + x;
+		for( int y = y0; y < y1; y++ , index += input.stride ) {
+			int value = input.data[index] & 0xFFFF;
+			histogram[value] += delta;
+			if( value <= threshold )
+				below++;
+		}
+		return below;
+	}
+}
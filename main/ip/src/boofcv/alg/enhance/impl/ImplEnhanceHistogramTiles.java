@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.enhance.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageInteger;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Tiled adaptive histogram equalization, optionally contrast limited (CLAHE).  The image is broken up into a grid
+ * of tiles and an equalization transform is computed for each tile from its histogram.  If a clip limit is
+ * specified then the histogram bins are clipped and the excess is redistributed evenly across all the bins,
+ * limiting how much the contrast can be amplified.  The value of each output pixel is found by bilinearly
+ * interpolating between the transforms of the four tiles whose centers are closest to it.  Pixels between the
+ * image border and the outermost tile centers use the transforms of the nearest tiles only.
+ * </p>
+ *
+ * <p>
+ * Zuiderveld, K. "Contrast Limited Adaptive Histogram Equalization" Graphics Gems IV, 1994
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplEnhanceHistogramTiles {
+
+	// minimum number of rows processed by a thread
+	public static int MIN_ROWS = 16;
+
+	/**
+	 * Applies tiled histogram equalization to the image.
+	 *
+	 * @param input Input image.
+	 * @param numTilesX Number of tiles along the x-axis.
+	 * @param numTilesY Number of tiles along the y-axis.
+	 * @param clipLimit Maximum height of a histogram bin relative to the average bin height.  If &le; 0 then
+	 *                  the histogram isn't clipped.
+	 * @param output Output image.
+	 */
+	public static void equalize( final ImageUInt8 input , int numTilesX , int numTilesY , double clipLimit ,
+								 final ImageUInt8 output ) {
+		final Grid grid = new Grid(input, numTilesX, numTilesY, 255, clipLimit);
+
+		if( BoofConcurrency.isConcurrent(input) ) {
+			BoofConcurrency.loopBands(0,input.height,MIN_ROWS,new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					apply(grid,input,output,y0,y1);
+				}
+			});
+		} else {
+			apply(grid,input,output,0,input.height);
+		}
+	}
+
+	/**
+	 * Applies tiled histogram equalization to the image.
+	 *
+	 * @param input Input image.
+	 * @param maxValue Maximum possible pixel value.
+	 * @param numTilesX Number of tiles along the x-axis.
+	 * @param numTilesY Number of tiles along the y-axis.
+	 * @param clipLimit Maximum height of a histogram bin relative to the average bin height.  If &le; 0 then
+	 *                  the histogram isn't clipped.
+	 * @param output Output image.
+	 */
+	public static void equalize( final ImageUInt16 input , int maxValue , int numTilesX , int numTilesY ,
+								 double clipLimit , final ImageUInt16 output ) {
+		final Grid grid = new Grid(input, numTilesX, numTilesY, maxValue, clipLimit);
+
+		if( BoofConcurrency.isConcurrent(input) ) {
+			BoofConcurrency.loopBands(0,input.height,MIN_ROWS,new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					apply(grid,input,output,y0,y1);
+				}
+			});
+		} else {
+			apply(grid,input,output,0,input.height);
+		}
+	}
+
+	private static void apply( Grid grid , ImageUInt8 input , ImageUInt8 output , int y0 , int y1 ) {
+		final int bins = grid.bins;
+		final int[] transforms = grid.transforms;
+
+		for( int y = y0; y < y1; y++ ) {
+			int rowA = grid.tileY[y]*grid.numTilesX;
+			int rowB = grid.tileY[y+input.height]*grid.numTilesX;
+			float wy = grid.weightY[y];
+
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x++ ) {
+				int value = input.data[indexIn++] & 0xFF;
+				int colA = grid.tileX[x];
+				int colB = grid.tileX[x+input.width];
+				float wx = grid.weightX[x];
+
+				float top = (1-wx)*transforms[(rowA+colA)*bins+value] + wx*transforms[(rowA+colB)*bins+value];
+				float bottom = (1-wx)*transforms[(rowB+colA)*bins+value] + wx*transforms[(rowB+colB)*bins+value];
+
+				output.data[indexOut++] = (byte)((1-wy)*top + wy*bottom + 0.5f);
+			}
+		}
+	}
+
+	private static void apply( Grid grid , ImageUInt16 input , ImageUInt16 output , int y0 , int y1 ) {
+		final int bins = grid.bins;
+		final int[] transforms = grid.transforms;
+
+		for( int y = y0; y < y1; y++ ) {
+			int rowA = grid.tileY[y]*grid.numTilesX;
+			int rowB = grid.tileY[y+input.height]*grid.numTilesX;
+			float wy = grid.weightY[y];
+
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x++ ) {
+				int value = input.data[indexIn++] & 0xFFFF;
+				int colA = grid.tileX[x];
+				int colB = grid.tileX[x+input.width];
+				float wx = grid.weightX[x];
+
+				float top = (1-wx)*transforms[(rowA+colA)*bins+value] + wx*transforms[(rowA+colB)*bins+value];
+				float bottom = (1-wx)*transforms[(rowB+colA)*bins+value] + wx*transforms[(rowB+colB)*bins+value];
+
+				output.data[indexOut++] = (short)((1-wy)*top + wy*bottom + 0.5f);
+			}
+		}
+	}
+
+	/**
+	 * Clips the histogram and redistributes the excess evenly across all the bins
+	 *
+	 * @param histogram The histogram.  Modified.
+	 * @param limit Maximum number of counts in a bin
+	 */
+	public static void clipHistogram( int histogram[] , int limit ) {
+		int excess = 0;
+		for( int i = 0; i < histogram.length; i++ ) {
+			if( histogram[i] > limit ) {
+				excess += histogram[i] - limit;
+				histogram[i] = limit;
+			}
+		}
+
+		int increment = excess / histogram.length;
+		int remainder = excess % histogram.length;
+
+		for( int i = 0; i < histogram.length; i++ ) {
+			histogram[i] += increment;
+		}
+		for( int i = 0; i < remainder; i++ ) {
+			histogram[(int)((long)i*histogram.length/remainder)]++;
+		}
+	}
+
+	/**
+	 * Tile layout, the equalization transform of each tile, and the tiles and weights used by each pixel
+	 */
+	private static class Grid {
+		int numTilesX,numTilesY;
+		int bins;
+		// transform for each tile, stored in row-major order by tile
+		int transforms[];
+
+		// first half is the tile to the left/top and the second half is to the right/bottom
+		int tileX[],tileY[];
+		// weight of the right/bottom tile
+		float weightX[],weightY[];
+
+		Grid( ImageInteger input , int numTilesX , int numTilesY , int maxValue , double clipLimit ) {
+			if( numTilesX < 1 || numTilesY < 1 )
+				throw new IllegalArgumentException("Must have at least one tile along each axis");
+			if( numTilesX > input.width || numTilesY > input.height )
+				throw new IllegalArgumentException("More tiles than pixels");
+
+			this.numTilesX = numTilesX;
+			this.numTilesY = numTilesY;
+			this.bins = maxValue+1;
+			this.transforms = new int[ numTilesX*numTilesY*bins ];
+
+			if( BoofConcurrency.isConcurrent(input) ) {
+				final ImageInteger _input = input;
+				final int _maxValue = maxValue;
+				final double _clipLimit = clipLimit;
+				BoofConcurrency.loopBands(0,numTilesY,1,new IntRangeTask() {
+					@Override
+					public void process(int ty0, int ty1) {
+						computeTransforms(_input,_maxValue,_clipLimit,ty0,ty1);
+					}
+				});
+			} else {
+				computeTransforms(input,maxValue,clipLimit,0,numTilesY);
+			}
+
+			tileX = new int[ input.width*2 ];
+			weightX = new float[ input.width ];
+			computeWeights(input.width, numTilesX, tileX, weightX);
+
+			tileY = new int[ input.height*2 ];
+			weightY = new float[ input.height ];
+			computeWeights(input.height, numTilesY, tileY, weightY);
+		}
+
+		/**
+		 * Computes the transforms for the tiles in the specified rows of the grid
+		 */
+		private void computeTransforms( ImageInteger input , int maxValue , double clipLimit , int ty0 , int ty1 ) {
+			int histogram[] = new int[ bins ];
+			for( int ty = ty0; ty < ty1; ty++ ) {
+				int y0 = ty*input.height/numTilesY;
+				int y1 = (ty+1)*input.height/numTilesY;
+				for( int tx = 0; tx < numTilesX; tx++ ) {
+					int x0 = tx*input.width/numTilesX;
+					int x1 = (tx+1)*input.width/numTilesX;
+
+					if( input instanceof ImageUInt8 )
+						ImplEnhanceHistogram.localHistogram((ImageUInt8)input,x0,y0,x1,y1,histogram);
+					else
+						ImplEnhanceHistogram.localHistogram((ImageUInt16)input,x0,y0,x1,y1,histogram);
+
+					int area = (x1-x0)*(y1-y0);
+					if( clipLimit > 0 )
+						clipHistogram(histogram, Math.max(1,(int)(clipLimit*area/bins)));
+
+					int offset = (ty*numTilesX + tx)*bins;
+					int sum = 0;
+					for( int i = 0; i < bins; i++ ) {
+						sum += histogram[i];
+						transforms[offset+i] = (int)(((long)sum*maxValue)/area);
+					}
+				}
+			}
+		}
+
+		/**
+		 * For each pixel along the axis, finds the two tiles whose centers are on either side of it and the
+		 * weight of the second tile
+		 */
+		private static void computeWeights( int length , int numTiles , int tile[] , float weight[] ) {
+			int t = 0;
+			for( int i = 0; i < length; i++ ) {
+				// advance to the last tile whose center is at or before this pixel
+				while( t+1 < numTiles && center(t+1,length,numTiles) <= i )
+					t++;
+
+				float c0 = center(t,length,numTiles);
+				if( i < c0 || t+1 == numTiles ) {
+					tile[i] = tile[i+length] = t;
+					weight[i] = 0;
+				} else {
+					float c1 = center(t+1,length,numTiles);
+					tile[i] = t;
+					tile[i+length] = t+1;
+					weight[i] = (i-c0)/(c1-c0);
+				}
+			}
+		}
+
+		private static float center( int tile , int length , int numTiles ) {
+			int start = tile*length/numTiles;
+			int end = (tile+1)*length/numTiles;
+			return (start+end-1)/2.0f;
+		}
+	}
+}
@@ -390,6 +390,28 @@ public class BinaryImageOps {
 		return alg.getContours().toList();
 	}
 
+	/**
+	 * <p>
+	 * Given a binary image, connect together pixels to form blobs/clusters using the specified connectivity rule.
+	 * Unlike {@link #contour} contours are not found, which is faster when only the labeled image is needed.
+	 * Horizontal stripes of the image are labeled in parallel.  The labeled image is identical to the one
+	 * created by {@link #contour}.
+	 * </p>
+	 *
+	 * @see ParallelConnectedLabeling
+	 *
+	 * @param input Input binary image.  Not modified.
+	 * @param rule Connectivity rule.  Can be 4 or 8.  8 is more commonly used.
+	 * @param output Output labeled image.  Modified.
+	 * @return Number of blobs found.
+	 */
+	public static int labelBlobs(ImageUInt8 input, ConnectRule rule, ImageSInt32 output) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		ParallelConnectedLabeling alg = new ParallelConnectedLabeling(rule);
+		return alg.process(input,output);
+	}
+
 	/**
 	 * Used to change the labels in a labeled binary image.
 	 *
@@ -134,4 +134,42 @@ public class GThresholdImageOps {
 			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getSimpleName());
 		}
 	}
+
+	/**
+	 * Same as {@link #adaptiveSquare(ImageSingleBand, ImageUInt8, int, double, boolean, ImageSingleBand, ImageSingleBand)}
+	 * but intermediate images are borrowed from a workspace and returned once finished.
+	 *
+	 * @param work Workspace which intermediate images are borrowed from.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageUInt8 adaptiveSquare( T input , ImageUInt8 output ,
+							   int radius , double bias , boolean down, ImageWorkspace work )
+	{
+		T work1 = work.borrowLike(input);
+		T work2 = work.borrowLike(input);
+		try {
+			return adaptiveSquare(input, output, radius, bias, down, work1, work2);
+		} finally {
+			work.recycle(work1,work2);
+		}
+	}
+
+	/**
+	 * Same as {@link #adaptiveGaussian(ImageSingleBand, ImageUInt8, int, double, boolean, ImageSingleBand, ImageSingleBand)}
+	 * but intermediate images are borrowed from a workspace and returned once finished.
+	 *
+	 * @param work Workspace which intermediate images are borrowed from.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageUInt8 adaptiveGaussian( T input , ImageUInt8 output ,
+								 int radius , double bias , boolean down, ImageWorkspace work )
+	{
+		T work1 = work.borrowLike(input);
+		T work2 = work.borrowLike(input);
+		try {
+			return adaptiveGaussian(input, output, radius, bias, down, work1, work2);
+		} finally {
+			work.recycle(work1,work2);
+		}
+	}
 }
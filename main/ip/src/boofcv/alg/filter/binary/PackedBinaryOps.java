@@ -0,0 +1,484 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImagePackedBinary;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Operations on binary images stored in a {@link ImagePackedBinary}.  The same operations as in
+ * {@link BinaryImageOps} are provided and produce identical results, including along the image border.  Each
+ * operation processes 64 pixels at once by shifting and combining the words above, below, and to the sides.
+ * </p>
+ *
+ * <p>
+ * Functions are also provided for converting to and from binary {@link ImageUInt8}, such as those created by
+ * {@link ThresholdImageOps}, and for thresholding directly into a packed image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedBinaryOps {
+
+	// operations which are applied to the neighborhood of each pixel
+	private static final int ERODE4 = 0;
+	private static final int DILATE4 = 1;
+	private static final int EDGE4 = 2;
+	private static final int ERODE8 = 3;
+	private static final int DILATE8 = 4;
+	private static final int EDGE8 = 5;
+	private static final int POINT_NOISE = 6;
+
+	/**
+	 * Converts a binary {@link ImageUInt8} into a packed binary image.  Any pixel which is not zero is set to one.
+	 *
+	 * @param input Binary image. Not modified.
+	 * @param output (Optional) Storage for the packed image.  If null a new image is declared.  Modified.
+	 * @return The packed image.
+	 */
+	public static ImagePackedBinary pack( ImageUInt8 input , ImagePackedBinary output ) {
+		output = declare(input.width,input.height,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int k = 0; k < output.stride; k++ ) {
+				int end = Math.min(64,input.width - k*64);
+				long word = 0;
+				for( int i = 0; i < end; i++ ) {
+					int v = input.data[indexIn++];
+					// sign bit of (v | -v) is set if v is not zero
+					word |= ((long)((v | -v) >>> 31)) << i;
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts a packed binary image into a binary {@link ImageUInt8} with values of 0 and 1.
+	 *
+	 * @param input Packed image. Not modified.
+	 * @param output (Optional) Storage for the binary image.  If null a new image is declared.  Modified.
+	 * @return The binary image.
+	 */
+	public static ImageUInt8 unpack( ImagePackedBinary input , ImageUInt8 output ) {
+		if( output == null ) {
+			output = new ImageUInt8(input.width,input.height);
+		} else if( output.width != input.width || output.height != input.height ) {
+			throw new IllegalArgumentException("Output image must have the same shape as the input");
+		}
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int k = 0; k < input.stride; k++ ) {
+				int end = Math.min(64,input.width - k*64);
+				long word = input.data[indexIn++];
+				for( int i = 0; i < end; i++ ) {
+					output.data[indexOut++] = (byte)((word >>> i) & 0x01);
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold and saves the results in a packed binary image.  Same as
+	 * {@link ThresholdImageOps#threshold(ImageUInt8, ImageUInt8, int, boolean)}
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary threshold( ImageUInt8 input , ImagePackedBinary output ,
+											   int threshold , boolean down ) {
+		output = declare(input.width,input.height,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int k = 0; k < output.stride; k++ ) {
+				int end = Math.min(64,input.width - k*64);
+				long word = 0;
+				if( down ) {
+					for( int i = 0; i < end; i++ ) {
+						if( (input.data[indexIn++] & 0xFF) <= threshold )
+							word |= 1L << i;
+					}
+				} else {
+					for( int i = 0; i < end; i++ ) {
+						if( (input.data[indexIn++] & 0xFF) >= threshold )
+							word |= 1L << i;
+					}
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold and saves the results in a packed binary image.  Same as
+	 * {@link ThresholdImageOps#threshold(ImageFloat32, ImageUInt8, float, boolean)}
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary threshold( ImageFloat32 input , ImagePackedBinary output ,
+											   float threshold , boolean down ) {
+		output = declare(input.width,input.height,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int k = 0; k < output.stride; k++ ) {
+				int end = Math.min(64,input.width - k*64);
+				long word = 0;
+				if( down ) {
+					for( int i = 0; i < end; i++ ) {
+						if( input.data[indexIn++] <= threshold )
+							word |= 1L << i;
+					}
+				} else {
+					for( int i = 0; i < end; i++ ) {
+						if( input.data[indexIn++] >= threshold )
+							word |= 1L << i;
+					}
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'and' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static ImagePackedBinary logicAnd( ImagePackedBinary inputA , ImagePackedBinary inputB ,
+											  ImagePackedBinary output ) {
+		checkSameShape(inputA, inputB);
+		output = declare(inputA.width,inputA.height,output);
+
+		int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] & inputB.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'or' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static ImagePackedBinary logicOr( ImagePackedBinary inputA , ImagePackedBinary inputB ,
+											 ImagePackedBinary output ) {
+		checkSameShape(inputA, inputB);
+		output = declare(inputA.width,inputA.height,output);
+
+		int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] | inputB.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'xor' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static ImagePackedBinary logicXor( ImagePackedBinary inputA , ImagePackedBinary inputB ,
+											  ImagePackedBinary output ) {
+		checkSameShape(inputA, inputB);
+		output = declare(inputA.width,inputA.height,output);
+
+		int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] ^ inputB.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * Erodes an image according to a 4-neighborhood.  See {@link BinaryImageOps#erode4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary erode4( ImagePackedBinary input , int numTimes , ImagePackedBinary output ) {
+		return apply(ERODE4, input, numTimes, output);
+	}
+
+	/**
+	 * Dilates an image according to a 4-neighborhood.  See {@link BinaryImageOps#dilate4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary dilate4( ImagePackedBinary input , int numTimes , ImagePackedBinary output ) {
+		return apply(DILATE4, input, numTimes, output);
+	}
+
+	/**
+	 * Removes all pixels but ones which are on the edge of an object, using a 4-neighborhood.
+	 * See {@link BinaryImageOps#edge4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary edge4( ImagePackedBinary input , ImagePackedBinary output ) {
+		return apply(EDGE4, input, 1, output);
+	}
+
+	/**
+	 * Erodes an image according to a 8-neighborhood.  See {@link BinaryImageOps#erode8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary erode8( ImagePackedBinary input , int numTimes , ImagePackedBinary output ) {
+		return apply(ERODE8, input, numTimes, output);
+	}
+
+	/**
+	 * Dilates an image according to a 8-neighborhood.  See {@link BinaryImageOps#dilate8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary dilate8( ImagePackedBinary input , int numTimes , ImagePackedBinary output ) {
+		return apply(DILATE8, input, numTimes, output);
+	}
+
+	/**
+	 * Removes all pixels but ones which are on the edge of an object, using a 8-neighborhood.
+	 * See {@link BinaryImageOps#edge8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary edge8( ImagePackedBinary input , ImagePackedBinary output ) {
+		return apply(EDGE8, input, 1, output);
+	}
+
+	/**
+	 * Removes small bits of spurious noise.  See {@link BinaryImageOps#removePointNoise}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary removePointNoise( ImagePackedBinary input , ImagePackedBinary output ) {
+		return apply(POINT_NOISE, input, 1, output);
+	}
+
+	/**
+	 * Applies the operation multiple times, swapping between the output and a temporary image
+	 */
+	private static ImagePackedBinary apply( int op , ImagePackedBinary input , int numTimes ,
+											ImagePackedBinary output ) {
+		if( numTimes <= 0 )
+			throw new IllegalArgumentException("numTimes must be >= 1");
+		if( input == output )
+			throw new IllegalArgumentException("The input and output can't be the same instance");
+
+		output = declare(input.width,input.height,output);
+
+		process(op, input, output);
+
+		if( numTimes > 1 ) {
+			ImagePackedBinary tmp1 = new ImagePackedBinary(input.width,input.height);
+			ImagePackedBinary tmp2 = output;
+
+			for( int i = 1; i < numTimes; i++ ) {
+				process(op, tmp2, tmp1);
+
+				ImagePackedBinary a = tmp1;
+				tmp1 = tmp2;
+				tmp2 = a;
+			}
+
+			if( tmp2 != output ) {
+				output.setTo(tmp2);
+			}
+		}
+
+		return output;
+	}
+
+	private static void process( int op , ImagePackedBinary input , ImagePackedBinary output ) {
+		// Value of pixels outside the image.  Same as in ImplBinaryBorderOps
+		long border = op == ERODE4 || op == ERODE8 || op == EDGE4 || op == EDGE8 ? ~0L : 0L;
+		long lastMask = input.getLastWordMask();
+		int lastWord = input.stride-1;
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexOut = y*output.stride;
+
+			for( int k = 0; k < input.stride; k++ ) {
+				long c = word(input, y, k, border);
+				long cl = left(input, y, k, border);
+				long cr = right(input, y, k, border);
+				long u = word(input, y - 1, k, border);
+				long d = word(input, y + 1, k, border);
+
+				long result;
+				switch( op ) {
+					case ERODE4: result = c & cl & cr & u & d; break;
+					case DILATE4: result = c | cl | cr | u | d; break;
+					case EDGE4: result = c & ~(cl & cr & u & d); break;
+
+					default: {
+						long ul = left(input, y - 1, k, border);
+						long ur = right(input, y - 1, k, border);
+						long dl = left(input, y + 1, k, border);
+						long dr = right(input, y + 1, k, border);
+
+						switch( op ) {
+							case ERODE8: result = c & cl & cr & u & ul & ur & d & dl & dr; break;
+							case DILATE8: result = c | cl | cr | u | ul | ur | d | dl | dr; break;
+							case EDGE8: result = c & ~(cl & cr & u & ul & ur & d & dl & dr); break;
+							case POINT_NOISE: result = removePointNoise(c, cl, cr, u, ul, ur, d, dl, dr); break;
+							default: throw new RuntimeException("BUG");
+						}
+					}
+				}
+
+				if( k == lastWord )
+					result &= lastMask;
+				output.data[indexOut++] = result;
+			}
+		}
+	}
+
+	/**
+	 * Counts the number of neighbors for 64 pixels at once using a bit sliced adder.  If less than 2 neighbors
+	 * the pixel is set to zero, more than 6 to one, otherwise it keeps its value.
+	 */
+	private static long removePointNoise( long c , long n0 , long n1 , long n2 , long n3 ,
+										  long n4 , long n5 , long n6 , long n7 ) {
+		// a full adder sums three values into a sum and carry bit.  Then the partial sums are combined
+		long a0 = n0 ^ n1 ^ n2, a1 = (n0 & n1) | (n2 & (n0 ^ n1));
+		long b0 = n3 ^ n4 ^ n5, b1 = (n3 & n4) | (n5 & (n3 ^ n4));
+		long d0 = n6 ^ n7, d1 = n6 & n7;
+
+		// add the ones bits
+		long s0 = a0 ^ b0 ^ d0;
+		long carry0 = (a0 & b0) | (d0 & (a0 ^ b0));
+
+		// add the twos bits plus the carry, there are four inputs so two carries are possible
+		long t0 = a1 ^ b1, t1 = a1 & b1;
+		long u0 = d1 ^ carry0, u1 = d1 & carry0;
+		long s1 = t0 ^ u0;
+		long carry1 = t0 & u0;
+
+		// number of fours.  At most 2, which represents a count of 8
+		long f0 = t1 ^ u1 ^ carry1;
+		long f1 = (t1 & u1) | (carry1 & (t1 ^ u1));
+
+		long lessThan2 = ~(f1 | f0 | s1);
+		long moreThan6 = f1 | (f0 & s1 & s0);
+
+		return moreThan6 | (c & ~lessThan2);
+	}
+
+	/**
+	 * Returns word k in row y.  Rows outside the image and bits past the image's width are filled with 'border'
+	 */
+	private static long word( ImagePackedBinary image , int y , int k , long border ) {
+		if( y < 0 || y >= image.height )
+			return border;
+		long w = image.data[y*image.stride + k];
+		if( k == image.stride-1 )
+			w |= border & ~image.getLastWordMask();
+		return w;
+	}
+
+	/**
+	 * Each bit is set to the value of the pixel to its left
+	 */
+	private static long left( ImagePackedBinary image , int y , int k , long border ) {
+		long prev = k == 0 ? border : word(image, y, k - 1, border);
+		return (word(image, y, k, border) << 1) | (prev >>> 63);
+	}
+
+	/**
+	 * Each bit is set to the value of the pixel to its right
+	 */
+	private static long right( ImagePackedBinary image , int y , int k , long border ) {
+		long next = k == image.stride-1 ? border : word(image, y, k + 1, border);
+		return (word(image, y, k, border) >>> 1) | (next << 63);
+	}
+
+	private static ImagePackedBinary declare( int width , int height , ImagePackedBinary output ) {
+		if( output == null )
+			return new ImagePackedBinary(width,height);
+		if( output.width != width || output.height != height )
+			throw new IllegalArgumentException("Output image must have the same shape as the input");
+		return output;
+	}
+
+	private static void checkSameShape( ImagePackedBinary a , ImagePackedBinary b ) {
+		if( a.width != b.width || a.height != b.height )
+			throw new IllegalArgumentException("Image shapes are not the same");
+	}
+}
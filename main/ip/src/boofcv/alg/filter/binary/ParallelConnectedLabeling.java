@@ -0,0 +1,463 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * <p>
+ * Labels blobs in a binary image using union-find and processes horizontal stripes of the image in parallel.
+ * Unlike {@link LinearContourLabelChang2004} contours are not traced while labeling, instead contours can be
+ * found in an optional second pass with {@link #traceContours}.  Callers which only need the labeled image
+ * don't pay for contour tracing.
+ * </p>
+ *
+ * <p>
+ * Steps:
+ * <ol>
+ * <li>Each stripe is labeled independently with a two pass union-find algorithm and local labels.</li>
+ * <li>Labels along the seams between stripes are merged using a lock free union-find.  Each seam is processed
+ * by a different thread.</li>
+ * <li>Each pixel is assigned its final label.</li>
+ * </ol>
+ * </p>
+ *
+ * <p>
+ * Background pixels (0 in input image) are assigned a value of 0.  If labels are compacted then each blob is assigned
+ * a unique ID from 1 to the number of blobs, ordered by the first pixel of each blob in a raster scan.  This is the
+ * same labeled image which is produced by {@link LinearContourLabelChang2004}.  If not compacted then labels are
+ * unique but not consecutive, which skips no work but avoids the assumption that IDs are consecutive.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ParallelConnectedLabeling {
+
+	// minimum number of rows in a stripe
+	public static int MIN_STRIPE = 32;
+
+	// which connectivity rule is being used
+	private ConnectRule rule;
+
+	// should labels be compacted
+	private boolean compact = true;
+
+	// local labels for each stripe
+	private List<Stripe> stripes = new ArrayList<Stripe>();
+	private int numStripes;
+
+	// parent of each stripe label in the global union-find
+	private AtomicIntegerArray parent = new AtomicIntegerArray(0);
+	// final label for each global label
+	private GrowQueue_I32 finalLabels = new GrowQueue_I32();
+	// number of blobs found
+	private int numBlobs;
+
+	// used to trace contours in the optional second pass
+	private ContourTracer tracer;
+	private ImageUInt8 border = new ImageUInt8(1,1);
+	private FastQueue<Point2D_I32> storagePoints = new FastQueue<Point2D_I32>(Point2D_I32.class,true);
+	private FastQueue<List<Point2D_I32>> storageLists = new FastQueue<List<Point2D_I32>>((Class)ArrayList.class,true);
+	private FastQueue<Contour> contours = new FastQueue<Contour>(Contour.class,true);
+
+	/**
+	 * Configures the algorithm.
+	 *
+	 * @param rule Connectivity rule.  4 or 8
+	 */
+	public ParallelConnectedLabeling( ConnectRule rule ) {
+		if( rule != ConnectRule.FOUR && rule != ConnectRule.EIGHT )
+			throw new IllegalArgumentException("Connectivity rule must be 4 or 8 not "+rule);
+		this.rule = rule;
+	}
+
+	/**
+	 * Labels blobs inside the binary image.
+	 *
+	 * @param binary Input binary image. Not modified.
+	 * @param labeled Output. Labeled image.  Modified.
+	 * @return Number of blobs found.
+	 */
+	public int process( final ImageUInt8 binary , final ImageSInt32 labeled ) {
+		InputSanityCheck.checkSameShape(binary, labeled);
+
+		int height = binary.height;
+		numStripes = 1;
+		if( BoofConcurrency.isConcurrent(binary) )
+			numStripes = Math.max(1,Math.min(BoofConcurrency.getMaxThreads(),height/MIN_STRIPE));
+
+		while( stripes.size() < numStripes )
+			stripes.add(new Stripe());
+		for( int i = 0; i < numStripes; i++ ) {
+			Stripe s = stripes.get(i);
+			s.y0 = i*height/numStripes;
+			s.y1 = (i+1)*height/numStripes;
+		}
+
+		loop(0, numStripes, new IntRangeTask() {
+			@Override
+			public void process(int minInclusive, int maxExclusive) {
+				for( int i = minInclusive; i < maxExclusive; i++ )
+					labelStripe(binary, labeled, stripes.get(i));
+			}
+		});
+
+		// assign each stripe a range of global labels
+		int total = 0;
+		for( int i = 0; i < numStripes; i++ ) {
+			Stripe s = stripes.get(i);
+			s.offset = total;
+			total += s.count;
+		}
+		if( parent.length() < total )
+			parent = new AtomicIntegerArray(total);
+		for( int i = 0; i < total; i++ )
+			parent.set(i,i);
+
+		loop(1, numStripes, new IntRangeTask() {
+			@Override
+			public void process(int minInclusive, int maxExclusive) {
+				for( int i = minInclusive; i < maxExclusive; i++ )
+					mergeSeam(labeled, stripes.get(i-1), stripes.get(i));
+			}
+		});
+
+		computeFinalLabels(total);
+
+		loop(0, numStripes, new IntRangeTask() {
+			@Override
+			public void process(int minInclusive, int maxExclusive) {
+				for( int i = minInclusive; i < maxExclusive; i++ )
+					relabelStripe(labeled, stripes.get(i));
+			}
+		});
+
+		return numBlobs;
+	}
+
+	/**
+	 * Labels a stripe using local labels.  When finished each local label is mapped to a consecutive ID,
+	 * ordered by the first pixel in the component.
+	 */
+	private void labelStripe( ImageUInt8 binary , ImageSInt32 labeled , Stripe stripe ) {
+		final int width = binary.width;
+		final boolean eight = rule == ConnectRule.EIGHT;
+		GrowQueue_I32 p = stripe.parent;
+		p.reset();
+		// label 0 is the background
+		p.add(0);
+
+		for( int y = stripe.y0; y < stripe.y1; y++ ) {
+			int indexIn = binary.startIndex + y*binary.stride;
+			int indexOut = labeled.startIndex + y*labeled.stride;
+			boolean hasUp = y > stripe.y0;
+
+			for( int x = 0; x < width; x++ , indexIn++ , indexOut++ ) {
+				if( binary.data[indexIn] == 0 ) {
+					labeled.data[indexOut] = 0;
+					continue;
+				}
+
+				int label = 0;
+				if( x > 0 )
+					label = labeled.data[indexOut-1];
+
+				if( hasUp ) {
+					int up = indexOut - labeled.stride;
+					int value = labeled.data[up];
+					if( value != 0 ) {
+						// diagonal neighbors are already connected to the pixel above
+						label = merge(p, label, value);
+					} else if( eight ) {
+						if( x > 0 )
+							label = merge(p, label, labeled.data[up-1]);
+						if( x < width-1 )
+							label = merge(p, label, labeled.data[up+1]);
+					}
+				}
+
+				if( label == 0 ) {
+					label = p.size;
+					p.add(label);
+				}
+				labeled.data[indexOut] = label;
+			}
+		}
+
+		// parents always have a smaller label, so they are fully resolved before their children
+		GrowQueue_I32 map = stripe.map;
+		map.resize(p.size);
+		int count = 0;
+		for( int i = 1; i < p.size; i++ ) {
+			int root = p.data[p.data[i]];
+			p.data[i] = root;
+			if( root == i )
+				map.data[i] = count++;
+			else
+				map.data[i] = map.data[root];
+		}
+		stripe.count = count;
+	}
+
+	/**
+	 * Merges two local labels.  Returns the label which should be assigned to the pixel
+	 */
+	private static int merge( GrowQueue_I32 p , int label , int other ) {
+		if( other == 0 )
+			return label;
+		if( label == 0 )
+			return other;
+
+		int a = findLocal(p, label);
+		int b = findLocal(p, other);
+		if( a < b )
+			p.data[b] = a;
+		else if( b < a )
+			p.data[a] = b;
+		return label;
+	}
+
+	private static int findLocal( GrowQueue_I32 p , int x ) {
+		while( p.data[x] != x ) {
+			// path halving
+			p.data[x] = p.data[p.data[x]];
+			x = p.data[x];
+		}
+		return x;
+	}
+
+	/**
+	 * Merges the labels of connected pixels along the first row in 'below' and last row in 'above'
+	 */
+	private void mergeSeam( ImageSInt32 labeled , Stripe above , Stripe below ) {
+		final int width = labeled.width;
+		final boolean eight = rule == ConnectRule.EIGHT;
+
+		int index = labeled.startIndex + below.y0*labeled.stride;
+		for( int x = 0; x < width; x++ , index++ ) {
+			int value = labeled.data[index];
+			if( value == 0 )
+				continue;
+
+			int a = below.offset + below.map.data[value];
+			int up = index - labeled.stride;
+			int valueUp = labeled.data[up];
+			if( valueUp != 0 ) {
+				union(a, above.offset + above.map.data[valueUp]);
+			} else if( eight ) {
+				if( x > 0 && labeled.data[up-1] != 0 )
+					union(a, above.offset + above.map.data[labeled.data[up-1]]);
+				if( x < width-1 && labeled.data[up+1] != 0 )
+					union(a, above.offset + above.map.data[labeled.data[up+1]]);
+			}
+		}
+	}
+
+	/**
+	 * Lock free union.  The root with the larger label is always linked to the smaller one.  If another thread
+	 * modifies the root first then the roots are found again and it tries again.
+	 */
+	private void union( int a , int b ) {
+		while( true ) {
+			a = find(a);
+			b = find(b);
+			if( a == b )
+				return;
+			if( a < b ) {
+				int tmp = a; a = b; b = tmp;
+			}
+			if( parent.compareAndSet(a, a, b) )
+				return;
+		}
+	}
+
+	private int find( int x ) {
+		while( true ) {
+			int p = parent.get(x);
+			if( p == x )
+				return x;
+			int grand = parent.get(p);
+			// path halving.  If it fails another thread already changed it, which is fine
+			if( p != grand )
+				parent.compareAndSet(x, p, grand);
+			x = p;
+		}
+	}
+
+	private void computeFinalLabels( int total ) {
+		finalLabels.resize(total);
+		numBlobs = 0;
+		for( int i = 0; i < total; i++ ) {
+			int root = find(i);
+			if( root == i ) {
+				numBlobs++;
+				finalLabels.data[i] = compact ? numBlobs : i+1;
+			} else {
+				finalLabels.data[i] = finalLabels.data[root];
+			}
+		}
+	}
+
+	private void relabelStripe( ImageSInt32 labeled , Stripe stripe ) {
+		int labels[] = finalLabels.data;
+		int map[] = stripe.map.data;
+		int offset = stripe.offset;
+
+		for( int y = stripe.y0; y < stripe.y1; y++ ) {
+			int index = labeled.startIndex + y*labeled.stride;
+			int end = index + labeled.width;
+			for( ; index < end; index++ ) {
+				int value = labeled.data[index];
+				if( value != 0 )
+					labeled.data[index] = labels[offset + map[value]];
+			}
+		}
+	}
+
+	private void loop( int start , int end , IntRangeTask task ) {
+		if( numStripes > 1 )
+			BoofConcurrency.loopBands(start, end, 1, task);
+		else
+			task.process(start, end);
+	}
+
+	/**
+	 * <p>
+	 * Optional second pass which traces the external and internal contours of each blob.  The labeled image must
+	 * have been created by {@link #process} with compacted labels.  The found contours are identical to
+	 * the ones found by {@link LinearContourLabelChang2004}.
+	 * </p>
+	 *
+	 * @param binary Input binary image which was labeled. Not modified.
+	 * @param labeled Labeled image. Not modified.
+	 */
+	public void traceContours( ImageUInt8 binary , ImageSInt32 labeled ) {
+		if( !compact )
+			throw new IllegalArgumentException("Labels must be compacted to trace contours");
+		InputSanityCheck.checkSameShape(binary, labeled);
+
+		if( tracer == null )
+			tracer = new ContourTracer(rule);
+
+		// ensure that the image border pixels are filled with zero by enlarging the image
+		if( border.width != binary.width+2 || border.height != binary.height+2)  {
+			border.reshape(binary.width + 2, binary.height + 2);
+			ImageMiscOps.fillBorder(border, 0, 1);
+		}
+		border.subimage(1,1,border.width-1,border.height-1, null).setTo(binary);
+
+		storagePoints.reset();
+		storageLists.reset();
+		contours.reset();
+		for( int i = 0; i < numBlobs; i++ ) {
+			Contour c = contours.grow();
+			c.reset();
+			c.id = i+1;
+		}
+		tracer.setInputs(border,labeled,storagePoints);
+
+		// the next blob which has not had its external contour traced.  Blobs are encountered in order of label
+		int nextExternal = 1;
+
+		for( int y = 1; y < border.height-1; y++ ) {
+			int indexIn = border.startIndex + y*border.stride+1;
+			int indexOut = labeled.startIndex + (y-1)*labeled.stride;
+
+			for( int x = 1; x < border.width-1; x++ , indexIn++ , indexOut++) {
+				if( border.data[indexIn] != 1 )
+					continue;
+
+				int label = labeled.data[indexOut];
+				Contour c = contours.get(label-1);
+
+				// first pixel in a blob must be on its external contour
+				if( label == nextExternal ) {
+					tracer.trace(label,x,y,true,c.external);
+					nextExternal++;
+				}
+				// an unmarked white pixel below must be inside an internal contour
+				if( border.data[indexIn + border.stride] == 0 ) {
+					List<Point2D_I32> inner = storageLists.grow();
+					inner.clear();
+					c.internal.add(inner);
+					tracer.trace(label,x,y,false,inner);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Contours found by the most recent call to {@link #traceContours}
+	 */
+	public FastQueue<Contour> getContours() {
+		return contours;
+	}
+
+	/**
+	 * Number of blobs found by the most recent call to {@link #process}
+	 */
+	public int getNumberOfBlobs() {
+		return numBlobs;
+	}
+
+	public boolean isCompact() {
+		return compact;
+	}
+
+	/**
+	 * If true then labels are compacted so that they are consecutive.  True by default.
+	 */
+	public void setCompact(boolean compact) {
+		this.compact = compact;
+	}
+
+	public ConnectRule getRule() {
+		return rule;
+	}
+
+	/**
+	 * Labels and book keeping for a single stripe
+	 */
+	private static class Stripe {
+		// rows in the stripe
+		int y0,y1;
+		// union-find parent of each local label
+		GrowQueue_I32 parent = new GrowQueue_I32();
+		// index of each local label in the list of components inside the stripe
+		GrowQueue_I32 map = new GrowQueue_I32();
+		// number of components in the stripe
+		int count;
+		// first global label of the stripe
+		int offset;
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.BufferF32;
+import boofcv.struct.image.BufferS16;
+import boofcv.struct.image.BufferU8;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Thresholds {@link boofcv.struct.image.ImageBuffer} images and converts them into a binary image.  Pixels are read
+ * directly from the input's buffer and the output is a regular binary image, which can be processed further
+ * by {@link BinaryImageOps}.
+ * </p>
+ *
+ * @see ThresholdImageOps
+ *
+ * @author Peter Abeles
+ */
+public class ThresholdImageBufferOps {
+
+	/**
+	 * Applies a global threshold across the whole image.  If 'down' is true, then pixels with values <=
+	 * to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with values >=
+	 * to 'threshold' are set to 1 and the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 threshold( BufferU8 input , ImageUInt8 output ,
+										int threshold , boolean down )
+	{
+		if( output == null ) {
+			output = new ImageUInt8(input.width,input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input,output);
+		}
+
+		if( down ) {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexIn + input.width;
+
+				for( ; indexIn < end; indexIn++ , indexOut++ ) {
+					if( (input.data.get(indexIn) & 0xFF) <= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		} else {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexIn + input.width;
+
+				for( ; indexIn < end; indexIn++ , indexOut++ ) {
+					if( (input.data.get(indexIn) & 0xFF) >= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold across the whole image.  If 'down' is true, then pixels with values <=
+	 * to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with values >=
+	 * to 'threshold' are set to 1 and the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 threshold( BufferS16 input , ImageUInt8 output ,
+										int threshold , boolean down )
+	{
+		if( output == null ) {
+			output = new ImageUInt8(input.width,input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input,output);
+		}
+
+		if( down ) {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexIn + input.width;
+
+				for( ; indexIn < end; indexIn++ , indexOut++ ) {
+					if( (input.data.get(indexIn)) <= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		} else {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexIn + input.width;
+
+				for( ; indexIn < end; indexIn++ , indexOut++ ) {
+					if( (input.data.get(indexIn)) >= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold across the whole image.  If 'down' is true, then pixels with values <=
+	 * to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with values >=
+	 * to 'threshold' are set to 1 and the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 threshold( BufferF32 input , ImageUInt8 output ,
+										float threshold , boolean down )
+	{
+		if( output == null ) {
+			output = new ImageUInt8(input.width,input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input,output);
+		}
+
+		if( down ) {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexIn + input.width;
+
+				for( ; indexIn < end; indexIn++ , indexOut++ ) {
+					if( (input.data.get(indexIn)) <= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		} else {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexIn + input.width;
+
+				for( ; indexIn < end; indexIn++ , indexOut++ ) {
+					if( (input.data.get(indexIn)) >= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		}
+
+		return output;
+	}
+}
@@ -19,19 +19,20 @@
 package boofcv.alg.filter.blur;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
 import boofcv.alg.filter.blur.impl.ImplMedianSortEdgeNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
+import boofcv.alg.filter.blur.impl.ImplRecursiveGaussian;
 import boofcv.alg.filter.convolve.ConvolveImageMean;
+import boofcv.alg.filter.convolve.ConvolveImageMeanInterleaved;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.filter.convolve.ConvolveNormalizedInterleaved;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
-import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageSingleBand;
-import boofcv.struct.image.ImageUInt8;
-import boofcv.struct.image.MultiSpectral;
+import boofcv.struct.image.*;
 
 /**
  * Catch all class for function which "blur" an image, typically used to "reduce" the amount
@@ -88,6 +89,28 @@ public class BlurImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a median filter whose cost per pixel does not depend on the radius.  Produces the same output
+	 * as {@link #median(ImageUInt8, ImageUInt8, int)} but is much faster for large regions.
+	 *
+	 * @see ImplMedianHistogramConstant
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the median blur function.
+	 * @return Output blurred image.
+	 */
+	public static ImageUInt8 medianConstantTime(ImageUInt8 input, ImageUInt8 output, int radius) {
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		ImplMedianHistogramConstant.process(input, output, radius);
+
+		return output;
+	}
+
 	/**
 	 * Applies Gaussian blur.
 	 *
@@ -111,6 +134,30 @@ public class BlurImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a recursive approximation of Gaussian blur whose cost per pixel does not depend on sigma.  Faster
+	 * than {@link #gaussian(ImageUInt8, ImageUInt8, double, int, ImageUInt8)} when sigma is large.
+	 *
+	 * @see ImplRecursiveGaussian
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &ge; 0.5
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static ImageUInt8 gaussianRecursive(ImageUInt8 input, ImageUInt8 output, double sigma ,
+											   ImageFloat32 storage ) {
+		output = InputSanityCheck.checkDeclare(input,output);
+		storage = InputSanityCheck.checkDeclare(input,storage,ImageFloat32.class);
+
+		ImplRecursiveGaussian.horizontal(input,storage,sigma);
+		ImplRecursiveGaussian.vertical(storage,sigma);
+		ImplRecursiveGaussian.round(storage,output);
+
+		return output;
+	}
+
 	/**
 	 * Applies a mean box filter.
 	 *
@@ -178,6 +225,122 @@ public class BlurImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a recursive approximation of Gaussian blur whose cost per pixel does not depend on sigma.  Faster
+	 * than {@link #gaussian(ImageFloat32, ImageFloat32, double, int, ImageFloat32)} when sigma is large.
+	 *
+	 * @see ImplRecursiveGaussian
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &ge; 0.5
+	 * @return Output blurred image.
+	 */
+	public static ImageFloat32 gaussianRecursive(ImageFloat32 input, ImageFloat32 output, double sigma ) {
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		ImplRecursiveGaussian.horizontal(input,output,sigma);
+		ImplRecursiveGaussian.vertical(output,sigma);
+
+		return output;
+	}
+
+	/**
+	 * Applies a mean box filter to an {@link InterleavedU8} image.  Each band is blurred independently
+	 * without splitting the image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the box blur function.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static InterleavedU8 mean(InterleavedU8 input, InterleavedU8 output, int radius, InterleavedU8 storage) {
+
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		output = InputSanityCheck.checkDeclare(input,output);
+		storage = InputSanityCheck.checkDeclare(input,storage);
+
+		ConvolveImageMeanInterleaved.horizontal(input, storage, radius);
+		ConvolveImageMeanInterleaved.vertical(storage, output, radius);
+
+		return output;
+	}
+
+	/**
+	 * Applies a mean box filter to an {@link InterleavedF32} image.  Each band is blurred independently
+	 * without splitting the image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the box blur function.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static InterleavedF32 mean(InterleavedF32 input, InterleavedF32 output, int radius, InterleavedF32 storage) {
+
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		output = InputSanityCheck.checkDeclare(input,output);
+		storage = InputSanityCheck.checkDeclare(input,storage);
+
+		ConvolveImageMeanInterleaved.horizontal(input, storage, radius);
+		ConvolveImageMeanInterleaved.vertical(storage, output, radius);
+
+		return output;
+	}
+
+	/**
+	 * Applies Gaussian blur to an {@link InterleavedU8} image.  Each band is blurred independently
+	 * without splitting the image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static InterleavedU8 gaussian(InterleavedU8 input, InterleavedU8 output, double sigma , int radius,
+										 InterleavedU8 storage ) {
+		output = InputSanityCheck.checkDeclare(input,output);
+		storage = InputSanityCheck.checkDeclare(input,storage);
+
+		Kernel1D_I32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_I32.class,sigma,radius);
+
+		ConvolveNormalizedInterleaved.horizontal(kernel,input,storage);
+		ConvolveNormalizedInterleaved.vertical(kernel,storage,output);
+
+		return output;
+	}
+
+	/**
+	 * Applies Gaussian blur to an {@link InterleavedF32} image.  Each band is blurred independently
+	 * without splitting the image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static InterleavedF32 gaussian(InterleavedF32 input, InterleavedF32 output, double sigma , int radius,
+										  InterleavedF32 storage ) {
+		output = InputSanityCheck.checkDeclare(input,output);
+		storage = InputSanityCheck.checkDeclare(input,storage);
+
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,sigma,radius);
+
+		ConvolveNormalizedInterleaved.horizontal(kernel,input,storage);
+		ConvolveNormalizedInterleaved.vertical(kernel,storage,output);
+
+		return output;
+	}
+
 	/**
 	 * Applies mean box filter to a {@link MultiSpectral}
 	 *
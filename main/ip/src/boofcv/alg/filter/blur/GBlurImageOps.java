@@ -39,12 +39,17 @@ public class GBlurImageOps {
 	 * @param <T> Input image type.
 	 * @return Output blurred image.
 	 */
+	@SuppressWarnings({"unchecked"})
 	public static <T extends ImageBase>
 	T mean(T input, T output, int radius, T storage ) {
 		if( input instanceof ImageUInt8 ) {
 			return (T)BlurImageOps.mean((ImageUInt8)input,(ImageUInt8)output,radius,(ImageUInt8)storage);
 		} else if( input instanceof ImageFloat32) {
 			return (T)BlurImageOps.mean((ImageFloat32)input,(ImageFloat32)output,radius,(ImageFloat32)storage);
+		} else if( input instanceof InterleavedU8 ) {
+			return (T)BlurImageOps.mean((InterleavedU8)input,(InterleavedU8)output,radius,(InterleavedU8)storage);
+		} else if( input instanceof InterleavedF32 ) {
+			return (T)BlurImageOps.mean((InterleavedF32)input,(InterleavedF32)output,radius,(InterleavedF32)storage);
 		} else if( input instanceof MultiSpectral ) {
 			return (T)BlurImageOps.mean((MultiSpectral)input,(MultiSpectral)output,radius,(ImageSingleBand)storage);
 		} else  {
@@ -85,16 +90,44 @@ public class GBlurImageOps {
 	 * @param <T> Input image type.
 	 * @return Output blurred image.
 	 */
+	@SuppressWarnings({"unchecked"})
 	public static <T extends ImageBase>
 	T gaussian(T input, T output, double sigma , int radius, T storage ) {
 		if( input instanceof ImageUInt8 ) {
 			return (T)BlurImageOps.gaussian((ImageUInt8)input,(ImageUInt8)output,sigma,radius,(ImageUInt8)storage);
 		} else if( input instanceof ImageFloat32) {
 			return (T)BlurImageOps.gaussian((ImageFloat32)input,(ImageFloat32)output,sigma,radius,(ImageFloat32)storage);
+		} else if( input instanceof InterleavedU8 ) {
+			return (T)BlurImageOps.gaussian((InterleavedU8)input,(InterleavedU8)output,sigma,radius,(InterleavedU8)storage);
+		} else if( input instanceof InterleavedF32 ) {
+			return (T)BlurImageOps.gaussian((InterleavedF32)input,(InterleavedF32)output,sigma,radius,(InterleavedF32)storage);
 		} else if( input instanceof MultiSpectral ) {
 			return (T)BlurImageOps.gaussian((MultiSpectral)input,(MultiSpectral)output,sigma,radius,(ImageSingleBand)storage);
 		} else  {
 			throw new IllegalArgumentException("Unsupported image type: "+input.getClass().getSimpleName());
 		}
 	}
+
+	/**
+	 * Applies a recursive approximation of Gaussian blur whose cost per pixel does not depend on sigma.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &ge; 0.5
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 *                Only used with {@link ImageUInt8}.
+	 * @param <T> Input image type.
+	 * @return Output blurred image.
+	 */
+	@SuppressWarnings({"unchecked"})
+	public static <T extends ImageSingleBand>
+	T gaussianRecursive(T input, T output, double sigma, ImageFloat32 storage ) {
+		if( input instanceof ImageUInt8 ) {
+			return (T)BlurImageOps.gaussianRecursive((ImageUInt8)input,(ImageUInt8)output,sigma,storage);
+		} else if( input instanceof ImageFloat32) {
+			return (T)BlurImageOps.gaussianRecursive((ImageFloat32)input,(ImageFloat32)output,sigma);
+		} else  {
+			throw new IllegalArgumentException("Unsupported image type: "+input.getClass().getSimpleName());
+		}
+	}
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.blur;
+
+/**
+ * Algorithms which can be used to compute a median filter.
+ *
+ * @author Peter Abeles
+ */
+public enum MedianAlgorithm {
+	/**
+	 * Default algorithm for the image type.  For {@link boofcv.struct.image.ImageUInt8} a histogram is updated as
+	 * the window slides along each row, other types sort the window.  Cost per pixel grows with the radius.
+	 */
+	DEFAULT,
+	/**
+	 * Column and kernel histograms with coarse and fine levels.  Cost per pixel does not depend on the radius, which
+	 * makes it the fastest choice for large regions.  Only {@link boofcv.struct.image.ImageUInt8} is supported.
+	 *
+	 * @see boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant
+	 */
+	CONSTANT_TIME
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Median filter for {@link ImageUInt8} whose cost per pixel does not depend on the radius.  A histogram is maintained
+ * for each column of the image and is updated by one pixel as the window moves down a row.  The kernel histogram is
+ * the sum of the column histograms inside the window and is updated by adding one column and removing another as
+ * the window moves along a row.  Histograms have two levels.  The 16 coarse bins are always kept up to date, while
+ * each 16 element segment of the fine histogram is only updated once the median falls inside of it.
+ * </p>
+ *
+ * <p>
+ * Along the image border the window is clipped to be inside the image, the same as in
+ * {@link ImplMedianSortEdgeNaive}.  The image is split into horizontal stripes which are processed in parallel.
+ * Each stripe has its own column histograms, which are initialized with the rows above it.
+ * </p>
+ *
+ * <p>
+ * Perreault, S., and Hebert, P. "Median Filtering in Constant Time" IEEE Trans. Image Processing 16(9) 2007
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramConstant {
+
+	// minimum number of rows in a stripe
+	public static int MIN_STRIPE = 32;
+
+	/**
+	 * Applies a median image filter to the entire image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public static void process( final ImageUInt8 input , final ImageUInt8 output , final int radius ) {
+		if( BoofConcurrency.isConcurrent(input) ) {
+			// the cost of initializing a stripe is about the same as processing 2*radius+1 rows
+			int minStripe = Math.max(MIN_STRIPE,2*radius+1);
+			BoofConcurrency.loopBands(0,input.height,minStripe,new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					processRows(input,output,radius,y0,y1);
+				}
+			});
+		} else {
+			processRows(input,output,radius,0,input.height);
+		}
+	}
+
+	/**
+	 * Applies the median filter to a stripe of rows.
+	 *
+	 * @param y0 First row in the stripe, inclusive.
+	 * @param y1 Last row in the stripe, exclusive.
+	 */
+	public static void processRows( ImageUInt8 input , ImageUInt8 output , int radius , int y0 , int y1 ) {
+		final int width = input.width;
+		final int height = input.height;
+
+		// histogram of each column inside the window
+		int columnFine[] = new int[ width*256 ];
+		int columnCoarse[] = new int[ width*16 ];
+		// histogram of the window
+		int kernelFine[] = new int[ 256 ];
+		int kernelCoarse[] = new int[ 16 ];
+		// x-coordinate which each segment in the fine histogram was last updated at. -1 if not valid
+		int segmentX[] = new int[ 16 ];
+
+		for( int y = Math.max(0,y0-radius); y < Math.min(height,y0+radius); y++ ) {
+			updateColumns(input, y, columnFine, columnCoarse, 1);
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			// move the column histograms down one row
+			if( y > y0 && y-radius-1 >= 0 )
+				updateColumns(input, y-radius-1, columnFine, columnCoarse, -1);
+			if( y+radius < height )
+				updateColumns(input, y+radius, columnFine, columnCoarse, 1);
+
+			int numRows = Math.min(height,y+radius+1) - Math.max(0,y-radius);
+
+			// initialize the window at the start of the row.  Fine segments are computed when first needed
+			Arrays.fill(kernelCoarse,0);
+			Arrays.fill(segmentX,-1);
+			for( int x = 0; x < Math.min(width,radius+1); x++ ) {
+				int index = x*16;
+				for( int i = 0; i < 16; i++ ) {
+					kernelCoarse[i] += columnCoarse[index+i];
+				}
+			}
+
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				if( x > 0 ) {
+					if( x+radius < width ) {
+						int index = (x+radius)*16;
+						for( int i = 0; i < 16; i++ ) {
+							kernelCoarse[i] += columnCoarse[index+i];
+						}
+					}
+					if( x-radius-1 >= 0 ) {
+						int index = (x-radius-1)*16;
+						for( int i = 0; i < 16; i++ ) {
+							kernelCoarse[i] -= columnCoarse[index+i];
+						}
+					}
+				}
+
+				int numCols = Math.min(width,x+radius+1) - Math.max(0,x-radius);
+				int threshold = (numRows*numCols)/2+1;
+
+				// find the coarse bin which contains the median
+				int count = 0;
+				int segment = 0;
+				for( ; segment < 15; segment++ ) {
+					if( count + kernelCoarse[segment] >= threshold )
+						break;
+					count += kernelCoarse[segment];
+				}
+
+				updateSegment(columnFine, kernelFine, segmentX, segment, x, radius, width);
+
+				// find the median inside the segment
+				int median = segment*16;
+				int end = median + 15;
+				for( ; median < end; median++ ) {
+					count += kernelFine[median];
+					if( count >= threshold )
+						break;
+				}
+
+				output.data[indexOut+x] = (byte)median;
+			}
+		}
+	}
+
+	/**
+	 * Adds or removes the pixels in a row from the column histograms
+	 */
+	private static void updateColumns( ImageUInt8 input , int y , int columnFine[] , int columnCoarse[] , int delta ) {
+		int index = input.startIndex + y*input.stride;
+		for( int x = 0; x < input.width; x++ ) {
+			int value = input.data[index++] & 0xFF;
+			columnFine[x*256 + value] += delta;
+			columnCoarse[x*16 + (value >> 4)] += delta;
+		}
+	}
+
+	/**
+	 * Brings a segment of the fine kernel histogram up to date for the window centered at x.  If it was recently
+	 * updated then the columns it missed are added and removed, otherwise it is computed from scratch.
+	 */
+	private static void updateSegment( int columnFine[] , int kernelFine[] , int segmentX[] ,
+									   int segment , int x , int radius , int width ) {
+		int last = segmentX[segment];
+		int offset = segment*16;
+
+		if( last < 0 || 2*(x-last) > 2*radius+1 ) {
+			for( int i = 0; i < 16; i++ ) {
+				kernelFine[offset+i] = 0;
+			}
+			int end = Math.min(width,x+radius+1);
+			for( int col = Math.max(0,x-radius); col < end; col++ ) {
+				int index = col*256 + offset;
+				for( int i = 0; i < 16; i++ ) {
+					kernelFine[offset+i] += columnFine[index+i];
+				}
+			}
+		} else {
+			for( int j = last+1; j <= x; j++ ) {
+				if( j+radius < width ) {
+					int index = (j+radius)*256 + offset;
+					for( int i = 0; i < 16; i++ ) {
+						kernelFine[offset+i] += columnFine[index+i];
+					}
+				}
+				if( j-radius-1 >= 0 ) {
+					int index = (j-radius-1)*256 + offset;
+					for( int i = 0; i < 16; i++ ) {
+						kernelFine[offset+i] -= columnFine[index+i];
+					}
+				}
+			}
+		}
+		segmentX[segment] = x;
+	}
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Recursive (IIR) approximation of Gaussian blur whose cost per pixel does not depend on sigma.  Each row and
+ * column is filtered by a third order causal filter followed by the same filter running in the anti-causal
+ * direction.  Filter coefficients are computed using the method described in [1], which is valid for sigma &ge; 0.5.
+ * The approximation's accuracy improves as sigma increases.  For small values of sigma a convolution with a truncated
+ * kernel is both faster and more accurate.
+ * </p>
+ *
+ * <p>
+ * The image border is handled by extending the edge pixels, similar to {@link boofcv.core.image.border.BorderType#EXTENDED}.
+ * The causal filter is initialized with its steady state response to the first pixel.  Before the anti-causal filter
+ * runs, the causal filter is continued past the end of the row using the last pixel's value, so that the anti-causal
+ * filter sees the correct response of the extended border.
+ * </p>
+ *
+ * <p>
+ * The horizontal pass splits the image into bands of rows and the vertical pass splits it into bands of columns,
+ * with each band being processed in parallel.  The vertical pass is done in place and traverses the image one row
+ * at a time, avoiding column order memory access.
+ * </p>
+ *
+ * <p>
+ * [1] Young, I.T., van Vliet, L.J. "Recursive implementation of the Gaussian filter" Signal Processing 44 (1995)
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplRecursiveGaussian {
+
+	// minimum number of rows or columns in a band processed by a single thread
+	public static int MIN_BAND = 32;
+
+	/**
+	 * Computes the filter's coefficients for the specified sigma.
+	 *
+	 * @param sigma Gaussian's standard deviation.  Must be &ge; 0.5
+	 * @return Array containing {B, a1, a2, a3}
+	 */
+	public static float[] coefficients( double sigma ) {
+		if( sigma < 0.5 )
+			throw new IllegalArgumentException("Sigma must be >= 0.5");
+
+		double q;
+		if( sigma >= 2.5 )
+			q = 0.98711*sigma - 0.96330;
+		else
+			q = 3.97156 - 4.14554*Math.sqrt(1.0 - 0.26891*sigma);
+
+		double q2 = q*q;
+		double q3 = q2*q;
+
+		double b0 = 1.57825 + 2.44413*q + 1.4281*q2 + 0.422205*q3;
+		double b1 = 2.44413*q + 2.85619*q2 + 1.26661*q3;
+		double b2 = -(1.4281*q2 + 1.26661*q3);
+		double b3 = 0.422205*q3;
+
+		float a1 = (float)(b1/b0);
+		float a2 = (float)(b2/b0);
+		float a3 = (float)(b3/b0);
+		// computed from the rounded coefficients so that a constant image is not changed
+		float B = 1.0f - (a1 + a2 + a3);
+
+		return new float[]{B,a1,a2,a3};
+	}
+
+	/**
+	 * Number of samples past the image border which the causal filter is continued for.
+	 */
+	public static int borderLength( double sigma ) {
+		return (int)Math.ceil(4*sigma) + 3;
+	}
+
+	/**
+	 * Blurs each row in the image.  The input and output images can be the same instance.
+	 */
+	public static void horizontal( final ImageFloat32 input , final ImageFloat32 output , final double sigma ) {
+		final float[] c = coefficients(sigma);
+		final int tail = borderLength(sigma);
+
+		if( BoofConcurrency.isConcurrent(input) ) {
+			BoofConcurrency.loopBands(0,input.height,MIN_BAND,new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					horizontal(input,output,c,tail,y0,y1);
+				}
+			});
+		} else {
+			horizontal(input,output,c,tail,0,input.height);
+		}
+	}
+
+	/**
+	 * Blurs each row in the image and saves the results into a floating point image.
+	 */
+	public static void horizontal( final ImageUInt8 input , final ImageFloat32 output , final double sigma ) {
+		final float[] c = coefficients(sigma);
+		final int tail = borderLength(sigma);
+
+		if( BoofConcurrency.isConcurrent(input) ) {
+			BoofConcurrency.loopBands(0,input.height,MIN_BAND,new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					horizontal(input,output,c,tail,y0,y1);
+				}
+			});
+		} else {
+			horizontal(input,output,c,tail,0,input.height);
+		}
+	}
+
+	/**
+	 * Blurs each column in the image.  The image is modified in place.
+	 */
+	public static void vertical( final ImageFloat32 image , final double sigma ) {
+		final float[] c = coefficients(sigma);
+		final int tail = borderLength(sigma);
+
+		if( BoofConcurrency.isConcurrent(image) ) {
+			BoofConcurrency.loopBands(0,image.width,MIN_BAND,new IntRangeTask() {
+				@Override
+				public void process(int x0, int x1) {
+					vertical(image,c,tail,x0,x1);
+				}
+			});
+		} else {
+			vertical(image,c,tail,0,image.width);
+		}
+	}
+
+	/**
+	 * Rounds the floating point image to the nearest integer and saves it into the output image.
+	 */
+	public static void round( ImageFloat32 input , ImageUInt8 output ) {
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexIn + input.width;
+
+			while( indexIn < end ) {
+				int value = (int)(input.data[indexIn++] + 0.5f);
+				if( value < 0 ) value = 0; else if( value > 255 ) value = 255;
+				output.data[indexOut++] = (byte)value;
+			}
+		}
+	}
+
+	private static void horizontal( ImageFloat32 input , ImageFloat32 output ,
+									float[] c , int tail , int y0 , int y1 ) {
+		float[] buffer = new float[ input.width + tail ];
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			System.arraycopy(input.data,indexIn,buffer,0,input.width);
+
+			filterRow(buffer,input.width,tail,c);
+
+			System.arraycopy(buffer,0,output.data,output.startIndex + y*output.stride,input.width);
+		}
+	}
+
+	private static void horizontal( ImageUInt8 input , ImageFloat32 output ,
+									float[] c , int tail , int y0 , int y1 ) {
+		float[] buffer = new float[ input.width + tail ];
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			for( int x = 0; x < input.width; x++ ) {
+				buffer[x] = input.data[indexIn++] & 0xFF;
+			}
+
+			filterRow(buffer,input.width,tail,c);
+
+			System.arraycopy(buffer,0,output.data,output.startIndex + y*output.stride,input.width);
+		}
+	}
+
+	/**
+	 * Applies the causal and anti-causal filters to the first N elements of the buffer in place.
+	 * The remaining elements in the buffer are used to extend the border.
+	 */
+	private static void filterRow( float[] buffer , int N , int tail , float[] c ) {
+		if( N == 0 )
+			return;
+		final float B = c[0], a1 = c[1], a2 = c[2], a3 = c[3];
+
+		// the border is extended using the first and last elements' values
+		float first = buffer[0];
+		float value = buffer[N-1];
+
+		// causal filter.  The steady state response to the first element is the element's value
+		float w1 = first, w2 = first, w3 = first;
+		for( int i = 0; i < N; i++ ) {
+			float w = B*buffer[i] + a1*w1 + a2*w2 + a3*w3;
+			buffer[i] = w;
+			w3 = w2; w2 = w1; w1 = w;
+		}
+
+		// continue the causal filter into the extended border
+		for( int i = N; i < N + tail; i++ ) {
+			float w = B*value + a1*w1 + a2*w2 + a3*w3;
+			buffer[i] = w;
+			w3 = w2; w2 = w1; w1 = w;
+		}
+
+		// anti-causal filter, starting from its steady state response to the extended border
+		float o1 = value, o2 = value, o3 = value;
+		for( int i = N + tail - 1; i >= 0; i-- ) {
+			float o = B*buffer[i] + a1*o1 + a2*o2 + a3*o3;
+			buffer[i] = o;
+			o3 = o2; o2 = o1; o1 = o;
+		}
+	}
+
+	/**
+	 * Blurs columns x0 to x1-1 in place.  Rows are processed one at a time to keep memory access sequential.
+	 */
+	private static void vertical( ImageFloat32 image , float[] c , int tail , int x0 , int x1 ) {
+		final float B = c[0], a1 = c[1], a2 = c[2], a3 = c[3];
+		final int width = x1 - x0;
+		final int H = image.height;
+		if( H == 0 )
+			return;
+
+		// original values along the last row, used to extend the border
+		float[] last = new float[ width ];
+		System.arraycopy(image.data,image.startIndex + (H-1)*image.stride + x0,last,0,width);
+		// causal filter output past the bottom of the image
+		float[] border = new float[ tail*width ];
+
+		float[][] arrays = new float[4][];
+		int[] offsets = new int[4];
+
+		// causal filter.  Row 0 is not modified since its response is the steady state of the first row
+		for( int y = 1; y < H + tail; y++ ) {
+			for( int k = 0; k < 4; k++ ) {
+				selectRow(image,border,last,tail,Math.max(0,y-k),x0,width,arrays,offsets,k);
+			}
+			float[] d0 = arrays[0], d1 = arrays[1], d2 = arrays[2], d3 = arrays[3];
+			int i0 = offsets[0], i1 = offsets[1], i2 = offsets[2], i3 = offsets[3];
+
+			if( y < H ) {
+				for( int x = 0; x < width; x++ ) {
+					d0[i0+x] = B*d0[i0+x] + a1*d1[i1+x] + a2*d2[i2+x] + a3*d3[i3+x];
+				}
+			} else {
+				for( int x = 0; x < width; x++ ) {
+					d0[i0+x] = B*last[x] + a1*d1[i1+x] + a2*d2[i2+x] + a3*d3[i3+x];
+				}
+			}
+		}
+
+		// anti-causal filter.  Rows past the border are set to the steady state, the last row's original value
+		for( int y = H + tail - 1; y >= 0; y-- ) {
+			for( int k = 0; k < 4; k++ ) {
+				selectRow(image,border,last,tail,y+k,x0,width,arrays,offsets,k);
+			}
+			float[] d0 = arrays[0], d1 = arrays[1], d2 = arrays[2], d3 = arrays[3];
+			int i0 = offsets[0], i1 = offsets[1], i2 = offsets[2], i3 = offsets[3];
+
+			for( int x = 0; x < width; x++ ) {
+				d0[i0+x] = B*d0[i0+x] + a1*d1[i1+x] + a2*d2[i2+x] + a3*d3[i3+x];
+			}
+		}
+	}
+
+	/**
+	 * Selects the array and offset which contains the specified row.  Rows inside the image reference the image,
+	 * rows just past the bottom reference the border storage, and rows further out reference the last row's
+	 * original values.
+	 */
+	private static void selectRow( ImageFloat32 image , float[] border , float[] last , int tail , int y ,
+								   int x0 , int width , float[][] arrays , int[] offsets , int which ) {
+		int H = image.height;
+		if( y < H ) {
+			arrays[which] = image.data;
+			offsets[which] = image.startIndex + y*image.stride + x0;
+		} else if( y < H + tail ) {
+			arrays[which] = border;
+			offsets[which] = (y-H)*width;
+		} else {
+			arrays[which] = last;
+			offsets[which] = 0;
+		}
+	}
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.convolve.Kernel2D_I32;
+import boofcv.struct.image.*;
+
+/**
+ * <p>
+ * Convolves 1D and 2D kernels across {@link ImageBuffer} images, excluding the image border.  Pixels are read
+ * directly from the input's buffer so that an image provided by native code can be filtered without first being
+ * copied into the Java heap.  The output is a regular image and is identical to what
+ * {@link ConvolveImageNoBorder} computes for the same input.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"ForLoopReplaceableByForEach"})
+public class ConvolveImageBuffer {
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border
+	 * is not processed and the vertical border is optionally processed.  The border is as wide
+	 * as the radius of the kernel.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param includeVerticalBorder Should the vertical border of the image be processed?
+	 */
+	public static void horizontal( Kernel1D_F32 kernel ,
+								   BufferF32 input , ImageFloat32 output ,
+								   boolean includeVerticalBorder ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final float[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+
+		final int yBorder = includeVerticalBorder ? 0 : radius;
+
+		final int width = input.getWidth();
+		final int height = input.getHeight()-yBorder;
+
+		for( int i = yBorder; i < height; i++ ) {
+			int indexDst = output.startIndex + i*output.stride+radius;
+			int j = input.startIndex + i*input.stride;
+			final int jEnd = j+width-2*radius;
+
+			for( ; j < jEnd; j++ ) {
+				float total = 0;
+				int indexSrc = j;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += (input.data.get(indexSrc++)) * dataKer[k];
+				}
+				output.data[indexDst++] = total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image.  The vertical border is not processed
+	 * and the horizontal border is optionally processed.  The border is as wide
+	 * as the radius of the kernel.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
+	 */
+	public static void vertical( Kernel1D_F32 kernel ,
+								 BufferF32 input , ImageFloat32 output ,
+								 boolean includeHorizontalBorder ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final float[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+
+		final int imgWidth = output.getWidth();
+		final int imgHeight = output.getHeight();
+
+		final int yEnd = imgHeight-radius;
+
+		final int xBorder = includeHorizontalBorder ? 0 : radius;
+
+		for( int y = radius; y < yEnd; y++ ) {
+			int indexDst = output.startIndex+y*output.stride+xBorder;
+			int i = input.startIndex + (y-radius)*input.stride;
+			final int iEnd = i+imgWidth-xBorder;
+
+			for( i += xBorder; i < iEnd; i++ ) {
+				float total = 0;
+				int indexSrc = i;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += (input.data.get(indexSrc)) * dataKer[k];
+					indexSrc += input.stride;
+				}
+				output.data[indexDst++] = total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output The results of the convolution
+	 */
+	public static void convolve( Kernel2D_F32 kernel , BufferF32 input , ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final float[] dataKernel = kernel.data;
+
+		final int width = input.getWidth();
+		final int height = input.getHeight();
+
+		int kernelRadius = kernel.width/2;
+
+		for( int y = kernelRadius; y < height-kernelRadius; y++ ) {
+			int indexDst = output.startIndex + y*output.stride+kernelRadius;
+			for( int x = kernelRadius; x < width-kernelRadius; x++ ) {
+				float total = 0;
+				int indexKer = 0;
+				for( int ki = -kernelRadius; ki <= kernelRadius; ki++ ) {
+					int indexSrc = input.startIndex+(y+ki)*input.stride+ x;
+					for( int kj = -kernelRadius; kj <= kernelRadius; kj++ ) {
+						total += (input.data.get(indexSrc+kj)) * dataKernel[indexKer++];
+					}
+				}
+				output.data[indexDst++] = total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border
+	 * is not processed and the vertical border is optionally processed.  The border is as wide
+	 * as the radius of the kernel.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param includeVerticalBorder Should the vertical border of the image be processed?
+	 */
+	public static void horizontal( Kernel1D_I32 kernel ,
+								   BufferU8 input , ImageInt16 output ,
+								   boolean includeVerticalBorder ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+
+		final int yBorder = includeVerticalBorder ? 0 : radius;
+
+		final int width = input.getWidth();
+		final int height = input.getHeight()-yBorder;
+
+		for( int i = yBorder; i < height; i++ ) {
+			int indexDst = output.startIndex + i*output.stride+radius;
+			int j = input.startIndex + i*input.stride;
+			final int jEnd = j+width-2*radius;
+
+			for( ; j < jEnd; j++ ) {
+				int total = 0;
+				int indexSrc = j;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += (input.data.get(indexSrc++) & 0xFF) * dataKer[k];
+				}
+				output.data[indexDst++] = (short)total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image.  The vertical border is not processed
+	 * and the horizontal border is optionally processed.  The border is as wide
+	 * as the radius of the kernel.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
+	 */
+	public static void vertical( Kernel1D_I32 kernel ,
+								 BufferU8 input , ImageInt16 output ,
+								 boolean includeHorizontalBorder ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+
+		final int imgWidth = output.getWidth();
+		final int imgHeight = output.getHeight();
+
+		final int yEnd = imgHeight-radius;
+
+		final int xBorder = includeHorizontalBorder ? 0 : radius;
+
+		for( int y = radius; y < yEnd; y++ ) {
+			int indexDst = output.startIndex+y*output.stride+xBorder;
+			int i = input.startIndex + (y-radius)*input.stride;
+			final int iEnd = i+imgWidth-xBorder;
+
+			for( i += xBorder; i < iEnd; i++ ) {
+				int total = 0;
+				int indexSrc = i;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += (input.data.get(indexSrc) & 0xFF) * dataKer[k];
+					indexSrc += input.stride;
+				}
+				output.data[indexDst++] = (short)total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output The results of the convolution
+	 */
+	public static void convolve( Kernel2D_I32 kernel , BufferU8 input , ImageInt16 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int[] dataKernel = kernel.data;
+
+		final int width = input.getWidth();
+		final int height = input.getHeight();
+
+		int kernelRadius = kernel.width/2;
+
+		for( int y = kernelRadius; y < height-kernelRadius; y++ ) {
+			int indexDst = output.startIndex + y*output.stride+kernelRadius;
+			for( int x = kernelRadius; x < width-kernelRadius; x++ ) {
+				int total = 0;
+				int indexKer = 0;
+				for( int ki = -kernelRadius; ki <= kernelRadius; ki++ ) {
+					int indexSrc = input.startIndex+(y+ki)*input.stride+ x;
+					for( int kj = -kernelRadius; kj <= kernelRadius; kj++ ) {
+						total += (input.data.get(indexSrc+kj) & 0xFF) * dataKernel[indexKer++];
+					}
+				}
+				output.data[indexDst++] = (short)total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border
+	 * is not processed and the vertical border is optionally processed.  The border is as wide
+	 * as the radius of the kernel.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param includeVerticalBorder Should the vertical border of the image be processed?
+	 */
+	public static void horizontal( Kernel1D_I32 kernel ,
+								   BufferS16 input , ImageInt16 output ,
+								   boolean includeVerticalBorder ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+
+		final int yBorder = includeVerticalBorder ? 0 : radius;
+
+		final int width = input.getWidth();
+		final int height = input.getHeight()-yBorder;
+
+		for( int i = yBorder; i < height; i++ ) {
+			int indexDst = output.startIndex + i*output.stride+radius;
+			int j = input.startIndex + i*input.stride;
+			final int jEnd = j+width-2*radius;
+
+			for( ; j < jEnd; j++ ) {
+				int total = 0;
+				int indexSrc = j;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += (input.data.get(indexSrc++)) * dataKer[k];
+				}
+				output.data[indexDst++] = (short)total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image.  The vertical border is not processed
+	 * and the horizontal border is optionally processed.  The border is as wide
+	 * as the radius of the kernel.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
+	 */
+	public static void vertical( Kernel1D_I32 kernel ,
+								 BufferS16 input , ImageInt16 output ,
+								 boolean includeHorizontalBorder ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+
+		final int imgWidth = output.getWidth();
+		final int imgHeight = output.getHeight();
+
+		final int yEnd = imgHeight-radius;
+
+		final int xBorder = includeHorizontalBorder ? 0 : radius;
+
+		for( int y = radius; y < yEnd; y++ ) {
+			int indexDst = output.startIndex+y*output.stride+xBorder;
+			int i = input.startIndex + (y-radius)*input.stride;
+			final int iEnd = i+imgWidth-xBorder;
+
+			for( i += xBorder; i < iEnd; i++ ) {
+				int total = 0;
+				int indexSrc = i;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += (input.data.get(indexSrc)) * dataKer[k];
+					indexSrc += input.stride;
+				}
+				output.data[indexDst++] = (short)total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output The results of the convolution
+	 */
+	public static void convolve( Kernel2D_I32 kernel , BufferS16 input , ImageInt16 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int[] dataKernel = kernel.data;
+
+		final int width = input.getWidth();
+		final int height = input.getHeight();
+
+		int kernelRadius = kernel.width/2;
+
+		for( int y = kernelRadius; y < height-kernelRadius; y++ ) {
+			int indexDst = output.startIndex + y*output.stride+kernelRadius;
+			for( int x = kernelRadius; x < width-kernelRadius; x++ ) {
+				int total = 0;
+				int indexKer = 0;
+				for( int ki = -kernelRadius; ki <= kernelRadius; ki++ ) {
+					int indexSrc = input.startIndex+(y+ki)*input.stride+ x;
+					for( int kj = -kernelRadius; kj <= kernelRadius; kj++ ) {
+						total += (input.data.get(indexSrc+kj)) * dataKernel[indexKer++];
+					}
+				}
+				output.data[indexDst++] = (short)total;
+			}
+		}
+	}
+}
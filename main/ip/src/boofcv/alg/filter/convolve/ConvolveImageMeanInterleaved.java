@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.noborder.ConvolveRowBands;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+
+/**
+ * <p>
+ * Convolves a mean filter across an {@link boofcv.struct.image.ImageInterleaved} image.  Produces the same
+ * results as {@link ConvolveImageMean} applied to each band.  Inside the image a running sum is maintained for
+ * every band, making the cost per pixel independent of the radius.  Along the border the kernel is
+ * re-normalized using {@link ConvolveNormalizedInterleaved}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveImageMeanInterleaved {
+
+	/**
+	 * Performs a horizontal 1D convolution which computes the mean value of elements
+	 * inside the kernel.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void horizontal( final InterleavedF32 input , final InterleavedF32 output , final int radius ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,true);
+		if( BoofConcurrency.isConcurrent(output) ) {
+			BoofConcurrency.loopBands(0, input.height, ConvolveRowBands.MIN_BAND_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					horizontal(kernel, input, output, y0, y1);
+				}
+			});
+		} else {
+			horizontal(kernel, input, output, 0, input.height);
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution which computes the mean value of elements
+	 * inside the kernel.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void vertical( final InterleavedF32 input , final InterleavedF32 output , final int radius ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,true);
+		if( BoofConcurrency.isConcurrent(output) ) {
+			BoofConcurrency.loopBands(0, input.height, ConvolveRowBands.MIN_BAND_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					vertical(kernel, input, output, y0, y1);
+				}
+			});
+		} else {
+			vertical(kernel, input, output, 0, input.height);
+		}
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution which computes the mean value of elements
+	 * inside the kernel.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void horizontal( final InterleavedU8 input , final InterleavedU8 output , final int radius ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
+		if( BoofConcurrency.isConcurrent(output) ) {
+			BoofConcurrency.loopBands(0, input.height, ConvolveRowBands.MIN_BAND_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					horizontal(kernel, input, output, y0, y1);
+				}
+			});
+		} else {
+			horizontal(kernel, input, output, 0, input.height);
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution which computes the mean value of elements
+	 * inside the kernel.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void vertical( final InterleavedU8 input , final InterleavedU8 output , final int radius ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
+		if( BoofConcurrency.isConcurrent(output) ) {
+			BoofConcurrency.loopBands(0, input.height, ConvolveRowBands.MIN_BAND_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					vertical(kernel, input, output, y0, y1);
+				}
+			});
+		} else {
+			vertical(kernel, input, output, 0, input.height);
+		}
+	}
+
+	private static void horizontal( Kernel1D_F32 kernel , InterleavedF32 input , InterleavedF32 output ,
+									int y0 , int y1 ) {
+		final float[] dataSrc = input.data;
+		final float[] dataDst = output.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+		final int width = input.width;
+		final int numBands = input.numBands;
+		final float divisor = kernelWidth;
+
+		// pixels which the entire kernel overlaps with
+		final int innerX0 = Math.min(radius, width);
+		final int innerX1 = Math.max(innerX0, width - radius);
+
+		float totals[] = new float[ numBands ];
+
+		for( int y = y0; y < y1; y++ ) {
+			ConvolveNormalizedInterleaved.horizontalBorder(kernel, input, output, y, 0, innerX0);
+
+			if( innerX0 < innerX1 ) {
+				final int rowSrc = input.startIndex + y*input.stride;
+				int indexDst = output.startIndex + y*output.stride + innerX0*numBands;
+
+				int indexSrc = rowSrc;
+				for( int band = 0; band < numBands; band++ )
+					totals[band] = 0;
+				for( int x = 0; x < kernelWidth; x++ ) {
+					for( int band = 0; band < numBands; band++ ) {
+						totals[band] += dataSrc[indexSrc++];
+					}
+				}
+				for( int band = 0; band < numBands; band++ ) {
+					dataDst[indexDst++] = totals[band]/divisor;
+				}
+
+				// slide the window by adding the new pixel and removing the pixel which fell off
+				final int indexEnd = rowSrc + width*numBands;
+				final int backStep = kernelWidth*numBands;
+				while( indexSrc < indexEnd ) {
+					for( int band = 0; band < numBands; band++ , indexSrc++ ) {
+						totals[band] += dataSrc[indexSrc] - dataSrc[indexSrc-backStep];
+						dataDst[indexDst++] = totals[band]/divisor;
+					}
+				}
+			}
+
+			ConvolveNormalizedInterleaved.horizontalBorder(kernel, input, output, y, innerX1, width);
+		}
+	}
+
+	private static void vertical( Kernel1D_F32 kernel , InterleavedF32 input , InterleavedF32 output ,
+								  int y0 , int y1 ) {
+		final float[] dataSrc = input.data;
+		final float[] dataDst = output.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+		final int height = input.height;
+		final int rowLength = input.width*input.numBands;
+		final float divisor = kernelWidth;
+
+		for( int y = y0; y < Math.min(y1,radius); y++ ) {
+			ConvolveNormalizedInterleaved.verticalBorder(kernel, input, output, y);
+		}
+
+		// rows which the entire kernel overlaps with
+		final int innerY0 = Math.max(y0, radius);
+		final int innerY1 = Math.min(y1, height - radius);
+
+		if( innerY0 < innerY1 ) {
+			float totals[] = new float[ rowLength ];
+
+			int indexSrc = input.startIndex + (innerY0-radius)*input.stride;
+			for( int r = 0; r < kernelWidth; r++ , indexSrc += input.stride ) {
+				for( int i = 0; i < rowLength; i++ ) {
+					totals[i] += dataSrc[indexSrc+i];
+				}
+			}
+			int indexDst = output.startIndex + innerY0*output.stride;
+			for( int i = 0; i < rowLength; i++ ) {
+				dataDst[indexDst+i] = totals[i]/divisor;
+			}
+
+			// slide the window down one row at a time
+			final int backStep = kernelWidth*input.stride;
+			for( int y = innerY0+1; y < innerY1; y++ , indexSrc += input.stride ) {
+				indexDst = output.startIndex + y*output.stride;
+				for( int i = 0; i < rowLength; i++ ) {
+					totals[i] += dataSrc[indexSrc+i] - dataSrc[indexSrc+i-backStep];
+					dataDst[indexDst+i] = totals[i]/divisor;
+				}
+			}
+		}
+
+		for( int y = Math.max(y0,Math.max(radius,height-radius)); y < y1; y++ ) {
+			ConvolveNormalizedInterleaved.verticalBorder(kernel, input, output, y);
+		}
+	}
+
+	private static void horizontal( Kernel1D_I32 kernel , InterleavedU8 input , InterleavedU8 output ,
+									int y0 , int y1 ) {
+		final byte[] dataSrc = input.data;
+		final byte[] dataDst = output.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+		final int width = input.width;
+		final int numBands = input.numBands;
+		final int divisor = kernelWidth;
+		final int halfDivisor = divisor/2;
+
+		// pixels which the entire kernel overlaps with
+		final int innerX0 = Math.min(radius, width);
+		final int innerX1 = Math.max(innerX0, width - radius);
+
+		int totals[] = new int[ numBands ];
+
+		for( int y = y0; y < y1; y++ ) {
+			ConvolveNormalizedInterleaved.horizontalBorder(kernel, input, output, y, 0, innerX0);
+
+			if( innerX0 < innerX1 ) {
+				final int rowSrc = input.startIndex + y*input.stride;
+				int indexDst = output.startIndex + y*output.stride + innerX0*numBands;
+
+				int indexSrc = rowSrc;
+				for( int band = 0; band < numBands; band++ )
+					totals[band] = 0;
+				for( int x = 0; x < kernelWidth; x++ ) {
+					for( int band = 0; band < numBands; band++ ) {
+						totals[band] += dataSrc[indexSrc++] & 0xFF;
+					}
+				}
+				for( int band = 0; band < numBands; band++ ) {
+					dataDst[indexDst++] = (byte)((totals[band]+halfDivisor)/divisor);
+				}
+
+				// slide the window by adding the new pixel and removing the pixel which fell off
+				final int indexEnd = rowSrc + width*numBands;
+				final int backStep = kernelWidth*numBands;
+				while( indexSrc < indexEnd ) {
+					for( int band = 0; band < numBands; band++ , indexSrc++ ) {
+						totals[band] += (dataSrc[indexSrc] & 0xFF) - (dataSrc[indexSrc-backStep] & 0xFF);
+						dataDst[indexDst++] = (byte)((totals[band]+halfDivisor)/divisor);
+					}
+				}
+			}
+
+			ConvolveNormalizedInterleaved.horizontalBorder(kernel, input, output, y, innerX1, width);
+		}
+	}
+
+	private static void vertical( Kernel1D_I32 kernel , InterleavedU8 input , InterleavedU8 output ,
+								  int y0 , int y1 ) {
+		final byte[] dataSrc = input.data;
+		final byte[] dataDst = output.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+		final int height = input.height;
+		final int rowLength = input.width*input.numBands;
+		final int divisor = kernelWidth;
+		final int halfDivisor = divisor/2;
+
+		for( int y = y0; y < Math.min(y1,radius); y++ ) {
+			ConvolveNormalizedInterleaved.verticalBorder(kernel, input, output, y);
+		}
+
+		// rows which the entire kernel overlaps with
+		final int innerY0 = Math.max(y0, radius);
+		final int innerY1 = Math.min(y1, height - radius);
+
+		if( innerY0 < innerY1 ) {
+			int totals[] = new int[ rowLength ];
+
+			int indexSrc = input.startIndex + (innerY0-radius)*input.stride;
+			for( int r = 0; r < kernelWidth; r++ , indexSrc += input.stride ) {
+				for( int i = 0; i < rowLength; i++ ) {
+					totals[i] += dataSrc[indexSrc+i] & 0xFF;
+				}
+			}
+			int indexDst = output.startIndex + innerY0*output.stride;
+			for( int i = 0; i < rowLength; i++ ) {
+				dataDst[indexDst+i] = (byte)((totals[i]+halfDivisor)/divisor);
+			}
+
+			// slide the window down one row at a time
+			final int backStep = kernelWidth*input.stride;
+			for( int y = innerY0+1; y < innerY1; y++ , indexSrc += input.stride ) {
+				indexDst = output.startIndex + y*output.stride;
+				for( int i = 0; i < rowLength; i++ ) {
+					totals[i] += (dataSrc[indexSrc+i] & 0xFF) - (dataSrc[indexSrc+i-backStep] & 0xFF);
+					dataDst[indexDst+i] = (byte)((totals[i]+halfDivisor)/divisor);
+				}
+			}
+		}
+
+		for( int y = Math.max(y0,Math.max(radius,height-radius)); y < y1; y++ ) {
+			ConvolveNormalizedInterleaved.verticalBorder(kernel, input, output, y);
+		}
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.alg.filter.convolve;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.convolve.noborder.*;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
@@ -44,6 +45,11 @@ import boofcv.struct.image.*;
  * handle image edges specialized functions are provided.
  * </p>
  *
+ * <p>
+ * Concurrency:  Large images are split into bands of rows which are convolved in parallel, see
+ * {@link BoofConcurrency}.  The output is identical to the single threaded output.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"ForLoopReplaceableByForEach"})
@@ -59,11 +65,22 @@ public class ConvolveImageNoBorder {
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_F32 kernel,
+	public static void horizontal(final Kernel1D_F32 kernel,
 								  ImageFloat32 input,  ImageFloat32 output,
 								  boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.horizontal(input, output, includeVerticalBorder ? 0 : kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageFloat32,ImageFloat32>() {
+				@Override
+				public void process(ImageFloat32 in, ImageFloat32 out) {
+					horizontal(kernel, in, out, true);
+				}
+			});
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_F32_F32.horizontal(kernel, input, output, includeVerticalBorder))
 			ConvolveImageStandard.horizontal(kernel, input, output, includeVerticalBorder);
 	}
@@ -79,10 +96,21 @@ public class ConvolveImageNoBorder {
 	 * @param divisor	The value that the convolved image is divided by.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
-								  ImageUInt8 input,  ImageInt8 output, int divisor, boolean includeVerticalBorder) {
+	public static void horizontal(final Kernel1D_I32 kernel,
+								  ImageUInt8 input,  ImageInt8 output, final int divisor, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.horizontal(input, output, includeVerticalBorder ? 0 : kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageUInt8,ImageInt8>() {
+				@Override
+				public void process(ImageUInt8 in, ImageInt8 out) {
+					horizontal(kernel, in, out, divisor, true);
+				}
+			});
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_U8_I8_Div.horizontal(kernel, input,  output, divisor, includeVerticalBorder))
 			ConvolveImageStandard.horizontal(kernel, input,  output, divisor, includeVerticalBorder);
 	}
@@ -97,10 +125,21 @@ public class ConvolveImageNoBorder {
 	 * @param kernel		The kernel that is being convolved. Not modified.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
+	public static void horizontal(final Kernel1D_I32 kernel,
 								  ImageUInt8 input,  ImageInt16 output, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.horizontal(input, output, includeVerticalBorder ? 0 : kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageUInt8,ImageInt16>() {
+				@Override
+				public void process(ImageUInt8 in, ImageInt16 out) {
+					horizontal(kernel, in, out, true);
+				}
+			});
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_U8_I16.horizontal(kernel, input,  output, includeVerticalBorder))
 			ConvolveImageStandard.horizontal(kernel, input,  output, includeVerticalBorder);
 	}
@@ -115,10 +154,21 @@ public class ConvolveImageNoBorder {
 	 * @param kernel	The kernel that is being convolved. Not modified.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
+	public static void horizontal(final Kernel1D_I32 kernel,
 								  ImageUInt8 input, ImageSInt32 output, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.horizontal(input, output, includeVerticalBorder ? 0 : kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageUInt8,ImageSInt32>() {
+				@Override
+				public void process(ImageUInt8 in, ImageSInt32 out) {
+					horizontal(kernel, in, out, true);
+				}
+			});
+			return;
+		}
+
 		// todo add unroll
 		ConvolveImageStandard.horizontal(kernel, input, output, includeVerticalBorder);
 	}
@@ -133,10 +183,21 @@ public class ConvolveImageNoBorder {
 	 * @param kernel	The kernel that is being convolved. Not modified.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
+	public static void horizontal(final Kernel1D_I32 kernel,
 								  ImageSInt16 input, ImageInt16 output, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.horizontal(input, output, includeVerticalBorder ? 0 : kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageSInt16,ImageInt16>() {
+				@Override
+				public void process(ImageSInt16 in, ImageInt16 out) {
+					horizontal(kernel, in, out, true);
+				}
+			});
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_S16_I16.horizontal(kernel, input, output, includeVerticalBorder))
 			ConvolveImageStandard.horizontal(kernel, input, output, includeVerticalBorder);
 	}
@@ -152,10 +213,21 @@ public class ConvolveImageNoBorder {
 	 * @param divisor	   The value that the convolved image is divided by.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
-								  ImageSInt16 input, ImageInt16 output, int divisor, boolean includeVerticalBorder) {
+	public static void horizontal(final Kernel1D_I32 kernel,
+								  ImageSInt16 input, ImageInt16 output, final int divisor, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.horizontal(input, output, includeVerticalBorder ? 0 : kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageSInt16,ImageInt16>() {
+				@Override
+				public void process(ImageSInt16 in, ImageInt16 out) {
+					horizontal(kernel, in, out, divisor, true);
+				}
+			});
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_S16_I16_Div.horizontal(kernel, input, output, divisor, includeVerticalBorder))
 			ConvolveImageStandard.horizontal(kernel, input, output, divisor, includeVerticalBorder);
 	}
@@ -171,10 +243,21 @@ public class ConvolveImageNoBorder {
 	 * @param divisor	   The value that the convolved image is divided by.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
-								  ImageSInt32 input, ImageSInt32 output, int divisor, boolean includeVerticalBorder) {
+	public static void horizontal(final Kernel1D_I32 kernel,
+								  ImageSInt32 input, ImageSInt32 output, final int divisor, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.horizontal(input, output, includeVerticalBorder ? 0 : kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageSInt32,ImageSInt32>() {
+				@Override
+				public void process(ImageSInt32 in, ImageSInt32 out) {
+					horizontal(kernel, in, out, divisor, true);
+				}
+			});
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_S32_S32_Div.horizontal(kernel, input, output, divisor, includeVerticalBorder))
 			ConvolveImageStandard.horizontal(kernel, input, output, divisor, includeVerticalBorder);
 	}
@@ -189,11 +272,22 @@ public class ConvolveImageNoBorder {
 	 * @param kernel		The kernel that is being convolved. Not modified.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_F32 kernel,
+	public static void vertical(final Kernel1D_F32 kernel,
 								ImageFloat32 input,  ImageFloat32 output,
-								boolean includeHorizontalBorder) {
+								final boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageFloat32,ImageFloat32>() {
+				@Override
+				public void process(ImageFloat32 in, ImageFloat32 out) {
+					vertical(kernel, in, out, includeHorizontalBorder);
+				}
+			});
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_F32_F32.vertical(kernel, input,  output, includeHorizontalBorder))
 			ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
 	}
@@ -209,10 +303,21 @@ public class ConvolveImageNoBorder {
 	 * @param divisor	   The value that the convolved image is divided by.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
-								ImageUInt8 input,  ImageInt8 output, int divisor, boolean includeHorizontalBorder) {
+	public static void vertical(final Kernel1D_I32 kernel,
+								ImageUInt8 input,  ImageInt8 output, final int divisor, final boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageUInt8,ImageInt8>() {
+				@Override
+				public void process(ImageUInt8 in, ImageInt8 out) {
+					vertical(kernel, in, out, divisor, includeHorizontalBorder);
+				}
+			});
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_U8_I8_Div.vertical(kernel, input,  output, divisor, includeHorizontalBorder))
 			ConvolveImageStandard.vertical(kernel, input,  output, divisor, includeHorizontalBorder);
 	}
@@ -227,11 +332,22 @@ public class ConvolveImageNoBorder {
 	 * @param kernel		The kernel that is being convolved. Not modified.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
+	public static void vertical(final Kernel1D_I32 kernel,
 								ImageUInt8 input,  ImageInt16 output,
-								boolean includeHorizontalBorder) {
+								final boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageUInt8,ImageInt16>() {
+				@Override
+				public void process(ImageUInt8 in, ImageInt16 out) {
+					vertical(kernel, in, out, includeHorizontalBorder);
+				}
+			});
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_U8_I16.vertical(kernel, input,  output, includeHorizontalBorder))
 			ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
 	}
@@ -246,11 +362,22 @@ public class ConvolveImageNoBorder {
 	 * @param kernel		The kernel that is being convolved. Not modified.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
+	public static void vertical(final Kernel1D_I32 kernel,
 								ImageUInt8 input,  ImageSInt32 output,
-								boolean includeHorizontalBorder) {
+								final boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageUInt8,ImageSInt32>() {
+				@Override
+				public void process(ImageUInt8 in, ImageSInt32 out) {
+					vertical(kernel, in, out, includeHorizontalBorder);
+				}
+			});
+			return;
+		}
+
 		// todo add unroll
 		ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
 	}
@@ -265,11 +392,22 @@ public class ConvolveImageNoBorder {
 	 * @param kernel		The kernel that is being convolved. Not modified.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
+	public static void vertical(final Kernel1D_I32 kernel,
 								ImageSInt16 input,  ImageInt16 output,
-								boolean includeHorizontalBorder) {
+								final boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageSInt16,ImageInt16>() {
+				@Override
+				public void process(ImageSInt16 in, ImageInt16 out) {
+					vertical(kernel, in, out, includeHorizontalBorder);
+				}
+			});
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_S16_I16.vertical(kernel, input,  output, includeHorizontalBorder))
 			ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
 	}
@@ -285,11 +423,22 @@ public class ConvolveImageNoBorder {
 	 * @param divisor	   The value that the convolved image is divided by.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
+	public static void vertical(final Kernel1D_I32 kernel,
 								ImageSInt16 input,  ImageInt16 output,
-								int divisor , boolean includeHorizontalBorder) {
+								final int divisor , final boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageSInt16,ImageInt16>() {
+				@Override
+				public void process(ImageSInt16 in, ImageInt16 out) {
+					vertical(kernel, in, out, divisor, includeHorizontalBorder);
+				}
+			});
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_S16_I16_Div.vertical(kernel, input, output, divisor, includeHorizontalBorder))
 			ConvolveImageStandard.vertical(kernel, input, output, divisor, includeHorizontalBorder);
 	}
@@ -305,11 +454,22 @@ public class ConvolveImageNoBorder {
 	 * @param divisor	   The value that the convolved image is divided by.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
+	public static void vertical(final Kernel1D_I32 kernel,
 								ImageSInt32 input,  ImageSInt32 output,
-								int divisor , boolean includeHorizontalBorder) {
+								final int divisor , final boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageSInt32,ImageSInt32>() {
+				@Override
+				public void process(ImageSInt32 in, ImageSInt32 out) {
+					vertical(kernel, in, out, divisor, includeHorizontalBorder);
+				}
+			});
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_S32_S32_Div.vertical(kernel, input, output, divisor, includeHorizontalBorder))
 			ConvolveImageStandard.vertical(kernel, input, output, divisor, includeHorizontalBorder);
 	}
@@ -321,9 +481,20 @@ public class ConvolveImageNoBorder {
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
 	 */
-	public static void convolve(Kernel2D_F32 kernel, ImageFloat32 input,  ImageFloat32 output) {
+	public static void convolve(final Kernel2D_F32 kernel, ImageFloat32 input,  ImageFloat32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageFloat32,ImageFloat32>() {
+				@Override
+				public void process(ImageFloat32 in, ImageFloat32 out) {
+					convolve(kernel, in, out);
+				}
+			});
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_F32_F32.convolve(kernel,input,output))
 			ConvolveImageStandard.convolve(kernel, input,  output);
 	}
@@ -336,10 +507,21 @@ public class ConvolveImageNoBorder {
 	 * @param output	The results of the convolution
 	 * @param divisor The value that the convolved image is divided by.
 	 */
-	public static void convolve(Kernel2D_I32 kernel,
-								ImageUInt8 input,  ImageInt8 output, int divisor) {
+	public static void convolve(final Kernel2D_I32 kernel,
+								ImageUInt8 input,  ImageInt8 output, final int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageUInt8,ImageInt8>() {
+				@Override
+				public void process(ImageUInt8 in, ImageInt8 out) {
+					convolve(kernel, in, out, divisor);
+				}
+			});
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_U8_I8_Div.convolve(kernel,input,output,divisor))
 			ConvolveImageStandard.convolve(kernel, input,  output, divisor);
 	}
@@ -351,9 +533,20 @@ public class ConvolveImageNoBorder {
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
 	 */
-	public static void convolve(Kernel2D_I32 kernel, ImageUInt8 input,  ImageInt16 output) {
+	public static void convolve(final Kernel2D_I32 kernel, ImageUInt8 input,  ImageInt16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageUInt8,ImageInt16>() {
+				@Override
+				public void process(ImageUInt8 in, ImageInt16 out) {
+					convolve(kernel, in, out);
+				}
+			});
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_U8_I16.convolve(kernel,input,output))
 			ConvolveImageStandard.convolve(kernel, input,  output);
 	}
@@ -365,9 +558,20 @@ public class ConvolveImageNoBorder {
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
 	 */
-	public static void convolve(Kernel2D_I32 kernel, ImageUInt8 input,  ImageSInt32 output) {
+	public static void convolve(final Kernel2D_I32 kernel, ImageUInt8 input,  ImageSInt32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageUInt8,ImageSInt32>() {
+				@Override
+				public void process(ImageUInt8 in, ImageSInt32 out) {
+					convolve(kernel, in, out);
+				}
+			});
+			return;
+		}
+
 		// todo add unrolled
 		ConvolveImageStandard.convolve(kernel, input,  output);
 	}
@@ -379,9 +583,20 @@ public class ConvolveImageNoBorder {
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
 	 */
-	public static void convolve(Kernel2D_I32 kernel, ImageSInt16 input,  ImageInt16 output) {
+	public static void convolve(final Kernel2D_I32 kernel, ImageSInt16 input,  ImageInt16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageSInt16,ImageInt16>() {
+				@Override
+				public void process(ImageSInt16 in, ImageInt16 out) {
+					convolve(kernel, in, out);
+				}
+			});
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_S16_I16.convolve(kernel,input,output))
 			ConvolveImageStandard.convolve(kernel, input,  output);
 	}
@@ -394,9 +609,20 @@ public class ConvolveImageNoBorder {
 	 * @param output   The results of the convolution
 	 * @param divisor The value that the convolved image is divided by.
 	 */
-	public static void convolve(Kernel2D_I32 kernel, ImageSInt16 input,  ImageInt16 output, int divisor ) {
+	public static void convolve(final Kernel2D_I32 kernel, ImageSInt16 input,  ImageInt16 output, final int divisor ) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isConcurrent(input) ) {
+			ConvolveRowBands.vertical(input, output, kernel.getRadius(),
+					new ConvolveRowBands.Operation<ImageSInt16,ImageInt16>() {
+				@Override
+				public void process(ImageSInt16 in, ImageInt16 out) {
+					convolve(kernel, in, out, divisor);
+				}
+			});
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_S16_I16_Div.convolve(kernel,input,output,divisor))
 			ConvolveImageStandard.convolve(kernel, input,  output, divisor);
 	}
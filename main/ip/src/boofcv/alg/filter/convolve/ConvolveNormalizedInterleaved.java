@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.noborder.ConvolveRowBands;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+
+/**
+ * <p>
+ * Convolves a kernel across an {@link boofcv.struct.image.ImageInterleaved} image and re-normalizes the kernel
+ * along image borders.  Each band is convolved independently and the output is identical to applying
+ * {@link ConvolveNormalized} to each band after splitting the image, but the interleaved buffer is traversed
+ * directly.  Inside the image a row is processed as a single array of width*numBands elements, where adjacent
+ * pixels in the same band are numBands elements apart.
+ * </p>
+ *
+ * <p>
+ * Rows are processed in parallel when {@link BoofConcurrency#isConcurrent} says the image is large enough.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveNormalizedInterleaved {
+
+	/**
+	 * Performs a horizontal 1D convolution across the image while re-normalizing the kernel depending on its
+	 * overlap with the image.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 */
+	public static void horizontal( final Kernel1D_F32 kernel , final InterleavedF32 input , final InterleavedF32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		if( BoofConcurrency.isConcurrent(output) ) {
+			BoofConcurrency.loopBands(0, input.height, ConvolveRowBands.MIN_BAND_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					horizontal(kernel, input, output, y0, y1);
+				}
+			});
+		} else {
+			horizontal(kernel, input, output, 0, input.height);
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image while re-normalizing the kernel depending on its
+	 * overlap with the image.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 */
+	public static void vertical( final Kernel1D_F32 kernel , final InterleavedF32 input , final InterleavedF32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		if( BoofConcurrency.isConcurrent(output) ) {
+			BoofConcurrency.loopBands(0, input.height, ConvolveRowBands.MIN_BAND_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					vertical(kernel, input, output, y0, y1);
+				}
+			});
+		} else {
+			vertical(kernel, input, output, 0, input.height);
+		}
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image while re-normalizing the kernel depending on its
+	 * overlap with the image.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 */
+	public static void horizontal( final Kernel1D_I32 kernel , final InterleavedU8 input , final InterleavedU8 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		if( BoofConcurrency.isConcurrent(output) ) {
+			BoofConcurrency.loopBands(0, input.height, ConvolveRowBands.MIN_BAND_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					horizontal(kernel, input, output, y0, y1);
+				}
+			});
+		} else {
+			horizontal(kernel, input, output, 0, input.height);
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image while re-normalizing the kernel depending on its
+	 * overlap with the image.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 */
+	public static void vertical( final Kernel1D_I32 kernel , final InterleavedU8 input , final InterleavedU8 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		if( BoofConcurrency.isConcurrent(output) ) {
+			BoofConcurrency.loopBands(0, input.height, ConvolveRowBands.MIN_BAND_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					vertical(kernel, input, output, y0, y1);
+				}
+			});
+		} else {
+			vertical(kernel, input, output, 0, input.height);
+		}
+	}
+
+	private static void horizontal( Kernel1D_F32 kernel , InterleavedF32 input , InterleavedF32 output ,
+									int y0 , int y1 ) {
+		final float[] dataSrc = input.data;
+		final float[] dataDst = output.data;
+		final float[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+		final int width = input.width;
+		final int numBands = input.numBands;
+
+		// pixels which the entire kernel overlaps with
+		final int innerX0 = Math.min(radius, width);
+		final int innerX1 = Math.max(innerX0, width - radius);
+
+		for( int y = y0; y < y1; y++ ) {
+			horizontalBorder(kernel, input, output, y, 0, innerX0);
+
+			int indexSrc = input.startIndex + y*input.stride + (innerX0-radius)*numBands;
+			int indexDst = output.startIndex + y*output.stride + innerX0*numBands;
+			final int indexEnd = output.startIndex + y*output.stride + innerX1*numBands;
+
+			for( ; indexDst < indexEnd; indexDst++ , indexSrc++ ) {
+				float total = 0;
+				int index = indexSrc;
+				for( int k = 0; k < kernelWidth; k++ , index += numBands ) {
+					total += dataSrc[index]*dataKer[k];
+				}
+				dataDst[indexDst] = total;
+			}
+
+			horizontalBorder(kernel, input, output, y, innerX1, width);
+		}
+	}
+
+	/**
+	 * Convolves pixels in the specified row from x0 to x1, exclusive, while only using the portion of the kernel
+	 * which overlaps the image.
+	 */
+	static void horizontalBorder( Kernel1D_F32 kernel , InterleavedF32 input , InterleavedF32 output ,
+								  int y , int x0 , int x1 ) {
+		final float[] dataSrc = input.data;
+		final float[] dataDst = output.data;
+		final float[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int width = input.width;
+		final int numBands = input.numBands;
+
+		final int rowSrc = input.startIndex + y*input.stride;
+		int indexDst = output.startIndex + y*output.stride + x0*numBands;
+
+		for( int x = x0; x < x1; x++ ) {
+			int startX = x - radius;
+			int endX = x + radius;
+
+			if( startX < 0 ) startX = 0;
+			if( endX >= width ) endX = width-1;
+
+			for( int band = 0; band < numBands; band++ ) {
+				float total = 0;
+				float weight = 0;
+				int indexSrc = rowSrc + startX*numBands + band;
+				for( int j = startX; j <= endX; j++ , indexSrc += numBands ) {
+					float w = dataKer[j-x+radius];
+					weight += w;
+					total += dataSrc[indexSrc]*w;
+				}
+				dataDst[indexDst++] = total/weight;
+			}
+		}
+	}
+
+	private static void vertical( Kernel1D_F32 kernel , InterleavedF32 input , InterleavedF32 output ,
+								  int y0 , int y1 ) {
+		final float[] dataSrc = input.data;
+		final float[] dataDst = output.data;
+		final float[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+		final int height = input.height;
+		final int rowLength = input.width*input.numBands;
+
+		for( int y = y0; y < y1; y++ ) {
+			if( y < radius || y >= height - radius ) {
+				verticalBorder(kernel, input, output, y);
+				continue;
+			}
+
+			// sum up the contribution of each row so that memory is traversed in order
+			final int indexDst = output.startIndex + y*output.stride;
+			final int indexEnd = indexDst + rowLength;
+			int indexSrc = input.startIndex + (y-radius)*input.stride;
+
+			float k = dataKer[0];
+			for( int i = indexDst, j = indexSrc; i < indexEnd; i++ , j++ ) {
+				dataDst[i] = dataSrc[j]*k;
+			}
+			for( int r = 1; r < kernelWidth; r++ ) {
+				indexSrc += input.stride;
+				k = dataKer[r];
+				for( int i = indexDst, j = indexSrc; i < indexEnd; i++ , j++ ) {
+					dataDst[i] += dataSrc[j]*k;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Convolves the specified row while only using the portion of the kernel which overlaps the image.
+	 */
+	static void verticalBorder( Kernel1D_F32 kernel , InterleavedF32 input , InterleavedF32 output , int y ) {
+		final float[] dataSrc = input.data;
+		final float[] dataDst = output.data;
+		final float[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int height = input.height;
+		final int rowLength = input.width*input.numBands;
+
+		int startY = y - radius;
+		int endY = y + radius;
+
+		if( startY < 0 ) startY = 0;
+		if( endY >= height ) endY = height-1;
+
+		float weight = 0;
+		for( int i = startY; i <= endY; i++ ) {
+			weight += dataKer[i-y+radius];
+		}
+
+		final int indexDst = output.startIndex + y*output.stride;
+		final int indexSrc = input.startIndex + startY*input.stride;
+
+		for( int i = 0; i < rowLength; i++ ) {
+			float total = 0;
+			int index = indexSrc + i;
+			for( int k = startY-y+radius, kEnd = endY-y+radius; k <= kEnd; k++ , index += input.stride ) {
+				total += dataSrc[index]*dataKer[k];
+			}
+			dataDst[indexDst+i] = total/weight;
+		}
+	}
+
+	private static void horizontal( Kernel1D_I32 kernel , InterleavedU8 input , InterleavedU8 output ,
+									int y0 , int y1 ) {
+		final byte[] dataSrc = input.data;
+		final byte[] dataDst = output.data;
+		final int[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+		final int width = input.width;
+		final int numBands = input.numBands;
+
+		final int divisor = kernel.computeSum();
+		final int halfDivisor = divisor/2;
+
+		// pixels which the entire kernel overlaps with
+		final int innerX0 = Math.min(radius, width);
+		final int innerX1 = Math.max(innerX0, width - radius);
+
+		for( int y = y0; y < y1; y++ ) {
+			horizontalBorder(kernel, input, output, y, 0, innerX0);
+
+			int indexSrc = input.startIndex + y*input.stride + (innerX0-radius)*numBands;
+			int indexDst = output.startIndex + y*output.stride + innerX0*numBands;
+			final int indexEnd = output.startIndex + y*output.stride + innerX1*numBands;
+
+			for( ; indexDst < indexEnd; indexDst++ , indexSrc++ ) {
+				int total = 0;
+				int index = indexSrc;
+				for( int k = 0; k < kernelWidth; k++ , index += numBands ) {
+					total += (dataSrc[index] & 0xFF)*dataKer[k];
+				}
+				dataDst[indexDst] = (byte)((total+halfDivisor)/divisor);
+			}
+
+			horizontalBorder(kernel, input, output, y, innerX1, width);
+		}
+	}
+
+	/**
+	 * Convolves pixels in the specified row from x0 to x1, exclusive, while only using the portion of the kernel
+	 * which overlaps the image.
+	 */
+	static void horizontalBorder( Kernel1D_I32 kernel , InterleavedU8 input , InterleavedU8 output ,
+								  int y , int x0 , int x1 ) {
+		final byte[] dataSrc = input.data;
+		final byte[] dataDst = output.data;
+		final int[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int width = input.width;
+		final int numBands = input.numBands;
+
+		final int rowSrc = input.startIndex + y*input.stride;
+		int indexDst = output.startIndex + y*output.stride + x0*numBands;
+
+		for( int x = x0; x < x1; x++ ) {
+			int startX = x - radius;
+			int endX = x + radius;
+
+			if( startX < 0 ) startX = 0;
+			if( endX >= width ) endX = width-1;
+
+			for( int band = 0; band < numBands; band++ ) {
+				int total = 0;
+				int weight = 0;
+				int indexSrc = rowSrc + startX*numBands + band;
+				for( int j = startX; j <= endX; j++ , indexSrc += numBands ) {
+					int w = dataKer[j-x+radius];
+					weight += w;
+					total += (dataSrc[indexSrc] & 0xFF)*w;
+				}
+				dataDst[indexDst++] = (byte)((total+weight/2)/weight);
+			}
+		}
+	}
+
+	private static void vertical( Kernel1D_I32 kernel , InterleavedU8 input , InterleavedU8 output ,
+								  int y0 , int y1 ) {
+		final byte[] dataSrc = input.data;
+		final byte[] dataDst = output.data;
+		final int[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+		final int height = input.height;
+		final int rowLength = input.width*input.numBands;
+
+		final int divisor = kernel.computeSum();
+		final int halfDivisor = divisor/2;
+
+		// sum of each row is accumulated here so that memory is traversed in order
+		int totals[] = new int[ rowLength ];
+
+		for( int y = y0; y < y1; y++ ) {
+			if( y < radius || y >= height - radius ) {
+				verticalBorder(kernel, input, output, y);
+				continue;
+			}
+
+			int indexSrc = input.startIndex + (y-radius)*input.stride;
+
+			int k = dataKer[0];
+			for( int i = 0; i < rowLength; i++ ) {
+				totals[i] = (dataSrc[indexSrc+i] & 0xFF)*k;
+			}
+			for( int r = 1; r < kernelWidth; r++ ) {
+				indexSrc += input.stride;
+				k = dataKer[r];
+				for( int i = 0; i < rowLength; i++ ) {
+					totals[i] += (dataSrc[indexSrc+i] & 0xFF)*k;
+				}
+			}
+
+			final int indexDst = output.startIndex + y*output.stride;
+			for( int i = 0; i < rowLength; i++ ) {
+				dataDst[indexDst+i] = (byte)((totals[i]+halfDivisor)/divisor);
+			}
+		}
+	}
+
+	/**
+	 * Convolves the specified row while only using the portion of the kernel which overlaps the image.
+	 */
+	static void verticalBorder( Kernel1D_I32 kernel , InterleavedU8 input , InterleavedU8 output , int y ) {
+		final byte[] dataSrc = input.data;
+		final byte[] dataDst = output.data;
+		final int[] dataKer = kernel.data;
+
+		final int radius = kernel.getRadius();
+		final int height = input.height;
+		final int rowLength = input.width*input.numBands;
+
+		int startY = y - radius;
+		int endY = y + radius;
+
+		if( startY < 0 ) startY = 0;
+		if( endY >= height ) endY = height-1;
+
+		int weight = 0;
+		for( int i = startY; i <= endY; i++ ) {
+			weight += dataKer[i-y+radius];
+		}
+		final int halfWeight = weight/2;
+
+		final int indexDst = output.startIndex + y*output.stride;
+		final int indexSrc = input.startIndex + startY*input.stride;
+
+		for( int i = 0; i < rowLength; i++ ) {
+			int total = 0;
+			int index = indexSrc + i;
+			for( int k = startY-y+radius, kEnd = endY-y+radius; k <= kEnd; k++ , index += input.stride ) {
+				total += (dataSrc[index] & 0xFF)*dataKer[k];
+			}
+			dataDst[indexDst+i] = (byte)((total+halfWeight)/weight);
+		}
+	}
+}
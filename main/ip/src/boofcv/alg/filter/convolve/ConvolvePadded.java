@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.core.image.border.ImagePadded;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.convolve.Kernel2D;
+import boofcv.struct.convolve.KernelBase;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Convolution across images which have been padded using {@link ImagePadded}.  Since the margin already contains
+ * the border's pixels, the functions in {@link ConvolveImageNoBorder} are applied to the entire padded image and
+ * every pixel inside the image is computed without any special handling of the border.  Produces the same results
+ * as {@link ConvolveWithBorder} with the same type of border.
+ * </p>
+ *
+ * <p>
+ * After the convolution the output's margin is filled in, so the output can be used as the input to the next
+ * filter in a chain without being copied.  The input and output must have the same margin width, which must be
+ * at least as large as the kernel's radius.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolvePadded {
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Reshaped to match the input. Modified.
+	 */
+	public static <In extends ImageSingleBand, Out extends ImageSingleBand, K extends Kernel1D>
+	void horizontal( K kernel , ImagePadded<In> input , ImagePadded<Out> output ) {
+		checkInput(kernel,input,output);
+
+		GConvolveImageOps.horizontal(kernel, input.getPadded(), output.getPadded(), true);
+		output.fillBorder();
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Reshaped to match the input. Modified.
+	 */
+	public static <In extends ImageSingleBand, Out extends ImageSingleBand, K extends Kernel1D>
+	void vertical( K kernel , ImagePadded<In> input , ImagePadded<Out> output ) {
+		checkInput(kernel,input,output);
+
+		GConvolveImageOps.vertical(kernel, input.getPadded(), output.getPadded(), true);
+		output.fillBorder();
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Reshaped to match the input. Modified.
+	 */
+	public static <In extends ImageSingleBand, Out extends ImageSingleBand, K extends Kernel2D>
+	void convolve( K kernel , ImagePadded<In> input , ImagePadded<Out> output ) {
+		checkInput(kernel,input,output);
+
+		GConvolveImageOps.convolve(kernel, input.getPadded(), output.getPadded());
+		output.fillBorder();
+	}
+
+	private static void checkInput( KernelBase kernel , ImagePadded<?> input , ImagePadded<?> output ) {
+		if( input == output )
+			throw new IllegalArgumentException("Input and output must be different images");
+		if( input.getBorder() != output.getBorder() )
+			throw new IllegalArgumentException("Input and output must have the same border width");
+		if( kernel.getRadius() > input.getBorder() )
+			throw new IllegalArgumentException("Kernel radius is larger than the border");
+
+		output.reshape(input.getImage().width,input.getImage().height);
+	}
+}
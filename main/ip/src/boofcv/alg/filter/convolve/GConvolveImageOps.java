@@ -18,6 +18,7 @@
 
 package boofcv.alg.filter.convolve;
 
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.core.image.border.ImageBorder_I32;
@@ -241,4 +242,139 @@ public class GConvolveImageOps {
 			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
 		}
 	}
+
+	/**
+	 * Same as {@link #horizontal(Kernel1D, ImageSingleBand, ImageSingleBand, ImageBorder)} but overrides the global concurrency settings for this call.
+	 *
+	 * @param concurrent If true the image is processed in parallel bands, if false on the calling thread.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel1D, B extends ImageBorder<T>>
+	void horizontal(K kernel, T input, T output , B border , boolean concurrent ) {
+		Boolean previous = BoofConcurrency.override(concurrent);
+		try {
+			horizontal(kernel, input, output, border);
+		} finally {
+			BoofConcurrency.override(previous);
+		}
+	}
+
+	/**
+	 * Same as {@link #vertical(Kernel1D, ImageSingleBand, ImageSingleBand, ImageBorder)} but overrides the global concurrency settings for this call.
+	 *
+	 * @param concurrent If true the image is processed in parallel bands, if false on the calling thread.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel1D, B extends ImageBorder<T>>
+	void vertical(K kernel, T input, T output , B border , boolean concurrent ) {
+		Boolean previous = BoofConcurrency.override(concurrent);
+		try {
+			vertical(kernel, input, output, border);
+		} finally {
+			BoofConcurrency.override(previous);
+		}
+	}
+
+	/**
+	 * Same as {@link #convolve(Kernel2D, ImageSingleBand, ImageSingleBand, ImageBorder)} but overrides the global concurrency settings for this call.
+	 *
+	 * @param concurrent If true the image is processed in parallel bands, if false on the calling thread.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel2D, B extends ImageBorder<T>>
+	void convolve(K kernel, T input, T output , B border , boolean concurrent ) {
+		Boolean previous = BoofConcurrency.override(concurrent);
+		try {
+			convolve(kernel, input, output, border);
+		} finally {
+			BoofConcurrency.override(previous);
+		}
+	}
+
+	/**
+	 * Same as {@link #horizontal(Kernel1D, ImageSingleBand, ImageSingleBand, boolean)} but overrides the global concurrency settings for this call.
+	 *
+	 * @param concurrent If true the image is processed in parallel bands, if false on the calling thread.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel1D>
+	void horizontal(K kernel, T input, T output , boolean includeVerticalBorder , boolean concurrent ) {
+		Boolean previous = BoofConcurrency.override(concurrent);
+		try {
+			horizontal(kernel, input, output, includeVerticalBorder);
+		} finally {
+			BoofConcurrency.override(previous);
+		}
+	}
+
+	/**
+	 * Same as {@link #vertical(Kernel1D, ImageSingleBand, ImageSingleBand, boolean)} but overrides the global concurrency settings for this call.
+	 *
+	 * @param concurrent If true the image is processed in parallel bands, if false on the calling thread.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel1D>
+	void vertical(K kernel, T input, T output , boolean includeHorizontalBorder , boolean concurrent ) {
+		Boolean previous = BoofConcurrency.override(concurrent);
+		try {
+			vertical(kernel, input, output, includeHorizontalBorder);
+		} finally {
+			BoofConcurrency.override(previous);
+		}
+	}
+
+	/**
+	 * Same as {@link #convolve(Kernel2D, ImageSingleBand, ImageSingleBand)} but overrides the global concurrency settings for this call.
+	 *
+	 * @param concurrent If true the image is processed in parallel bands, if false on the calling thread.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel2D>
+	void convolve(K kernel, T input, T output , boolean concurrent ) {
+		Boolean previous = BoofConcurrency.override(concurrent);
+		try {
+			convolve(kernel, input, output);
+		} finally {
+			BoofConcurrency.override(previous);
+		}
+	}
+
+	/**
+	 * Same as {@link #horizontalNormalized(Kernel1D, ImageSingleBand, ImageSingleBand)} but overrides the global concurrency settings for this call.
+	 *
+	 * @param concurrent If true the image is processed in parallel bands, if false on the calling thread.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel1D>
+	void horizontalNormalized(K kernel, T input, T output , boolean concurrent ) {
+		Boolean previous = BoofConcurrency.override(concurrent);
+		try {
+			horizontalNormalized(kernel, input, output);
+		} finally {
+			BoofConcurrency.override(previous);
+		}
+	}
+
+	/**
+	 * Same as {@link #verticalNormalized(Kernel1D, ImageSingleBand, ImageSingleBand)} but overrides the global concurrency settings for this call.
+	 *
+	 * @param concurrent If true the image is processed in parallel bands, if false on the calling thread.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel1D>
+	void verticalNormalized(K kernel, T input, T output , boolean concurrent ) {
+		Boolean previous = BoofConcurrency.override(concurrent);
+		try {
+			verticalNormalized(kernel, input, output);
+		} finally {
+			BoofConcurrency.override(previous);
+		}
+	}
+
+	/**
+	 * Same as {@link #convolveNormalized(Kernel2D, ImageSingleBand, ImageSingleBand)} but overrides the global concurrency settings for this call.
+	 *
+	 * @param concurrent If true the image is processed in parallel bands, if false on the calling thread.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel2D>
+	void convolveNormalized(K kernel, T input, T output , boolean concurrent ) {
+		Boolean previous = BoofConcurrency.override(concurrent);
+		try {
+			convolveNormalized(kernel, input, output);
+		} finally {
+			BoofConcurrency.override(previous);
+		}
+	}
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve.noborder;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Splits a convolution into bands of rows which are processed in parallel using {@link BoofConcurrency}.  Each
+ * band is processed by invoking the serial convolution on sub-images of the input and output, so the output
+ * is identical to what the serial code would produce.
+ * </p>
+ *
+ * <p>
+ * For a horizontal convolution each output row only depends on the same input row.  For vertical and 2D
+ * convolutions the input sub-image for each band is extended by the kernel's radius above and below
+ * so that the serial code writes to exactly the rows inside the band.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("unchecked")
+public class ConvolveRowBands {
+
+	/**
+	 * Minimum number of rows in a band
+	 */
+	public static int MIN_BAND_ROWS = 8;
+
+	/**
+	 * Convolves a band of rows.  The sub-images passed in are views into the original images.
+	 */
+	public static interface Operation<I extends ImageSingleBand, O extends ImageSingleBand> {
+		public void process( I input , O output );
+	}
+
+	/**
+	 * Processes a horizontal convolution in parallel bands.  The operation must process the vertical border
+	 * of the sub-images it is passed.
+	 *
+	 * @param input Input image
+	 * @param output Output image
+	 * @param yBorder Number of rows at the top and bottom of the image which are skipped.
+	 * @param op Serial convolution
+	 */
+	public static <I extends ImageSingleBand, O extends ImageSingleBand>
+	void horizontal( final I input , final O output , int yBorder , final Operation<I,O> op ) {
+		final int width = input.width;
+		BoofConcurrency.loopBands(yBorder, input.height - yBorder, MIN_BAND_ROWS, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				op.process((I)input.subimage(0, y0, width, y1, null), (O)output.subimage(0, y0, width, y1, null));
+			}
+		});
+	}
+
+	/**
+	 * Processes a vertical or 2D convolution in parallel bands.  The operation will be passed sub-images which
+	 * include 'radius' extra rows above and below the band, which the serial code treats as the border.
+	 *
+	 * @param input Input image
+	 * @param output Output image
+	 * @param radius Number of rows above and below an output pixel which are read
+	 * @param op Serial convolution
+	 */
+	public static <I extends ImageSingleBand, O extends ImageSingleBand>
+	void vertical( final I input , final O output , final int radius , final Operation<I,O> op ) {
+		final int width = input.width;
+		BoofConcurrency.loopBands(radius, input.height - radius, MIN_BAND_ROWS, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				op.process((I)input.subimage(0, y0 - radius, width, y1 + radius, null),
+						(O)output.subimage(0, y0 - radius, width, y1 + radius, null));
+			}
+		});
+	}
+}
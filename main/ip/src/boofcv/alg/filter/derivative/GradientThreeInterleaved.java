@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.derivative;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.noborder.ConvolveRowBands;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedS16;
+import boofcv.struct.image.InterleavedU8;
+
+/**
+ * <p>
+ * Computes the first derivative of each band in an {@link boofcv.struct.image.ImageInterleaved} image using
+ * the same kernel as {@link GradientThree}.  Produces the same results as {@link GradientThree} applied to each band
+ * with an extended border, but the interleaved buffer is read directly and the image is never split into bands.
+ * </p>
+ *
+ * <p>
+ * When the border is processed pixels outside the image are set to the value of the closest pixel inside the image,
+ * the same as {@link boofcv.core.image.border.BorderType#EXTENDED}.  Rows are processed in parallel when
+ * {@link BoofConcurrency#isConcurrent} says the image is large enough.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GradientThreeInterleaved {
+
+	/**
+	 * Computes the derivative of an {@link InterleavedU8} along the x and y axes.
+	 *
+	 * @param orig   Image which is to be differentiated. Not Modified.
+	 * @param derivX Derivative along the x-axis. Modified.
+	 * @param derivY Derivative along the y-axis. Modified.
+	 * @param processBorder If true the border is processed by extending the image, otherwise it is skipped.
+	 */
+	public static void process( final InterleavedU8 orig , final InterleavedS16 derivX , final InterleavedS16 derivY ,
+								final boolean processBorder ) {
+		InputSanityCheck.checkSameShape(orig, derivX);
+		InputSanityCheck.checkSameShape(orig, derivY);
+
+		int y0 = processBorder ? 0 : 1;
+		int y1 = processBorder ? orig.height : orig.height - 1;
+
+		if( BoofConcurrency.isConcurrent(orig) ) {
+			BoofConcurrency.loopBands(y0, y1, ConvolveRowBands.MIN_BAND_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					rows(orig, derivX, derivY, processBorder, y0, y1);
+				}
+			});
+		} else {
+			rows(orig, derivX, derivY, processBorder, y0, y1);
+		}
+	}
+
+	/**
+	 * Computes the derivative of an {@link InterleavedF32} along the x and y axes.
+	 *
+	 * @param orig   Image which is to be differentiated. Not Modified.
+	 * @param derivX Derivative along the x-axis. Modified.
+	 * @param derivY Derivative along the y-axis. Modified.
+	 * @param processBorder If true the border is processed by extending the image, otherwise it is skipped.
+	 */
+	public static void process( final InterleavedF32 orig , final InterleavedF32 derivX , final InterleavedF32 derivY ,
+								final boolean processBorder ) {
+		InputSanityCheck.checkSameShape(orig, derivX);
+		InputSanityCheck.checkSameShape(orig, derivY);
+
+		int y0 = processBorder ? 0 : 1;
+		int y1 = processBorder ? orig.height : orig.height - 1;
+
+		if( BoofConcurrency.isConcurrent(orig) ) {
+			BoofConcurrency.loopBands(y0, y1, ConvolveRowBands.MIN_BAND_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					rows(orig, derivX, derivY, processBorder, y0, y1);
+				}
+			});
+		} else {
+			rows(orig, derivX, derivY, processBorder, y0, y1);
+		}
+	}
+
+	private static void rows( InterleavedU8 orig , InterleavedS16 derivX , InterleavedS16 derivY ,
+							  boolean processBorder , int y0 , int y1 ) {
+		final int width = orig.width;
+		final int height = orig.height;
+		final int numBands = orig.numBands;
+
+		for( int y = y0; y < y1; y++ ) {
+			int cur = orig.startIndex + y*orig.stride;
+			int prev = y > 0 ? cur - orig.stride : cur;
+			int next = y < height-1 ? cur + orig.stride : cur;
+			int indexX = derivX.startIndex + y*derivX.stride;
+			int indexY = derivY.startIndex + y*derivY.stride;
+
+			if( width > 2 ) {
+				three(orig.data, prev + numBands, cur + numBands, next + numBands,
+						derivX.data, indexX + numBands, derivY.data, indexY + numBands,
+						(width-2)*numBands, -numBands, numBands);
+			}
+
+			if( processBorder ) {
+				int right = width > 1 ? numBands : 0;
+				three(orig.data, prev, cur, next, derivX.data, indexX, derivY.data, indexY, numBands, 0, right);
+				if( width > 1 ) {
+					int offset = (width-1)*numBands;
+					three(orig.data, prev + offset, cur + offset, next + offset,
+							derivX.data, indexX + offset, derivY.data, indexY + offset, numBands, -numBands, 0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the derivative for 'length' consecutive elements in a row.  'left' and 'right' are the offsets
+	 * to the neighboring pixel in the same band.
+	 */
+	private static void three( byte[] data , int prev , int cur , int next ,
+							   short[] imgX , int indexX , short[] imgY , int indexY ,
+							   int length , int left , int right ) {
+		for( int i = 0; i < length; i++ ) {
+			imgY[indexY + i] = (short)((data[next + i] & 0xFF) - (data[prev + i] & 0xFF));
+			imgX[indexX + i] = (short)((data[cur + i + right] & 0xFF) - (data[cur + i + left] & 0xFF));
+		}
+	}
+
+	private static void rows( InterleavedF32 orig , InterleavedF32 derivX , InterleavedF32 derivY ,
+							  boolean processBorder , int y0 , int y1 ) {
+		final int width = orig.width;
+		final int height = orig.height;
+		final int numBands = orig.numBands;
+
+		for( int y = y0; y < y1; y++ ) {
+			int cur = orig.startIndex + y*orig.stride;
+			int prev = y > 0 ? cur - orig.stride : cur;
+			int next = y < height-1 ? cur + orig.stride : cur;
+			int indexX = derivX.startIndex + y*derivX.stride;
+			int indexY = derivY.startIndex + y*derivY.stride;
+
+			if( width > 2 ) {
+				three(orig.data, prev + numBands, cur + numBands, next + numBands,
+						derivX.data, indexX + numBands, derivY.data, indexY + numBands,
+						(width-2)*numBands, -numBands, numBands);
+			}
+
+			if( processBorder ) {
+				int right = width > 1 ? numBands : 0;
+				three(orig.data, prev, cur, next, derivX.data, indexX, derivY.data, indexY, numBands, 0, right);
+				if( width > 1 ) {
+					int offset = (width-1)*numBands;
+					three(orig.data, prev + offset, cur + offset, next + offset,
+							derivX.data, indexX + offset, derivY.data, indexY + offset, numBands, -numBands, 0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the derivative for 'length' consecutive elements in a row.  'left' and 'right' are the offsets
+	 * to the neighboring pixel in the same band.
+	 */
+	private static void three( float[] data , int prev , int cur , int next ,
+							   float[] imgX , int indexX , float[] imgY , int indexY ,
+							   int length , int left , int right ) {
+		for( int i = 0; i < length; i++ ) {
+			imgY[indexY + i] = (data[next + i] - data[prev + i])*0.5f;
+			imgX[indexX + i] = (data[cur + i + right] - data[cur + i + left])*0.5f;
+		}
+	}
+}
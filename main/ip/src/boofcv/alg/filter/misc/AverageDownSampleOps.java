@@ -123,6 +123,28 @@ public class AverageDownSampleOps {
 		}
 	}
 
+	/**
+	 * Down samples an interleaved image.  Each band is averaged directly from the interleaved buffer.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param sampleWidth Width of square region.
+	 * @param output Output image. Modified.
+	 */
+	public static void down( InterleavedU8 input , int sampleWidth , InterleavedU8 output ) {
+		ImplAverageDownSampleInterleaved.down(input, sampleWidth, output);
+	}
+
+	/**
+	 * Down samples an interleaved image.  Each band is averaged directly from the interleaved buffer.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param sampleWidth Width of square region.
+	 * @param output Output image. Modified.
+	 */
+	public static void down( InterleavedF32 input , int sampleWidth , InterleavedF32 output ) {
+		ImplAverageDownSampleInterleaved.down(input, sampleWidth, output);
+	}
+
 	/**
 	 * Down samples the image.
 	 *
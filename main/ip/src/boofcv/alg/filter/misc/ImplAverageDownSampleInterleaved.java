@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.misc;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+
+/**
+ * <p>
+ * Implementation of {@link AverageDownSampleOps} for {@link boofcv.struct.image.ImageInterleaved} images.  The
+ * average of each band is computed directly from the interleaved buffer and produces the same results as
+ * down sampling each band independently.  Output rows are processed in parallel when
+ * {@link BoofConcurrency#isConcurrent} says the image is large enough.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplAverageDownSampleInterleaved {
+
+	/**
+	 * Minimum number of output rows processed by a thread
+	 */
+	public static int MIN_BAND_ROWS = 4;
+
+	public static void down( final InterleavedU8 input , final int sampleWidth , final InterleavedU8 output ) {
+		checkShape(input.width, input.height, input.numBands, sampleWidth, output.width, output.height, output.numBands);
+
+		if( BoofConcurrency.isConcurrent(input) ) {
+			BoofConcurrency.loopBands(0, output.height, MIN_BAND_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					down(input, sampleWidth, output, y0, y1);
+				}
+			});
+		} else {
+			down(input, sampleWidth, output, 0, output.height);
+		}
+	}
+
+	public static void down( final InterleavedF32 input , final int sampleWidth , final InterleavedF32 output ) {
+		checkShape(input.width, input.height, input.numBands, sampleWidth, output.width, output.height, output.numBands);
+
+		if( BoofConcurrency.isConcurrent(input) ) {
+			BoofConcurrency.loopBands(0, output.height, MIN_BAND_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					down(input, sampleWidth, output, y0, y1);
+				}
+			});
+		} else {
+			down(input, sampleWidth, output, 0, output.height);
+		}
+	}
+
+	private static void down( InterleavedU8 input , int sampleWidth , InterleavedU8 output , int outY0 , int outY1 ) {
+		final int numBands = input.numBands;
+		int totals[] = new int[ numBands ];
+
+		for( int outY = outY0; outY < outY1; outY++ ) {
+			int y0 = outY*sampleWidth;
+			int y1 = Math.min(input.height, y0 + sampleWidth);
+
+			int indexOut = output.startIndex + outY*output.stride;
+			for( int outX = 0; outX < output.width; outX++ ) {
+				int x0 = outX*sampleWidth;
+				int x1 = Math.min(input.width, x0 + sampleWidth);
+
+				for( int band = 0; band < numBands; band++ )
+					totals[band] = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int indexIn = input.startIndex + y*input.stride + x0*numBands;
+					for( int x = x0; x < x1; x++ ) {
+						for( int band = 0; band < numBands; band++ ) {
+							totals[band] += input.data[indexIn++] & 0xFF;
+						}
+					}
+				}
+
+				int N = (y1-y0)*(x1-x0);
+				int N_half = N/2;
+				for( int band = 0; band < numBands; band++ ) {
+					output.data[indexOut++] = (byte)((totals[band]+N_half)/N);
+				}
+			}
+		}
+	}
+
+	private static void down( InterleavedF32 input , int sampleWidth , InterleavedF32 output , int outY0 , int outY1 ) {
+		final int numBands = input.numBands;
+		float totals[] = new float[ numBands ];
+
+		for( int outY = outY0; outY < outY1; outY++ ) {
+			int y0 = outY*sampleWidth;
+			int y1 = Math.min(input.height, y0 + sampleWidth);
+
+			int indexOut = output.startIndex + outY*output.stride;
+			for( int outX = 0; outX < output.width; outX++ ) {
+				int x0 = outX*sampleWidth;
+				int x1 = Math.min(input.width, x0 + sampleWidth);
+
+				for( int band = 0; band < numBands; band++ )
+					totals[band] = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int indexIn = input.startIndex + y*input.stride + x0*numBands;
+					for( int x = x0; x < x1; x++ ) {
+						for( int band = 0; band < numBands; band++ ) {
+							totals[band] += input.data[indexIn++];
+						}
+					}
+				}
+
+				float N = (y1-y0)*(x1-x0);
+				for( int band = 0; band < numBands; band++ ) {
+					output.data[indexOut++] = totals[band]/N;
+				}
+			}
+		}
+	}
+
+	private static void checkShape( int inputWidth , int inputHeight , int inputBands , int sampleWidth ,
+									int outputWidth , int outputHeight , int outputBands ) {
+		if( inputBands != outputBands )
+			throw new IllegalArgumentException("Number of bands do not match.");
+		if( outputWidth != AverageDownSampleOps.downSampleSize(inputWidth,sampleWidth) ||
+				outputHeight != AverageDownSampleOps.downSampleSize(inputHeight,sampleWidth) )
+			throw new IllegalArgumentException("Output image is not the down sampled size of the input image");
+	}
+}
@@ -48,4 +48,24 @@ public interface InterpolatePixelS<T extends ImageSingleBand> extends Interpolat
 	 * @return Interpolated intensity value.
 	 */
 	public float get_fast(float x, float y);
+
+	/**
+	 * Interpolates a batch of points which are all inside the image far away from the border. Produces the
+	 * same results as calling {@link #get_fast(float, float)} for each point, but avoids a method call for each
+	 * point and allows the implementation to keep its state in local variables.
+	 *
+	 * @param x Array containing each point's x-coordinate.
+	 * @param y Array containing each point's y-coordinate.
+	 * @param values Output. Interpolated intensity value of each point.
+	 * @param length Number of points which are interpolated, starting from index 0.
+	 */
+	public void get_fast(float x[], float y[], float values[], int length);
+
+	/**
+	 * Creates a new instance with the same configuration which can be used independently of this instance,
+	 * e.g. by another thread.  The image being interpolated is not copied and must be set again.
+	 *
+	 * @return New instance with the same configuration.
+	 */
+	public InterpolatePixelS<T> copy();
 }
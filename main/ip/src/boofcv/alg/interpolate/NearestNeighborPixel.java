@@ -50,4 +50,11 @@ public abstract class NearestNeighborPixel<T extends ImageSingleBand> implements
 	public int getFastBorderY() {
 		return 0;
 	}
+
+	@Override
+	public void get_fast(float[] x, float[] y, float[] values, int length) {
+		for( int i = 0; i < length; i++ ) {
+			values[i] = get_fast(x[i],y[i]);
+		}
+	}
 }
@@ -99,4 +99,11 @@ public abstract class PolynomialPixel<T extends ImageSingleBand> implements Inte
 	public int getFastBorderY() {
 		return M;
 	}
+
+	@Override
+	public void get_fast(float[] x, float[] y, float[] values, int length) {
+		for( int i = 0; i < length; i++ ) {
+			values[i] = get_fast(x[i],y[i]);
+		}
+	}
 }
@@ -19,6 +19,7 @@
 package boofcv.alg.interpolate.impl;
 
 import boofcv.alg.interpolate.BilinearPixel;
+import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.struct.image.ImageFloat64;
 
 
@@ -87,4 +88,32 @@ public class ImplBilinearPixel_F64 extends BilinearPixel<ImageFloat64> {
 		return (float)val;
 	}
 
+	@Override
+	public void get_fast(float[] x, float[] y, float[] values, int length) {
+		double[] data = orig.data;
+		final int startIndex = orig.startIndex;
+		final int stride = this.stride;
+
+		for (int i = 0; i < length; i++) {
+			int xt = (int) x[i];
+			int yt = (int) y[i];
+			double ax = x[i] - xt;
+			double ay = y[i] - yt;
+
+			int index = startIndex + yt * stride + xt;
+
+			double val = (1.0 - ax) * (1.0 - ay) * (data[index] ); // (x,y)
+			val += ax * (1.0 - ay) * (data[index + 1] ); // (x+1,y)
+			val += ax * ay * (data[index + 1 + stride] ); // (x+1,y+1)
+			val += (1.0 - ax) * ay * (data[index + stride] ); // (x,y+1)
+
+			values[i] = (float)val;
+		}
+	}
+
+	@Override
+	public InterpolatePixelS<ImageFloat64> copy() {
+		return new ImplBilinearPixel_F64();
+	}
+
 }
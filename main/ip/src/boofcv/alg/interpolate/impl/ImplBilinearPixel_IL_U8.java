@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.interpolate.impl;
+
+import boofcv.alg.interpolate.BilinearPixelMB;
+import boofcv.struct.image.InterleavedU8;
+
+
+/**
+ * <p>
+ * Implementation of {@link BilinearPixelMB} for {@link InterleavedU8}.  Produces the same values as
+ * {@link ImplBilinearPixel_U8} applied to each band.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplBilinearPixel_IL_U8 extends BilinearPixelMB<InterleavedU8> {
+
+	public ImplBilinearPixel_IL_U8() {
+	}
+
+	public ImplBilinearPixel_IL_U8(InterleavedU8 orig) {
+		setImage(orig);
+	}
+
+	@Override
+	public void get_fast(float x, float y, float[] values) {
+		int xt = (int) x;
+		int yt = (int) y;
+		float ax = x - xt;
+		float ay = y - yt;
+
+		interpolate(ax, ay, orig.startIndex + yt*stride + xt*numBands, numBands, stride, values);
+	}
+
+	@Override
+	public void get(float x, float y, float[] values) {
+		if (x < 0 || y < 0 || x > width-1 || y > height-1)
+			throw new IllegalArgumentException("Point is outside of the image");
+
+		int xt = (int) x;
+		int yt = (int) y;
+
+		float ax = x - xt;
+		float ay = y - yt;
+
+		// allows borders to be interpolated gracefully by double counting appropriate pixels
+		int dx = xt == width - 1 ? 0 : numBands;
+		int dy = yt == height - 1 ? 0 : stride;
+
+		interpolate(ax, ay, orig.startIndex + yt*stride + xt*numBands, dx, dy, values);
+	}
+
+	private void interpolate(float ax, float ay, int index, int dx, int dy, float[] values) {
+		byte[] data = orig.data;
+
+		float w00 = (1.0f - ax) * (1.0f - ay);
+		float w10 = ax * (1.0f - ay);
+		float w11 = ax * ay;
+		float w01 = (1.0f - ax) * ay;
+
+		for( int band = 0; band < numBands; band++ , index++ ) {
+			float val = w00 * (data[index] & 0xFF); // (x,y)
+			val += w10 * (data[index + dx] & 0xFF); // (x+1,y)
+			val += w11 * (data[index + dx + dy] & 0xFF); // (x+1,y+1)
+			val += w01 * (data[index + dy] & 0xFF); // (x,y+1)
+
+			values[band] = val;
+		}
+	}
+}
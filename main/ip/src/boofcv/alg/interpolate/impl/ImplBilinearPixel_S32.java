@@ -19,6 +19,7 @@
 package boofcv.alg.interpolate.impl;
 
 import boofcv.alg.interpolate.BilinearPixel;
+import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.struct.image.ImageSInt32;
 
 
@@ -87,4 +88,32 @@ public class ImplBilinearPixel_S32 extends BilinearPixel<ImageSInt32> {
 		return val;
 	}
 
+	@Override
+	public void get_fast(float[] x, float[] y, float[] values, int length) {
+		int[] data = orig.data;
+		final int startIndex = orig.startIndex;
+		final int stride = this.stride;
+
+		for (int i = 0; i < length; i++) {
+			int xt = (int) x[i];
+			int yt = (int) y[i];
+			float ax = x[i] - xt;
+			float ay = y[i] - yt;
+
+			int index = startIndex + yt * stride + xt;
+
+			float val = (1.0f - ax) * (1.0f - ay) * (data[index] ); // (x,y)
+			val += ax * (1.0f - ay) * (data[index + 1] ); // (x+1,y)
+			val += ax * ay * (data[index + 1 + stride] ); // (x+1,y+1)
+			val += (1.0f - ax) * ay * (data[index + stride] ); // (x,y+1)
+
+			values[i] = val;
+		}
+	}
+
+	@Override
+	public InterpolatePixelS<ImageSInt32> copy() {
+		return new ImplBilinearPixel_S32();
+	}
+
 }
@@ -159,4 +159,16 @@ public class ImplInterpolatePixelConvolution_F32 implements InterpolatePixelS<Im
 		return kernel.getRadius();
 	}
 
+	@Override
+	public void get_fast(float[] x, float[] y, float[] values, int length) {
+		for( int i = 0; i < length; i++ ) {
+			values[i] = get_fast(x[i],y[i]);
+		}
+	}
+
+	@Override
+	public InterpolatePixelS<ImageFloat32> copy() {
+		return new ImplInterpolatePixelConvolution_F32(kernel,min,max);
+	}
+
 }
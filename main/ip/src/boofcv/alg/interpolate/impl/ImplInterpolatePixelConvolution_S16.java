@@ -159,4 +159,16 @@ public class ImplInterpolatePixelConvolution_S16 implements InterpolatePixelS<Im
 		return kernel.getRadius();
 	}
 
+	@Override
+	public void get_fast(float[] x, float[] y, float[] values, int length) {
+		for( int i = 0; i < length; i++ ) {
+			values[i] = get_fast(x[i],y[i]);
+		}
+	}
+
+	@Override
+	public InterpolatePixelS<ImageSInt16> copy() {
+		return new ImplInterpolatePixelConvolution_S16(kernel,min,max);
+	}
+
 }
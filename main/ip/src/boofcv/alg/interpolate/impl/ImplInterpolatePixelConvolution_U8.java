@@ -159,4 +159,16 @@ public class ImplInterpolatePixelConvolution_U8 implements InterpolatePixelS<Ima
 		return kernel.getRadius();
 	}
 
+	@Override
+	public void get_fast(float[] x, float[] y, float[] values, int length) {
+		for( int i = 0; i < length; i++ ) {
+			values[i] = get_fast(x[i],y[i]);
+		}
+	}
+
+	@Override
+	public InterpolatePixelS<ImageUInt8> copy() {
+		return new ImplInterpolatePixelConvolution_U8(kernel,min,max);
+	}
+
 }
@@ -18,6 +18,7 @@
 
 package boofcv.alg.interpolate.impl;
 
+import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.interpolate.PolynomialPixel;
 import boofcv.struct.image.ImageInteger;
 
@@ -108,4 +109,8 @@ public class ImplPolynomialPixel_I extends PolynomialPixel<ImageInteger> {
 		return ret;
 	}
 
+	@Override
+	public InterpolatePixelS<ImageInteger> copy() {
+		return new ImplPolynomialPixel_I(M,min,max);
+	}
 }
@@ -18,6 +18,7 @@
 
 package boofcv.alg.interpolate.impl;
 
+import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.interpolate.NearestNeighborPixel;
 import boofcv.struct.image.ImageSInt32;
 
@@ -61,4 +62,9 @@ public class NearestNeighborPixel_S32 extends NearestNeighborPixel<ImageSInt32>
 
 		return data[ orig.startIndex + yy*stride + xx];
 	}
+
+	@Override
+	public InterpolatePixelS<ImageSInt32> copy() {
+		return new NearestNeighborPixel_S32();
+	}
 }
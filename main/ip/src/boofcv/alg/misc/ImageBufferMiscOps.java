@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.misc;
+
+import boofcv.struct.image.BufferF32;
+import boofcv.struct.image.BufferS16;
+import boofcv.struct.image.BufferU8;
+
+import java.util.Random;
+
+/**
+ * Basic image operations on {@link boofcv.struct.image.ImageBuffer} images which have the same behavior as
+ * their counterparts in {@link ImageMiscOps}.
+ *
+ * @author Peter Abeles
+ */
+public class ImageBufferMiscOps {
+
+	/**
+	 * Fills the whole image with the specified value
+	 *
+	 * @param input An image.
+	 * @param value The value that the image is being filled with.
+	 */
+	public static void fill(BufferU8 input, int value) {
+
+		for (int y = 0; y < input.height; y++) {
+			int index = input.getStartIndex() + y * input.getStride();
+			int end = index + input.width;
+			for (; index < end; index++) {
+				input.data.put(index, (byte)value);
+			}
+		}
+	}
+
+	/**
+	 * Fills the outside border with the specified value
+	 *
+	 * @param input An image.
+	 * @param value The value that the image is being filled with.
+	 * @param radius Border width.
+	 */
+	public static void fillBorder(BufferU8 input, int value, int radius ) {
+
+		// top and bottom
+		for (int y = 0; y < radius; y++) {
+			int indexTop = input.startIndex + y * input.stride;
+			int indexBottom = input.startIndex + (input.height-y-1) * input.stride;
+			for (int x = 0; x < input.width; x++) {
+				input.data.put(indexTop++, (byte)value);
+				input.data.put(indexBottom++, (byte)value);
+			}
+		}
+
+		// left and right
+		int h = input.height-radius;
+		int indexStart = input.startIndex + radius*input.stride;
+		for (int x = 0; x < radius; x++) {
+			int indexLeft = indexStart + x;
+			int indexRight = indexStart + input.width - 1 - x;
+			for (int y = radius; y < h; y++) {
+				input.data.put(indexLeft, (byte)value);
+				input.data.put(indexRight, (byte)value);
+
+				indexLeft += input.stride;
+				indexRight += input.stride;
+			}
+		}
+	}
+
+	/**
+	 * Draws a filled rectangle that is aligned along the image axis inside the image.  The rectangle
+	 * is clipped to the image bounds.
+	 *
+	 * @param img Image the rectangle is drawn in.  Modified
+	 * @param value Value of the rectangle
+	 * @param x0 Top left x-coordinate
+	 * @param y0 Top left y-coordinate
+	 * @param width Rectangle width
+	 * @param height Rectangle height
+	 */
+	public static void fillRectangle(BufferU8 img, int value, int x0, int y0, int width, int height) {
+		int x1 = Math.min(img.width, x0 + width);
+		int y1 = Math.min(img.height, y0 + height);
+		x0 = Math.max(0, x0);
+		y0 = Math.max(0, y0);
+
+		for (int y = y0; y < y1; y++) {
+			int index = img.startIndex + y*img.stride + x0;
+			int end = index + x1 - x0;
+			for (; index < end; index++) {
+				img.data.put(index, (byte)value);
+			}
+		}
+	}
+
+	/**
+	 * Sets each value in the image to a value drawn from an uniform distribution that has a range of min <= X < max.
+	 *
+	 * @param img Image which is to be filled.  Modified,
+	 * @param rand Random number generator
+	 * @param min Minimum value of the distribution, inclusive
+	 * @param max Maximum value of the distribution, exclusive
+	 */
+	public static void fillUniform(BufferU8 img, Random rand , int min , int max) {
+		int range = max-min;
+
+		for (int y = 0; y < img.height; y++) {
+			int index = img.getStartIndex() + y * img.getStride();
+			for (int x = 0; x < img.width; x++) {
+				img.data.put(index++, (byte)(rand.nextInt(range)+min));
+			}
+		}
+	}
+
+	/**
+	 * Fills the whole image with the specified value
+	 *
+	 * @param input An image.
+	 * @param value The value that the image is being filled with.
+	 */
+	public static void fill(BufferS16 input, int value) {
+
+		for (int y = 0; y < input.height; y++) {
+			int index = input.getStartIndex() + y * input.getStride();
+			int end = index + input.width;
+			for (; index < end; index++) {
+				input.data.put(index, (short)value);
+			}
+		}
+	}
+
+	/**
+	 * Fills the outside border with the specified value
+	 *
+	 * @param input An image.
+	 * @param value The value that the image is being filled with.
+	 * @param radius Border width.
+	 */
+	public static void fillBorder(BufferS16 input, int value, int radius ) {
+
+		// top and bottom
+		for (int y = 0; y < radius; y++) {
+			int indexTop = input.startIndex + y * input.stride;
+			int indexBottom = input.startIndex + (input.height-y-1) * input.stride;
+			for (int x = 0; x < input.width; x++) {
+				input.data.put(indexTop++, (short)value);
+				input.data.put(indexBottom++, (short)value);
+			}
+		}
+
+		// left and right
+		int h = input.height-radius;
+		int indexStart = input.startIndex + radius*input.stride;
+		for (int x = 0; x < radius; x++) {
+			int indexLeft = indexStart + x;
+			int indexRight = indexStart + input.width - 1 - x;
+			for (int y = radius; y < h; y++) {
+				input.data.put(indexLeft, (short)value);
+				input.data.put(indexRight, (short)value);
+
+				indexLeft += input.stride;
+				indexRight += input.stride;
+			}
+		}
+	}
+
+	/**
+	 * Draws a filled rectangle that is aligned along the image axis inside the image.  The rectangle
+	 * is clipped to the image bounds.
+	 *
+	 * @param img Image the rectangle is drawn in.  Modified
+	 * @param value Value of the rectangle
+	 * @param x0 Top left x-coordinate
+	 * @param y0 Top left y-coordinate
+	 * @param width Rectangle width
+	 * @param height Rectangle height
+	 */
+	public static void fillRectangle(BufferS16 img, int value, int x0, int y0, int width, int height) {
+		int x1 = Math.min(img.width, x0 + width);
+		int y1 = Math.min(img.height, y0 + height);
+		x0 = Math.max(0, x0);
+		y0 = Math.max(0, y0);
+
+		for (int y = y0; y < y1; y++) {
+			int index = img.startIndex + y*img.stride + x0;
+			int end = index + x1 - x0;
+			for (; index < end; index++) {
+				img.data.put(index, (short)value);
+			}
+		}
+	}
+
+	/**
+	 * Sets each value in the image to a value drawn from an uniform distribution that has a range of min <= X < max.
+	 *
+	 * @param img Image which is to be filled.  Modified,
+	 * @param rand Random number generator
+	 * @param min Minimum value of the distribution, inclusive
+	 * @param max Maximum value of the distribution, exclusive
+	 */
+	public static void fillUniform(BufferS16 img, Random rand , int min , int max) {
+		int range = max-min;
+
+		for (int y = 0; y < img.height; y++) {
+			int index = img.getStartIndex() + y * img.getStride();
+			for (int x = 0; x < img.width; x++) {
+				img.data.put(index++, (short)(rand.nextInt(range)+min));
+			}
+		}
+	}
+
+	/**
+	 * Fills the whole image with the specified value
+	 *
+	 * @param input An image.
+	 * @param value The value that the image is being filled with.
+	 */
+	public static void fill(BufferF32 input, float value) {
+
+		for (int y = 0; y < input.height; y++) {
+			int index = input.getStartIndex() + y * input.getStride();
+			int end = index + input.width;
+			for (; index < end; index++) {
+				input.data.put(index, value);
+			}
+		}
+	}
+
+	/**
+	 * Fills the outside border with the specified value
+	 *
+	 * @param input An image.
+	 * @param value The value that the image is being filled with.
+	 * @param radius Border width.
+	 */
+	public static void fillBorder(BufferF32 input, float value, int radius ) {
+
+		// top and bottom
+		for (int y = 0; y < radius; y++) {
+			int indexTop = input.startIndex + y * input.stride;
+			int indexBottom = input.startIndex + (input.height-y-1) * input.stride;
+			for (int x = 0; x < input.width; x++) {
+				input.data.put(indexTop++, value);
+				input.data.put(indexBottom++, value);
+			}
+		}
+
+		// left and right
+		int h = input.height-radius;
+		int indexStart = input.startIndex + radius*input.stride;
+		for (int x = 0; x < radius; x++) {
+			int indexLeft = indexStart + x;
+			int indexRight = indexStart + input.width - 1 - x;
+			for (int y = radius; y < h; y++) {
+				input.data.put(indexLeft, value);
+				input.data.put(indexRight, value);
+
+				indexLeft += input.stride;
+				indexRight += input.stride;
+			}
+		}
+	}
+
+	/**
+	 * Draws a filled rectangle that is aligned along the image axis inside the image.  The rectangle
+	 * is clipped to the image bounds.
+	 *
+	 * @param img Image the rectangle is drawn in.  Modified
+	 * @param value Value of the rectangle
+	 * @param x0 Top left x-coordinate
+	 * @param y0 Top left y-coordinate
+	 * @param width Rectangle width
+	 * @param height Rectangle height
+	 */
+	public static void fillRectangle(BufferF32 img, float value, int x0, int y0, int width, int height) {
+		int x1 = Math.min(img.width, x0 + width);
+		int y1 = Math.min(img.height, y0 + height);
+		x0 = Math.max(0, x0);
+		y0 = Math.max(0, y0);
+
+		for (int y = y0; y < y1; y++) {
+			int index = img.startIndex + y*img.stride + x0;
+			int end = index + x1 - x0;
+			for (; index < end; index++) {
+				img.data.put(index, value);
+			}
+		}
+	}
+
+	/**
+	 * Sets each value in the image to a value drawn from an uniform distribution that has a range of min <= X < max.
+	 *
+	 * @param img Image which is to be filled.  Modified,
+	 * @param rand Random number generator
+	 * @param min Minimum value of the distribution, inclusive
+	 * @param max Maximum value of the distribution, exclusive
+	 */
+	public static void fillUniform(BufferF32 img, Random rand , float min , float max) {
+		float range = max-min;
+
+		for (int y = 0; y < img.height; y++) {
+			int index = img.getStartIndex() + y * img.getStride();
+			for (int x = 0; x < img.width; x++) {
+				img.data.put(index++, rand.nextFloat()*range+min);
+			}
+		}
+	}
+}
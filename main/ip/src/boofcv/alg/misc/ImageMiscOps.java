@@ -19,6 +19,7 @@ package boofcv.alg.misc;
 
 import boofcv.struct.image.*;
 
+import java.util.Arrays;
 import java.util.Random;
 
 
@@ -70,6 +71,11 @@ public class ImageMiscOps {
 	 */
 	public static void fill(ImageInt8 input, int value) {
 
+		if( input.stride == input.width ) {
+			Arrays.fill(input.data,input.startIndex,input.startIndex + input.width*input.height,(byte)value);
+			return;
+		}
+
 		for (int y = 0; y < input.height; y++) {
 			int index = input.getStartIndex() + y * input.getStride();
 			for (int x = 0; x < input.width; x++) {
@@ -990,6 +996,11 @@ public class ImageMiscOps {
 	 */
 	public static void fill(ImageFloat32 input, float value) {
 
+		if( input.stride == input.width ) {
+			Arrays.fill(input.data,input.startIndex,input.startIndex + input.width*input.height,value);
+			return;
+		}
+
 		for (int y = 0; y < input.height; y++) {
 			int index = input.getStartIndex() + y * input.getStride();
 			for (int x = 0; x < input.width; x++) {
@@ -21,6 +21,8 @@ package boofcv.alg.transform.fft;
 import boofcv.abst.transform.fft.DiscreteFourierTransform;
 import boofcv.abst.transform.fft.GeneralFft_to_DiscreteFourierTransform_F32;
 import boofcv.abst.transform.fft.GeneralFft_to_DiscreteFourierTransform_F64;
+import boofcv.abst.transform.fft.GeneralFft_to_PackedFourierTransform_F32;
+import boofcv.abst.transform.fft.GeneralFft_to_PackedFourierTransform_F64;
 import boofcv.alg.InputSanityCheck;
 import boofcv.struct.image.*;
 
@@ -53,6 +55,30 @@ public class DiscreteFourierTransformOps {
 		return new GeneralFft_to_DiscreteFourierTransform_F64();
 	}
 
+	/**
+	 * Creates a {@link DiscreteFourierTransform} for images of type {@link ImageFloat32} which saves the transform
+	 * in the packed layout.  The transform has a width of width/2+1 and the same height as the image.
+	 *
+	 * @see RowColumnFFT_F32_2D
+	 *
+	 * @return {@link DiscreteFourierTransform}
+	 */
+	public static DiscreteFourierTransform<ImageFloat32,InterleavedF32>  createTransformPackedF32() {
+		return new GeneralFft_to_PackedFourierTransform_F32();
+	}
+
+	/**
+	 * Creates a {@link DiscreteFourierTransform} for images of type {@link ImageFloat64} which saves the transform
+	 * in the packed layout.  The transform has a width of width/2+1 and the same height as the image.
+	 *
+	 * @see RowColumnFFT_F64_2D
+	 *
+	 * @return {@link DiscreteFourierTransform}
+	 */
+	public static DiscreteFourierTransform<ImageFloat64,InterleavedF64>  createTransformPackedF64() {
+		return new GeneralFft_to_PackedFourierTransform_F64();
+	}
+
 	/**
 	 * true if the number provided is a power of two
 	 * @param x number
@@ -101,6 +127,21 @@ public class DiscreteFourierTransformOps {
 			throw new IllegalArgumentException("The transform must have two bands");
 	}
 
+	/**
+	 * Checks to see if the image and its packed transform are appropriate sizes.  The transform should have
+	 * a width of width/2+1 and the same height as the image.
+	 *
+	 * @param image Storage for an image
+	 * @param transform Storage for a packed Fourier Transform
+	 */
+	public static void checkPackedArguments( ImageBase image , ImageInterleaved transform ) {
+		if( transform.width != RowColumnFFT_F32_2D.packedWidth(image.width) || transform.height != image.height )
+			throw new IllegalArgumentException("The transform must be "+
+					RowColumnFFT_F32_2D.packedWidth(image.width)+"x"+image.height);
+		if( 2 != transform.getNumBands() )
+			throw new IllegalArgumentException("The transform must have two bands");
+	}
+
 	/**
 	 * Moves the zero-frequency component into the image center (width/2,height/2).   This function can
 	 * be called to undo the transform.
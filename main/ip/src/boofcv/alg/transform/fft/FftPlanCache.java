@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.fft;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Cache of FFT plans which have already been declared.  Declaring a plan computes its twiddle factors and
+ * work space, which for large or awkward sizes can cost more than the transform itself.  Plans are organized
+ * by their precision and dimension.  A plan is borrowed, used by a single thread, then recycled so that the next
+ * caller which needs the same size can reuse it.
+ * </p>
+ *
+ * <p>
+ * The total number of idle plans is limited by {@link #getMaxIdle()}.  When the limit is exceeded the plans of the
+ * least recently used size are discarded first.  All functions are thread safe.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FftPlanCache {
+
+	// plans which are available, ordered from least to most recently used
+	private static final LinkedHashMap<Key,List<Object>> available =
+			new LinkedHashMap<Key,List<Object>>(16,0.75f,true);
+
+	// used to look up plans without declaring a new key each time
+	private static final Key lookup = new Key();
+
+	// maximum number of idle plans
+	private static int maxIdle = 32;
+	// current number of idle plans
+	private static int totalIdle;
+
+	// number of plans declared by the cache
+	private static int allocations;
+	// number of times a plan was borrowed
+	private static int borrowed;
+
+	/**
+	 * Borrows a 1D plan for data with n elements.  A new plan is declared if none are available.
+	 */
+	public static synchronized GeneralPurposeFFT_F32_1D borrow_F32( int n ) {
+		GeneralPurposeFFT_F32_1D plan = (GeneralPurposeFFT_F32_1D)take(GeneralPurposeFFT_F32_1D.class,n,0);
+		if( plan == null ) {
+			plan = new GeneralPurposeFFT_F32_1D(n);
+			allocations++;
+		}
+		return plan;
+	}
+
+	public static synchronized GeneralPurposeFFT_F64_1D borrow_F64( int n ) {
+		GeneralPurposeFFT_F64_1D plan = (GeneralPurposeFFT_F64_1D)take(GeneralPurposeFFT_F64_1D.class,n,0);
+		if( plan == null ) {
+			plan = new GeneralPurposeFFT_F64_1D(n);
+			allocations++;
+		}
+		return plan;
+	}
+
+	/**
+	 * Borrows a 2D plan for data with the specified shape.  A new plan is declared if none are available.
+	 */
+	public static synchronized GeneralPurposeFFT_F32_2D borrow_F32( int rows , int columns ) {
+		GeneralPurposeFFT_F32_2D plan = (GeneralPurposeFFT_F32_2D)take(GeneralPurposeFFT_F32_2D.class,rows,columns);
+		if( plan == null ) {
+			plan = new GeneralPurposeFFT_F32_2D(rows,columns);
+			allocations++;
+		}
+		return plan;
+	}
+
+	public static synchronized GeneralPurposeFFT_F64_2D borrow_F64( int rows , int columns ) {
+		GeneralPurposeFFT_F64_2D plan = (GeneralPurposeFFT_F64_2D)take(GeneralPurposeFFT_F64_2D.class,rows,columns);
+		if( plan == null ) {
+			plan = new GeneralPurposeFFT_F64_2D(rows,columns);
+			allocations++;
+		}
+		return plan;
+	}
+
+	/**
+	 * Returns a plan to the cache.  The plan must not be used by the caller after it has been recycled.
+	 */
+	public static synchronized void recycle( GeneralPurposeFFT_F32_1D plan ) {
+		put(plan, plan.getN(), 0);
+	}
+
+	public static synchronized void recycle( GeneralPurposeFFT_F64_1D plan ) {
+		put(plan, plan.getN(), 0);
+	}
+
+	public static synchronized void recycle( GeneralPurposeFFT_F32_2D plan ) {
+		put(plan, plan.getRows(), plan.getColumns());
+	}
+
+	public static synchronized void recycle( GeneralPurposeFFT_F64_2D plan ) {
+		put(plan, plan.getRows(), plan.getColumns());
+	}
+
+	private static Object take( Class type , int rows , int columns ) {
+		borrowed++;
+		lookup.set(type,rows,columns);
+		List<Object> list = available.get(lookup);
+		if( list == null || list.isEmpty() )
+			return null;
+		totalIdle--;
+		return list.remove(list.size()-1);
+	}
+
+	private static void put( Object plan , int rows , int columns ) {
+		if( plan == null )
+			return;
+		lookup.set(plan.getClass(),rows,columns);
+		List<Object> list = available.get(lookup);
+		if( list == null ) {
+			list = new ArrayList<Object>();
+			available.put(new Key(plan.getClass(),rows,columns),list);
+		}
+		list.add(plan);
+		totalIdle++;
+		trim();
+	}
+
+	/**
+	 * Discards plans, starting with the least recently used size, until the number of idle plans is within the limit
+	 */
+	private static void trim() {
+		Iterator<Map.Entry<Key,List<Object>>> iter = available.entrySet().iterator();
+		while( totalIdle > maxIdle && iter.hasNext() ) {
+			List<Object> list = iter.next().getValue();
+			while( totalIdle > maxIdle && !list.isEmpty() ) {
+				list.remove(list.size()-1);
+				totalIdle--;
+			}
+			if( list.isEmpty() )
+				iter.remove();
+		}
+	}
+
+	/**
+	 * Discards all idle plans.  Counters are not modified.
+	 */
+	public static synchronized void clear() {
+		available.clear();
+		totalIdle = 0;
+	}
+
+	public static synchronized void resetCounters() {
+		allocations = 0;
+		borrowed = 0;
+	}
+
+	/**
+	 * Specifies the maximum number of idle plans which are saved.  If zero then plans are never reused.
+	 */
+	public static synchronized void setMaxIdle( int maxIdle ) {
+		if( maxIdle < 0 )
+			throw new IllegalArgumentException("maxIdle must be >= 0");
+		FftPlanCache.maxIdle = maxIdle;
+		trim();
+	}
+
+	public static synchronized int getMaxIdle() {
+		return maxIdle;
+	}
+
+	/**
+	 * Number of plans which are available to be borrowed
+	 */
+	public static synchronized int getIdle() {
+		return totalIdle;
+	}
+
+	/**
+	 * Number of plans which have been declared since the counters were reset
+	 */
+	public static synchronized int getAllocations() {
+		return allocations;
+	}
+
+	/**
+	 * Number of times a plan has been borrowed since the counters were reset
+	 */
+	public static synchronized int getBorrowed() {
+		return borrowed;
+	}
+
+	private static class Key {
+		Class type;
+		int rows;
+		int columns;
+
+		Key() {
+		}
+
+		Key( Class type , int rows , int columns ) {
+			set(type,rows,columns);
+		}
+
+		void set( Class type , int rows , int columns ) {
+			this.type = type;
+			this.rows = rows;
+			this.columns = columns;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if( !(obj instanceof Key) )
+				return false;
+			Key k = (Key)obj;
+			return type == k.type && rows == k.rows && columns == k.columns;
+		}
+
+		@Override
+		public int hashCode() {
+			return (type.hashCode()*31 + rows)*31 + columns;
+		}
+	}
+}
@@ -23,6 +23,8 @@ import boofcv.struct.image.*;
 
 import static boofcv.alg.transform.fft.DiscreteFourierTransformOps.createTransformF32;
 import static boofcv.alg.transform.fft.DiscreteFourierTransformOps.createTransformF64;
+import static boofcv.alg.transform.fft.DiscreteFourierTransformOps.createTransformPackedF32;
+import static boofcv.alg.transform.fft.DiscreteFourierTransformOps.createTransformPackedF64;
 
 /**
  * Implementation of functions in {@link DiscreteFourierTransformOps} which are image type agnostic
@@ -47,6 +49,24 @@ public class GDiscreteFourierTransformOps {
 		throw new IllegalArgumentException("Unsupported image type "+type);
 	}
 
+	/**
+	 * Creates a {@link boofcv.abst.transform.fft.DiscreteFourierTransform} for the specified type which saves
+	 * the transform in the packed layout.
+	 *
+	 * @see DiscreteFourierTransformOps#createTransformPackedF32()
+	 *
+	 * @param type Image data type
+	 * @return {@link boofcv.abst.transform.fft.DiscreteFourierTransform}
+	 */
+	public static <T extends ImageFloat, W extends ImageInterleaved>
+	DiscreteFourierTransform<T,W> createTransformPacked( ImageDataType type ) {
+		switch( type ) {
+			case F32: return (DiscreteFourierTransform)createTransformPackedF32();
+			case F64: return (DiscreteFourierTransform)createTransformPackedF64();
+		}
+		throw new IllegalArgumentException("Unsupported image type "+type);
+	}
+
 	/**
 	 * Moves the zero-frequency component into the image center (width/2,height/2).   This function can
 	 * be called to undo the transform.
@@ -6028,4 +6028,11 @@ public class GeneralPurposeFFT_F64_1D {
 			a[i] *= norm;
 		}
 	}
+
+	/**
+	 * Number of elements in the data which is transformed
+	 */
+	public int getN() {
+		return n;
+	}
 }
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.fft;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+
+/**
+ * <p>
+ * 2D Discrete Fourier Transform (DFT) which is computed by transforming each row and then each column with 1D
+ * transforms.  When {@link BoofConcurrency} allows it, bands of rows and bands of columns are processed in parallel.
+ * Each band borrows its own 1D plans from {@link FftPlanCache}, since a 1D plan contains work space and can't
+ * be shared between threads.  Columns are gathered in small blocks to reduce cache misses.
+ * </p>
+ *
+ * <p>
+ * The full complex layout is the same as in {@link GeneralPurposeFFT_F64_2D}.  The transform of real data can also be
+ * saved in a packed layout.  Since the transform of real data is conjugate symmetric, only the first W=columns/2+1
+ * columns are saved, which is about half the memory and half the column transforms:
+ * <pre>
+ * packed[k1*2*W+2*k2] = Re[k1][k2],
+ * packed[k1*2*W+2*k2+1] = Im[k1][k2], 0&lt;=k1&lt;rows, 0&lt;=k2&lt;W
+ * </pre>
+ * </p>
+ *
+ * <p>
+ * The only state is the shape of the data, so a single instance can be used by multiple threads at once.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RowColumnFFT_F64_2D {
+
+	// minimum number of rows or columns processed by a single thread
+	public static int MIN_BAND = 8;
+
+	// number of columns which are gathered and transformed together
+	private static final int BLOCK = 8;
+
+	private int rows;
+	private int columns;
+
+	/**
+	 * @param rows number of rows
+	 * @param columns number of columns
+	 */
+	public RowColumnFFT_F64_2D(int rows, int columns) {
+		if (rows < 1 || columns < 1 ) {
+			throw new IllegalArgumentException("rows and columns must be greater than 0");
+		}
+		this.rows = rows;
+		this.columns = columns;
+	}
+
+	/**
+	 * Number of complex columns in the packed layout of a real transform
+	 *
+	 * @param columns Number of columns in the real data
+	 */
+	public static int packedWidth( int columns ) {
+		return columns/2 + 1;
+	}
+
+	/**
+	 * Computes 2D forward DFT of complex data in place.  Array must be of size rows*2*columns.
+	 *
+	 * @param a data to transform
+	 */
+	public void complexForward( double[] a ) {
+		boolean concurrent = BoofConcurrency.isConcurrent(columns,rows);
+		transformRows(a, true, false, concurrent);
+		transformColumns(a, 2*columns, columns, true, false, concurrent);
+	}
+
+	/**
+	 * Computes 2D inverse DFT of complex data in place.  Array must be of size rows*2*columns.
+	 *
+	 * @param a data to transform
+	 * @param scale if true then scaling is performed
+	 */
+	public void complexInverse( double[] a , boolean scale ) {
+		boolean concurrent = BoofConcurrency.isConcurrent(columns,rows);
+		transformRows(a, false, scale, concurrent);
+		transformColumns(a, 2*columns, columns, false, scale, concurrent);
+	}
+
+	/**
+	 * Computes the full 2D forward DFT of real data.  Only half the columns are transformed, the other half is
+	 * filled in using symmetry.
+	 *
+	 * @param input Real data of size rows*columns. Not modified.
+	 * @param output Complex transform of size rows*2*columns.  Must not be the same array as the input. Modified.
+	 */
+	public void realForwardFull( double[] input , double[] output ) {
+		boolean concurrent = BoofConcurrency.isConcurrent(columns,rows);
+		realRows(input, output, 2*columns, concurrent);
+		transformColumns(output, 2*columns, packedWidth(columns), true, false, concurrent);
+		fillSymmetric(output, concurrent);
+	}
+
+	/**
+	 * Computes the 2D forward DFT of real data and saves it in the packed layout.
+	 *
+	 * @param input Real data of size rows*columns. Not modified.
+	 * @param packed Packed transform of size rows*2*(columns/2+1).  Modified.
+	 */
+	public void realForwardPacked( double[] input , double[] packed ) {
+		boolean concurrent = BoofConcurrency.isConcurrent(columns,rows);
+		int width = packedWidth(columns);
+		realRows(input, packed, 2*width, concurrent);
+		transformColumns(packed, 2*width, width, true, false, concurrent);
+	}
+
+	/**
+	 * Computes the 2D inverse DFT of a transform in the packed layout.  The output is real.
+	 *
+	 * @param packed Packed transform of size rows*2*(columns/2+1).  Used as work space and is modified.
+	 * @param output Real data of size rows*columns. Modified.
+	 * @param scale if true then scaling is performed
+	 */
+	public void realInversePacked( double[] packed , double[] output , boolean scale ) {
+		boolean concurrent = BoofConcurrency.isConcurrent(columns,rows);
+		int width = packedWidth(columns);
+		transformColumns(packed, 2*width, width, false, scale, concurrent);
+		inverseRealRows(packed, output, 2*width, scale, concurrent);
+	}
+
+	private void transformRows( final double[] a , final boolean forward , final boolean scale ,
+								boolean concurrent ) {
+		if( columns == 1 )
+			return;
+
+		loop(rows, concurrent, new IntRangeTask() {
+			@Override
+			public void process(int r0, int r1) {
+				GeneralPurposeFFT_F64_1D fft = FftPlanCache.borrow_F64(columns);
+				for( int r = r0; r < r1; r++ ) {
+					if( forward )
+						fft.complexForward(a, r*2*columns);
+					else
+						fft.complexInverse(a, r*2*columns, scale);
+				}
+				FftPlanCache.recycle(fft);
+			}
+		});
+	}
+
+	/**
+	 * Transforms the first 'numColumns' complex columns
+	 */
+	private void transformColumns( final double[] a , final int rowStride , int numColumns ,
+								   final boolean forward , final boolean scale , boolean concurrent ) {
+		if( rows == 1 )
+			return;
+
+		loop(numColumns, concurrent, new IntRangeTask() {
+			@Override
+			public void process(int c0, int c1) {
+				GeneralPurposeFFT_F64_1D fft = FftPlanCache.borrow_F64(rows);
+				double[][] temp = new double[Math.min(BLOCK,c1-c0)][2*rows];
+
+				for( int c = c0; c < c1; c += BLOCK ) {
+					int n = Math.min(BLOCK,c1-c);
+
+					for( int r = 0; r < rows; r++ ) {
+						int idx = r*rowStride + 2*c;
+						int t = 2*r;
+						for( int k = 0; k < n; k++ ) {
+							temp[k][t] = a[idx++];
+							temp[k][t+1] = a[idx++];
+						}
+					}
+
+					for( int k = 0; k < n; k++ ) {
+						if( forward )
+							fft.complexForward(temp[k]);
+						else
+							fft.complexInverse(temp[k], scale);
+					}
+
+					for( int r = 0; r < rows; r++ ) {
+						int idx = r*rowStride + 2*c;
+						int t = 2*r;
+						for( int k = 0; k < n; k++ ) {
+							a[idx++] = temp[k][t];
+							a[idx++] = temp[k][t+1];
+						}
+					}
+				}
+				FftPlanCache.recycle(fft);
+			}
+		});
+	}
+
+	/**
+	 * Transforms each row of real data and saves the first columns/2+1 complex elements in the output
+	 */
+	private void realRows( final double[] input , final double[] output , final int rowStride ,
+						   boolean concurrent ) {
+		loop(rows, concurrent, new IntRangeTask() {
+			@Override
+			public void process(int r0, int r1) {
+				GeneralPurposeFFT_F64_1D fft = FftPlanCache.borrow_F64(columns);
+				for( int r = r0; r < r1; r++ ) {
+					int o = r*rowStride;
+					System.arraycopy(input,r*columns,output,o,columns);
+					fft.realForward(output, o);
+
+					// Convert from the 1D packed layout into complex numbers.  The real part of the
+					// last element (even) or imaginary part (odd) is stored in a[1]
+					if( columns > 1 ) {
+						output[o+columns] = output[o+1];
+						if( columns % 2 == 0 )
+							output[o+columns+1] = 0;
+					}
+					output[o+1] = 0;
+				}
+				FftPlanCache.recycle(fft);
+			}
+		});
+	}
+
+	/**
+	 * Inverse of {@link #realRows}.  Each row is converted back into the 1D packed layout, transformed, then copied
+	 * into the output.
+	 */
+	private void inverseRealRows( final double[] packed , final double[] output , final int rowStride ,
+								  final boolean scale , boolean concurrent ) {
+		loop(rows, concurrent, new IntRangeTask() {
+			@Override
+			public void process(int r0, int r1) {
+				GeneralPurposeFFT_F64_1D fft = FftPlanCache.borrow_F64(columns);
+				for( int r = r0; r < r1; r++ ) {
+					int o = r*rowStride;
+					if( columns > 1 )
+						packed[o+1] = packed[o+columns];
+					fft.realInverse(packed, o, scale);
+					System.arraycopy(packed,o,output,r*columns,columns);
+				}
+				FftPlanCache.recycle(fft);
+			}
+		});
+	}
+
+	/**
+	 * Fills in the columns after columns/2 using conjugate symmetry, X[r][c] = conj(X[-r][-c]).
+	 */
+	private void fillSymmetric( final double[] a , boolean concurrent ) {
+		final int width = packedWidth(columns);
+		final int rowStride = 2*columns;
+
+		loop(rows, concurrent, new IntRangeTask() {
+			@Override
+			public void process(int r0, int r1) {
+				for( int r = r0; r < r1; r++ ) {
+					int idx = r*rowStride;
+					int src = ((rows - r) % rows)*rowStride;
+					for( int c = width; c < columns; c++ ) {
+						int cc = 2*(columns - c);
+						a[idx + 2*c] = a[src + cc];
+						a[idx + 2*c + 1] = -a[src + cc + 1];
+					}
+				}
+			}
+		});
+	}
+
+	private static void loop( int length , boolean concurrent , IntRangeTask task ) {
+		if( concurrent )
+			BoofConcurrency.loopBands(0, length, MIN_BAND, task);
+		else
+			task.process(0, length);
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int getColumns() {
+		return columns;
+	}
+}
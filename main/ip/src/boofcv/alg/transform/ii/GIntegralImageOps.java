@@ -18,6 +18,7 @@
 
 package boofcv.alg.transform.ii;
 
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.*;
 
 
@@ -69,6 +70,28 @@ public class GIntegralImageOps {
 		}
 	}
 
+	/**
+	 * Updates the integral image after the input image has been modified inside the specified region.
+	 *
+	 * @see IntegralImageOps#transformIncremental(ImageFloat32, ImageRectangle, ImageFloat32)
+	 *
+	 * @param input Regular image. Not modified.
+	 * @param changed Region in the input image which has been modified.
+	 * @param transformed Integral image which was computed before the input image was modified. Modified.
+	 */
+	public static <I extends ImageSingleBand, T extends ImageSingleBand>
+	void transformIncremental( I input , ImageRectangle changed , T transformed ) {
+		if( input instanceof ImageFloat32 ) {
+			IntegralImageOps.transformIncremental((ImageFloat32)input,changed,(ImageFloat32)transformed);
+		} else if( input instanceof ImageUInt8) {
+			IntegralImageOps.transformIncremental((ImageUInt8)input,changed,(ImageSInt32)transformed);
+		} else if( input instanceof ImageSInt32) {
+			IntegralImageOps.transformIncremental((ImageSInt32)input,changed,(ImageSInt32)transformed);
+		} else {
+			throw new IllegalArgumentException("Unknown input type: "+input.getClass().getSimpleName());
+		}
+	}
+
 	/**
 	 * General code for convolving a box filter across an image using the integral image.
 	 *
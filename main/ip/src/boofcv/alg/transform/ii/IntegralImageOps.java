@@ -19,7 +19,10 @@
 package boofcv.alg.transform.ii;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.transform.ii.impl.ImplIntegralImageConcurrent;
+import boofcv.alg.transform.ii.impl.ImplIntegralImageIncremental;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.*;
 
@@ -34,7 +37,8 @@ import boofcv.struct.image.*;
 public class IntegralImageOps {
 
 	/**
-	 * Converts a regular image into an integral image.
+	 * Converts a regular image into an integral image.  Large images are processed in parallel, see
+	 * {@link BoofConcurrency}.
 	 *
 	 * @param input Regular image. Not modified.
 	 * @param transformed Integral image. If null a new image will be created. Modified.
@@ -43,7 +47,10 @@ public class IntegralImageOps {
 	public static ImageFloat32 transform( ImageFloat32 input , ImageFloat32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isConcurrent(input) )
+			ImplIntegralImageConcurrent.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -64,7 +71,8 @@ public class IntegralImageOps {
 	}
 
 	/**
-	 * Converts a regular image into an integral image.
+	 * Converts a regular image into an integral image.  Large images are processed in parallel, see
+	 * {@link BoofConcurrency}.
 	 *
 	 * @param input Regular image. Not modified.
 	 * @param transformed Integral image. If null a new image will be created. Modified.
@@ -73,13 +81,17 @@ public class IntegralImageOps {
 	public static ImageSInt32 transform( ImageUInt8 input , ImageSInt32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt32.class);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isConcurrent(input) )
+			ImplIntegralImageConcurrent.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
 
 	/**
-	 * Converts a regular image into an integral image.
+	 * Converts a regular image into an integral image.  Large images are processed in parallel, see
+	 * {@link BoofConcurrency}.
 	 *
 	 * @param input Regular image. Not modified.
 	 * @param transformed Integral image. If null a new image will be created. Modified.
@@ -88,7 +100,10 @@ public class IntegralImageOps {
 	public static ImageSInt32 transform( ImageSInt32 input , ImageSInt32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt32.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if( BoofConcurrency.isConcurrent(input) )
+			ImplIntegralImageConcurrent.transform(input, transformed);
+		else
+			ImplIntegralImageOps.transform(input, transformed);
 
 		return transformed;
 	}
@@ -108,6 +123,66 @@ public class IntegralImageOps {
 		return transformed;
 	}
 
+	/**
+	 * Updates the integral image after the input image has been modified inside the specified region.  Only the
+	 * part of the integral image below and to the right of the region's top-left corner is recomputed.  The
+	 * result is identical to calling {@link #transform(ImageFloat32, ImageFloat32)}.
+	 *
+	 * @param input Regular image. Not modified.
+	 * @param changed Region in the input image which has been modified.  Only x0 and y0 are used.
+	 * @param transformed Integral image which was computed before the input image was modified. Modified.
+	 */
+	public static void transformIncremental( ImageFloat32 input , ImageRectangle changed , ImageFloat32 transformed ) {
+		InputSanityCheck.checkSameShape(input,transformed);
+
+		int x0 = Math.max(0,changed.x0);
+		int y0 = Math.max(0,changed.y0);
+		if( x0 >= input.width || y0 >= input.height )
+			return;
+
+		ImplIntegralImageIncremental.transform(input,transformed,x0,y0);
+	}
+
+	/**
+	 * Updates the integral image after the input image has been modified inside the specified region.  Only the
+	 * part of the integral image below and to the right of the region's top-left corner is recomputed.  The
+	 * result is identical to calling {@link #transform(ImageUInt8, ImageSInt32)}.
+	 *
+	 * @param input Regular image. Not modified.
+	 * @param changed Region in the input image which has been modified.  Only x0 and y0 are used.
+	 * @param transformed Integral image which was computed before the input image was modified. Modified.
+	 */
+	public static void transformIncremental( ImageUInt8 input , ImageRectangle changed , ImageSInt32 transformed ) {
+		InputSanityCheck.checkSameShape(input,transformed);
+
+		int x0 = Math.max(0,changed.x0);
+		int y0 = Math.max(0,changed.y0);
+		if( x0 >= input.width || y0 >= input.height )
+			return;
+
+		ImplIntegralImageIncremental.transform(input,transformed,x0,y0);
+	}
+
+	/**
+	 * Updates the integral image after the input image has been modified inside the specified region.  Only the
+	 * part of the integral image below and to the right of the region's top-left corner is recomputed.  The
+	 * result is identical to calling {@link #transform(ImageSInt32, ImageSInt32)}.
+	 *
+	 * @param input Regular image. Not modified.
+	 * @param changed Region in the input image which has been modified.  Only x0 and y0 are used.
+	 * @param transformed Integral image which was computed before the input image was modified. Modified.
+	 */
+	public static void transformIncremental( ImageSInt32 input , ImageRectangle changed , ImageSInt32 transformed ) {
+		InputSanityCheck.checkSameShape(input,transformed);
+
+		int x0 = Math.max(0,changed.x0);
+		int y0 = Math.max(0,changed.y0);
+		if( x0 >= input.width || y0 >= input.height )
+			return;
+
+		ImplIntegralImageIncremental.transform(input,transformed,x0,y0);
+	}
+
 	/**
 	 * General code for convolving a box filter across an image using the integral image.
 	 *
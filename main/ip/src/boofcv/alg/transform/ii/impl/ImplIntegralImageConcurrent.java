@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.ii.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Computes integer integral images in parallel using a two pass algorithm.  First the image is split into bands
+ * of rows and the integral image of each band is computed independently, as if it was the top of the image.
+ * Then the sum of all the bands above each band, which is found from their bottom rows, is added to every row in
+ * the band.  Both passes are processed in parallel with {@link BoofConcurrency}.
+ * </p>
+ *
+ * <p>
+ * Floating point images are instead computed using the same additions, in the same order, as the serial algorithm,
+ * so that the output does not depend on the number of threads.  First the cumulative sum along each row is computed
+ * in bands of rows, then the rows are added together down each column in bands of columns.
+ * </p>
+ *
+ * <p>
+ * Output is identical to the serial algorithm for all image types.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplIntegralImageConcurrent {
+
+	/**
+	 * Minimum number of rows in a band
+	 */
+	public static int MIN_BAND_ROWS = 16;
+
+	/**
+	 * Minimum number of columns in a band
+	 */
+	public static int MIN_BAND_COLUMNS = 64;
+
+	public static void transform( final ImageFloat32 input , final ImageFloat32 transformed )
+	{
+		final int width = input.width;
+
+		// cumulative sum along each row
+		BoofConcurrency.loopBands(0, input.height, MIN_BAND_ROWS, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y*input.stride;
+					int indexDst = transformed.startIndex + y*transformed.stride;
+					int end = indexSrc + width;
+
+					float total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		// add the previous row to each row, the same as the serial algorithm
+		BoofConcurrency.loopBands(0, width, MIN_BAND_COLUMNS, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < input.height; y++ ) {
+					int indexDst = transformed.startIndex + y*transformed.stride + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + (x1-x0);
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+
+	public static void transform( final ImageUInt8 input , final ImageSInt32 transformed )
+	{
+		final int numBands = numBands(input.height);
+		if( numBands <= 1 ) {
+			ImplIntegralImageOps.transform(input,transformed);
+			return;
+		}
+
+		final int width = input.width;
+		final int height = input.height;
+
+		BoofConcurrency.loopBands(0, numBands, 1, new IntRangeTask() {
+			@Override
+			public void process(int b0, int b1) {
+				for( int b = b0; b < b1; b++ ) {
+					int y0 = bandStart(b,numBands,height);
+					int y1 = bandStart(b+1,numBands,height);
+					ImplIntegralImageOps.transform(input.subimage(0,y0,width,y1,null),
+							transformed.subimage(0,y0,width,y1,null));
+				}
+			}
+		});
+
+		fixBands(transformed, numBands);
+	}
+
+	public static void transform( final ImageSInt32 input , final ImageSInt32 transformed )
+	{
+		final int numBands = numBands(input.height);
+		if( numBands <= 1 ) {
+			ImplIntegralImageOps.transform(input,transformed);
+			return;
+		}
+
+		final int width = input.width;
+		final int height = input.height;
+
+		BoofConcurrency.loopBands(0, numBands, 1, new IntRangeTask() {
+			@Override
+			public void process(int b0, int b1) {
+				for( int b = b0; b < b1; b++ ) {
+					int y0 = bandStart(b,numBands,height);
+					int y1 = bandStart(b+1,numBands,height);
+					ImplIntegralImageOps.transform(input.subimage(0,y0,width,y1,null),
+							transformed.subimage(0,y0,width,y1,null));
+				}
+			}
+		});
+
+		fixBands(transformed, numBands);
+	}
+
+	/**
+	 * Adds the sum of all the bands above to each band
+	 */
+	private static void fixBands( final ImageSInt32 transformed , final int numBands ) {
+		final int width = transformed.width;
+		final int height = transformed.height;
+
+		// the sum of all the bands above each band.  The first band has nothing above it and is skipped
+		final int offsets[] = new int[ (numBands-1)*width ];
+		for( int b = 1; b < numBands; b++ ) {
+			int indexRow = transformed.startIndex + (bandStart(b,numBands,height)-1)*transformed.stride;
+			int indexOffset = (b-1)*width;
+			for( int x = 0; x < width; x++ , indexOffset++ ) {
+				int prev = b == 1 ? 0 : offsets[indexOffset-width];
+				offsets[indexOffset] = prev + transformed.data[indexRow+x];
+			}
+		}
+
+		BoofConcurrency.loopBands(1, numBands, 1, new IntRangeTask() {
+			@Override
+			public void process(int b0, int b1) {
+				for( int b = b0; b < b1; b++ ) {
+					int y0 = bandStart(b,numBands,height);
+					int y1 = bandStart(b+1,numBands,height);
+					int indexOffset = (b-1)*width;
+					for( int y = y0; y < y1; y++ ) {
+						int index = transformed.startIndex + y*transformed.stride;
+						for( int x = 0; x < width; x++ ) {
+							transformed.data[index++] += offsets[indexOffset+x];
+						}
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Number of bands the image is split into.  One band for each thread, if there are enough rows.
+	 */
+	private static int numBands( int height ) {
+		return Math.min(BoofConcurrency.getMaxThreads(), height/MIN_BAND_ROWS);
+	}
+
+	/**
+	 * First row in the specified band
+	 */
+	private static int bandStart( int band , int numBands , int height ) {
+		return band*height/numBands;
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.ii.impl;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Updates an integral image after the input image has been modified inside a region.  Only integral image
+ * pixels which are below and to the right of the region's top-left corner, (x0,y0), are recomputed since all
+ * other pixels are not affected.  The output is identical to recomputing the entire integral image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplIntegralImageIncremental {
+
+	public static void transform( final ImageFloat32 input , final ImageFloat32 transformed , int x0 , int y0 )
+	{
+		for( int y = y0; y < input.height; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int end = indexSrc + input.width;
+
+			// sum of the unchanged pixels to the left, added up in the same order as the full transform
+			float total = 0;
+			for( int x = 0; x < x0; x++ ) {
+				total += input.data[indexSrc];
+				indexSrc++;
+			}
+
+			if( y == 0 ) {
+				for( ; indexSrc < end; indexSrc++ ) {
+					transformed.data[indexDst++] = total += input.data[indexSrc];
+				}
+			} else {
+				int indexPrev = indexDst - transformed.stride;
+				for( ; indexSrc < end; indexSrc++ ) {
+					total += input.data[indexSrc];
+					transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+				}
+			}
+		}
+	}
+
+	public static void transform( final ImageUInt8 input , final ImageSInt32 transformed , int x0 , int y0 )
+	{
+		for( int y = y0; y < input.height; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int end = indexSrc + input.width;
+
+			// sum of the unchanged pixels to the left, added up in the same order as the full transform
+			int total = 0;
+			for( int x = 0; x < x0; x++ ) {
+				total += input.data[indexSrc] & 0xFF;
+				indexSrc++;
+			}
+
+			if( y == 0 ) {
+				for( ; indexSrc < end; indexSrc++ ) {
+					transformed.data[indexDst++] = total += input.data[indexSrc] & 0xFF;
+				}
+			} else {
+				int indexPrev = indexDst - transformed.stride;
+				for( ; indexSrc < end; indexSrc++ ) {
+					total += input.data[indexSrc] & 0xFF;
+					transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+				}
+			}
+		}
+	}
+
+	public static void transform( final ImageSInt32 input , final ImageSInt32 transformed , int x0 , int y0 )
+	{
+		for( int y = y0; y < input.height; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int end = indexSrc + input.width;
+
+			// sum of the unchanged pixels to the left, added up in the same order as the full transform
+			int total = 0;
+			for( int x = 0; x < x0; x++ ) {
+				total += input.data[indexSrc];
+				indexSrc++;
+			}
+
+			if( y == 0 ) {
+				for( ; indexSrc < end; indexSrc++ ) {
+					transformed.data[indexDst++] = total += input.data[indexSrc];
+				}
+			} else {
+				int indexPrev = indexDst - transformed.stride;
+				for( ; indexSrc < end; indexSrc++ ) {
+					total += input.data[indexSrc];
+					transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,436 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.convolve.ConvolveInterface;
+import boofcv.alg.filter.derivative.GradientThree;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.ImageGenerator;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.convolve.FactoryConvolve;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.BoofDefaults;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.gss.GaussianScaleSpace;
+import boofcv.struct.image.ImageDataType;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageWorkspace;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * <p>
+ * Implementation of {@link GaussianScaleSpace} which caches the scaled images and their derivatives so that each
+ * is computed at most once for an input image.  Several consumers, e.g. an interest point detector and an
+ * orientation estimator, can share the same instance without recomputing each other's images.  Images at any
+ * scale can be requested directly with {@link #getScaledImage(int)} and {@link #getDerivative(int, boolean...)}
+ * without changing the active scale.  Derivatives are computed the same way as in {@link NoCacheScaleSpace}.
+ * </p>
+ *
+ * <p>
+ * The memory used by cached images is limited by a budget.  When it is exceeded the least recently used images
+ * are evicted and their memory is reused.  Images at the active scale are never evicted, but an image at any
+ * other scale is only guaranteed to be valid until the next request.  Hit and miss counters are provided to
+ * help select the budget.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class CachedScaleSpace<I extends ImageSingleBand, D extends ImageSingleBand>
+		implements GaussianScaleSpace<I,D>
+{
+	// reference to the original input image
+	private I originalImage;
+
+	// types of input and derivative images
+	private Class<I> inputType;
+	private Class<D> derivType;
+
+	private double scales[];
+	private int currentScale;
+
+	// filters for computing image derivatives
+	private ConvolveInterface<I, D> derivX;
+	private ConvolveInterface<I, D> derivY;
+	private ConvolveInterface<D, D> derivDerivX;
+	private ConvolveInterface<D, D> derivDerivY;
+
+	// how the borders are handled
+	BorderType borderDeriv = BoofDefaults.DERIV_BORDER_TYPE;
+	BorderType borderBlur = BorderType.NORMALIZED;
+
+	// cached images in the order they were accessed, least recently used first
+	private LinkedHashMap<Key,ImageSingleBand> cache = new LinkedHashMap<Key,ImageSingleBand>(16,0.75f,true);
+	// used to look up images without declaring a new key each time
+	private Key lookup = new Key();
+
+	// evicted images and temporary images are recycled into the workspace
+	private ImageWorkspace workspace = new ImageWorkspace();
+
+	// maximum number of bytes used by cached images and the number currently used
+	private long memoryBudget;
+	private long memoryUsed;
+
+	// cache statistics
+	private int hits;
+	private int misses;
+	private int evictions;
+
+	/**
+	 * Declares internal data structures.
+	 *
+	 * @param inputGen Used to create image of the same type as the input.
+	 * @param derivGen Used to create derivative images.
+	 * @param memoryBudget Maximum number of bytes used by cached images.  Images at the active scale are
+	 *                     kept even if the budget is exceeded.
+	 */
+	public CachedScaleSpace(ImageGenerator<I> inputGen, ImageGenerator<D> derivGen , long memoryBudget ) {
+		this.inputType = inputGen.getType();
+		this.derivType = derivGen.getType();
+		this.memoryBudget = memoryBudget;
+		declareDerivatives();
+	}
+
+	/**
+	 * Declares the same derivative filters as {@link boofcv.abst.filter.derivative.AnyImageDerivative}
+	 */
+	private void declareDerivatives() {
+		boolean isInteger = !GeneralizedImageOps.isFloatingPoint(inputType);
+		Kernel1D deriv = GradientThree.getKernelX(isInteger);
+
+		derivX = FactoryConvolve.convolve(deriv,inputType,derivType, borderDeriv,true);
+		derivY = FactoryConvolve.convolve(deriv,inputType,derivType, borderDeriv,false);
+
+		derivDerivX = FactoryConvolve.convolve(deriv,derivType,derivType, borderDeriv,true);
+		derivDerivY = FactoryConvolve.convolve(deriv,derivType,derivType, borderDeriv,false);
+	}
+
+	@Override
+	public void setScales(double... scales) {
+		this.scales = scales;
+		invalidate();
+	}
+
+	@Override
+	public double getScale(int level) {
+		return scales[level];
+	}
+
+	/**
+	 * Specifies the original image and discards all the cached images.
+	 *
+	 * @param input Original image.
+	 */
+	@Override
+	public void setImage(I input) {
+		if( originalImage != null &&
+				(originalImage.width != input.width || originalImage.height != input.height) ) {
+			// the old images can't be reused
+			clearCache();
+			workspace.clear();
+		} else {
+			invalidate();
+		}
+		this.originalImage = input;
+	}
+
+	@Override
+	public void setActiveScale(int index) {
+		this.currentScale = index;
+	}
+
+	@Override
+	public double getCurrentScale() {
+		return scales[currentScale];
+	}
+
+	@Override
+	public int getTotalScales() {
+		return scales.length;
+	}
+
+	@Override
+	public I getScaledImage() {
+		return getScaledImage(currentScale);
+	}
+
+	/**
+	 * Returns the scaled image at the specified scale, computing it only if it is not in the cache.
+	 *
+	 * @param index Index of the scale.
+	 * @return scaled image.  Owned by the cache.  Do not modify.
+	 */
+	public I getScaledImage( int index ) {
+		I scaled = (I)lookup(index, 0, 0);
+		if( scaled != null )
+			return scaled;
+
+		double sigma = scales[index];
+		int radius = FactoryKernelGaussian.radiusForSigma(sigma,0);
+
+		Kernel1D kernel = FactoryKernelGaussian.gaussian1D(inputType,sigma,radius);
+
+		ConvolveInterface<I, I> blurX = FactoryConvolve.convolve(kernel,inputType,inputType, borderBlur ,true);
+		ConvolveInterface<I, I> blurY = FactoryConvolve.convolve(kernel,inputType,inputType, borderBlur ,false);
+
+		I work = workspace.borrow(inputType,originalImage.width,originalImage.height);
+		scaled = workspace.borrow(inputType,originalImage.width,originalImage.height);
+
+		blurX.process(originalImage,work);
+		blurY.process(work,scaled);
+
+		workspace.recycle(work);
+		insert(new Key(index, 0, 0), scaled);
+
+		return scaled;
+	}
+
+	@Override
+	public void setBorderType(BorderType type) {
+		borderDeriv = type;
+		borderBlur = type;
+		declareDerivatives();
+		invalidate();
+	}
+
+	@Override
+	public BorderType getBorderType() {
+		return borderDeriv;
+	}
+
+	@Override
+	public D getDerivative(boolean... isX) {
+		return getDerivative(currentScale, isX);
+	}
+
+	/**
+	 * Returns a partial derivative of the image at the specified scale.  Higher order derivatives are computed
+	 * from lower order derivatives, which are also cached.
+	 *
+	 * @param index Index of the scale.
+	 * @param isX specifies which partial derivative is to be returned.  See {@link #getDerivative(boolean...)}.
+	 * @return The image's derivative.  Owned by the cache.  Do not modify.
+	 */
+	public D getDerivative( int index , boolean... isX ) {
+		if( isX.length == 0 )
+			throw new IllegalArgumentException("The order of the derivative must be at least one");
+
+		int mask = 0;
+		for( int i = 0; i < isX.length; i++ ) {
+			if( !isX[i] )
+				mask |= 1 << i;
+		}
+
+		D deriv = (D)lookup(index, isX.length, mask);
+		if( deriv != null )
+			return deriv;
+
+		deriv = workspace.borrow(derivType,originalImage.width,originalImage.height);
+
+		boolean last = isX[isX.length-1];
+		if( isX.length == 1 ) {
+			I scaled = getScaledImage(index);
+			if( last )
+				derivX.process(scaled,deriv);
+			else
+				derivY.process(scaled,deriv);
+		} else {
+			boolean lower[] = new boolean[ isX.length-1 ];
+			System.arraycopy(isX,0,lower,0,lower.length);
+			D prev = getDerivative(index, lower);
+			if( last )
+				derivDerivX.process(prev,deriv);
+			else
+				derivDerivY.process(prev,deriv);
+		}
+
+		insert(new Key(index, isX.length, mask), deriv);
+
+		return deriv;
+	}
+
+	/**
+	 * Returns the cached image or null if it's not in the cache.  Updates the hit and miss counters.
+	 */
+	private ImageSingleBand lookup( int scale , int order , int mask ) {
+		if( originalImage == null )
+			throw new IllegalArgumentException("Must call setImage() first");
+
+		lookup.set(scale, order, mask);
+		ImageSingleBand image = cache.get(lookup);
+		if( image == null )
+			misses++;
+		else
+			hits++;
+		return image;
+	}
+
+	/**
+	 * Adds the image to the cache and evicts the least recently used images until the budget is satisfied.
+	 * The image being added and images at the active scale are not evicted.
+	 */
+	private void insert( Key key , ImageSingleBand image ) {
+		cache.put(key, image);
+		memoryUsed += bytes(image);
+		evict(key);
+	}
+
+	private void evict( Key keep ) {
+		Iterator<Map.Entry<Key,ImageSingleBand>> iter = cache.entrySet().iterator();
+		while( memoryUsed > memoryBudget && iter.hasNext() ) {
+			Map.Entry<Key,ImageSingleBand> e = iter.next();
+			Key k = e.getKey();
+			if( k.scale == currentScale || k.equals(keep) )
+				continue;
+
+			iter.remove();
+			memoryUsed -= bytes(e.getValue());
+			workspace.recycle(e.getValue());
+			evictions++;
+		}
+	}
+
+	/**
+	 * Discards all the cached images, but saves their memory so that it can be reused
+	 */
+	private void invalidate() {
+		for( ImageSingleBand image : cache.values() ) {
+			workspace.recycle(image);
+		}
+		cache.clear();
+		memoryUsed = 0;
+	}
+
+	private void clearCache() {
+		cache.clear();
+		memoryUsed = 0;
+	}
+
+	private static long bytes( ImageSingleBand image ) {
+		int bits = ImageDataType.classToType(image.getClass()).getNumBits();
+		return (long)image.width*image.height*(bits/8);
+	}
+
+	/**
+	 * Returns true if the scaled image or derivative is in the cache.  Does not modify the hit and miss
+	 * counters or the order in which images are evicted.
+	 *
+	 * @param index Index of the scale.
+	 * @param isX The partial derivative.  If empty then the scaled image.
+	 */
+	public boolean isCached( int index , boolean... isX ) {
+		int mask = 0;
+		for( int i = 0; i < isX.length; i++ ) {
+			if( !isX[i] )
+				mask |= 1 << i;
+		}
+		for( Key k : cache.keySet() ) {
+			if( k.scale == index && k.order == isX.length && k.mask == mask )
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Changes the memory budget.  If it is exceeded then images are evicted immediately.
+	 *
+	 * @param memoryBudget Maximum number of bytes used by cached images.
+	 */
+	public void setMemoryBudget(long memoryBudget) {
+		this.memoryBudget = memoryBudget;
+		evict(null);
+	}
+
+	public long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * Number of bytes used by images which are currently cached
+	 */
+	public long getMemoryUsed() {
+		return memoryUsed;
+	}
+
+	/**
+	 * Number of requests which were found in the cache
+	 */
+	public int getHits() {
+		return hits;
+	}
+
+	/**
+	 * Number of requests which had to be computed
+	 */
+	public int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Number of images which were evicted to stay within the memory budget
+	 */
+	public int getEvictions() {
+		return evictions;
+	}
+
+	public void resetCounters() {
+		hits = misses = evictions = 0;
+	}
+
+	/**
+	 * Identifies a scaled image or one of its derivatives
+	 */
+	private static class Key {
+		// index of the scale
+		int scale;
+		// order of the derivative.  0 for the scaled image
+		int order;
+		// bit 'i' is set if the i-th derivative is along the y-axis
+		int mask;
+
+		public Key() {
+		}
+
+		public Key(int scale, int order, int mask) {
+			set(scale, order, mask);
+		}
+
+		public void set( int scale , int order , int mask ) {
+			this.scale = scale;
+			this.order = order;
+			this.mask = mask;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if( !(o instanceof Key) )
+				return false;
+			Key k = (Key)o;
+			return scale == k.scale && order == k.order && mask == k.mask;
+		}
+
+		@Override
+		public int hashCode() {
+			return (scale*31 + order)*31 + mask;
+		}
+	}
+}
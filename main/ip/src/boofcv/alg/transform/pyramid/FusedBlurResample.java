@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageSingleBand;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Blurs and re-samples an image in a single pass.  The output is the same as convolving a normalized symmetric
+ * kernel across the entire input image and then sampling the blurred image with bilinear interpolation, but only
+ * the blurred values which are actually sampled are computed and no blurred image is ever stored.  Output pixel
+ * (x,y) samples the input image at (x*scaleX,y*scaleY).  Integer scale factors sample exactly one blurred
+ * pixel and fractional scale factors sample four.
+ * </p>
+ *
+ * <p>
+ * The input image is horizontally convolved one row at a time, but only at the columns which are sampled. These
+ * rows are stored inside of a rolling buffer which holds just enough rows to vertically convolve the sampled rows.
+ * Image borders are handled the same as {@link boofcv.core.image.border.BorderType#NORMALIZED}.
+ * </p>
+ *
+ * <p>
+ * If {@link BoofConcurrency#isConcurrent} is true for the input image then the output rows are split into bands
+ * which are processed in parallel, each with its own rolling buffer.
+ * </p>
+ *
+ * <p>
+ * A rectangular region inside the output image can be computed instead of the whole image.  Only the input pixels
+ * which are sampled, plus the kernel's radius, are read.  This is used by lazily evaluated pyramids.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class FusedBlurResample<T extends ImageSingleBand> {
+
+	// minimum number of output rows processed by a thread
+	private static final int MIN_BAND = 8;
+
+	// kernel weights
+	protected float kernel[] = new float[0];
+	protected int radius;
+	// sum of all the weights in the kernel
+	protected float kernelSum;
+	// true if the kernel is a Kernel1D_I32, in which case every weight is an integer
+	protected boolean integerKernel;
+
+	// shape of the input image
+	protected int inputWidth, inputHeight;
+
+	// input columns at which horizontal convolution is computed.  Sorted in increasing order
+	protected int cols[] = new int[0];
+	protected int numCols;
+
+	// for each output column, relative to x0, index in cols of the left sample and weight of the right sample
+	protected int colIndex[] = new int[0];
+	protected float colWeight[] = new float[0];
+
+	// for each output row, relative to y0, the top input row which is sampled and weight of the bottom row
+	protected int rowIndex[] = new int[0];
+	protected float rowWeight[] = new float[0];
+
+	// storage for each band that is being processed
+	private final List<Workspace> available = new ArrayList<Workspace>();
+
+	/**
+	 * Specifies the blur kernel.  It must be symmetric and have an odd width.  The kernel does not need to sum up
+	 * to one since it is normalized internally.
+	 *
+	 * @param kernel Blur kernel.  {@link Kernel1D_F32} and {@link Kernel1D_I32} are supported.
+	 */
+	public void setKernel( Kernel1D kernel ) {
+		if( kernel.width % 2 == 0 )
+			throw new IllegalArgumentException("Kernel must have an odd width");
+
+		if( this.kernel.length != kernel.width )
+			this.kernel = new float[ kernel.width ];
+		radius = kernel.getRadius();
+
+		integerKernel = kernel instanceof Kernel1D_I32;
+		if( kernel instanceof Kernel1D_F32 ) {
+			System.arraycopy(((Kernel1D_F32)kernel).data,0,this.kernel,0,kernel.width);
+		} else if( kernel instanceof Kernel1D_I32 ) {
+			int data[] = ((Kernel1D_I32)kernel).data;
+			for( int i = 0; i < kernel.width; i++ )
+				this.kernel[i] = data[i];
+		} else {
+			throw new IllegalArgumentException("Unsupported kernel type "+kernel.getClass().getSimpleName());
+		}
+
+		kernelSum = 0;
+		for( int i = 0; i < kernel.width; i++ )
+			kernelSum += this.kernel[i];
+	}
+
+	/**
+	 * Radius of the blur kernel
+	 */
+	public int getRadius() {
+		return radius;
+	}
+
+	/**
+	 * Blurs the input image and samples it into the output image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  The shape determines which pixels are sampled.  Modified.
+	 * @param scaleX Conversion from output to input coordinates along the x-axis.
+	 * @param scaleY Conversion from output to input coordinates along the y-axis.
+	 */
+	public void process( final T input , final T output , float scaleX , float scaleY ) {
+		process(input,output,scaleX,scaleY,0,0,output.width,output.height);
+	}
+
+	/**
+	 * Blurs the input image and samples it into the specified region inside the output image.  Pixels outside
+	 * the region are not modified.
+	 *
+	 * @param input Input image.  Only the pixels which are sampled by the region, plus the kernel's radius,
+	 *              are read.  Not modified.
+	 * @param output Output image.  The shape determines which pixels are sampled.  Modified.
+	 * @param scaleX Conversion from output to input coordinates along the x-axis.
+	 * @param scaleY Conversion from output to input coordinates along the y-axis.
+	 * @param x0 Lower extent of the region along the x-axis, inclusive.
+	 * @param y0 Lower extent of the region along the y-axis, inclusive.
+	 * @param x1 Upper extent of the region along the x-axis, exclusive.
+	 * @param y1 Upper extent of the region along the y-axis, exclusive.
+	 */
+	public void process( final T input , final T output , float scaleX , float scaleY ,
+						 final int x0 , final int y0 , final int x1 , final int y1 ) {
+		if( kernel.length == 0 )
+			throw new IllegalArgumentException("The kernel has not been specified");
+		if( x0 < 0 || y0 < 0 || x1 > output.width || y1 > output.height )
+			throw new IllegalArgumentException("Region is outside of the output image");
+		if( x0 >= x1 || y0 >= y1 )
+			return;
+
+		inputWidth = input.width;
+		inputHeight = input.height;
+
+		computeColumnSamples(x0, x1, scaleX);
+		computeRowSamples(y0, y1, scaleY);
+
+		if( BoofConcurrency.isConcurrent(input) ) {
+			BoofConcurrency.loopBands(y0, y1, MIN_BAND, new IntRangeTask() {
+				@Override
+				public void process(int bandY0, int bandY1) {
+					processRows(input, output, x0, x1, y0, bandY0, bandY1);
+				}
+			});
+		} else {
+			processRows(input,output,x0,x1,y0,y0,y1);
+		}
+	}
+
+	/**
+	 * Computes the output rows inside the specified range using its own workspace
+	 *
+	 * @param regionY0 First row in the region being computed.  Row sample arrays are relative to this row.
+	 */
+	private void processRows( T input , T output , int x0 , int x1 , int regionY0 , int y0 , int y1 ) {
+		int width = x1-x0;
+		Workspace w = borrowWorkspace();
+		try {
+			w.reset(width);
+			for( int y = y0; y < y1; y++ ) {
+				int row = rowIndex[y-regionY0];
+				float weight = rowWeight[y-regionY0];
+
+				float top[] = w.vertical(input,row,null);
+				if( weight == 0 ) {
+					sampleColumns(top,w.output,width);
+				} else {
+					float bottom[] = w.vertical(input,row+1,top);
+					sampleColumns(top,bottom,weight,w.output,width);
+				}
+				assignRow(w.output,output,y,x0,width);
+			}
+		} finally {
+			recycleWorkspace(w);
+		}
+	}
+
+	/**
+	 * Interpolates along a single row
+	 */
+	private void sampleColumns( float row[] , float dst[] , int width ) {
+		for( int x = 0; x < width; x++ ) {
+			int c = colIndex[x];
+			float a = colWeight[x];
+			if( a == 0 )
+				dst[x] = row[c];
+			else
+				dst[x] = (1.0f-a)*row[c] + a*row[c+1];
+		}
+	}
+
+	/**
+	 * Interpolates between two rows
+	 */
+	private void sampleColumns( float top[] , float bottom[] , float weight , float dst[] , int width ) {
+		float w0 = 1.0f - weight;
+		for( int x = 0; x < width; x++ ) {
+			int c = colIndex[x];
+			float a = colWeight[x];
+			if( a == 0 )
+				dst[x] = w0*top[c] + weight*bottom[c];
+			else
+				dst[x] = w0*((1.0f-a)*top[c] + a*top[c+1]) + weight*((1.0f-a)*bottom[c] + a*bottom[c+1]);
+		}
+	}
+
+	/**
+	 * Selects which input columns are sampled and the interpolation weights
+	 */
+	private void computeColumnSamples( int x0 , int x1 , float scale ) {
+		int width = x1-x0;
+		if( colIndex.length < width ) {
+			colIndex = new int[ width ];
+			colWeight = new float[ width ];
+		}
+		if( cols.length < inputWidth )
+			cols = new int[ inputWidth ];
+
+		numCols = 0;
+		for( int i = 0; i < width; i++ ) {
+			float s = sampleCoordinate(x0+i, scale, inputWidth);
+			int c = (int)s;
+			float a = c == inputWidth-1 ? 0 : s - c;
+
+			// the samples are monotonically increasing so only the last two need to be checked
+			if( numCols > 0 && cols[numCols-1] == c ) {
+				colIndex[i] = numCols-1;
+			} else if( numCols > 1 && cols[numCols-2] == c ) {
+				colIndex[i] = numCols-2;
+			} else {
+				colIndex[i] = numCols;
+				cols[numCols++] = c;
+			}
+			if( a != 0 && cols[numCols-1] != c+1 )
+				cols[numCols++] = c+1;
+			colWeight[i] = a;
+		}
+	}
+
+	/**
+	 * Selects which input rows are sampled and the interpolation weights
+	 */
+	private void computeRowSamples( int y0 , int y1 , float scale ) {
+		int height = y1-y0;
+		if( rowIndex.length < height ) {
+			rowIndex = new int[ height ];
+			rowWeight = new float[ height ];
+		}
+
+		for( int i = 0; i < height; i++ ) {
+			float s = sampleCoordinate(y0+i, scale, inputHeight);
+			int r = (int)s;
+			rowIndex[i] = r;
+			rowWeight[i] = r == inputHeight-1 ? 0 : s - r;
+		}
+	}
+
+	/**
+	 * Coordinate in the input image which is sampled, constrained to be inside the image
+	 */
+	private static float sampleCoordinate( int index , float scale , int length ) {
+		float s = index*scale;
+		if( !(s > 0) )
+			return 0;
+		return s > length-1 ? length-1 : s;
+	}
+
+	private Workspace borrowWorkspace() {
+		synchronized( available ) {
+			if( available.isEmpty() )
+				return new Workspace();
+			return available.remove(available.size()-1);
+		}
+	}
+
+	private void recycleWorkspace( Workspace w ) {
+		synchronized( available ) {
+			available.add(w);
+		}
+	}
+
+	/**
+	 * Convolves the specified input row along the x-axis, but only at the columns in {@link #cols}.
+	 * Pixels outside the image are handled by normalizing the kernel.
+	 *
+	 * @param input Input image
+	 * @param row Row in the input image
+	 * @param output Storage for the result.  One element for each column in {@link #cols}.
+	 */
+	protected abstract void horizontal( T input , int row , float output[] );
+
+	/**
+	 * Divides the vertically convolved values by the sum of the kernel weights which overlapped the image
+	 *
+	 * @param values Vertically convolved values.  Modified.
+	 * @param length Number of elements in values
+	 * @param weight Sum of the kernel weights
+	 */
+	protected void normalize( float values[] , int length , float weight ) {
+		for( int i = 0; i < length; i++ )
+			values[i] /= weight;
+	}
+
+	/**
+	 * Writes the sampled values into the output image
+	 *
+	 * @param values Sampled values, one for each pixel in the row segment
+	 * @param output Output image
+	 * @param y Row in the output image
+	 * @param x0 First column in the output image which is written to
+	 * @param width Number of pixels which are written
+	 */
+	protected abstract void assignRow( float values[] , T output , int y , int x0 , int width );
+
+	/**
+	 * Storage used while processing a band of rows
+	 */
+	private class Workspace {
+		// rolling buffer of horizontally convolved rows
+		float rows[][] = new float[0][];
+		// which input row is stored in each element of the rolling buffer
+		int rowsInput[] = new int[0];
+
+		// vertically convolved rows.  Two are needed for interpolation
+		float vertical[][] = new float[2][];
+		int verticalInput[] = new int[2];
+		// which of the vertical rows was written to last
+		int verticalLast;
+
+		// interpolated output row
+		float output[] = new float[0];
+
+		void reset( int outputWidth ) {
+			int numRows = 2*radius+2;
+			if( rows.length != numRows ) {
+				rows = new float[numRows][];
+				rowsInput = new int[numRows];
+			}
+			for( int i = 0; i < numRows; i++ ) {
+				if( rows[i] == null || rows[i].length < numCols )
+					rows[i] = new float[ numCols ];
+				rowsInput[i] = -1;
+			}
+			for( int i = 0; i < 2; i++ ) {
+				if( vertical[i] == null || vertical[i].length < numCols )
+					vertical[i] = new float[ numCols ];
+				verticalInput[i] = -1;
+			}
+			if( output.length < outputWidth )
+				output = new float[ outputWidth ];
+		}
+
+		/**
+		 * Returns the input row after it has been convolved along both axises at the sampled columns
+		 *
+		 * @param keep If not null, a row which is still in use and must not be overwritten
+		 */
+		float[] vertical( T input , int row , float keep[] ) {
+			if( verticalInput[0] == row )
+				return vertical[0];
+			if( verticalInput[1] == row )
+				return vertical[1];
+
+			// overwrite the row which was written to least recently, unless it's still in use
+			if( vertical[0] == keep )
+				verticalLast = 1;
+			else if( vertical[1] == keep )
+				verticalLast = 0;
+			else
+				verticalLast = 1-verticalLast;
+			float dst[] = vertical[verticalLast];
+			verticalInput[verticalLast] = row;
+
+			int i0 = row-radius < 0 ? radius-row : 0;
+			int i1 = row+radius >= inputHeight ? radius+inputHeight-row : kernel.length;
+
+			float total = 0;
+			for( int i = i0; i < i1; i++ )
+				total += kernel[i];
+
+			float src[] = horizontal(input, row - radius + i0);
+			float k = kernel[i0];
+			for( int c = 0; c < numCols; c++ )
+				dst[c] = k*src[c];
+
+			for( int i = i0+1; i < i1; i++ ) {
+				src = horizontal(input, row - radius + i);
+				k = kernel[i];
+				for( int c = 0; c < numCols; c++ )
+					dst[c] += k*src[c];
+			}
+
+			normalize(dst,numCols,total);
+
+			return dst;
+		}
+
+		/**
+		 * Returns the input row convolved along the x-axis, computing it only if it is not in the buffer
+		 */
+		float[] horizontal( T input , int row ) {
+			int index = row % rows.length;
+			if( rowsInput[index] != row ) {
+				FusedBlurResample.this.horizontal(input,row,rows[index]);
+				rowsInput[index] = row;
+			}
+			return rows[index];
+		}
+	}
+}
@@ -19,6 +19,7 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.alg.filter.misc.AverageDownSampleOps;
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.PyramidDiscrete;
 
@@ -46,21 +47,30 @@ public class PyramidDiscreteAverage<T extends ImageSingleBand> extends PyramidDi
 	@Override
 	public void process(T input) {
 		super.initialize(input.width,input.height);
+		setInput(input);
+	}
+
+	/**
+	 * Each pixel is the average of a square region in the previous layer, so only the squares inside the
+	 * region are computed.
+	 */
+	@Override
+	protected void computeLayer(int layer, ImageRectangle region) {
+		int width = layer == 0 ? scale[0] : scale[layer]/scale[layer-1];
 
+		T output = layers[layer];
+		T prev = layer == 0 ? input : getLayer(layer-1,region.x0*width,region.y0*width,
+				region.x1*width,region.y1*width);
 
-		if (scale[0] == 1) {
-			if (isSaveOriginalReference()) {
-				setFirstLayer(input);
-			} else {
-				getLayer(0).setTo(input);
-			}
+		if( width == 1 ) {
+			output.subimage(region.x0,region.y0,region.x1,region.y1,null).setTo(
+					prev.subimage(region.x0,region.y0,region.x1,region.y1,null));
 		} else {
-			AverageDownSampleOps.down(input, scale[0], getLayer(0));
-		}
+			int x1 = Math.min(prev.width,region.x1*width);
+			int y1 = Math.min(prev.height,region.y1*width);
 
-		for (int index = 1; index < getNumLayers(); index++) {
-			int width = scale[index]/scale[index-1];
-			AverageDownSampleOps.down(getLayer(index-1),width,getLayer(index));
+			AverageDownSampleOps.down(prev.subimage(region.x0*width,region.y0*width,x1,y1,null),width,
+					output.subimage(region.x0,region.y0,region.x1,region.y1,null));
 		}
 	}
 
@@ -21,6 +21,8 @@ package boofcv.alg.transform.pyramid;
 import boofcv.abst.filter.convolve.GenericConvolveDown;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.convolve.FactoryConvolveDown;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.convolve.Kernel1D;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.PyramidDiscrete;
@@ -41,6 +43,15 @@ import boofcv.struct.pyramid.PyramidDiscrete;
  * have it dependent on each level's scale factor.
  * </p>
  *
+ * <p>
+ * If the image type is supported then {@link FusedBlurResample} is used to blur and down sample each layer in
+ * a single pass, computing only the pixels which are sampled.  When lazy, this also allows just the requested
+ * region of a layer to be computed.  The results are identical to separately blurring and down sampling, with one
+ * exception.  When the previous layer's width or height is not divisible by the scale factor, the layer's size
+ * is rounded up and the separate approach does not write to its last column or row, leaving them at zero or at
+ * the values from the previous image.  The fused approach samples the blurred image there too.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -54,6 +65,9 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 	// amount of blur applied to each layer
 	double sigmas[];
 
+	// if not null then it is used to blur and sample in a single pass
+	FusedBlurResample<T> fused;
+
 	/**
 	 *
 	 * @param kernel A blur kernel
@@ -68,10 +82,15 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 	{
 		super(imageType,saveOriginalReference,scaleFactors);
 
-		horizontal = FactoryConvolveDown.convolve(kernel,imageType,imageType,
-				BorderType.NORMALIZED,true,1);
-		vertical = FactoryConvolveDown.convolve(kernel,imageType,imageType,
-				BorderType.NORMALIZED,false,1);
+		if( FactoryPyramid.isFusedSupported(imageType) ) {
+			fused = FactoryPyramid.fusedBlurResample(imageType);
+			fused.setKernel(kernel);
+		} else {
+			horizontal = FactoryConvolveDown.convolve(kernel,imageType,imageType,
+					BorderType.NORMALIZED,true,1);
+			vertical = FactoryConvolveDown.convolve(kernel,imageType,imageType,
+					BorderType.NORMALIZED,false,1);
+		}
 
 		sigmas = new double[ scaleFactors.length ];
 		sigmas[0] = 0;
@@ -89,38 +108,48 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 	public void process(T input) {
 		super.initialize(input.width,input.height);
 
-		if( temp == null ) {
+		if( fused == null && temp == null ) {
 			// declare it to be the latest image that it might need to be, resize below
 			temp = (T)input._createNew(1,1);
 		}
 
-		if (scale[0] == 1) {
-			if (isSaveOriginalReference()) {
-				setFirstLayer(input);
-			} else {
-				getLayer(0).setTo(input);
-			}
-		} else {
-			int skip = scale[0];
+		setInput(input);
+	}
 
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
+	/**
+	 * If {@link FusedBlurResample} is used then only the region and the part of the previous layer it samples
+	 * are computed.  Otherwise the entire layer is computed.
+	 */
+	@Override
+	protected void computeLayer(int layer, ImageRectangle region) {
+		T output = layers[layer];
 
-			temp.reshape(input.width/skip,input.height);
-			horizontal.process(input,temp);
-			vertical.process(temp,getLayer(0));
+		if( layer == 0 && scale[0] == 1 ) {
+			output.subimage(region.x0,region.y0,region.x1,region.y1,null).setTo(
+					input.subimage(region.x0,region.y0,region.x1,region.y1,null));
+			return;
 		}
 
-		for (int index = 1; index < getNumLayers(); index++) {
-			int skip = scale[index]/scale[index-1];
-			T prev = getLayer(index-1);
-			temp.reshape(prev.width/skip,prev.height);
+		int skip = layer == 0 ? scale[0] : scale[layer]/scale[layer-1];
+
+		if( fused != null ) {
+			// blurred pixels which are sampled plus the kernel's radius
+			int r = fused.getRadius();
+			T prev = layer == 0 ? input : getLayer(layer-1,region.x0*skip-r,region.y0*skip-r,
+					(region.x1-1)*skip+r+1,(region.y1-1)*skip+r+1);
+
+			fused.process(prev,output,skip,skip,region.x0,region.y0,region.x1,region.y1);
+		} else {
+			T prev = layer == 0 ? input : getLayer(layer-1);
 
 			horizontal.setSkip(skip);
 			vertical.setSkip(skip);
 
+			temp.reshape(prev.width/skip,prev.height);
 			horizontal.process(prev,temp);
-			vertical.process(temp,getLayer(index));
+			vertical.process(temp,output);
+
+			region.set(0,0,output.width,output.height);
 		}
 	}
 
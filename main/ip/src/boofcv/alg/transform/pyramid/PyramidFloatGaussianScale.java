@@ -18,12 +18,22 @@
 
 package boofcv.alg.transform.pyramid;
 
-import boofcv.abst.filter.blur.BlurStorageFilter;
-import boofcv.alg.distort.DistortImageOps;
+import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.abst.filter.blur.BlurRecursiveGaussian;
+import boofcv.alg.distort.ImageDistort;
 import boofcv.alg.distort.PixelTransformAffine_F32;
 import boofcv.alg.distort.impl.DistortSupport;
+import boofcv.alg.interpolate.BilinearPixel;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.distort.FactoryDistort;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.ImageRectangle;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.PyramidFloat;
 
@@ -41,6 +51,19 @@ import boofcv.struct.pyramid.PyramidFloat;
  * with no sacrifices to improve speed.
  * </p>
  *
+ * <p>
+ * If bilinear interpolation is used and the image type is supported then {@link FusedBlurResample} is used to
+ * blur and re-sample each layer in a single pass.  The results are the same, up to round off error, but it is
+ * faster and the blurred image is never stored.  For integer images the round off error can change which way an
+ * interpolated value is truncated, so a small fraction of the pixels can differ by one.
+ * </p>
+ *
+ * <p>
+ * Optionally, layers with a large sigma can be blurred using a recursive Gaussian filter whose cost does not depend
+ * on sigma, see {@link #setRecursiveSigma(double)}.  It is an approximation and is disabled by default.  These layers
+ * are always blurred and then re-sampled in two passes.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -58,6 +81,20 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 	// The effective amount of blur in each pyramid layer relative to the input image
 	protected double[] sigma;
 
+	// blur filter for each layer
+	protected BlurFilter<T>[] blurs;
+	// layers with a sigma at or above this value are blurred using a recursive filter
+	protected double recursiveSigma = Double.MAX_VALUE;
+
+	// used to resample the blurred image
+	protected ImageDistort<T> distort;
+	protected PixelTransformAffine_F32 model = new PixelTransformAffine_F32();
+
+	// if not null then it is used to blur and re-sample in a single pass
+	protected FusedBlurResample<T> fused;
+	// blur kernel for each layer used with the fused algorithm.  null for layers blurred with a recursive filter
+	protected Kernel1D kernels[];
+
 	/**
 	 * Configures the pyramid
 	 *
@@ -84,6 +121,44 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 			double effectiveSigma = sigmaLayers[i]*scales[i-1];
 			sigma[i] = Math.sqrt(sigma[i-1]*sigma[i-1] + effectiveSigma*effectiveSigma);
 		}
+
+		createBlurs();
+
+		distort = FactoryDistort.distort(interpolate, null, imageType);
+		selectFused();
+	}
+
+	/**
+	 * Creates the blur filter for each layer
+	 */
+	private void createBlurs() {
+		blurs = new BlurFilter[ sigmaLayers.length ];
+		for( int i = 0; i < sigmaLayers.length; i++ )
+			blurs[i] = FactoryBlurFilter.gaussianAuto(getImageType(), sigmaLayers[i], -1, recursiveSigma);
+	}
+
+	/**
+	 * The fused algorithm can only be used if the interpolation is bilinear
+	 */
+	private void selectFused() {
+		Class<T> imageType = getImageType();
+
+		if( interpolate instanceof BilinearPixel && FactoryPyramid.isFusedSupported(imageType) ) {
+			if( fused == null ) {
+				fused = FactoryPyramid.fusedBlurResample(imageType);
+				// same type of kernel as the blur filter, so that integer images are rounded the same way
+				Class kernelType = GeneralizedImageOps.isFloatingPoint(imageType) ?
+						Kernel1D_F32.class : Kernel1D_I32.class;
+				kernels = new Kernel1D[ sigmaLayers.length ];
+				for( int i = 0; i < sigmaLayers.length; i++ ) {
+					if( !(blurs[i] instanceof BlurRecursiveGaussian) )
+						kernels[i] = (Kernel1D)FactoryKernelGaussian.gaussian(kernelType, sigmaLayers[i], -1);
+				}
+			}
+		} else {
+			fused = null;
+			kernels = null;
+		}
 	}
 
 
@@ -94,27 +169,57 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 		if( isSaveOriginalReference() )
 			throw new IllegalArgumentException("The original reference cannot be saved");
 
+		setInput(input);
+	}
+
+	/**
+	 * If {@link FusedBlurResample} is used for the layer then only the region and the part of the previous layer
+	 * it samples are computed.  Otherwise the entire layer is computed.
+	 */
+	@Override
+	protected void computeLayer(int layer, ImageRectangle region) {
+		T output = layers[layer];
+
+		if( fused != null && kernels[layer] != null ) {
+			int prevWidth = layer == 0 ? input.width : layers[layer-1].width;
+			int prevHeight = layer == 0 ? input.height : layers[layer-1].height;
+
+			// same scale factors as DistortSupport.transformScale()
+			float scaleX = (float)(prevWidth-1)/(float)(output.width-1);
+			float scaleY = (float)(prevHeight-1)/(float)(output.height-1);
+
+			// blurred pixels which are sampled plus the kernel's radius
+			int r = kernels[layer].getRadius();
+			T prev = layer == 0 ? input : getLayer(layer-1,
+					(int)(region.x0*scaleX)-r,(int)(region.y0*scaleY)-r,
+					(int)((region.x1-1)*scaleX)+r+2,(int)((region.y1-1)*scaleY)+r+2);
+
+			// the kernel is set after the previous layer has been computed since it might have changed it
+			fused.setKernel(kernels[layer]);
+			fused.process(prev,output,scaleX,scaleY,region.x0,region.y0,region.x1,region.y1);
+			return;
+		}
+
+		T prev = layer == 0 ? input : getLayer(layer-1);
+
 		if( tempImage == null ) {
-			tempImage = (T)input._createNew(input.width,input.height);
+			tempImage = (T)prev._createNew(prev.width,prev.height);
 		}
 
-		for( int i = 0; i < scale.length; i++ ) {
-			T prev = i == 0 ? input : getLayer(i-1);
-			T layer = getLayer(i);
-
-			// Apply the requested blur to the previous layer
-			BlurStorageFilter<T> blur = (BlurStorageFilter<T>) FactoryBlurFilter.gaussian(layer.getClass(), sigmaLayers[i],-1);
-			tempImage.reshape(prev.width,prev.height);
-			blur.process(prev,tempImage);
-
-			// Resample the blurred image
-			if( scale[i] == 1 ) {
-				layer.setTo(tempImage);
-			} else {
-				PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,tempImage);
-				DistortImageOps.distortSingle(tempImage,layer,model,null,interpolate);
-			}
+		// Apply the requested blur to the previous layer
+		tempImage.reshape(prev.width,prev.height);
+		blurs[layer].process(prev,tempImage);
+
+		// Resample the blurred image
+		if( scale[layer] == 1 ) {
+			output.setTo(tempImage);
+		} else {
+			DistortSupport.transformScale(output,tempImage,model);
+			distort.setModel(model);
+			distort.apply(tempImage,output);
 		}
+
+		region.set(0,0,output.width,output.height);
 	}
 
 	public InterpolatePixelS<T> getInterpolate() {
@@ -123,6 +228,8 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 
 	public void setInterpolate(InterpolatePixelS<T> interpolate) {
 		this.interpolate = interpolate;
+		this.distort = FactoryDistort.distort(interpolate, null, getImageType());
+		selectFused();
 	}
 
 	@Override
@@ -138,4 +245,24 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 	public float[] getSigmaLayers() {
 		return sigmaLayers;
 	}
+
+	public double getRecursiveSigma() {
+		return recursiveSigma;
+	}
+
+	/**
+	 * Layers with a sigma at or above this value are blurred using a recursive Gaussian filter, which is faster
+	 * for large sigmas but only approximates the Gaussian.  Only {@link boofcv.struct.image.ImageUInt8} and
+	 * {@link boofcv.struct.image.ImageFloat32} are supported.
+	 *
+	 * @param recursiveSigma Threshold on sigma.  Try {@link boofcv.struct.BoofDefaults#RECURSIVE_GAUSSIAN_SIGMA}.
+	 *                       The default is {@link Double#MAX_VALUE}, which disables the recursive filter.
+	 */
+	public void setRecursiveSigma(double recursiveSigma) {
+		this.recursiveSigma = recursiveSigma;
+		createBlurs();
+		// the fused algorithm's kernels depend on which layers are blurred recursively
+		fused = null;
+		selectFused();
+	}
 }
@@ -18,10 +18,12 @@
 
 package boofcv.alg.transform.pyramid;
 
-import boofcv.alg.distort.DistortImageOps;
+import boofcv.alg.distort.ImageDistort;
 import boofcv.alg.distort.PixelTransformAffine_F32;
 import boofcv.alg.distort.impl.DistortSupport;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.PyramidFloat;
 
@@ -41,9 +43,14 @@ public class PyramidFloatScale< T extends ImageSingleBand>
 	// interpolation algorithm
 	protected InterpolatePixelS<T> interpolate;
 
+	// used to resample each layer
+	protected ImageDistort<T> distort;
+	protected PixelTransformAffine_F32 model = new PixelTransformAffine_F32();
+
 	public PyramidFloatScale(InterpolatePixelS<T> interpolate, double scaleFactors[] , Class<T> imageType) {
 		super(imageType,scaleFactors);
 		this.interpolate = interpolate;
+		this.distort = FactoryDistort.distort(interpolate, null, imageType);
 	}
 
 	@Override
@@ -53,13 +60,22 @@ public class PyramidFloatScale< T extends ImageSingleBand>
 		if( isSaveOriginalReference() )
 			throw new IllegalArgumentException("The original reference cannot be saved");
 
-		for( int i = 0; i < scale.length; i++ ) {
-			T prev = i == 0 ? input : getLayer(i-1);
-			T layer = getLayer(i);
+		setInput(input);
+	}
+
+	/**
+	 * The entire layer is always computed
+	 */
+	@Override
+	protected void computeLayer(int layer, ImageRectangle region) {
+		T prev = layer == 0 ? input : getLayer(layer-1);
+		T output = layers[layer];
+
+		DistortSupport.transformScale(output,prev,model);
+		distort.setModel(model);
+		distort.apply(prev,output);
 
-			PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,prev);
-			DistortImageOps.distortSingle(prev,layer,model,null,interpolate);
-		}
+		region.set(0,0,output.width,output.height);
 	}
 
 	@Override
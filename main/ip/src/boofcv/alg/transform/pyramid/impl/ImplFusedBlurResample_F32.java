@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.pyramid.impl;
+
+import boofcv.alg.transform.pyramid.FusedBlurResample;
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * Implementation of {@link FusedBlurResample} for {@link ImageFloat32}.
+ *
+ * @author Peter Abeles
+ */
+public class ImplFusedBlurResample_F32 extends FusedBlurResample<ImageFloat32> {
+
+	@Override
+	protected void horizontal(ImageFloat32 input, int row, float[] output) {
+		final float data[] = input.data;
+		final int start = input.startIndex + row*input.stride;
+		final int width = input.width;
+		final int kernelWidth = kernel.length;
+
+		for( int i = 0; i < numCols; i++ ) {
+			int c = cols[i];
+
+			if( c >= radius && c < width-radius ) {
+				int index = start + c - radius;
+				float total = 0;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += data[index+k]*kernel[k];
+				}
+				output[i] = total/kernelSum;
+			} else {
+				int k0 = c < radius ? radius-c : 0;
+				int k1 = c+radius >= width ? radius+width-c : kernelWidth;
+
+				int index = start + c - radius;
+				float total = 0;
+				float weight = 0;
+				for( int k = k0; k < k1; k++ ) {
+					float w = kernel[k];
+					total += data[index+k]*w;
+					weight += w;
+				}
+				output[i] = total/weight;
+			}
+		}
+	}
+
+	@Override
+	protected void assignRow(float[] values, ImageFloat32 output, int y, int x0, int width) {
+		System.arraycopy(values,0,output.data,output.startIndex + y*output.stride + x0,width);
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.pyramid.impl;
+
+import boofcv.alg.transform.pyramid.FusedBlurResample;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Implementation of {@link FusedBlurResample} for {@link ImageUInt8}.
+ * </p>
+ *
+ * <p>
+ * If the kernel is a {@link boofcv.struct.convolve.Kernel1D_I32} then the result of each convolution is rounded
+ * to an integer, the same as when an integer image is convolved with an integer kernel, e.g.
+ * {@link boofcv.alg.filter.convolve.ConvolveDownNormalized}.  Otherwise the convolution is computed with floating
+ * point and only the sampled output value is rounded.  With an integer kernel, values which are interpolated between
+ * blurred pixels are truncated like they are in {@link boofcv.alg.distort.ImageDistort}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplFusedBlurResample_U8 extends FusedBlurResample<ImageUInt8> {
+
+	@Override
+	protected void horizontal(ImageUInt8 input, int row, float[] output) {
+		final byte data[] = input.data;
+		final int start = input.startIndex + row*input.stride;
+		final int width = input.width;
+		final int kernelWidth = kernel.length;
+
+		for( int i = 0; i < numCols; i++ ) {
+			int c = cols[i];
+
+			if( c >= radius && c < width-radius ) {
+				int index = start + c - radius;
+				float total = 0;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += (data[index+k] & 0xFF)*kernel[k];
+				}
+				output[i] = divide(total,kernelSum);
+			} else {
+				int k0 = c < radius ? radius-c : 0;
+				int k1 = c+radius >= width ? radius+width-c : kernelWidth;
+
+				int index = start + c - radius;
+				float total = 0;
+				float weight = 0;
+				for( int k = k0; k < k1; k++ ) {
+					float w = kernel[k];
+					total += (data[index+k] & 0xFF)*w;
+					weight += w;
+				}
+				output[i] = divide(total,weight);
+			}
+		}
+	}
+
+	@Override
+	protected void normalize(float[] values, int length, float weight) {
+		for( int i = 0; i < length; i++ )
+			values[i] = divide(values[i],weight);
+	}
+
+	/**
+	 * Divides the weighted sum by the sum of the weights.  With an integer kernel both are integers and the
+	 * result is rounded using integer arithmetic.
+	 */
+	private float divide( float total , float weight ) {
+		if( integerKernel ) {
+			int w = (int)weight;
+			return ((int)total + w/2)/w;
+		}
+		return total/weight;
+	}
+
+	@Override
+	protected void assignRow(float[] values, ImageUInt8 output, int y, int x0, int width) {
+		int index = output.startIndex + y*output.stride + x0;
+		if( integerKernel ) {
+			// blurred values are integers.  Interpolated values are truncated, the same as ImageDistort
+			for( int x = 0; x < width; x++ ) {
+				output.data[index++] = (byte)values[x];
+			}
+		} else {
+			for( int x = 0; x < width; x++ ) {
+				output.data[index++] = (byte)(values[x] + 0.5f);
+			}
+		}
+	}
+}
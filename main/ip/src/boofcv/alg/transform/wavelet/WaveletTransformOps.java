@@ -21,8 +21,10 @@ package boofcv.alg.transform.wavelet;
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.misc.PixelMath;
 import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformBorder;
+import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformConcurrent;
 import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformInner;
 import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformNaive;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.wavelet.WaveletDescription;
@@ -85,6 +87,11 @@ public class WaveletTransformOps {
 		if( input.getWidth() <= minSize || input.getHeight() <= minSize ) {
 			ImplWaveletTransformNaive.horizontal(desc.getBorder(),coef,input,storage);
 			ImplWaveletTransformNaive.vertical(desc.getBorder(),coef,storage,output);
+		} else if( BoofConcurrency.isConcurrent(output) ) {
+			ImplWaveletTransformConcurrent.horizontal(coef,input,storage);
+			ImplWaveletTransformBorder.horizontal(desc.getBorder(),coef,input,storage);
+			ImplWaveletTransformConcurrent.vertical(coef,storage,output);
+			ImplWaveletTransformBorder.vertical(desc.getBorder(),coef,storage,output);
 		} else {
 			ImplWaveletTransformInner.horizontal(coef,input,storage);
 			ImplWaveletTransformBorder.horizontal(desc.getBorder(),coef,input,storage);
@@ -173,6 +180,11 @@ public class WaveletTransformOps {
 		if( output.getWidth() <= minSize || output.getHeight() <= minSize ) {
 			ImplWaveletTransformNaive.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
 			ImplWaveletTransformNaive.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);
+		} else if( BoofConcurrency.isConcurrent(output) ) {
+			ImplWaveletTransformConcurrent.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);
+			ImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
+			ImplWaveletTransformConcurrent.horizontalInverse(desc.getInverse().getInnerCoefficients(),storage,output);
+			ImplWaveletTransformBorder.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);
 		} else {
 			ImplWaveletTransformInner.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);
 			ImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
@@ -286,6 +298,11 @@ public class WaveletTransformOps {
 		if( input.getWidth() <= minSize || input.getHeight() <= minSize ) {
 			ImplWaveletTransformNaive.horizontal(desc.getBorder(),coef,input,storage);
 			ImplWaveletTransformNaive.vertical(desc.getBorder(),coef,storage,output);
+		} else if( BoofConcurrency.isConcurrent(output) ) {
+			ImplWaveletTransformConcurrent.horizontal(coef,input,storage);
+			ImplWaveletTransformBorder.horizontal(desc.getBorder(),coef,input,storage);
+			ImplWaveletTransformConcurrent.vertical(coef,storage,output);
+			ImplWaveletTransformBorder.vertical(desc.getBorder(),coef,storage,output);
 		} else {
 			ImplWaveletTransformInner.horizontal(coef,input,storage);
 			ImplWaveletTransformBorder.horizontal(desc.getBorder(),coef,input,storage);
@@ -374,6 +391,11 @@ public class WaveletTransformOps {
 		if( output.getWidth() <= minSize || output.getHeight() <= minSize ) {
 			ImplWaveletTransformNaive.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
 			ImplWaveletTransformNaive.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);
+		} else if( BoofConcurrency.isConcurrent(output) ) {
+			ImplWaveletTransformConcurrent.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);
+			ImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
+			ImplWaveletTransformConcurrent.horizontalInverse(desc.getInverse().getInnerCoefficients(),storage,output);
+			ImplWaveletTransformBorder.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);
 		} else {
 			ImplWaveletTransformInner.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);
 			ImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.wavelet.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.wavelet.WlCoef_F32;
+import boofcv.struct.wavelet.WlCoef_I32;
+
+
+/**
+ * <p>
+ * Concurrent version of {@link ImplWaveletTransformInner}.  Each row in the horizontal passes and each column
+ * in the vertical passes is independent of the others, so the image is split into bands of rows or columns
+ * which are processed in parallel using {@link BoofConcurrency}.  Each band is a sub-image which is passed
+ * to the serial inner algorithm, producing results which are identical to it.
+ * </p>
+ *
+ * <p>
+ * The image border is not processed here.  {@link ImplWaveletTransformBorder} modifies the state of the
+ * shared {@link boofcv.core.image.border.BorderIndex1D} and should be called from a single thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplWaveletTransformConcurrent {
+
+	/**
+	 * Minimum number of rows in a band
+	 */
+	public static int MIN_ROWS = 16;
+	/**
+	 * Minimum number of columns in a band.  Must be even.
+	 */
+	public static int MIN_COLUMNS = 32;
+
+	public static void horizontal( final WlCoef_F32 coefficients , final ImageFloat32 input , final ImageFloat32 output )
+	{
+		final int height = input.height;
+		BoofConcurrency.loopBands(0, height, MIN_ROWS, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplWaveletTransformInner.horizontal(coefficients,
+						input.subimage(0,y0,input.width,y1,null),output.subimage(0,y0,output.width,y1,null));
+			}
+		});
+	}
+
+	public static void vertical( final WlCoef_F32 coefficients , final ImageFloat32 input , final ImageFloat32 output )
+	{
+		final int width = input.width;
+		BoofConcurrency.loopBands(0, width/2, MIN_COLUMNS/2, new IntRangeTask() {
+			@Override
+			public void process(int p0, int p1) {
+				int x0 = 2*p0;
+				int x1 = p1 == width/2 ? width : 2*p1;
+				ImplWaveletTransformInner.vertical(coefficients,
+						input.subimage(x0,0,x1,input.height,null),output.subimage(x0,0,x1,output.height,null));
+			}
+		});
+	}
+
+	public static void horizontalInverse( final WlCoef_F32 coefficients , final ImageFloat32 input , final ImageFloat32 output )
+	{
+		final int height = output.height;
+		BoofConcurrency.loopBands(0, height, MIN_ROWS, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplWaveletTransformInner.horizontalInverse(coefficients,
+						input.subimage(0,y0,input.width,y1,null),output.subimage(0,y0,output.width,y1,null));
+			}
+		});
+	}
+
+	public static void verticalInverse( final WlCoef_F32 coefficients , final ImageFloat32 input , final ImageFloat32 output )
+	{
+		final int width = output.width;
+		BoofConcurrency.loopBands(0, width, MIN_COLUMNS, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				ImplWaveletTransformInner.verticalInverse(coefficients,
+						input.subimage(x0,0,x1,input.height,null),output.subimage(x0,0,x1,output.height,null));
+			}
+		});
+	}
+
+	public static void horizontal( final WlCoef_I32 coefficients , final ImageSInt32 input , final ImageSInt32 output )
+	{
+		final int height = input.height;
+		BoofConcurrency.loopBands(0, height, MIN_ROWS, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplWaveletTransformInner.horizontal(coefficients,
+						input.subimage(0,y0,input.width,y1,null),output.subimage(0,y0,output.width,y1,null));
+			}
+		});
+	}
+
+	public static void vertical( final WlCoef_I32 coefficients , final ImageSInt32 input , final ImageSInt32 output )
+	{
+		final int width = input.width;
+		BoofConcurrency.loopBands(0, width/2, MIN_COLUMNS/2, new IntRangeTask() {
+			@Override
+			public void process(int p0, int p1) {
+				int x0 = 2*p0;
+				int x1 = p1 == width/2 ? width : 2*p1;
+				ImplWaveletTransformInner.vertical(coefficients,
+						input.subimage(x0,0,x1,input.height,null),output.subimage(x0,0,x1,output.height,null));
+			}
+		});
+	}
+
+	public static void horizontalInverse( final WlCoef_I32 coefficients , final ImageSInt32 input , final ImageSInt32 output )
+	{
+		final int height = output.height;
+		BoofConcurrency.loopBands(0, height, MIN_ROWS, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplWaveletTransformInner.horizontalInverse(coefficients,
+						input.subimage(0,y0,input.width,y1,null),output.subimage(0,y0,output.width,y1,null));
+			}
+		});
+	}
+
+	public static void verticalInverse( final WlCoef_I32 coefficients , final ImageSInt32 input , final ImageSInt32 output )
+	{
+		final int width = output.width;
+		BoofConcurrency.loopBands(0, width, MIN_COLUMNS, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				ImplWaveletTransformInner.verticalInverse(coefficients,
+						input.subimage(x0,0,x1,input.height,null),output.subimage(x0,0,x1,output.height,null));
+			}
+		});
+	}
+}
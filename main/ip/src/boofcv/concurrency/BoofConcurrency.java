@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.concurrency;
+
+import boofcv.struct.image.ImageBase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * <p>
+ * Shared worker pool used by algorithms which split an image into bands of rows and process each band in
+ * parallel.  Concurrency can be turned off globally with {@link #USE_CONCURRENT}, or for the calling thread
+ * with {@link #override(Boolean)}.  Images which have fewer than {@link #MIN_PIXELS} pixels are processed on the
+ * calling thread since the cost of handing work off to other threads would dominate.
+ * </p>
+ *
+ * <p>
+ * Tasks which are already running inside of a concurrent region are always processed serially.  This prevents
+ * nested calls from flooding the pool or dead locking while waiting on each other.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+
+	/**
+	 * Global switch.  If false then all operations are processed on the calling thread.
+	 */
+	public static boolean USE_CONCURRENT = true;
+
+	/**
+	 * Images with fewer pixels than this are processed on the calling thread.
+	 */
+	public static int MIN_PIXELS = 320*240;
+
+	// maximum number of threads, including the calling thread, which will process a task
+	private static int maxThreads = Runtime.getRuntime().availableProcessors();
+
+	// pool of worker threads.  Lazily declared
+	private static ExecutorService pool;
+
+	// per thread override of the global switch
+	private static final ThreadLocal<Boolean> override = new ThreadLocal<Boolean>();
+
+	// indicates if the thread is currently processing a task inside a concurrent region
+	private static final ThreadLocal<Boolean> inside = new ThreadLocal<Boolean>();
+
+	/**
+	 * Specifies the maximum number of threads, including the calling thread, which can work on a single task.
+	 * A new worker pool will be declared when next needed.  The old pool is shut down gracefully, so bands which
+	 * have already been submitted to it still finish.  Bands which a caller tries to submit to the old pool after
+	 * it has been shut down are processed on the calling thread instead.
+	 *
+	 * @param threads Maximum number of threads.  Must be at least 1.
+	 */
+	public static synchronized void setMaxThreads( int threads ) {
+		if( threads < 1 )
+			throw new IllegalArgumentException("Must have at least one thread");
+		maxThreads = threads;
+		if( pool != null ) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	public static synchronized int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Overrides the global switch for all calls made by the current thread.  Typical usage is to save the
+	 * returned value and restore it inside a finally block once the call is done.
+	 *
+	 * @param concurrent true to force concurrent, false to force serial, null to use the global settings.
+	 * @return The previous override value.
+	 */
+	public static Boolean override( Boolean concurrent ) {
+		Boolean previous = override.get();
+		override.set(concurrent);
+		return previous;
+	}
+
+	/**
+	 * Returns true if the calling thread is processing a task inside of a concurrent region.
+	 */
+	public static boolean isInsideConcurrent() {
+		return inside.get() != null;
+	}
+
+	/**
+	 * Decides if an operation on the specified image should be performed concurrently.  Takes in account
+	 * the global switch, override, image size, and if the caller is already inside a concurrent region.
+	 *
+	 * @param image The image being processed.
+	 * @return true if it should be processed concurrently.
+	 */
+	public static boolean isConcurrent( ImageBase image ) {
+		return isConcurrent(image.width,image.height);
+	}
+
+	/**
+	 * Same as {@link #isConcurrent(ImageBase)} but for data which is not stored inside of an image.
+	 *
+	 * @param width Number of columns in the data.
+	 * @param height Number of rows in the data.
+	 * @return true if it should be processed concurrently.
+	 */
+	public static boolean isConcurrent( int width , int height ) {
+		if( inside.get() != null || getMaxThreads() <= 1 )
+			return false;
+
+		Boolean o = override.get();
+		if( o != null )
+			return o;
+
+		return USE_CONCURRENT && width*height >= MIN_PIXELS;
+	}
+
+	/**
+	 * Splits the range into contiguous bands and processes each band in parallel.  The calling thread processes
+	 * the first band and returns once all the bands have been processed.  If the task throws an exception in
+	 * any of the bands it is rethrown by this function.
+	 *
+	 * @param start First index, inclusive.
+	 * @param end Last index, exclusive.
+	 * @param minBand Smallest number of indexes in a band.  Must be at least 1.
+	 * @param task The task which processes each band.
+	 */
+	public static void loopBands( int start , int end , int minBand , final IntRangeTask task ) {
+		int length = end-start;
+		if( length <= 0 )
+			return;
+
+		int numBands = Math.min(getMaxThreads(),Math.max(1,length/minBand));
+
+		if( inside.get() != null ) {
+			task.process(start,end);
+			return;
+		} else if( numBands <= 1 ) {
+			// mark it as inside so that code which calls itself on each band is processed serially
+			processInside(task, start, end);
+			return;
+		}
+
+		ExecutorService pool = getPool();
+
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		// bands which could not be submitted because the pool was shut down by setMaxThreads()
+		List<int[]> rejected = new ArrayList<int[]>();
+		for( int i = 1; i < numBands; i++ ) {
+			final int y0 = start + i*length/numBands;
+			final int y1 = start + (i+1)*length/numBands;
+			try {
+				futures.add(pool.submit(new Runnable() {
+					@Override
+					public void run() {
+						processInside(task,y0,y1);
+					}
+				}));
+			} catch( RejectedExecutionException e ) {
+				rejected.add(new int[]{y0,y1});
+			}
+		}
+
+		RuntimeException failure = null;
+		try {
+			processInside(task, start, start + length / numBands);
+			for( int[] band : rejected )
+				processInside(task, band[0], band[1]);
+		} catch( RuntimeException e ) {
+			failure = e;
+		}
+
+		// wait for all the bands to finish, even if one failed, so that the output is no longer being modified
+		for( Future<?> f : futures ) {
+			try {
+				f.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				if( failure == null )
+					failure = new RuntimeException(e);
+			} catch (ExecutionException e) {
+				if( failure == null ) {
+					Throwable cause = e.getCause();
+					if( cause instanceof RuntimeException )
+						failure = (RuntimeException)cause;
+					else if( cause instanceof Error )
+						throw (Error)cause;
+					else
+						failure = new RuntimeException(cause);
+				}
+			}
+		}
+
+		if( failure != null )
+			throw failure;
+	}
+
+	private static void processInside( IntRangeTask task , int y0 , int y1 ) {
+		inside.set(Boolean.TRUE);
+		try {
+			task.process(y0,y1);
+		} finally {
+			inside.remove();
+		}
+	}
+
+	private static synchronized ExecutorService getPool() {
+		if( pool == null ) {
+			pool = Executors.newFixedThreadPool(Math.max(1,maxThreads-1),new ThreadFactory() {
+				int count = 0;
+
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r,"BoofCV-worker-"+(count++));
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		}
+		return pool;
+	}
+}
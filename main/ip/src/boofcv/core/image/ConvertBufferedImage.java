@@ -40,15 +40,17 @@ public class ConvertBufferedImage {
 	 * For BufferedImage stored as a byte array internally it extracts an
 	 * interleaved image.  The input image and the returned image will both
 	 * share the same internal data array.  Using this function allows unnecessary
-	 * memory copying to be avoided.
+	 * memory copying to be avoided.  The order of the bands is the same as the order the bytes are
+	 * stored in, e.g. BGR for TYPE_3BYTE_BGR.
+	 *
+	 * @see #canExtractInterleavedU8
 	 *
 	 * @param img Image whose internal data is extracted and wrapped.
 	 * @return An image whose internal data is the same as the input image.
 	 */
 	public static InterleavedU8 extractInterleavedU8(BufferedImage img) {
 
-		if (img.getRaster() instanceof ByteInterleavedRaster &&
-				img.getType() != BufferedImage.TYPE_BYTE_INDEXED ) {
+		if ( canExtractInterleavedU8(img) ) {
 			ByteInterleavedRaster raster = (ByteInterleavedRaster) img.getRaster();
 
 			InterleavedU8 ret = new InterleavedU8();
@@ -56,7 +58,7 @@ public class ConvertBufferedImage {
 			ret.width = img.getWidth();
 			ret.height = img.getHeight();
 			ret.stride = raster.getScanlineStride();
-			ret.startIndex = raster.getDataOffset(0)-raster.getPixelStride()+1;
+			ret.startIndex = firstDataOffset(raster);
 			ret.numBands = raster.getNumBands();
 			ret.data = raster.getDataStorage();
 
@@ -71,12 +73,13 @@ public class ConvertBufferedImage {
 	 * share the same internal data array.  Using this function allows unnecessary
 	 * memory copying to be avoided.
 	 *
+	 * @see #canExtractImageUInt8
+	 *
 	 * @param img Image whose internal data is extracted and wrapped.
 	 * @return An image whose internal data is the same as the input image.
 	 */
 	public static ImageUInt8 extractImageUInt8(BufferedImage img) {
-		if (img.getRaster() instanceof ByteInterleavedRaster &&
-				img.getType() != BufferedImage.TYPE_BYTE_INDEXED ) {
+		if ( canExtractInterleavedU8(img) ) {
 
 			ByteInterleavedRaster raster = (ByteInterleavedRaster) img.getRaster();
 			if (raster.getNumBands() != 1)
@@ -94,6 +97,120 @@ public class ConvertBufferedImage {
 		throw new IllegalArgumentException("Buffered image does not have a gray scale byte raster");
 	}
 
+	/**
+	 * Checks to see if {@link #extractInterleavedU8} can wrap the BufferedImage's internal data.  This is
+	 * possible when the raster is stored in a byte array with the bands of each pixel next to each other,
+	 * e.g. TYPE_BYTE_GRAY, TYPE_3BYTE_BGR, and TYPE_4BYTE_ABGR.
+	 *
+	 * @param img Image which is to be wrapped
+	 * @return true if its data can be wrapped or false if it needs to be copied
+	 */
+	public static boolean canExtractInterleavedU8( BufferedImage img ) {
+		try {
+			if( !(img.getRaster() instanceof ByteInterleavedRaster) ||
+					img.getType() == BufferedImage.TYPE_BYTE_INDEXED )
+				return false;
+
+			ByteInterleavedRaster raster = (ByteInterleavedRaster) img.getRaster();
+			int numBands = raster.getNumBands();
+			if( raster.getPixelStride() != numBands )
+				return false;
+
+			// each band must be inside the pixel
+			int first = firstDataOffset(raster);
+			for( int i = 0; i < numBands; i++ ) {
+				if( raster.getDataOffset(i)-first >= numBands )
+					return false;
+			}
+			return true;
+		} catch( java.security.AccessControlException e) {
+			// Applets don't allow access to the raster()
+			return false;
+		}
+	}
+
+	/**
+	 * Checks to see if {@link #extractImageUInt8} can wrap the BufferedImage's internal data.  Only true
+	 * for images with a single band stored in a byte array, e.g. TYPE_BYTE_GRAY.
+	 *
+	 * @param img Image which is to be wrapped
+	 * @return true if its data can be wrapped or false if it needs to be copied
+	 */
+	public static boolean canExtractImageUInt8( BufferedImage img ) {
+		return canExtractInterleavedU8(img) && img.getRaster().getNumBands() == 1;
+	}
+
+	/**
+	 * <p>
+	 * Wraps the BufferedImage's internal data if possible, otherwise it is converted into the storage image.
+	 * Use {@link #canExtractImageUInt8} to see which path will be taken.  If wrapped then changes to
+	 * the returned image will modify the BufferedImage.
+	 * </p>
+	 *
+	 * @param src Input image.
+	 * @param storage (Optional) Storage for the converted image if it can't be wrapped.  If null a new image
+	 *                is created when needed.
+	 * @return Image which wraps src or storage containing a copy of src.
+	 */
+	public static ImageUInt8 extractOrConvert( BufferedImage src , ImageUInt8 storage ) {
+		if( canExtractImageUInt8(src) )
+			return extractImageUInt8(src);
+
+		if( storage != null )
+			storage.reshape(src.getWidth(),src.getHeight());
+		return convertFrom(src, storage);
+	}
+
+	/**
+	 * <p>
+	 * Wraps the BufferedImage's internal data if possible, otherwise it is converted into the storage image.
+	 * Use {@link #canExtractInterleavedU8} to see which path will be taken.  If wrapped then changes to
+	 * the returned image will modify the BufferedImage.  When wrapped the order of the bands is the order
+	 * they are stored in memory, when converted it is the same order as {@link #convertFrom(BufferedImage, InterleavedU8)}.
+	 * </p>
+	 *
+	 * @param src Input image.
+	 * @param storage (Optional) Storage for the converted image if it can't be wrapped.  If null a new image
+	 *                is created when needed.
+	 * @return Image which wraps src or storage containing a copy of src.
+	 */
+	public static InterleavedU8 extractOrConvert( BufferedImage src , InterleavedU8 storage ) {
+		if( canExtractInterleavedU8(src) )
+			return extractInterleavedU8(src);
+
+		if( storage != null ) {
+			storage.setNumBands(src.getRaster().getNumBands());
+			storage.reshape(src.getWidth(),src.getHeight());
+		}
+		return convertFrom(src, storage);
+	}
+
+	/**
+	 * Returns true if the image's data array is the same as the BufferedImage's internal data array.
+	 *
+	 * @param src BufferedImage
+	 * @param image Image which might wrap src
+	 */
+	public static boolean isSharingData( BufferedImage src , ImageBase image ) {
+		DataBuffer buffer = src.getRaster().getDataBuffer();
+		if( buffer instanceof DataBufferByte ) {
+			Object data = image instanceof ImageUInt8 ? ((ImageUInt8)image).data :
+					(image instanceof InterleavedU8 ? ((InterleavedU8)image).data : null);
+			return data == ((DataBufferByte)buffer).getData();
+		}
+		return false;
+	}
+
+	/**
+	 * Index of the first byte in the raster's first pixel
+	 */
+	private static int firstDataOffset( ByteInterleavedRaster raster ) {
+		int first = raster.getDataOffset(0);
+		for( int i = 1; i < raster.getNumBands(); i++ )
+			first = Math.min(first,raster.getDataOffset(i));
+		return first;
+	}
+
 	/**
 	 * Creates a new BufferedImage that internally uses the same data as the provided
 	 * {@link InterleavedU8}.  If 3 bands then the image will be of type TYPE_3BYTE_BGR
@@ -252,6 +369,42 @@ public class ConvertBufferedImage {
 		return dst;
 	}
 
+	/**
+	 * Converts the buffered image into an {@link InterleavedU8}.  Byte rasters which could be wrapped, see
+	 * {@link #canExtractInterleavedU8}, are copied in the same order that the bands are stored in memory.  All other
+	 * images, including byte rasters with padding between pixels, are converted into RGB or ARGB.
+	 *
+	 * @param src Input image.
+	 * @param dst Where the converted image is written to.  If null a new image is created.
+	 * @return Converted image.
+	 */
+	public static InterleavedU8 convertFrom(BufferedImage src, InterleavedU8 dst) {
+		int numBands = src.getRaster().getNumBands();
+		if (dst != null) {
+			if (src.getWidth() != dst.getWidth() || src.getHeight() != dst.getHeight()) {
+				throw new IllegalArgumentException("image dimension are different");
+			}
+		} else {
+			dst = new InterleavedU8(src.getWidth(), src.getHeight(), numBands);
+		}
+
+		try {
+			// the pixel stride isn't always the same as the number of bands, e.g. 3 bands read from a 4 byte raster
+			if ( canExtractInterleavedU8(src) ) {
+				ConvertRaster.bufferedToInterleaved((ByteInterleavedRaster) src.getRaster(), dst);
+			} else if (src.getRaster() instanceof IntegerInterleavedRaster) {
+				ConvertRaster.bufferedToInterleaved((IntegerInterleavedRaster) src.getRaster(), dst);
+			} else {
+				ConvertRaster.bufferedToInterleaved(src, dst);
+			}
+		} catch( java.security.AccessControlException e) {
+			// Applets don't allow access to the raster()
+			ConvertRaster.bufferedToInterleaved(src, dst);
+		}
+
+		return dst;
+	}
+
 	/**
 	 * Converts the buffered image into an {@link boofcv.struct.image.ImageInt16}.  If the buffered image
 	 * has multiple channels the intensities of each channel are averaged together.
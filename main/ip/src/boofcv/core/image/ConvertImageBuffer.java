@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.core.image;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.*;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * <p>
+ * Functions for converting between {@link ImageBuffer} images and array based images.  Conversions between
+ * the same data type are done using bulk copies of each row.  Conversion to a wider data type reads directly from
+ * the buffer, avoiding an intermediate copy of the input image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvertImageBuffer {
+
+	/**
+	 * Copies a {@link BufferU8} into a {@link ImageUInt8}.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageUInt8 convert( BufferU8 input , ImageUInt8 output ) {
+		if (output == null) {
+			output = new ImageUInt8(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		ByteBuffer src = input.data.duplicate();
+		for( int y = 0; y < input.height; y++ ) {
+			src.position(input.startIndex + y*input.stride);
+			src.get(output.data, output.startIndex + y*output.stride, input.width);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Copies a {@link ImageUInt8} into a {@link BufferU8}.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static BufferU8 convert( ImageUInt8 input , BufferU8 output ) {
+		if (output == null) {
+			output = new BufferU8(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		ByteBuffer dst = output.data.duplicate();
+		for( int y = 0; y < input.height; y++ ) {
+			dst.position(output.startIndex + y*output.stride);
+			dst.put(input.data, input.startIndex + y*input.stride, input.width);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Copies a {@link BufferS16} into a {@link ImageSInt16}.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageSInt16 convert( BufferS16 input , ImageSInt16 output ) {
+		if (output == null) {
+			output = new ImageSInt16(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		ShortBuffer src = input.data.duplicate();
+		for( int y = 0; y < input.height; y++ ) {
+			src.position(input.startIndex + y*input.stride);
+			src.get(output.data, output.startIndex + y*output.stride, input.width);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Copies a {@link ImageSInt16} into a {@link BufferS16}.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static BufferS16 convert( ImageSInt16 input , BufferS16 output ) {
+		if (output == null) {
+			output = new BufferS16(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		ShortBuffer dst = output.data.duplicate();
+		for( int y = 0; y < input.height; y++ ) {
+			dst.position(output.startIndex + y*output.stride);
+			dst.put(input.data, input.startIndex + y*input.stride, input.width);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Copies a {@link BufferF32} into a {@link ImageFloat32}.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageFloat32 convert( BufferF32 input , ImageFloat32 output ) {
+		if (output == null) {
+			output = new ImageFloat32(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		FloatBuffer src = input.data.duplicate();
+		for( int y = 0; y < input.height; y++ ) {
+			src.position(input.startIndex + y*input.stride);
+			src.get(output.data, output.startIndex + y*output.stride, input.width);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Copies a {@link ImageFloat32} into a {@link BufferF32}.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static BufferF32 convert( ImageFloat32 input , BufferF32 output ) {
+		if (output == null) {
+			output = new BufferF32(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		FloatBuffer dst = output.data.duplicate();
+		for( int y = 0; y < input.height; y++ ) {
+			dst.position(output.startIndex + y*output.stride);
+			dst.put(input.data, input.startIndex + y*input.stride, input.width);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts a {@link BufferU8} into a {@link ImageSInt16}.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageSInt16 convert( BufferU8 input , ImageSInt16 output ) {
+		if (output == null) {
+			output = new ImageSInt16(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		final ByteBuffer src = input.data;
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexIn + input.width;
+
+			for( ; indexIn < end; indexIn++ ) {
+				output.data[indexOut++] = (short)(src.get(indexIn) & 0xFF);
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts a {@link BufferU8} into a {@link ImageFloat32}.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageFloat32 convert( BufferU8 input , ImageFloat32 output ) {
+		if (output == null) {
+			output = new ImageFloat32(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		final ByteBuffer src = input.data;
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexIn + input.width;
+
+			for( ; indexIn < end; indexIn++ ) {
+				output.data[indexOut++] = src.get(indexIn) & 0xFF;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts a {@link BufferS16} into a {@link ImageFloat32}.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageFloat32 convert( BufferS16 input , ImageFloat32 output ) {
+		if (output == null) {
+			output = new ImageFloat32(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		final ShortBuffer src = input.data;
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexIn + input.width;
+
+			for( ; indexIn < end; indexIn++ ) {
+				output.data[indexOut++] = src.get(indexIn);
+			}
+		}
+
+		return output;
+	}
+}
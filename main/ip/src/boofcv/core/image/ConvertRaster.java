@@ -21,6 +21,7 @@ package boofcv.core.image;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageInt16;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 import sun.awt.image.ByteInterleavedRaster;
 import sun.awt.image.IntegerInterleavedRaster;
@@ -669,6 +670,123 @@ public class ConvertRaster {
 		}
 	}
 
+	/**
+	 * A faster convert that works directly with a specific raster.  Bands are copied in the same order
+	 * they are stored in memory.  The raster's pixel stride must be the same as its number of bands.
+	 */
+	public static void bufferedToInterleaved(ByteInterleavedRaster src, InterleavedU8 dst) {
+		byte[] srcData = src.getDataStorage();
+
+		int numBands = src.getNumBands();
+		if( dst.numBands != numBands )
+			throw new IllegalArgumentException("Number of bands do not match");
+		if( src.getPixelStride() != numBands )
+			throw new IllegalArgumentException("Pixel stride must be the same as the number of bands");
+
+		int srcOffset = src.getDataOffset(0);
+		for( int i = 1; i < numBands; i++ )
+			srcOffset = Math.min(srcOffset,src.getDataOffset(i));
+		int srcStride = src.getScanlineStride();
+		int length = dst.width*numBands;
+
+		for (int y = 0; y < dst.height; y++) {
+			System.arraycopy(srcData, srcOffset + y*srcStride, dst.data, dst.startIndex + y*dst.stride, length);
+		}
+	}
+
+	/**
+	 * A faster convert that works directly with a specific raster.  Images with 3 bands are converted
+	 * into RGB and 4 bands into ARGB.
+	 */
+	public static void bufferedToInterleaved(IntegerInterleavedRaster src, InterleavedU8 dst) {
+		int[] srcData = src.getDataStorage();
+
+		int srcStride = src.getScanlineStride();
+		int srcOffset = src.getDataOffset(0)-src.getPixelStride()+1;
+
+		int numBands = src.getNumBands();
+		if( dst.numBands != numBands )
+			throw new IllegalArgumentException("Number of bands do not match");
+
+		byte[] data = dst.data;
+
+		if( numBands == 3 ) {
+			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + y*srcStride;
+				int indexDst = dst.startIndex + y*dst.stride;
+				for (int x = 0; x < dst.width; x++) {
+					int rgb = srcData[indexSrc++];
+
+					data[indexDst++] = (byte) (rgb >>> 16);
+					data[indexDst++] = (byte) (rgb >>> 8);
+					data[indexDst++] = (byte) rgb;
+				}
+			}
+		} else if( numBands == 4 ) {
+			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + y*srcStride;
+				int indexDst = dst.startIndex + y*dst.stride;
+				for (int x = 0; x < dst.width; x++) {
+					int argb = srcData[indexSrc++];
+
+					data[indexDst++] = (byte) (argb >>> 24);
+					data[indexDst++] = (byte) (argb >>> 16);
+					data[indexDst++] = (byte) (argb >>> 8);
+					data[indexDst++] = (byte) argb;
+				}
+			}
+		} else {
+			throw new IllegalArgumentException("Unsupported number of bands "+numBands);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Converts a buffered image into an interleaved image using the BufferedImage's RGB interface.
+	 * Images with 3 bands are converted into RGB and 4 bands into ARGB.
+	 * </p>
+	 * <p>
+	 * This is much slower than working directly with the BufferedImage's internal raster and should be
+	 * avoided if possible.
+	 * </p>
+	 *
+	 * @param src Input image.
+	 * @param dst Output image.
+	 */
+	public static void bufferedToInterleaved(BufferedImage src, InterleavedU8 dst) {
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		if( dst.numBands == 1 ) {
+			ImageUInt8 gray = new ImageUInt8();
+			gray.data = dst.data;
+			gray.startIndex = dst.startIndex;
+			gray.stride = dst.stride;
+			gray.width = dst.width;
+			gray.height = dst.height;
+			bufferedToGray(src, gray);
+			return;
+		} else if( dst.numBands != 3 && dst.numBands != 4 ) {
+			throw new IllegalArgumentException("Unsupported number of bands "+dst.numBands);
+		}
+
+		final boolean alpha = dst.numBands == 4;
+		byte[] data = dst.data;
+
+		for (int y = 0; y < height; y++) {
+			int index = dst.startIndex + y * dst.stride;
+			for (int x = 0; x < width; x++) {
+				int argb = src.getRGB(x, y);
+
+				if( alpha )
+					data[index++] = (byte) (argb >>> 24);
+				data[index++] = (byte) (argb >>> 16);
+				data[index++] = (byte) (argb >>> 8);
+				data[index++] = (byte) argb;
+			}
+		}
+	}
+
 	/**
 	 * <p>
 	 * Converts a buffered image into an multi-spectral image using the BufferedImage's RGB interface.
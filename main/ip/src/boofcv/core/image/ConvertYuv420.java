@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.core.image;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
+
+/**
+ * <p>
+ * Converts images encoded in one of the YUV 4:2:0 formats, which are commonly produced by cameras and video
+ * decoders, directly into BoofCV images.  All the formats start with a full resolution Y (gray scale) plane
+ * followed by U and V planes which are sampled at half the resolution along each axis.  The {@link Layout}
+ * specifies how the chroma planes are arranged.  Rows must be tightly packed, i.e. the Y plane has a stride
+ * equal to the image's width and the chroma planes have a stride of (width+1)/2 samples.
+ * </p>
+ *
+ * <p>
+ * Color images are converted into RGB by treating the data as YCbCr, see
+ * {@link boofcv.alg.color.ColorYuv#ycbcrToRgb(int, int, int, byte[])}.  Large images are processed
+ * concurrently, see {@link BoofConcurrency}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvertYuv420 {
+
+	// minimum number of rows processed by a thread
+	private static final int MIN_ROWS = 16;
+
+	/**
+	 * Specifies how the chroma planes are stored
+	 */
+	public static enum Layout {
+		/**
+		 * Interleaved VU plane.  Default format for Android camera previews.
+		 */
+		NV21,
+		/**
+		 * Interleaved UV plane.
+		 */
+		NV12,
+		/**
+		 * U plane followed by the V plane.  Also known as IYUV
+		 */
+		I420,
+		/**
+		 * V plane followed by the U plane.
+		 */
+		YV12
+	}
+
+	/**
+	 * Number of bytes required to store an image with the specified shape
+	 */
+	public static int dataLength( int width , int height ) {
+		return width*height + 2*((width+1)/2)*((height+1)/2);
+	}
+
+	/**
+	 * Extracts the gray scale Y plane.  The same for all 4:2:0 layouts.
+	 *
+	 * @param data Input: YUV 4:2:0 image data
+	 * @param width Input: image width
+	 * @param height Input: image height
+	 * @param output Output: Optional storage for output image.  Can be null.
+	 * @return Gray scale image
+	 */
+	public static ImageUInt8 yuvToGray( byte[] data , int width , int height , ImageUInt8 output ) {
+		if( output != null ) {
+			checkShape(output.width,output.height,width,height);
+		} else {
+			output = new ImageUInt8(width,height);
+		}
+		checkLength(data,width,height);
+
+		ImplConvertYuv420.yuvToGray(data,output,0,height);
+
+		return output;
+	}
+
+	/**
+	 * Extracts the gray scale Y plane.  The same for all 4:2:0 layouts.
+	 *
+	 * @param data Input: YUV 4:2:0 image data
+	 * @param width Input: image width
+	 * @param height Input: image height
+	 * @param output Output: Optional storage for output image.  Can be null.
+	 * @return Gray scale image
+	 */
+	public static ImageFloat32 yuvToGray( final byte[] data , int width , int height , ImageFloat32 output ) {
+		if( output != null ) {
+			checkShape(output.width,output.height,width,height);
+		} else {
+			output = new ImageFloat32(width,height);
+		}
+		checkLength(data,width,height);
+
+		if( BoofConcurrency.isConcurrent(output) ) {
+			final ImageFloat32 _output = output;
+			BoofConcurrency.loopBands(0, height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					ImplConvertYuv420.yuvToGray(data, _output, row0, row1);
+				}
+			});
+		} else {
+			ImplConvertYuv420.yuvToGray(data, output, 0, height);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts the YUV 4:2:0 image into a {@link MultiSpectral} RGB image with U8 bands.
+	 *
+	 * @param data Input: YUV 4:2:0 image data
+	 * @param width Input: image width
+	 * @param height Input: image height
+	 * @param layout Input: Layout of the chroma planes
+	 * @param output Output: Optional storage for output image.  Can be null.
+	 * @return RGB image
+	 */
+	public static MultiSpectral<ImageUInt8> yuvToMsRgb_U8( final byte[] data , int width , int height ,
+														   Layout layout , MultiSpectral<ImageUInt8> output ) {
+		if( output == null ) {
+			output = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		} else {
+			checkShape(output.width,output.height,width,height);
+			checkBands(output.getNumBands());
+		}
+		checkLength(data,width,height);
+
+		final int[] p = chromaLayout(width, height, layout);
+
+		if( BoofConcurrency.isConcurrent(output) ) {
+			final MultiSpectral<ImageUInt8> _output = output;
+			BoofConcurrency.loopBands(0, height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					ImplConvertYuv420.yuvToMsRgb_U8(data, p[0], p[1], p[2], p[3], _output, row0, row1);
+				}
+			});
+		} else {
+			ImplConvertYuv420.yuvToMsRgb_U8(data, p[0], p[1], p[2], p[3], output, 0, height);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts the YUV 4:2:0 image into a {@link MultiSpectral} RGB image with F32 bands.
+	 *
+	 * @param data Input: YUV 4:2:0 image data
+	 * @param width Input: image width
+	 * @param height Input: image height
+	 * @param layout Input: Layout of the chroma planes
+	 * @param output Output: Optional storage for output image.  Can be null.
+	 * @return RGB image
+	 */
+	public static MultiSpectral<ImageFloat32> yuvToMsRgb_F32( final byte[] data , int width , int height ,
+															  Layout layout , MultiSpectral<ImageFloat32> output ) {
+		if( output == null ) {
+			output = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		} else {
+			checkShape(output.width,output.height,width,height);
+			checkBands(output.getNumBands());
+		}
+		checkLength(data,width,height);
+
+		final int[] p = chromaLayout(width, height, layout);
+
+		if( BoofConcurrency.isConcurrent(output) ) {
+			final MultiSpectral<ImageFloat32> _output = output;
+			BoofConcurrency.loopBands(0, height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					ImplConvertYuv420.yuvToMsRgb_F32(data, p[0], p[1], p[2], p[3], _output, row0, row1);
+				}
+			});
+		} else {
+			ImplConvertYuv420.yuvToMsRgb_F32(data, p[0], p[1], p[2], p[3], output, 0, height);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts the YUV 4:2:0 image into an {@link InterleavedU8} RGB image.
+	 *
+	 * @param data Input: YUV 4:2:0 image data
+	 * @param width Input: image width
+	 * @param height Input: image height
+	 * @param layout Input: Layout of the chroma planes
+	 * @param output Output: Optional storage for output image.  Can be null.
+	 * @return RGB image
+	 */
+	public static InterleavedU8 yuvToInterleavedRgb( final byte[] data , int width , int height ,
+													 Layout layout , InterleavedU8 output ) {
+		if( output == null ) {
+			output = new InterleavedU8(width,height,3);
+		} else {
+			checkShape(output.width,output.height,width,height);
+			checkBands(output.numBands);
+		}
+		checkLength(data,width,height);
+
+		final int[] p = chromaLayout(width, height, layout);
+
+		if( BoofConcurrency.isConcurrent(output) ) {
+			final InterleavedU8 _output = output;
+			BoofConcurrency.loopBands(0, height, MIN_ROWS, new IntRangeTask() {
+				@Override
+				public void process(int row0, int row1) {
+					ImplConvertYuv420.yuvToInterleavedRgb(data, p[0], p[1], p[2], p[3], _output, row0, row1);
+				}
+			});
+		} else {
+			ImplConvertYuv420.yuvToInterleavedRgb(data, p[0], p[1], p[2], p[3], output, 0, height);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Computes the location of the chroma samples.
+	 *
+	 * @return offset of first U sample, offset of first V sample, chroma row stride, and chroma pixel step
+	 */
+	private static int[] chromaLayout( int width , int height , Layout layout ) {
+		int sizeY = width*height;
+		int chromaWidth = (width+1)/2;
+		int sizeChroma = chromaWidth*((height+1)/2);
+
+		switch( layout ) {
+			case NV21: return new int[]{sizeY+1,sizeY,2*chromaWidth,2};
+			case NV12: return new int[]{sizeY,sizeY+1,2*chromaWidth,2};
+			case I420: return new int[]{sizeY,sizeY+sizeChroma,chromaWidth,1};
+			case YV12: return new int[]{sizeY+sizeChroma,sizeY,chromaWidth,1};
+			default: throw new IllegalArgumentException("Unknown layout "+layout);
+		}
+	}
+
+	private static void checkShape( int outputWidth , int outputHeight , int width , int height ) {
+		if( outputWidth != width || outputHeight != height )
+			throw new IllegalArgumentException("output width and height must be "+width+" "+height);
+	}
+
+	private static void checkBands( int numBands ) {
+		if( numBands != 3 )
+			throw new IllegalArgumentException("three bands expected");
+	}
+
+	private static void checkLength( byte[] data , int width , int height ) {
+		if( data.length < dataLength(width,height) )
+			throw new IllegalArgumentException("data is too short for an image with shape "+width+" "+height);
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.core.image;
+
+import boofcv.abst.filter.FilterImageInterface;
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Processes an image one tile at a time so that intermediate images only need to be as large as a tile, instead of
+ * the whole image.  Each tile is expanded by a halo on all sides, clipped at the image border, and the filter is
+ * applied to a sub-image of the input which covers the expanded tile.  Only the pixels inside the original
+ * tile are copied into the output image.  Tiles are processed in parallel when allowed by {@link BoofConcurrency}.
+ * </p>
+ *
+ * <p>
+ * If the halo is at least as large as the number of pixels away from a pixel which the filter reads, summed across
+ * all the stages in the filter chain, then the output will be identical to applying the filter to the entire image.
+ * Along the image border the filter sees the actual image border and handles it in the same way it would
+ * if the entire image was processed.
+ * </p>
+ *
+ * <p>
+ * Filters often have internal storage which is not thread safe, so a new filter instance is requested from
+ * {@link FilterFactory} for each thread which is processing tiles.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("unchecked")
+public class ImageTileProcessor<In extends ImageSingleBand, Out extends ImageSingleBand> {
+
+	/**
+	 * Creates a new instance of the filter chain which is applied to each tile.
+	 */
+	public static interface FilterFactory<In extends ImageSingleBand, Out extends ImageSingleBand> {
+		public FilterImageInterface<In,Out> create();
+	}
+
+	// size of each tile, not including the halo
+	private int tileWidth;
+	private int tileHeight;
+	// number of pixels each tile is expanded by
+	private int halo;
+
+	private FilterFactory<In,Out> factory;
+
+	/**
+	 * Configures the tile processor
+	 *
+	 * @param tileWidth Width of each tile, not including the halo.
+	 * @param tileHeight Height of each tile, not including the halo.
+	 * @param halo Number of pixels a tile is expanded by along each side.
+	 * @param factory Creates the filter chain which is applied to each tile.
+	 */
+	public ImageTileProcessor(int tileWidth, int tileHeight, int halo, FilterFactory<In, Out> factory) {
+		if( tileWidth <= 0 || tileHeight <= 0 )
+			throw new IllegalArgumentException("Tile width and height must be more than zero");
+		if( halo < 0 )
+			throw new IllegalArgumentException("Halo must be zero or more");
+
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+		this.halo = halo;
+		this.factory = factory;
+	}
+
+	/**
+	 * Applies the filter chain to each tile in the input image and writes the results into the output image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public void process( final In input , final Out output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int tilesX = (input.width + tileWidth - 1)/tileWidth;
+		final int tilesY = (input.height + tileHeight - 1)/tileHeight;
+
+		IntRangeTask task = new IntRangeTask() {
+			@Override
+			public void process(int minInclusive, int maxExclusive) {
+				FilterImageInterface<In,Out> filter = factory.create();
+				Out work = (Out)output._createNew(1,1);
+				In view = (In)input._createNew(-1,-1);
+				Out tileOut = (Out)output._createNew(-1,-1);
+				Out workInterior = (Out)output._createNew(-1,-1);
+
+				for( int i = minInclusive; i < maxExclusive; i++ ) {
+					int x0 = (i % tilesX)*tileWidth;
+					int y0 = (i / tilesX)*tileHeight;
+					int x1 = Math.min(input.width, x0 + tileWidth);
+					int y1 = Math.min(input.height, y0 + tileHeight);
+
+					processTile(x0, y0, x1, y1, filter, input, output, view, work, tileOut, workInterior);
+				}
+			}
+		};
+
+		if( BoofConcurrency.isConcurrent(input) ) {
+			BoofConcurrency.loopBands(0,tilesX*tilesY,1,task);
+		} else {
+			task.process(0,tilesX*tilesY);
+		}
+	}
+
+	/**
+	 * Applies the filter to the expanded tile and copies the tile's interior into the output image
+	 */
+	private void processTile( int x0 , int y0 , int x1 , int y1 ,
+							  FilterImageInterface<In,Out> filter ,
+							  In input , Out output , In view , Out work , Out tileOut , Out workInterior ) {
+		int ex0 = Math.max(0, x0 - halo);
+		int ey0 = Math.max(0, y0 - halo);
+		int ex1 = Math.min(input.width, x1 + halo);
+		int ey1 = Math.min(input.height, y1 + halo);
+
+		input.subimage(ex0, ey0, ex1, ey1, view);
+		work.reshape(ex1 - ex0, ey1 - ey0);
+
+		filter.process(view, work);
+
+		output.subimage(x0, y0, x1, y1, tileOut);
+		work.subimage(x0 - ex0, y0 - ey0, x1 - ex0, y1 - ey0, workInterior);
+		tileOut.setTo(workInterior);
+	}
+
+	public int getTileWidth() {
+		return tileWidth;
+	}
+
+	public int getTileHeight() {
+		return tileHeight;
+	}
+
+	public int getHalo() {
+		return halo;
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.core.image;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
+
+/**
+ * Implementation of functions in {@link ConvertYuv420}.  The Y plane is at the start of the array and has one
+ * byte for each pixel.  The location of the U and V samples in the chroma planes is specified by their offset,
+ * the number of bytes in a chroma row, and the number of bytes between chroma samples in the same row.  Each
+ * chroma sample is shared by a 2x2 block of pixels.  YCbCr is converted into RGB using the same equations as
+ * {@link boofcv.alg.color.ColorYuv#ycbcrToRgb(int, int, int, byte[])}.
+ *
+ * @author Peter Abeles
+ */
+public class ImplConvertYuv420 {
+
+	/**
+	 * Copies the Y plane into the gray scale image.
+	 */
+	public static void yuvToGray(byte[] data, ImageUInt8 output, int row0, int row1) {
+		if( !output.isSubimage() && row0 == 0 && row1 == output.height ) {
+			System.arraycopy(data,0,output.data,0,output.width*output.height);
+		} else {
+			for( int row = row0; row < row1; row++ ) {
+				System.arraycopy(data,row*output.width,output.data,output.startIndex+row*output.stride,output.width);
+			}
+		}
+	}
+
+	/**
+	 * Copies the Y plane into the gray scale image.
+	 */
+	public static void yuvToGray(byte[] data, ImageFloat32 output, int row0, int row1) {
+		for( int row = row0; row < row1; row++ ) {
+			int indexY = row*output.width;
+			int indexOut = output.startIndex + row*output.stride;
+
+			for( int col = 0; col < output.width; col++ ) {
+				output.data[indexOut++] = data[indexY++] & 0xFF;
+			}
+		}
+	}
+
+	public static void yuvToMsRgb_U8(byte[] data, int offsetU, int offsetV, int strideUV, int stepUV,
+									 MultiSpectral<ImageUInt8> output, int row0, int row1) {
+		byte[] R = output.getBand(0).data;
+		byte[] G = output.getBand(1).data;
+		byte[] B = output.getBand(2).data;
+
+		final int width = output.width;
+
+		for( int row = row0; row < row1; row++ ) {
+			int indexY = row*width;
+			int indexUV = (row/2)*strideUV;
+			int indexOut = output.startIndex + row*output.stride;
+
+			int termR = 0, termG = 0, termB = 0;
+
+			for( int col = 0; col < width; col++ , indexOut++ ) {
+				// the chroma only changes every other pixel
+				if( (col & 0x1) == 0 ) {
+					int cb = (data[offsetU + indexUV] & 0xFF) - 128;
+					int cr = (data[offsetV + indexUV] & 0xFF) - 128;
+					indexUV += stepUV;
+
+					termR = 1836*cr;
+					termG = -547*cr - 218*cb;
+					termB = 2165*cb;
+				}
+
+				int y = 1191*((data[indexY++] & 0xFF) - 16);
+				if( y < 0 ) y = 0;
+
+				int r = (y + termR) >> 10;
+				int g = (y + termG) >> 10;
+				int b = (y + termB) >> 10;
+
+				if( r < 0 ) r = 0; else if( r > 255 ) r = 255;
+				if( g < 0 ) g = 0; else if( g > 255 ) g = 255;
+				if( b < 0 ) b = 0; else if( b > 255 ) b = 255;
+
+				R[indexOut] = (byte)r;
+				G[indexOut] = (byte)g;
+				B[indexOut] = (byte)b;
+			}
+		}
+	}
+
+	public static void yuvToMsRgb_F32(byte[] data, int offsetU, int offsetV, int strideUV, int stepUV,
+									  MultiSpectral<ImageFloat32> output, int row0, int row1) {
+		float[] R = output.getBand(0).data;
+		float[] G = output.getBand(1).data;
+		float[] B = output.getBand(2).data;
+
+		final int width = output.width;
+
+		for( int row = row0; row < row1; row++ ) {
+			int indexY = row*width;
+			int indexUV = (row/2)*strideUV;
+			int indexOut = output.startIndex + row*output.stride;
+
+			int termR = 0, termG = 0, termB = 0;
+
+			for( int col = 0; col < width; col++ , indexOut++ ) {
+				// the chroma only changes every other pixel
+				if( (col & 0x1) == 0 ) {
+					int cb = (data[offsetU + indexUV] & 0xFF) - 128;
+					int cr = (data[offsetV + indexUV] & 0xFF) - 128;
+					indexUV += stepUV;
+
+					termR = 1836*cr;
+					termG = -547*cr - 218*cb;
+					termB = 2165*cb;
+				}
+
+				int y = 1191*((data[indexY++] & 0xFF) - 16);
+				if( y < 0 ) y = 0;
+
+				int r = (y + termR) >> 10;
+				int g = (y + termG) >> 10;
+				int b = (y + termB) >> 10;
+
+				if( r < 0 ) r = 0; else if( r > 255 ) r = 255;
+				if( g < 0 ) g = 0; else if( g > 255 ) g = 255;
+				if( b < 0 ) b = 0; else if( b > 255 ) b = 255;
+
+				R[indexOut] = r;
+				G[indexOut] = g;
+				B[indexOut] = b;
+			}
+		}
+	}
+
+	public static void yuvToInterleavedRgb(byte[] data, int offsetU, int offsetV, int strideUV, int stepUV,
+										   InterleavedU8 output, int row0, int row1) {
+		byte[] out = output.data;
+
+		final int width = output.width;
+
+		for( int row = row0; row < row1; row++ ) {
+			int indexY = row*width;
+			int indexUV = (row/2)*strideUV;
+			int indexOut = output.startIndex + row*output.stride;
+
+			int termR = 0, termG = 0, termB = 0;
+
+			for( int col = 0; col < width; col++ ) {
+				// the chroma only changes every other pixel
+				if( (col & 0x1) == 0 ) {
+					int cb = (data[offsetU + indexUV] & 0xFF) - 128;
+					int cr = (data[offsetV + indexUV] & 0xFF) - 128;
+					indexUV += stepUV;
+
+					termR = 1836*cr;
+					termG = -547*cr - 218*cb;
+					termB = 2165*cb;
+				}
+
+				int y = 1191*((data[indexY++] & 0xFF) - 16);
+				if( y < 0 ) y = 0;
+
+				int r = (y + termR) >> 10;
+				int g = (y + termG) >> 10;
+				int b = (y + termB) >> 10;
+
+				if( r < 0 ) r = 0; else if( r > 255 ) r = 255;
+				if( g < 0 ) g = 0; else if( g > 255 ) g = 255;
+				if( b < 0 ) b = 0; else if( b > 255 ) b = 255;
+
+				out[indexOut++] = (byte)r;
+				out[indexOut++] = (byte)g;
+				out[indexOut++] = (byte)b;
+			}
+		}
+	}
+}
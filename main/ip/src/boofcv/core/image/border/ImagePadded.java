@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.image.border;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.*;
+
+/**
+ * <p>
+ * An image which is surrounded by a margin whose pixels are computed from the image using the specified
+ * {@link BorderType}.  The image is copied into the padded buffer once and the margin is filled in once, after
+ * which any algorithm that does not process the image border can be run across the entire padded buffer and
+ * produce valid results for every pixel inside the image.  This avoids the per-pixel virtual function call
+ * and bounds checks of {@link ImageBorder}, and the separate code paths for the inner image and its border.
+ * </p>
+ *
+ * <p>
+ * The same instance can be used as the output of one filter and then as the input to the next in a chain.
+ * After the image has been modified call {@link #fillBorder()} to update the margin.
+ * </p>
+ *
+ * <p>
+ * Supported border types are {@link BorderType#EXTENDED}, {@link BorderType#REFLECT}, {@link BorderType#WRAP}
+ * and {@link BorderType#VALUE}.  A zero border is a {@link BorderType#VALUE} border with a value of zero.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImagePadded<T extends ImageSingleBand> {
+
+	// image with the margin around it
+	T padded;
+	// sub-image of the padded image which contains the original image
+	T image;
+
+	// width of the margin
+	int border;
+	// how the margin is computed
+	BorderType type;
+	// value of each margin pixel for VALUE borders
+	double value;
+
+	// remaps coordinates outside of the image to coordinates inside of it
+	BorderIndex1D index;
+
+	// margin columns in the padded image and the column each one is copied from
+	int[] marginCols = new int[0];
+	int[] sourceCols = new int[0];
+
+	Class<T> imageType;
+
+	/**
+	 * Specifies the type of border
+	 *
+	 * @param imageType Type of image being padded.
+	 * @param border Width of the margin.  Should be at least the radius of the largest kernel applied.
+	 * @param type How the margin is computed.
+	 */
+	@SuppressWarnings({"unchecked"})
+	public ImagePadded( Class<T> imageType , int border , BorderType type ) {
+		if( border < 0 )
+			throw new IllegalArgumentException("Border must be >= 0");
+
+		this.imageType = imageType;
+		this.border = border;
+		this.type = type;
+
+		switch( type ) {
+			case EXTENDED: index = new BorderIndex1D_Extend(); break;
+			case REFLECT: index = new BorderIndex1D_Reflect(); break;
+			case WRAP: index = new BorderIndex1D_Wrap(); break;
+			case VALUE: break;
+			default:
+				throw new IllegalArgumentException("Border type not supported: "+type);
+		}
+
+		padded = GeneralizedImageOps.createSingleBand(imageType,2*border,2*border);
+		image = (T)padded.subimage(border,border,border,border,null);
+	}
+
+	/**
+	 * Creates a padded image with a {@link BorderType#VALUE} border
+	 *
+	 * @param imageType Type of image being padded.
+	 * @param border Width of the margin.
+	 * @param value Value of each pixel in the margin.
+	 */
+	public ImagePadded( Class<T> imageType , int border , double value ) {
+		this(imageType,border,BorderType.VALUE);
+		this.value = value;
+	}
+
+	/**
+	 * Changes the shape of the image, not including the margin.  The contents of the image are undefined
+	 * afterwards.
+	 */
+	@SuppressWarnings({"unchecked"})
+	public void reshape( int width , int height ) {
+		if( width == image.width && height == image.height )
+			return;
+
+		padded.reshape(width + 2*border, height + 2*border);
+		padded.subimage(border,border,border+width,border+height,image);
+	}
+
+	/**
+	 * Copies the input image into the padded image and fills in the margin.
+	 *
+	 * @param input The image which is to be padded.  Not modified.
+	 */
+	@SuppressWarnings({"unchecked"})
+	public void setTo( T input ) {
+		reshape(input.width,input.height);
+		image.setTo(input);
+		fillBorder();
+	}
+
+	/**
+	 * Recomputes the margin from the image's current contents.  Call after the image has been modified.
+	 */
+	public void fillBorder() {
+		if( border == 0 )
+			return;
+
+		if( type == BorderType.VALUE ) {
+			GImageMiscOps.fillBorder(padded, value, border);
+			return;
+		}
+
+		int width = image.width;
+		int height = image.height;
+		if( width == 0 || height == 0 )
+			throw new IllegalArgumentException("Can't fill the border of an empty image");
+
+		// left and right margins of the rows inside the image
+		index.setLength(width);
+		if( marginCols.length != 2*border ) {
+			marginCols = new int[ 2*border ];
+			sourceCols = new int[ 2*border ];
+		}
+		for( int i = 0; i < border; i++ ) {
+			marginCols[i] = i;
+			sourceCols[i] = border + remap(i - border, width);
+			marginCols[border+i] = border + width + i;
+			sourceCols[border+i] = border + remap(width + i, width);
+		}
+
+		Object data = getData();
+		for( int y = 0; y < height; y++ ) {
+			copyColumns(data, (border+y)*padded.stride);
+		}
+
+		// top and bottom margins are copies of entire rows, including their margins
+		index.setLength(height);
+		int rowLength = padded.width;
+		for( int i = 0; i < border; i++ ) {
+			int top = i;
+			int bottom = border + height + i;
+			System.arraycopy(data,(border + remap(i - border, height))*padded.stride,
+					data,top*padded.stride,rowLength);
+			System.arraycopy(data,(border + remap(height + i, height))*padded.stride,
+					data,bottom*padded.stride,rowLength);
+		}
+	}
+
+	/**
+	 * Remaps the coordinate until it's inside the image, which is needed when the margin is wider than the image
+	 */
+	private int remap( int coordinate , int length ) {
+		if( length == 1 )
+			return 0;
+		while( coordinate < 0 || coordinate >= length )
+			coordinate = index.getIndex(coordinate);
+		return coordinate;
+	}
+
+	/**
+	 * Returns the padded image's data array
+	 */
+	private Object getData() {
+		if( padded instanceof ImageInt8 ) {
+			return ((ImageInt8)padded).data;
+		} else if( padded instanceof ImageInt16 ) {
+			return ((ImageInt16)padded).data;
+		} else if( padded instanceof ImageSInt32 ) {
+			return ((ImageSInt32)padded).data;
+		} else if( padded instanceof ImageSInt64 ) {
+			return ((ImageSInt64)padded).data;
+		} else if( padded instanceof ImageFloat32 ) {
+			return ((ImageFloat32)padded).data;
+		} else if( padded instanceof ImageFloat64 ) {
+			return ((ImageFloat64)padded).data;
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+padded.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Copies pixels into the left and right margins of a single row
+	 */
+	private void copyColumns( Object data , int rowStart ) {
+		int N = marginCols.length;
+		if( data instanceof byte[] ) {
+			byte[] d = (byte[])data;
+			for( int i = 0; i < N; i++ ) d[rowStart+marginCols[i]] = d[rowStart+sourceCols[i]];
+		} else if( data instanceof short[] ) {
+			short[] d = (short[])data;
+			for( int i = 0; i < N; i++ ) d[rowStart+marginCols[i]] = d[rowStart+sourceCols[i]];
+		} else if( data instanceof int[] ) {
+			int[] d = (int[])data;
+			for( int i = 0; i < N; i++ ) d[rowStart+marginCols[i]] = d[rowStart+sourceCols[i]];
+		} else if( data instanceof long[] ) {
+			long[] d = (long[])data;
+			for( int i = 0; i < N; i++ ) d[rowStart+marginCols[i]] = d[rowStart+sourceCols[i]];
+		} else if( data instanceof float[] ) {
+			float[] d = (float[])data;
+			for( int i = 0; i < N; i++ ) d[rowStart+marginCols[i]] = d[rowStart+sourceCols[i]];
+		} else if( data instanceof double[] ) {
+			double[] d = (double[])data;
+			for( int i = 0; i < N; i++ ) d[rowStart+marginCols[i]] = d[rowStart+sourceCols[i]];
+		} else {
+			throw new IllegalArgumentException("Unknown data type");
+		}
+	}
+
+	/**
+	 * The image, not including the margin.  This is a sub-image of {@link #getPadded()}.
+	 */
+	public T getImage() {
+		return image;
+	}
+
+	/**
+	 * The image including its margin.  Algorithms which skip the image border are applied to this image.
+	 */
+	public T getPadded() {
+		return padded;
+	}
+
+	public int getBorder() {
+		return border;
+	}
+
+	public BorderType getType() {
+		return type;
+	}
+
+	public double getValue() {
+		return value;
+	}
+
+	public void setValue(double value) {
+		this.value = value;
+	}
+
+	public Class<T> getImageType() {
+		return imageType;
+	}
+}
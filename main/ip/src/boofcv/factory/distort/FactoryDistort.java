@@ -20,6 +20,7 @@ package boofcv.factory.distort;
 
 import boofcv.alg.distort.ImageDistort;
 import boofcv.alg.distort.impl.*;
+import boofcv.alg.interpolate.InterpolatePixelMB;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.struct.image.*;
@@ -68,6 +69,28 @@ public class FactoryDistort {
 		return new ImplImageDistort_MS<T>(distortSingle);
 	}
 
+	/**
+	 * Creates a {@link boofcv.alg.distort.ImageDistort} for {@link ImageInterleaved} images.  All the bands
+	 * are interpolated at once directly from the interleaved image.
+	 *
+	 * @param interp Which interpolation algorithm should be used.  See
+	 * {@link boofcv.factory.interpolate.FactoryInterpolation#bilinearPixelMB(Class)}.
+	 * @param outsideValue Value of each band assigned to pixels outside the source image.  If null then no change
+	 * @param imageType Type of image being processed.
+	 */
+	@SuppressWarnings({"unchecked"})
+	public static <T extends ImageInterleaved>
+	ImageDistort<T> distortIL(InterpolatePixelMB<T> interp, float[] outsideValue, Class<T> imageType)
+	{
+		if( imageType == InterleavedF32.class ) {
+			return (ImageDistort<T>)new ImplImageDistort_IL_F32((InterpolatePixelMB<InterleavedF32>)interp,outsideValue);
+		} else if( imageType == InterleavedU8.class ) {
+			return (ImageDistort<T>)new ImplImageDistort_IL_U8((InterpolatePixelMB<InterleavedU8>)interp,outsideValue);
+		} else {
+			throw new IllegalArgumentException("Image type not supported: "+imageType.getSimpleName());
+		}
+	}
+
 	/**
 	 * Avoid recomputing the distortion map for the entire image each time
 	 * by caching the distortion for each pixel.  This can improve speed significantly when the distortion
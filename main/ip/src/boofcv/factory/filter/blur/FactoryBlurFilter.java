@@ -18,9 +18,17 @@
 
 package boofcv.factory.filter.blur;
 
+import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.abst.filter.blur.BlurRecursiveGaussian;
 import boofcv.abst.filter.blur.BlurStorageFilter;
 import boofcv.abst.filter.blur.MedianImageFilter;
+import boofcv.alg.filter.blur.MedianAlgorithm;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.BoofDefaults;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
 
 /**
  * Factory for creating different blur image filters.
@@ -41,24 +49,94 @@ public class FactoryBlurFilter {
 	}
 
 	/**
-	 * Creates a mean filter for the specified image type.
+	 * Creates a median filter for the specified image type which uses the selected algorithm.
+	 *
+	 * @param type Image type.
+	 * @param radius Size of the filter.
+	 * @param algorithm Which algorithm is used to compute the median.
+	 * @return Median image filter.
+	 */
+	public static <T extends ImageSingleBand> MedianImageFilter<T> median( Class<T> type , int radius ,
+																		   MedianAlgorithm algorithm ) {
+		return new MedianImageFilter<T>(type,radius,algorithm);
+	}
+
+	/**
+	 * Creates a mean filter for the specified image type.  Single band and interleaved images are supported.
 	 *
 	 * @param type Image type.
 	 * @param radius Size of the filter.
 	 * @return mean image filter.
 	 */
-	public static <T extends ImageSingleBand> BlurStorageFilter<T> mean( Class<T> type , int radius ) {
+	public static <T extends ImageBase> BlurStorageFilter<T> mean( Class<T> type , int radius ) {
 		return new BlurStorageFilter<T>("mean",type,radius);
 	}
 
 	/**
-	 * Creates a Gaussian filter for the specified image type.
+	 * Creates a Gaussian filter for the specified image type.  Single band and interleaved images are supported.
 	 *
 	 * @param type Image type.
 	 * @param radius Size of the filter.
 	 * @return mean image filter.
 	 */
-	public static <T extends ImageSingleBand> BlurStorageFilter<T> gaussian( Class<T> type , double sigma , int radius ) {
+	public static <T extends ImageBase> BlurStorageFilter<T> gaussian( Class<T> type , double sigma , int radius ) {
 		return new BlurStorageFilter<T>("gaussian",type,sigma,radius);
 	}
+
+	/**
+	 * Creates a recursive Gaussian filter whose cost per pixel does not depend on sigma.  Only
+	 * {@link ImageUInt8} and {@link ImageFloat32} are supported.
+	 *
+	 * @see boofcv.alg.filter.blur.impl.ImplRecursiveGaussian
+	 *
+	 * @param type Image type.
+	 * @param sigma Gaussian distribution's sigma.  Must be &ge; 0.5
+	 * @return recursive Gaussian image filter.
+	 */
+	public static <T extends ImageSingleBand> BlurRecursiveGaussian<T> gaussianRecursive( Class<T> type , double sigma ) {
+		return new BlurRecursiveGaussian<T>(type,sigma);
+	}
+
+	/**
+	 * Creates a Gaussian filter which selects the fastest algorithm for the specified sigma, using
+	 * {@link BoofDefaults#RECURSIVE_GAUSSIAN_SIGMA} as the threshold.
+	 *
+	 * @see #gaussianAuto(Class, double, int, double)
+	 */
+	public static <T extends ImageBase> BlurFilter<T> gaussianAuto( Class<T> type , double sigma , int radius ) {
+		return gaussianAuto(type,sigma,radius,BoofDefaults.RECURSIVE_GAUSSIAN_SIGMA);
+	}
+
+	/**
+	 * Creates a Gaussian filter which selects the fastest algorithm for the specified sigma.  If the image type
+	 * is supported and sigma is at least recursiveSigma then a recursive filter is used, otherwise the image is
+	 * convolved with a Gaussian kernel.  The recursive filter is an approximation, so the results are not the same.
+	 *
+	 * @param type Image type.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @param recursiveSigma Sigma at which the recursive filter is used.  If {@link Double#MAX_VALUE} it's never used.
+	 * @return Gaussian image filter.
+	 */
+	public static <T extends ImageBase> BlurFilter<T> gaussianAuto( Class<T> type , double sigma , int radius ,
+																	 double recursiveSigma ) {
+		if( type == ImageUInt8.class || type == ImageFloat32.class ) {
+			double effective = sigma > 0 ? sigma : FactoryKernelGaussian.sigmaForRadius(radius,0);
+			// the recursive filter approximates an infinite kernel, only use it if the radius is not truncated
+			boolean truncated = sigma > 0 && radius > 0 && radius < FactoryKernelGaussian.radiusForSigma(sigma,0);
+			if( effective >= recursiveSigma && !truncated )
+				return gaussianRecursiveAny(type,effective);
+		}
+		return new BlurStorageFilter<T>("gaussian",type,sigma,radius);
+	}
+
+	/**
+	 * Creates a recursive Gaussian filter when the compiler only knows that the image type extends
+	 * {@link ImageBase}.  The caller must have already checked that it is a supported single band type.
+	 */
+	@SuppressWarnings({"unchecked"})
+	private static <T extends ImageBase> BlurFilter<T> gaussianRecursiveAny( Class<T> type , double sigma ) {
+		Class<ImageSingleBand<?>> singleType = (Class<ImageSingleBand<?>>)(Class<?>)type;
+		return (BlurFilter<T>)(BlurFilter<?>)gaussianRecursive(singleType,sigma);
+	}
 }
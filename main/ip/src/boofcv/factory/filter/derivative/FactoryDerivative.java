@@ -23,10 +23,7 @@ import boofcv.alg.filter.derivative.*;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.core.image.border.ImageBorder_I32;
-import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageSInt16;
-import boofcv.struct.image.ImageSingleBand;
-import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.*;
 
 import java.lang.reflect.Method;
 
@@ -62,18 +59,40 @@ public class FactoryDerivative {
 		return new ImageGradient_Reflection<I,D>(m);
 	}
 
-	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	/**
+	 * Sobel gradient for single band or {@link ImageInterleaved} images.  Interleaved images are processed directly
+	 * by {@link GradientSobelInterleaved} without being split into bands.
+	 *
+	 * @param inputType Type of input image
+	 * @param derivType Type of derivative image
+	 */
+	public static <I extends ImageBase, D extends ImageBase>
 	ImageGradient<I,D> sobel( Class<I> inputType , Class<D> derivType)
 	{
-		Method m = findDerivative(GradientSobel.class,inputType,derivType);
-		return new ImageGradient_Reflection<I,D>(m);
-	}
-
-	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+		Method m;
+		if( ImageInterleaved.class.isAssignableFrom(inputType) )
+			m = findDerivativeInterleaved(GradientSobelInterleaved.class,inputType,derivType);
+		else
+			m = findDerivative(GradientSobel.class,inputType,derivType);
+		return createGradient(m);
+	}
+
+	/**
+	 * Three tap gradient for single band or {@link ImageInterleaved} images.  Interleaved images are processed directly
+	 * by {@link GradientThreeInterleaved} without being split into bands.
+	 *
+	 * @param inputType Type of input image
+	 * @param derivType Type of derivative image
+	 */
+	public static <I extends ImageBase, D extends ImageBase>
 	ImageGradient<I,D> three( Class<I> inputType , Class<D> derivType)
 	{
-		Method m = findDerivative(GradientThree.class,inputType,derivType);
-		return new ImageGradient_Reflection<I,D>(m);
+		Method m;
+		if( ImageInterleaved.class.isAssignableFrom(inputType) )
+			m = findDerivativeInterleaved(GradientThreeInterleaved.class,inputType,derivType);
+		else
+			m = findDerivative(GradientThree.class,inputType,derivType);
+		return createGradient(m);
 	}
 
 	public static <I extends ImageSingleBand, D extends ImageSingleBand>
@@ -180,6 +199,30 @@ public class FactoryDerivative {
 		return m;
 	}
 
+	/**
+	 * Wraps a gradient function which was found using reflections.  The compiler only knows that the image types
+	 * extend {@link ImageBase}, but the function's parameters have already been checked when it was looked up.
+	 */
+	@SuppressWarnings({"unchecked"})
+	private static <I extends ImageBase, D extends ImageBase>
+	ImageGradient<I,D> createGradient( Method m ) {
+		if( ImageInterleaved.class.isAssignableFrom(m.getParameterTypes()[0]) )
+			return (ImageGradient<I,D>)new ImageGradient_Interleaved<ImageInterleaved<?>,ImageInterleaved<?>>(m);
+		else
+			return (ImageGradient<I,D>)new ImageGradient_Reflection<ImageSingleBand<?>,ImageSingleBand<?>>(m);
+	}
+
+	private static Method findDerivativeInterleaved(Class<?> derivativeClass,
+													Class<?> inputType , Class<?> derivType ) {
+		Method m;
+		try {
+			m = derivativeClass.getDeclaredMethod("process", inputType,derivType,derivType,boolean.class);
+		} catch (NoSuchMethodException e) {
+			throw new RuntimeException("Input and derivative types are probably not compatible",e);
+		}
+		return m;
+	}
+
 	private static Method findHessian(Class<?> derivativeClass,
 										Class<?> inputType , Class<?> derivType ) {
 		Method m;
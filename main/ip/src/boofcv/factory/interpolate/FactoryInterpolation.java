@@ -84,7 +84,9 @@ public class FactoryInterpolation {
 				throw new IllegalArgumentException("Need to specify a multi-band image type");
 
 			case INTERLEAVED:
-				throw new IllegalArgumentException("Not yet supported.  Post a message letting us know you need this." +
+				if( type == TypeInterpolate.BILINEAR )
+					return (InterpolatePixelMB)bilinearPixelMB(imageType.getImageClass());
+				throw new IllegalArgumentException("Only bilinear interpolation is supported for interleaved images." +
 						"  Use MultiSpectral instead for now.");
 
 			default:
@@ -129,6 +131,21 @@ public class FactoryInterpolation {
 			throw new RuntimeException("Unknown image type: "+type.getName());
 	}
 
+	/**
+	 * Bilinear interpolation which is applied directly to all the bands in an {@link ImageInterleaved} image.
+	 *
+	 * @param type Type of interleaved image
+	 * @return Interpolation for interleaved images
+	 */
+	public static <T extends ImageInterleaved> InterpolatePixelMB<T> bilinearPixelMB(Class<T> type) {
+		if( type == InterleavedF32.class )
+			return (InterpolatePixelMB<T>)new ImplBilinearPixel_IL_F32();
+		else if( type == InterleavedU8.class )
+			return (InterpolatePixelMB<T>)new ImplBilinearPixel_IL_U8();
+		else
+			throw new RuntimeException("Unknown image type: "+type.getName());
+	}
+
 	public static <T extends ImageSingleBand> InterpolateRectangle<T> bilinearRectangle( T image ) {
 
 		InterpolateRectangle<T> ret = bilinearRectangle((Class)image.getClass());
@@ -19,13 +19,18 @@
 package boofcv.factory.transform.pyramid;
 
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.transform.pyramid.FusedBlurResample;
 import boofcv.alg.transform.pyramid.PyramidDiscreteSampleBlur;
 import boofcv.alg.transform.pyramid.PyramidFloatGaussianScale;
+import boofcv.alg.transform.pyramid.impl.ImplFusedBlurResample_F32;
+import boofcv.alg.transform.pyramid.impl.ImplFusedBlurResample_U8;
 import boofcv.factory.filter.kernel.FactoryKernel;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.pyramid.PyramidDiscrete;
 import boofcv.struct.pyramid.PyramidFloat;
 
@@ -35,8 +40,33 @@ import boofcv.struct.pyramid.PyramidFloat;
  *
  * @author Peter Abeles
  */
+@SuppressWarnings({"unchecked"})
 public class FactoryPyramid {
 
+	/**
+	 * Creates an algorithm which blurs and re-samples an image in a single pass.  Used internally when
+	 * constructing image pyramids.
+	 *
+	 * @param imageType Type of image processed.  {@link ImageFloat32} and {@link ImageUInt8} are supported.
+	 * @return FusedBlurResample
+	 */
+	public static <T extends ImageSingleBand>
+	FusedBlurResample<T> fusedBlurResample( Class<T> imageType ) {
+		if( imageType == ImageFloat32.class )
+			return (FusedBlurResample<T>)new ImplFusedBlurResample_F32();
+		else if( imageType == ImageUInt8.class )
+			return (FusedBlurResample<T>)new ImplFusedBlurResample_U8();
+		else
+			throw new IllegalArgumentException("Unsupported image type "+imageType.getSimpleName());
+	}
+
+	/**
+	 * Returns true if {@link #fusedBlurResample(Class)} supports the image type
+	 */
+	public static boolean isFusedSupported( Class imageType ) {
+		return imageType == ImageFloat32.class || imageType == ImageUInt8.class;
+	}
+
 	/**
 	 * Creates an updater for discrete pyramids where a Gaussian is convolved across the input
 	 * prior to sub-sampling.
@@ -37,6 +37,9 @@ public class BoofDefaults {
 	// multiplication factor to go from scale to pixel radius
 	public static final double SCALE_SPACE_CANONICAL_RADIUS = 2.5;
 
+	// Suggested sigma at which Gaussian blur switches to a recursive filter, for classes where it has been enabled
+	public static final double RECURSIVE_GAUSSIAN_SIGMA = 3.0;
+
 	/**
 	 * Creates a new instance of the default border for derivatives of integer images
 	 */
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * <p>
+ * {@link ImageBuffer} with a pixel type of 32-bit float.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BufferF32 extends ImageBuffer<BufferF32> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * View of {@link #buffer} using the buffer's byte order.  Pixel values are accessed using absolute get and put.
+	 */
+	public transient FloatBuffer data;
+
+	/**
+	 * Creates a new image backed by a direct buffer.
+	 *
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 */
+	public BufferF32(int width, int height) {
+		super(width, height);
+	}
+
+	/**
+	 * Creates an image with no data declared and the width/height set to zero.
+	 */
+	public BufferF32() {
+	}
+
+	/**
+	 * Returns the value of the specified pixel.
+	 *
+	 * @param x pixel coordinate.
+	 * @param y pixel coordinate.
+	 * @return Pixel intensity value.
+	 */
+	public float get(int x, int y) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: ( " + x + " , " + y + " )");
+
+		return unsafe_get(x,y);
+	}
+
+	public float unsafe_get(int x, int y) {
+		return data.get(getIndex(x, y));
+	}
+
+	/**
+	 * Sets the value of the specified pixel.
+	 *
+	 * @param x	 pixel coordinate.
+	 * @param y	 pixel coordinate.
+	 * @param value The pixel's new value.
+	 */
+	public void set(int x, int y, float value) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		unsafe_set(x,y,value);
+	}
+
+	public void unsafe_set(int x, int y, float value) {
+		data.put(getIndex(x, y), value);
+	}
+
+	@Override
+	protected void _setBuffer(ByteBuffer buffer) {
+		this.buffer = buffer;
+		this.data = buffer.asFloatBuffer();
+	}
+
+	@Override
+	public BufferF32 _createNew(int imgWidth, int imgHeight) {
+		if (imgWidth == -1 || imgHeight == -1)
+			return new BufferF32();
+		return new BufferF32(imgWidth, imgHeight);
+	}
+
+	@Override
+	public ImageDataType getDataType() {
+		return ImageDataType.F32;
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * <p>
+ * Base class for single band images whose pixels are stored inside a {@link ByteBuffer} instead of a Java
+ * array.  Typically the buffer is a direct buffer which was filled in by native code, e.g. a camera driver, which
+ * allows a frame to be processed without first copying it into the Java heap.  The image has the same
+ * width, height, startIndex, and stride semantics as {@link ImageSingleBand}.  Just like array images, startIndex and
+ * stride are specified in pixels and not bytes.
+ * </p>
+ *
+ * <p>
+ * Most algorithms in BoofCV only operate on array images.  Operations which accept buffer images directly can be
+ * found in {@link boofcv.core.image.ConvertImageBuffer}, {@link boofcv.alg.misc.ImageBufferMiscOps},
+ * {@link boofcv.alg.misc.ImageBufferPixelMath}, {@link boofcv.alg.filter.binary.ThresholdImageBufferOps},
+ * and {@link boofcv.alg.filter.convolve.ConvolveImageBuffer}.
+ * </p>
+ *
+ * <p>
+ * NOTE: The buffer is not serialized.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public abstract class ImageBuffer<T extends ImageBuffer> extends ImageBase<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Buffer which contains the pixels.  The byte order of the buffer is used when reading multi-byte pixels.
+	 */
+	public transient ByteBuffer buffer;
+
+	/**
+	 * Creates a new image backed by a direct buffer with the platform's native byte order.
+	 *
+	 * @param width  Image's width.
+	 * @param height Image's height.
+	 */
+	protected ImageBuffer(int width, int height) {
+		_setBuffer(allocate(width*height));
+		this.startIndex = 0;
+		this.stride = width;
+		this.width = width;
+		this.height = height;
+		this.imageType = (ImageType)ImageType.buffer(getClass());
+	}
+
+	protected ImageBuffer() {
+		this.imageType = (ImageType)ImageType.buffer(getClass());
+	}
+
+	/**
+	 * Makes this image a view into the provided buffer.  Pixels are read starting at the buffer's current position
+	 * and the byte order of the buffer is used.  No data is copied and changes to the buffer are visible in the image.
+	 *
+	 * @param buffer Buffer containing the pixels.  Must contain at least stride*(height-1)+width pixels after its position.
+	 * @param width Image's width.
+	 * @param height Image's height.
+	 * @param stride Number of pixels between the start of each row.  Must be &ge; width.
+	 */
+	public void wrap( ByteBuffer buffer , int width , int height , int stride ) {
+		if( stride < width )
+			throw new IllegalArgumentException("stride must be greater than or equal to the width");
+		int required = height == 0 ? 0 : ((height-1)*stride + width)*getBytesPerPixel();
+		if( buffer.remaining() < required )
+			throw new IllegalArgumentException("Buffer is too small. remaining = "+buffer.remaining()+" required = "+required);
+
+		_setBuffer(buffer.slice().order(buffer.order()));
+		this.startIndex = 0;
+		this.stride = stride;
+		this.width = width;
+		this.height = height;
+		this.subImage = false;
+	}
+
+	/**
+	 * Creates a rectangular sub-image from 'this' image.  The sub-image will share the same buffer.
+	 *
+	 * @see ImageSingleBand#subimage(int, int, int, int, ImageSingleBand)
+	 */
+	@Override
+	public T subimage(int x0, int y0, int x1, int y1, T subimage) {
+		if (x0 < 0 || y0 < 0)
+			throw new IllegalArgumentException("x0 or y0 is less than zero");
+		if (x1 < x0 || y1 < y0)
+			throw new IllegalArgumentException("x1 or y1 is less than x0 or y0 respectively");
+		if (x1 > width || y1 > height)
+			throw new IllegalArgumentException("x1 or y1 is more than the width or height respectively");
+
+		if( subimage == null ) {
+			subimage = _createNew(-1, -1);
+		}
+
+		if( subimage.buffer != buffer )
+			subimage._setBuffer(buffer);
+		subimage.stride = Math.max(width, stride);
+		subimage.width = x1 - x0;
+		subimage.height = y1 - y0;
+		subimage.startIndex = startIndex + y0 * stride + x0;
+		subimage.subImage = true;
+
+		return subimage;
+	}
+
+	/**
+	 * Changes the image's width and height.  If the buffer is not large enough a new direct buffer is declared.
+	 *
+	 * @param width The new width.
+	 * @param height The new height.
+	 */
+	@Override
+	public void reshape(int width, int height) {
+		if( isSubimage() )
+			throw new IllegalArgumentException("Can't reshape sub-images");
+
+		if( buffer == null || buffer.capacity() < width*height*getBytesPerPixel() ) {
+			_setBuffer(allocate(width*height));
+		}
+
+		this.startIndex = 0;
+		this.stride = width;
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Copies the pixels from 'orig' into this image, one row at a time.  Both images must have the same shape
+	 * and byte order.
+	 *
+	 * @param orig The original image whose value is to be copied into this one
+	 */
+	@Override
+	public void setTo(T orig) {
+		if (orig.width != width || orig.height != height)
+			throw new IllegalArgumentException("The width and/or height of 'orig' is not the same as this class");
+		if( orig.buffer.order() != buffer.order() )
+			throw new IllegalArgumentException("Byte order of the two images is not the same");
+
+		int bpp = getBytesPerPixel();
+		ByteBuffer src = orig.buffer.duplicate();
+		ByteBuffer dst = buffer.duplicate();
+
+		for (int y = 0; y < height; y++) {
+			int indexSrc = (orig.startIndex + y*orig.stride)*bpp;
+			int indexDst = (startIndex + y*stride)*bpp;
+			src.limit(indexSrc + width*bpp).position(indexSrc);
+			dst.position(indexDst);
+			dst.put(src);
+		}
+	}
+
+	/**
+	 * Number of bytes used to store each pixel
+	 */
+	public int getBytesPerPixel() {
+		return getDataType().getNumBits()/8;
+	}
+
+	/**
+	 * Declares a new direct buffer which can store the specified number of pixels
+	 */
+	protected ByteBuffer allocate( int numPixels ) {
+		return ByteBuffer.allocateDirect(numPixels*getBytesPerPixel()).order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Returns type of data stored in each pixel.
+	 */
+	public abstract ImageDataType getDataType();
+
+	/**
+	 * Sets the buffer which stores the pixels and updates any views of it.
+	 *
+	 * @param buffer The new buffer
+	 */
+	protected abstract void _setBuffer( ByteBuffer buffer );
+}
@@ -104,6 +104,12 @@ public enum ImageDataType {
 			return I8;
 		else if( imageClass == InterleavedI16.class )
 			return I16;
+		else if( imageClass == BufferU8.class )
+			return U8;
+		else if( imageClass == BufferS16.class )
+			return S16;
+		else if( imageClass == BufferF32.class )
+			return F32;
 		else
 			return null;
 	}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import java.io.Serializable;
+
+/**
+ * <p>
+ * Binary image where each pixel is stored as a single bit, 64 pixels to a long.  Uses 1/8 the memory of a binary
+ * {@link ImageUInt8} and allows operations to process 64 pixels at once using bitwise operators.
+ * </p>
+ *
+ * <p>
+ * Each row starts on a new word and is composed of 'stride' words.  Pixel (x,y) is bit x%64 in word
+ * data[y*stride + x/64], where bit 0 is the least significant bit.  Bits in the last word of a row which are
+ * past the image's width must always be zero.  Sub-images are not supported.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImagePackedBinary implements Serializable, Cloneable {
+
+	/**
+	 * Storage for the pixels.  Row-major order.
+	 */
+	public long data[];
+
+	/**
+	 * Number of words in each row
+	 */
+	public int stride;
+
+	/**
+	 * Number of columns in the image.
+	 */
+	public int width;
+
+	/**
+	 * Number of rows in the image.
+	 */
+	public int height;
+
+	/**
+	 * Creates a new binary image.  All pixels are zero.
+	 *
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 */
+	public ImagePackedBinary(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.stride = wordsPerRow(width);
+		this.data = new long[stride*height];
+	}
+
+	public ImagePackedBinary() {
+		data = new long[0];
+	}
+
+	/**
+	 * Number of words needed to store a row with the specified number of pixels
+	 */
+	public static int wordsPerRow( int width ) {
+		return (width+63)/64;
+	}
+
+	/**
+	 * Changes the image's shape.  The data array is only declared again if it is too small.  Pixel values after
+	 * this function are undefined.
+	 */
+	public void reshape(int width, int height) {
+		int stride = wordsPerRow(width);
+		if( data.length < stride*height ) {
+			data = new long[stride*height];
+		}
+		this.width = width;
+		this.height = height;
+		this.stride = stride;
+	}
+
+	/**
+	 * Sets this image to be identical to 'orig'.  Reshapes if needed.
+	 */
+	public void setTo( ImagePackedBinary orig ) {
+		reshape(orig.width,orig.height);
+		System.arraycopy(orig.data,0,data,0,stride*height);
+	}
+
+	/**
+	 * Mask for the bits in the last word of each row which are inside the image
+	 */
+	public long getLastWordMask() {
+		int extra = width % 64;
+		return extra == 0 ? ~0L : (1L << extra) - 1;
+	}
+
+	public final boolean isInBounds(int x, int y) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Returns the value of the specified pixel, either 0 or 1.
+	 */
+	public int get(int x, int y) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		return unsafe_get(x,y);
+	}
+
+	public int unsafe_get(int x, int y) {
+		return (int)(data[y*stride + (x >> 6)] >>> (x & 63)) & 0x01;
+	}
+
+	/**
+	 * Sets the value of the specified pixel.  Any value which is not zero is treated as one.
+	 */
+	public void set(int x, int y, int value) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		unsafe_set(x,y,value);
+	}
+
+	public void unsafe_set(int x, int y, int value) {
+		int index = y*stride + (x >> 6);
+		long bit = 1L << (x & 63);
+		if( value != 0 )
+			data[index] |= bit;
+		else
+			data[index] &= ~bit;
+	}
+
+	public final int getWidth() {
+		return width;
+	}
+
+	public final int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Creates an identical image.
+	 *
+	 * @return Clone of this image.
+	 */
+	@SuppressWarnings({"CloneDoesntDeclareCloneNotSupportedException", "CloneDoesntCallSuperClone"})
+	@Override
+	public ImagePackedBinary clone() {
+		ImagePackedBinary ret = new ImagePackedBinary(width,height);
+		ret.setTo(this);
+		return ret;
+	}
+}
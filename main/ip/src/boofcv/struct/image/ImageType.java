@@ -60,6 +60,10 @@ public class ImageType<T extends ImageBase> {
 		return new ImageType<I>(Family.INTERLEAVED, ImageDataType.classToType(imageType),numBands);
 	}
 
+	public static <I extends ImageBuffer> ImageType<I> buffer( Class<I> imageType ) {
+		return new ImageType<I>(Family.BUFFER, ImageDataType.classToType(imageType),1);
+	}
+
 	public ImageDataType getDataType() {
 		return dataType;
 	}
@@ -82,6 +86,14 @@ public class ImageType<T extends ImageBase> {
 			case MULTI_SPECTRAL:
 				return (T)new MultiSpectral(getImageClass(),width,height,numBands);
 
+			case BUFFER:
+				switch( dataType ) {
+					case U8: return (T)new BufferU8(width,height);
+					case S16: return (T)new BufferS16(width,height);
+					case F32: return (T)new BufferF32(width,height);
+				}
+				throw new IllegalArgumentException("Type not yet supported");
+
 			default:
 				throw new IllegalArgumentException("Type not yet supported");
 		}
@@ -150,6 +162,14 @@ public class ImageType<T extends ImageBase> {
 					case I16: return InterleavedI16.class;
 				}
 				break;
+
+			case BUFFER:
+				switch( dataType ) {
+					case U8: return BufferU8.class;
+					case S16: return BufferS16.class;
+					case F32: return BufferF32.class;
+				}
+				break;
 		}
 		throw new RuntimeException("Support this image type thing");
 	}
@@ -163,6 +183,7 @@ public class ImageType<T extends ImageBase> {
 	{
 		SINGLE_BAND,
 		MULTI_SPECTRAL,
-		INTERLEAVED
+		INTERLEAVED,
+		BUFFER
 	}
 }
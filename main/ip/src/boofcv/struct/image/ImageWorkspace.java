@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Pool of images which can be borrowed and then returned, so that intermediate images can be reused instead of
+ * being declared each time an operation is called.  Images are organized by their {@link ImageType} and shape.
+ * If an image of the requested type and shape is not available a new one is declared.
+ * </p>
+ *
+ * <p>
+ * Counters keep track of how many images have been declared, borrowed, and recycled.  After a processing
+ * pipeline has reached steady state the number of allocations should no longer change, which can be checked
+ * using {@link #getAllocations()}.
+ * </p>
+ *
+ * <p>
+ * All functions are thread safe.  Sub-images can't be recycled since they don't own their data.  The contents of a
+ * borrowed image are undefined.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class ImageWorkspace {
+
+	// images which are available, organized by type and shape
+	private Map<Key,List<ImageBase>> available = new HashMap<Key,List<ImageBase>>();
+
+	// used to look up images without declaring a new key each time
+	private Key lookup = new Key();
+
+	// number of images declared by the workspace
+	private int allocations;
+	// number of times an image has been borrowed
+	private int borrowed;
+	// number of times an image has been recycled
+	private int recycled;
+
+	/**
+	 * Borrows an image of the specified type and shape.  A new image is declared if none are available.
+	 *
+	 * @param type Type of image
+	 * @param width Image width
+	 * @param height Image height
+	 * @return An image which must be returned with {@link #recycle} once it is no longer needed.
+	 */
+	public synchronized <T extends ImageBase> T borrow( ImageType<T> type , int width , int height ) {
+		borrowed++;
+
+		lookup.set(type,width,height);
+		List<ImageBase> list = available.get(lookup);
+		if( list != null && list.size() > 0 ) {
+			return (T)list.remove(list.size()-1);
+		}
+
+		allocations++;
+		return type.createImage(width,height);
+	}
+
+	/**
+	 * Borrows a single band image of the specified type and shape.
+	 *
+	 * @see #borrow(ImageType, int, int)
+	 */
+	public <T extends ImageSingleBand> T borrow( Class<T> type , int width , int height ) {
+		return borrow(ImageType.single(type),width,height);
+	}
+
+	/**
+	 * Borrows an image which has the same type and shape as the provided image.
+	 *
+	 * @see #borrow(ImageType, int, int)
+	 */
+	public <T extends ImageBase> T borrowLike( T image ) {
+		return borrow((ImageType<T>)image.getImageType(),image.width,image.height);
+	}
+
+	/**
+	 * Returns an image to the workspace so that it can be borrowed again.  The image should not be
+	 * used after being recycled.  Images which were not declared by the workspace can also be added.  Recycling
+	 * an image which is already in the workspace is an error, since it could then be lent out twice at once.
+	 *
+	 * @param image The image being returned.  If null nothing happens.
+	 */
+	public synchronized void recycle( ImageBase image ) {
+		if( image == null )
+			return;
+		if( image.isSubimage() )
+			throw new IllegalArgumentException("Sub-images can't be recycled");
+
+		lookup.set(image.getImageType(),image.width,image.height);
+		List<ImageBase> list = available.get(lookup);
+		if( list == null ) {
+			list = new ArrayList<ImageBase>();
+			available.put(lookup.copy(),list);
+		} else {
+			// compare by reference since ImageBase doesn't override equals()
+			for( int i = 0; i < list.size(); i++ ) {
+				if( list.get(i) == image )
+					throw new IllegalArgumentException("The image has already been recycled");
+			}
+		}
+		recycled++;
+		list.add(image);
+	}
+
+	/**
+	 * Recycles several images at once.
+	 *
+	 * @param images Images being returned.  Null elements are skipped.
+	 */
+	public void recycle( ImageBase ...images ) {
+		for( ImageBase image : images )
+			recycle(image);
+	}
+
+	/**
+	 * Discards all the available images.
+	 */
+	public synchronized void clear() {
+		available.clear();
+	}
+
+	/**
+	 * Sets all the counters to zero.
+	 */
+	public synchronized void resetCounters() {
+		allocations = 0;
+		borrowed = 0;
+		recycled = 0;
+	}
+
+	/**
+	 * Number of images which have been declared because no suitable image was available
+	 */
+	public synchronized int getAllocations() {
+		return allocations;
+	}
+
+	/**
+	 * Number of times an image has been borrowed
+	 */
+	public synchronized int getBorrowed() {
+		return borrowed;
+	}
+
+	/**
+	 * Number of times an image has been recycled
+	 */
+	public synchronized int getRecycled() {
+		return recycled;
+	}
+
+	/**
+	 * Number of images which are currently available to be borrowed
+	 */
+	public synchronized int getAvailable() {
+		int total = 0;
+		for( List<ImageBase> list : available.values() )
+			total += list.size();
+		return total;
+	}
+
+	/**
+	 * Image type and shape
+	 */
+	private static class Key {
+		ImageType.Family family;
+		ImageDataType dataType;
+		int numBands;
+		int width;
+		int height;
+
+		public void set( ImageType type , int width , int height ) {
+			this.family = type.getFamily();
+			this.dataType = type.getDataType();
+			this.numBands = type.getNumBands();
+			this.width = width;
+			this.height = height;
+		}
+
+		public Key copy() {
+			Key k = new Key();
+			k.family = family;
+			k.dataType = dataType;
+			k.numBands = numBands;
+			k.width = width;
+			k.height = height;
+			return k;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			Key k = (Key)o;
+			return family == k.family && dataType == k.dataType && numBands == k.numBands &&
+					width == k.width && height == k.height;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = family.hashCode();
+			result = 31*result + dataType.hashCode();
+			result = 31*result + numBands;
+			result = 31*result + width;
+			result = 31*result + height;
+			return result;
+		}
+	}
+}
@@ -20,7 +20,9 @@ package boofcv.struct.pyramid;
 
 import boofcv.core.image.ImageGenerator;
 import boofcv.core.image.inst.FactoryImageGenerator;
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageWorkspace;
 
 /**
  * <p>
@@ -35,6 +37,14 @@ import boofcv.struct.image.ImageSingleBand;
  * to true.
  * </p>
  *
+ * <p>
+ * Lazy Evaluation: If lazy is set to true then process() only saves a reference to the input image and
+ * a layer is computed the first time it is requested by {@link #getLayer(int)} for the current input image.
+ * Sparse consumers which only use a few layers, or only part of a layer with
+ * {@link #getLayer(int, int, int, int, int)}, avoid computing the rest of the pyramid.  The input image must
+ * not be modified until the pyramid is processed again.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -54,6 +64,16 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 	// creates new images
 	protected ImageGenerator<T> generator;
 
+	// (Optional) if not null then layers are borrowed from and recycled into this workspace
+	protected ImageWorkspace workspace;
+
+	// if true then a layer is only computed when it is requested
+	protected boolean lazy = false;
+	// Image which layers are computed from.  If null then all the layers are up to date.
+	protected T input;
+	// region inside each layer which has been computed for the current input image
+	protected ImageRectangle computed[] = new ImageRectangle[0];
+
 	/**
 	 * Specifies input image size and behavior of top most layer.
 	 *
@@ -77,6 +97,8 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 		if( bottomWidth == width && bottomHeight == height )
 			return;
 
+		recycleLayers();
+
 		this.bottomWidth = width;
 		this.bottomHeight = height;
 		layers = generator.createArray(getNumLayers());
@@ -84,18 +106,83 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 
 		if (scaleFactor == 1) {
 			if (!saveOriginalReference) {
-				layers[0] = generator.createInstance(bottomWidth, bottomHeight);
+				layers[0] = createLayer(bottomWidth, bottomHeight);
 			}
 		} else {
-			layers[0] = generator.createInstance((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+			layers[0] = createLayer((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
 		}
 
 		for (int i = 1; i < layers.length; i++) {
 			scaleFactor = getScale(i);
-			layers[i] = generator.createInstance((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+			layers[i] = createLayer((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+		}
+	}
+
+	/**
+	 * Declares a new layer or borrows one from the workspace, if one has been specified
+	 */
+	private T createLayer( int width , int height ) {
+		if( workspace == null )
+			return generator.createInstance(width,height);
+		else
+			return workspace.borrow(generator.getType(),width,height);
+	}
+
+	/**
+	 * Returns the layers which it owns to the workspace.  A layer which references the input image is not returned.
+	 */
+	private void recycleLayers() {
+		if( workspace == null || layers == null )
+			return;
+
+		int start = saveOriginalReference && getScale(0) == 1 ? 1 : 0;
+		for( int i = start; i < layers.length; i++ ) {
+			workspace.recycle(layers[i]);
+			layers[i] = null;
 		}
 	}
 
+	/**
+	 * Specifies the image which the layers are computed from and marks all the layers as out of date.  If the
+	 * pyramid is not lazy then all the layers are computed immediately.  Should be called by process() after
+	 * the pyramid has been initialized.
+	 *
+	 * @param input The input image
+	 */
+	protected void setInput( T input ) {
+		if( computed.length != layers.length ) {
+			computed = new ImageRectangle[ layers.length ];
+			for( int i = 0; i < layers.length; i++ )
+				computed[i] = new ImageRectangle();
+		}
+		for( int i = 0; i < layers.length; i++ )
+			computed[i].set(0,0,0,0);
+
+		if( saveOriginalReference && getScale(0) == 1 ) {
+			layers[0] = input;
+			computed[0].set(0,0,input.width,input.height);
+		}
+
+		this.input = input;
+		if( !lazy ) {
+			for( int i = 0; i < layers.length; i++ )
+				getLayer(i);
+			// don't hold on to the input image since all the layers have been computed
+			this.input = null;
+		}
+	}
+
+	/**
+	 * Computes a region inside of a layer from the input image or the previous layer.  The previous layer
+	 * should be accessed with {@link #getLayer(int, int, int, int, int)} so that only the region which is needed
+	 * is computed.
+	 *
+	 * @param layer Which layer is to be computed.
+	 * @param region (Input/Output) The region which is to be computed.  If more is computed then it should be
+	 *               expanded to include the extra pixels.
+	 */
+	protected abstract void computeLayer( int layer , ImageRectangle region );
+
 	/**
 	 * Used to internally check that the provided scales are valid.
 	 */
@@ -116,13 +203,78 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 	@Override
 	public void setTo(ImagePyramid<T> input) {
 		for( int i = 0; i < layers.length; i++ ) {
-			getLayer(i).setTo(input.getLayer(i));
+			layers[i].setTo(input.getLayer(i));
 		}
+		// every layer is now up to date
+		this.input = null;
 	}
 
 	@Override
 	public T getLayer(int layerNum) {
-		return layers[layerNum];
+		T layer = layers[layerNum];
+		if( input != null )
+			getLayer(layerNum,0,0,layer.width,layer.height);
+		return layer;
+	}
+
+	/**
+	 * Returns a layer in which the pixels inside the specified region are up to date.  Pixels outside of the
+	 * region are only up to date if they were previously requested.  If the pyramid is not lazy then this is
+	 * the same as {@link #getLayer(int)}.
+	 *
+	 * @param layerNum Which layer is to be returned.
+	 * @param x0 Lower extent of the region along the x-axis, inclusive.
+	 * @param y0 Lower extent of the region along the y-axis, inclusive.
+	 * @param x1 Upper extent of the region along the x-axis, exclusive.
+	 * @param y1 Upper extent of the region along the y-axis, exclusive.
+	 * @return The image in the pyramid.
+	 */
+	public T getLayer( int layerNum , int x0 , int y0 , int x1 , int y1 ) {
+		T layer = layers[layerNum];
+		if( input == null )
+			return layer;
+
+		if( x0 < 0 ) x0 = 0;
+		if( y0 < 0 ) y0 = 0;
+		if( x1 > layer.width ) x1 = layer.width;
+		if( y1 > layer.height ) y1 = layer.height;
+		if( x0 >= x1 || y0 >= y1 )
+			return layer;
+
+		ImageRectangle c = computed[layerNum];
+		if( c.x0 <= x0 && c.y0 <= y0 && c.x1 >= x1 && c.y1 >= y1 )
+			return layer;
+
+		// the computed region is stored as a single rectangle, so it must contain what was already computed
+		if( c.x0 < c.x1 && c.y0 < c.y1 ) {
+			x0 = Math.min(x0,c.x0); y0 = Math.min(y0,c.y0);
+			x1 = Math.max(x1,c.x1); y1 = Math.max(y1,c.y1);
+		}
+		c.set(x0,y0,x1,y1);
+		computeLayer(layerNum,c);
+
+		return layer;
+	}
+
+	/**
+	 * Returns true if the entire layer is up to date with the most recently processed input image.
+	 *
+	 * @param layerNum Which layer is being inspected.
+	 */
+	public boolean isLayerComputed( int layerNum ) {
+		if( input == null )
+			return true;
+
+		ImageRectangle c = computed[layerNum];
+		T layer = layers[layerNum];
+		return c.x0 == 0 && c.y0 == 0 && c.x1 == layer.width && c.y1 == layer.height;
+	}
+
+	/**
+	 * Returns the input image which layers are lazily computed from.  Null if all the layers are up to date.
+	 */
+	public T getInput() {
+		return input;
 	}
 
 	public void setFirstLayer(T image) {
@@ -158,7 +310,34 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 		return bottomHeight;
 	}
 
+	public ImageWorkspace getWorkspace() {
+		return workspace;
+	}
+
+	/**
+	 * Specifies a workspace which layers are borrowed from.  When the input image changes shape the old
+	 * layers are recycled into the workspace instead of being discarded.
+	 *
+	 * @param workspace The workspace.  If null then layers are declared directly.
+	 */
+	public void setWorkspace(ImageWorkspace workspace) {
+		this.workspace = workspace;
+	}
+
 	public boolean isSaveOriginalReference() {
 		return saveOriginalReference;
 	}
+
+	public boolean isLazy() {
+		return lazy;
+	}
+
+	/**
+	 * Specifies if layers are computed when process() is called or the first time they are requested.
+	 *
+	 * @param lazy true for lazy evaluation
+	 */
+	public void setLazy(boolean lazy) {
+		this.lazy = lazy;
+	}
 }
@@ -92,6 +92,8 @@ public class BoofTesting {
 			return (T)createSubImageOf_MS((MultiSpectral) input);
 		} else if( input instanceof ImageInterleaved ) {
 			return (T)createSubImageOf_I((ImageInterleaved) input);
+		} else if( input instanceof ImageBuffer ) {
+			return (T)createSubImageOf_B((ImageBuffer) input);
 		} else {
 			throw new IllegalArgumentException("Add support for this image type");
 		}
@@ -119,6 +121,17 @@ public class BoofTesting {
 		return ret;
 	}
 
+	public static <T extends ImageBuffer> T createSubImageOf_B(T input) {
+		// create the larger image
+		T ret = (T) input._createNew(input.width + 10, input.height + 12);
+		// create a sub-image of the inner portion
+		ret = (T) ret.subimage(5, 7, input.width + 5, input.height + 7, null);
+		// copy input image into the subimage
+		ret.setTo(input);
+
+		return ret;
+	}
+
 	public static <T extends MultiSpectral> T createSubImageOf_MS(T input) {
 		T ret = (T)new MultiSpectral(input.type,input.width,input.height,input.getNumBands());
 
@@ -414,6 +427,35 @@ public class BoofTesting {
 		return total;
 	}
 
+	/**
+	 * Copies a single band of an interleaved image into a single band image.  Used to compare
+	 * algorithms for interleaved images against their single band equivalent.
+	 */
+	public static <T extends ImageSingleBand> T extractBand(ImageInterleaved input, int band, Class<T> type) {
+		T output = GeneralizedImageOps.createSingleBand(type, input.width, input.height);
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				GeneralizedImageOps.set(output, x, y, GeneralizedImageOps.get(input, x, y, band));
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Checks to see if a band in an interleaved image is equal to a single band image.
+	 */
+	public static void assertEqualsBand(ImageSingleBand expected, ImageInterleaved found, int band, double tol) {
+		for( int y = 0; y < expected.height; y++ ) {
+			for( int x = 0; x < expected.width; x++ ) {
+				double valA = GeneralizedImageOps.get(expected, x, y);
+				double valB = GeneralizedImageOps.get(found, x, y, band);
+
+				if( Math.abs(valA - valB) > tol )
+					throw new RuntimeException("Values not equal at ("+x+","+y+","+band+") "+valA+"  "+valB);
+			}
+		}
+	}
+
 	public static void assertEquals(double a[], double b[], double tol) {
 		for (int i = 0; i < a.length; i++) {
 			double diff = Math.abs(a[i] - b[i]);
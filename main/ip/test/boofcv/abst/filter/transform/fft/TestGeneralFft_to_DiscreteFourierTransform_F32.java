@@ -20,8 +20,12 @@ package boofcv.abst.filter.transform.fft;
 
 import boofcv.abst.transform.fft.DiscreteFourierTransform;
 import boofcv.abst.transform.fft.GeneralFft_to_DiscreteFourierTransform_F32;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.InterleavedF32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
 
 /**
  * @author Peter Abeles
@@ -47,4 +51,38 @@ public class TestGeneralFft_to_DiscreteFourierTransform_F32
 	public InterleavedF32 createTransform(int width, int height) {
 		return new InterleavedF32(width,height,2);
 	}
+
+	/**
+	 * The multi-threaded code path should produce the same results as the single threaded one
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 input = createImage(35,42);
+		ImageMiscOps.fillUniform(input,rand,-20,20);
+
+		InterleavedF32 expected = createTransform(35,42);
+		InterleavedF32 found = createTransform(35,42);
+		ImageFloat32 inverseExpected = createImage(35,42);
+		ImageFloat32 inverseFound = createImage(35,42);
+
+		DiscreteFourierTransform<ImageFloat32,InterleavedF32> alg = createAlgorithm();
+
+		Boolean previous = BoofConcurrency.override(false);
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			alg.forward(input,expected);
+			alg.inverse(expected,inverseExpected);
+
+			BoofConcurrency.override(true);
+			alg.forward(input,found);
+			alg.inverse(found,inverseFound);
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+
+		BoofTesting.assertEquals(expected,found,1e-2);
+		BoofTesting.assertEquals(inverseExpected,inverseFound,1e-2);
+	}
 }
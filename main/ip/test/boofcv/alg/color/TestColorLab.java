@@ -19,9 +19,11 @@
 package boofcv.alg.color;
 
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -93,4 +95,28 @@ public class TestColorLab {
 		}
 	}
 
+	/**
+	 * Splitting the rows across threads should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		MultiSpectral<ImageUInt8> input = new MultiSpectral<ImageUInt8>(ImageUInt8.class,30,70,3);
+		MultiSpectral<ImageFloat32> expected = new MultiSpectral<ImageFloat32>(ImageFloat32.class,30,70,3);
+		MultiSpectral<ImageFloat32> found = new MultiSpectral<ImageFloat32>(ImageFloat32.class,30,70,3);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		ColorLab.rgbToLab_U8(input, expected);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			ColorLab.rgbToLab_U8(input, found);
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
 }
@@ -158,6 +158,32 @@ public class TestColorYuv {
 		}
 	}
 
+	@Test
+	public void rgbToYCbCr_U8_MultiSpectral() {
+		MultiSpectral<ImageUInt8> rgb = new MultiSpectral<ImageUInt8>(ImageUInt8.class,10,15,3);
+		MultiSpectral<ImageUInt8> yuv = new MultiSpectral<ImageUInt8>(ImageUInt8.class,10,15,3);
+
+		GImageMiscOps.fillUniform(rgb, rand, 0, 255);
+
+		ColorYuv.rgbToYCbCr_U8(rgb, yuv);
+
+		byte []expected = new byte[3];
+
+		for( int y = 0; y < yuv.height; y++ ) {
+			for( int x = 0; x < yuv.width; x++ ) {
+				int r = rgb.getBand(0).get(x,y);
+				int g = rgb.getBand(1).get(x,y);
+				int b = rgb.getBand(2).get(x,y);
+
+				ColorYuv.rgbToYCbCr(r,g,b,expected);
+
+				assertEquals(expected[0]&0xFF,yuv.getBand(0).get(x,y));
+				assertEquals(expected[1]&0xFF,yuv.getBand(1).get(x,y));
+				assertEquals(expected[2]&0xFF,yuv.getBand(2).get(x,y));
+			}
+		}
+	}
+
 
 	private static void check( double found[] , double a , double b , double c ) {
 		double tol = TestColorYuv.tol * Math.max(Math.max(a,b),c);
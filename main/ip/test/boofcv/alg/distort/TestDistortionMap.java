@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.distort;
+
+import boofcv.struct.distort.PixelTransform_F32;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDistortionMap {
+
+	int width = 70;
+	int height = 45;
+
+	@Test
+	public void floatMap() {
+		DistortionMap alg = new DistortionMap(width,height,new Transform(),false,16);
+		assertFalse(alg.isFixedPoint());
+		alg.computeAll();
+
+		Transform expected = new Transform();
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				expected.compute(x,y);
+				assertEquals(expected.distX, alg.getX(y*width+x), 0);
+				assertEquals(expected.distY, alg.getY(y*width+x), 0);
+			}
+		}
+	}
+
+	@Test
+	public void fixedMap() {
+		DistortionMap alg = new DistortionMap(width,height,new Transform(),true,16);
+		assertTrue(alg.isFixedPoint());
+		alg.computeAll();
+
+		Transform expected = new Transform();
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				expected.compute(x,y);
+				int index = y*width+x;
+				assertEquals(expected.distX, alg.getX(index), 1.0/DistortionMap.FIXED_ONE);
+				assertEquals(expected.distY, alg.getY(index), 1.0/DistortionMap.FIXED_ONE);
+				assertEquals(alg.getFixedX(index)/(float)DistortionMap.FIXED_ONE, alg.getX(index), 0);
+			}
+		}
+	}
+
+	@Test
+	public void toFixed() {
+		assertEquals(DistortionMap.FIXED_ONE*3/2, DistortionMap.toFixed(1.5f));
+		assertEquals(-DistortionMap.FIXED_ONE*3/2, DistortionMap.toFixed(-1.5f));
+		// negative numbers should round down when the fractional part is removed
+		assertEquals(-2, DistortionMap.toFixed(-1.5f) >> DistortionMap.FIXED_SHIFT);
+
+		// saturate
+		assertEquals(Short.MAX_VALUE*DistortionMap.FIXED_ONE, DistortionMap.toFixed(1e10f));
+		assertEquals(-Short.MAX_VALUE*DistortionMap.FIXED_ONE, DistortionMap.toFixed(-1e10f));
+		assertEquals(-Short.MAX_VALUE*DistortionMap.FIXED_ONE, DistortionMap.toFixed(Float.NaN));
+	}
+
+	/**
+	 * Only tiles which intersect the requested region should be computed
+	 */
+	@Test
+	public void computeRegion_lazy() {
+		Transform tran = new Transform();
+		DistortionMap alg = new DistortionMap(width,height,tran,false,16);
+
+		alg.computeRegion(20,10,33,17);
+		for( int ty = 0; ty < 3; ty++ ) {
+			for( int tx = 0; tx < 5; tx++ ) {
+				boolean expected = (tx == 1 || tx == 2) && ty == 0 || (tx == 1 || tx == 2) && ty == 1;
+				assertEquals(expected, alg.isComputed(tx,ty));
+			}
+		}
+		assertEquals(4*16*16, tran.count);
+
+		// nothing new should be computed
+		alg.computeRegion(20,10,33,17);
+		assertEquals(4*16*16, tran.count);
+
+		// tiles along the border are smaller
+		alg.computeRegion(width-1,height-1,width,height);
+		assertTrue(alg.isComputed(4,2));
+		assertEquals(4*16*16 + 6*13, tran.count);
+	}
+
+	/**
+	 * Several threads requesting the map at once should compute each pixel exactly once
+	 */
+	@Test
+	public void concurrentAccess() throws InterruptedException {
+		final Transform tran = new Transform();
+		final DistortionMap alg = new DistortionMap(width,height,tran,false,8);
+
+		Thread threads[] = new Thread[4];
+		for( int i = 0; i < threads.length; i++ ) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					alg.computeAll();
+				}
+			};
+			threads[i].start();
+		}
+		for( Thread t : threads )
+			t.join();
+
+		assertEquals(width*height, tran.count);
+	}
+
+	private static class Transform extends PixelTransform_F32 {
+		int count = 0;
+
+		@Override
+		public void compute(int x, int y) {
+			count++;
+			distX = x*0.9f - 0.3f*y + 1.25f;
+			distY = y*1.1f + 0.1f*x - 2.5f;
+		}
+	}
+}
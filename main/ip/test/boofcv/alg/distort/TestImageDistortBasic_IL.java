@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.distort;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.distort.PixelTransform_F32;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import georegression.struct.affine.Affine2D_F32;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageDistortBasic_IL {
+
+	Random rand = new Random(234);
+
+	int width = 30;
+	int height = 40;
+	int numBands = 3;
+
+	// part of the distorted image is outside the source image
+	PixelTransform_F32 tran = new PixelTransformAffine_F32(new Affine2D_F32(0.9f,0.1f,-0.05f,1.1f,-2.5f,3.2f));
+
+	/**
+	 * Each band should be the same as distorting the single band image
+	 */
+	@Test
+	public void compareToSingleBand_F32() {
+		InterleavedF32 src = new InterleavedF32(width,height,numBands);
+		InterleavedF32 dst = new InterleavedF32(width,height,numBands);
+		GImageMiscOps.fillUniform(src, rand, 0, 100);
+
+		ImageDistort<InterleavedF32> alg = FactoryDistort.distortIL(
+				FactoryInterpolation.bilinearPixelMB(InterleavedF32.class), null, InterleavedF32.class);
+		alg.setModel(tran);
+		alg.apply(src, dst);
+
+		ImageDistort<ImageFloat32> expectedAlg = FactoryDistort.distort(
+				FactoryInterpolation.bilinearPixelS(ImageFloat32.class), null, ImageFloat32.class);
+		expectedAlg.setModel(tran);
+
+		for( int band = 0; band < numBands; band++ ) {
+			ImageFloat32 expected = new ImageFloat32(width,height);
+			expectedAlg.apply(BoofTesting.extractBand(src, band, ImageFloat32.class), expected);
+			BoofTesting.assertEqualsBand(expected, dst, band, 1e-4);
+		}
+	}
+
+	@Test
+	public void compareToSingleBand_U8() {
+		InterleavedU8 src = new InterleavedU8(width,height,numBands);
+		InterleavedU8 dst = new InterleavedU8(width,height,numBands);
+		GImageMiscOps.fillUniform(src, rand, 0, 100);
+
+		ImageDistort<InterleavedU8> alg = FactoryDistort.distortIL(
+				FactoryInterpolation.bilinearPixelMB(InterleavedU8.class), null, InterleavedU8.class);
+		alg.setModel(tran);
+		alg.apply(src, dst, 2, 3, 25, 31);
+
+		ImageDistort<ImageUInt8> expectedAlg = FactoryDistort.distort(
+				FactoryInterpolation.bilinearPixelS(ImageUInt8.class), null, ImageUInt8.class);
+		expectedAlg.setModel(tran);
+
+		for( int band = 0; band < numBands; band++ ) {
+			ImageUInt8 expected = new ImageUInt8(width,height);
+			expectedAlg.apply(BoofTesting.extractBand(src, band, ImageUInt8.class), expected, 2, 3, 25, 31);
+			BoofTesting.assertEqualsBand(expected, dst, band, 0);
+		}
+	}
+
+	/**
+	 * Pixels which map outside the source image should be assigned the outside value
+	 */
+	@Test
+	public void outsideValue() {
+		InterleavedF32 src = new InterleavedF32(width,height,numBands);
+		InterleavedF32 dst = new InterleavedF32(width,height,numBands);
+		GImageMiscOps.fillUniform(src, rand, 0, 100);
+
+		float[] outside = new float[]{-1,-2,-3};
+		ImageDistort<InterleavedF32> alg = FactoryDistort.distortIL(
+				FactoryInterpolation.bilinearPixelMB(InterleavedF32.class), outside, InterleavedF32.class);
+		alg.setModel(tran);
+		alg.apply(src, dst);
+
+		int numOutside = 0;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				tran.compute(x, y);
+				if( tran.distX < 0 || tran.distY < 0 || tran.distX > width-1 || tran.distY > height-1 ) {
+					numOutside++;
+					for( int band = 0; band < numBands; band++ )
+						assertEquals(outside[band], dst.getBand(x, y, band), 1e-8);
+				}
+			}
+		}
+		// sanity check the test
+		assertEquals(true, numOutside > 0);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void checkNumBands() {
+		ImageDistort<InterleavedF32> alg = FactoryDistort.distortIL(
+				FactoryInterpolation.bilinearPixelMB(InterleavedF32.class), null, InterleavedF32.class);
+		alg.setModel(tran);
+		alg.apply(new InterleavedF32(width,height,3), new InterleavedF32(width,height,2));
+	}
+}
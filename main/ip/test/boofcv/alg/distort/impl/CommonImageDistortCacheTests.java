@@ -23,6 +23,7 @@ import boofcv.alg.distort.ImageDistortCache;
 import boofcv.alg.distort.PixelTransformAffine_F32;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.core.image.border.ImageBorder;
@@ -96,6 +97,77 @@ public abstract class CommonImageDistortCacheTests<T extends ImageSingleBand> {
 		BoofTesting.assertEquals(dst0, dst1, 1e-4);
 	}
 	
+	/**
+	 * Splitting the rows across threads should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			// most of the destination image is inside the source image
+			PixelTransformAffine_F32 tran = new PixelTransformAffine_F32(new Affine2D_F32(0.9f,0.1f,-0.05f,1.1f,5,-20));
+			for( ImageBorder<T> b : new ImageBorder[]{border,null}) {
+				// use an interpolation algorithm which is not thread safe
+				InterpolatePixelS<T> interp = FactoryInterpolation.polynomialS(4, 0, 255, imageType);
+				ImageDistort<T> standard = FactoryDistort.distort(interp.copy(),b,imageType);
+				ImageDistortCache<T> alg = create(interp,b,imageType);
+
+				standard.setModel(tran);
+				alg.setModel(tran);
+
+				GImageMiscOps.fill(dst0,3);
+				GImageMiscOps.fill(dst1,3);
+				standard.apply(src,dst0,5,7,180,290);
+				alg.apply(src,dst1,5,7,180,290);
+
+				BoofTesting.assertEquals(dst0, dst1, 1e-4);
+			}
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	/**
+	 * Two instances which share the same map should produce identical results
+	 */
+	@Test
+	public void sharedMap() {
+		ImageDistort<T> standard = FactoryDistort.distort(interp,border,imageType);
+		standard.setModel(tran);
+		standard.apply(src,dst0);
+
+		ImageDistortCache<T> algA = create(interp,border,imageType);
+		algA.setModel(tran);
+		algA.apply(src,dst1,0,0,50,50);
+
+		ImageDistortCache<T> algB = create(FactoryInterpolation.bilinearPixelS(imageType),border,imageType);
+		algB.setMap(algA.getMap());
+		algB.apply(src,dst1);
+
+		BoofTesting.assertEquals(dst0, dst1, 1e-4);
+	}
+
+	/**
+	 * Fixed point maps should produce nearly the same results
+	 */
+	@Test
+	public void fixedPoint() {
+		ImageDistort<T> standard = FactoryDistort.distort(interp,border,imageType);
+		ImageDistortCache<T> alg = create(interp,border,imageType);
+		alg.setFixedPoint(true);
+
+		standard.setModel(tran);
+		alg.setModel(tran);
+
+		standard.apply(src,dst0);
+		alg.apply(src,dst1);
+
+		BoofTesting.assertEquals(dst0, dst1, 1);
+	}
+
 	public abstract ImageDistortCache<T> 
 	create(InterpolatePixelS<T> interp, ImageBorder<T> border , Class<T> imageType );
 }
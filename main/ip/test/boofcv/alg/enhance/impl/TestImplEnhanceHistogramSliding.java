@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.enhance.impl;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageInteger;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplEnhanceHistogramSliding {
+
+	Random rand = new Random(234);
+
+	int width = 45;
+	int height = 40;
+
+	@Test
+	public void compareToNaive_U8() {
+		compareToNaive(ImageUInt8.class, 256, 256);
+		// fewer bins than possible values, which will change the output's range
+		compareToNaive(ImageUInt8.class, 10, 10);
+	}
+
+	@Test
+	public void compareToNaive_U16() {
+		compareToNaive(ImageUInt16.class, 1000, 1000);
+		compareToNaive(ImageUInt16.class, 10, 10);
+	}
+
+	private void compareToNaive( Class imageType , int maxPixelValue , int numBins ) {
+		ImageInteger input = (ImageInteger)GeneralizedImageOps.createSingleBand(imageType, width, height);
+		ImageInteger found = (ImageInteger)GeneralizedImageOps.createSingleBand(imageType, width, height);
+		ImageInteger expected = (ImageInteger)GeneralizedImageOps.createSingleBand(imageType, width, height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, maxPixelValue);
+
+		int histogram[] = new int[numBins];
+
+		for( int radius = 1; radius <= 19; radius += 3 ) {
+			BoofTesting.callStaticMethod(ImplEnhanceHistogram.class, "equalizeLocalNaive", input, radius, expected, histogram);
+			BoofTesting.checkSubImage(this, "compare", true, input, radius, numBins, found, expected);
+		}
+	}
+
+	public void compare( ImageInteger input , int radius , int numBins , ImageInteger found , ImageInteger expected ) {
+		if( input instanceof ImageUInt8 )
+			ImplEnhanceHistogramSliding.equalizeLocal((ImageUInt8)input, radius, (ImageUInt8)found, numBins);
+		else
+			ImplEnhanceHistogramSliding.equalizeLocal((ImageUInt16)input, radius, (ImageUInt16)found, numBins);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	/**
+	 * The local region is the same size as the image
+	 */
+	@Test
+	public void regionSameSizeAsImage() {
+		ImageUInt8 input = new ImageUInt8(9,9);
+		ImageUInt8 found = new ImageUInt8(9,9);
+		ImageUInt8 expected = new ImageUInt8(9,9);
+		GImageMiscOps.fillUniform(input, rand, 0, 256);
+
+		ImplEnhanceHistogram.equalizeLocalNaive(input, 4, expected, new int[256]);
+		ImplEnhanceHistogramSliding.equalizeLocal(input, 4, found, 256);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		ImageUInt16 input16 = new ImageUInt16(9,9);
+		ImageUInt16 found16 = new ImageUInt16(9,9);
+		ImageUInt16 expected16 = new ImageUInt16(9,9);
+		GImageMiscOps.fillUniform(input16, rand, 0, 256);
+
+		ImplEnhanceHistogram.equalizeLocalNaive(input16, 4, expected16, new int[256]);
+		ImplEnhanceHistogramSliding.equalizeLocal(input16, 4, found16, 256);
+		BoofTesting.assertEquals(expected16, found16, 0);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void imageTooSmall() {
+		ImplEnhanceHistogramSliding.equalizeLocal(new ImageUInt8(20,8), 4, new ImageUInt8(20,8), 256);
+	}
+
+	/**
+	 * Splitting the image into stripes should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		ImageUInt8 input = new ImageUInt8(width,120);
+		ImageUInt8 expected = new ImageUInt8(width,120);
+		ImageUInt8 found = new ImageUInt8(width,120);
+		GImageMiscOps.fillUniform(input, rand, 0, 256);
+
+		ImageUInt16 input16 = new ImageUInt16(width,120);
+		ImageUInt16 expected16 = new ImageUInt16(width,120);
+		ImageUInt16 found16 = new ImageUInt16(width,120);
+		GImageMiscOps.fillUniform(input16, rand, 0, 2000);
+
+		ImplEnhanceHistogramSliding.equalizeLocal(input, 5, expected, 256);
+		ImplEnhanceHistogramSliding.equalizeLocal(input16, 5, expected16, 2000);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			ImplEnhanceHistogramSliding.equalizeLocal(input, 5, found, 256);
+			ImplEnhanceHistogramSliding.equalizeLocal(input16, 5, found16, 2000);
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+
+		BoofTesting.assertEquals(expected, found, 0);
+		BoofTesting.assertEquals(expected16, found16, 0);
+	}
+}
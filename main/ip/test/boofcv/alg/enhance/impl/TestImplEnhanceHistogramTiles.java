@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.enhance.impl;
+
+import boofcv.alg.enhance.EnhanceImageOps;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplEnhanceHistogramTiles {
+
+	Random rand = new Random(234);
+
+	int width = 60;
+	int height = 45;
+
+	/**
+	 * With a single tile and no clipping it should be the same as global histogram equalization
+	 */
+	@Test
+	public void singleTile() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		int histogram[] = new int[256];
+		int transform[] = new int[256];
+		ImageStatistics.histogram(input,histogram);
+		EnhanceImageOps.equalize(histogram, transform);
+		EnhanceImageOps.applyTransform(input, transform, expected);
+
+		BoofTesting.checkSubImage(this, "singleTile", true, input, found, expected);
+	}
+
+	public void singleTile( ImageUInt8 input , ImageUInt8 found , ImageUInt8 expected ) {
+		ImplEnhanceHistogramTiles.equalize(input, 1, 1, 0, found);
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	/**
+	 * Odd sized tiles have their center on a pixel, which should exactly match the tile's transform
+	 */
+	@Test
+	public void tileCenter_exact() {
+		ImageUInt8 input = new ImageUInt8(63,45);
+		ImageUInt8 found = new ImageUInt8(63,45);
+		GImageMiscOps.fillUniform(input, rand, 0, 256);
+
+		ImplEnhanceHistogramTiles.equalize(input, 3, 3, 3.0, found);
+
+		int histogram[] = new int[256];
+		for( int ty = 0; ty < 3; ty++ ) {
+			for( int tx = 0; tx < 3; tx++ ) {
+				int x0 = tx*21, y0 = ty*15;
+				ImplEnhanceHistogram.localHistogram(input,x0,y0,x0+21,y0+15,histogram);
+				ImplEnhanceHistogramTiles.clipHistogram(histogram, (int)(3.0*315/256));
+
+				int cx = x0+10, cy = y0+7;
+				int value = input.get(cx,cy);
+				int sum = 0;
+				for( int i = 0; i <= value; i++ )
+					sum += histogram[i];
+
+				assertEquals(sum*255/315, found.get(cx,cy));
+			}
+		}
+	}
+
+	@Test
+	public void clipHistogram() {
+		int histogram[] = new int[]{10,0,2,30,5,1,0,0};
+
+		ImplEnhanceHistogramTiles.clipHistogram(histogram, 8);
+
+		int total = 0;
+		for( int i = 0; i < histogram.length; i++ ) {
+			total += histogram[i];
+			// the excess of 24 is spread evenly
+			assertTrue(histogram[i] <= 11);
+		}
+		assertEquals(48,total);
+		assertEquals(11,histogram[0]);
+		assertEquals(3,histogram[1]);
+		assertEquals(11,histogram[3]);
+	}
+
+	/**
+	 * Results should be identical when processed concurrently
+	 */
+	@Test
+	public void concurrent() {
+		ImageUInt8 input = new ImageUInt8(width,100);
+		ImageUInt8 expected = new ImageUInt8(width,100);
+		ImageUInt8 found = new ImageUInt8(width,100);
+		GImageMiscOps.fillUniform(input, rand, 0, 256);
+
+		ImplEnhanceHistogramTiles.equalize(input, 4, 5, 2.5, expected);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			ImplEnhanceHistogramTiles.equalize(input, 4, 5, 2.5, found);
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+}
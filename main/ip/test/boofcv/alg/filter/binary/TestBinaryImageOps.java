@@ -192,6 +192,21 @@ public class TestBinaryImageOps {
 		BoofTesting.assertEquals(expected,output,0);
 	}
 
+	@Test
+	public void labelBlobs() {
+		ImageUInt8 input = new ImageUInt8(10,12);
+		ImageMiscOps.fillRectangle(input,1,2,3,4,5);
+		input.set(9,11,1);
+
+		ImageSInt32 output = new ImageSInt32(10,12);
+		ImageSInt32 expected = new ImageSInt32(10,12);
+		ImageMiscOps.fillRectangle(expected,1,2,3,4,5);
+		expected.set(9,11,2);
+
+		assertEquals(2,BinaryImageOps.labelBlobs(input, ConnectRule.FOUR, output));
+		BoofTesting.assertEquals(expected,output,0);
+	}
+
 	@Test
 	public void relabel() {
 		ImageSInt32 input = new ImageSInt32(4,5);
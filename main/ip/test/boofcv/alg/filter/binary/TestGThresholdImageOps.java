@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.ImageWorkspace;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestGThresholdImageOps {
+
+	int width = 20;
+	int height = 30;
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against the version which is passed in work images and see if the workspace is reused
+	 */
+	@Test
+	public void adaptiveSquare_workspace() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		GThresholdImageOps.adaptiveSquare(input, expected, 4, 2, true, null, null);
+
+		ImageWorkspace workspace = new ImageWorkspace();
+		for( int i = 0; i < 3; i++ ) {
+			GThresholdImageOps.adaptiveSquare(input, found, 4, 2, true, workspace);
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+
+		assertEquals(2,workspace.getAllocations());
+		assertEquals(2,workspace.getAvailable());
+	}
+
+	@Test
+	public void adaptiveGaussian_workspace() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		GThresholdImageOps.adaptiveGaussian(input, expected, 4, 2, false, null, null);
+
+		ImageWorkspace workspace = new ImageWorkspace();
+		for( int i = 0; i < 3; i++ ) {
+			GThresholdImageOps.adaptiveGaussian(input, found, 4, 2, false, workspace);
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+
+		assertEquals(2,workspace.getAllocations());
+		assertEquals(2,workspace.getAvailable());
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImagePackedBinary;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the results against {@link BinaryImageOps} for images with widths around word boundaries
+ *
+ * @author Peter Abeles
+ */
+public class TestPackedBinaryOps {
+
+	Random rand = new Random(234);
+
+	int widths[] = new int[]{1,2,5,63,64,65,130};
+	int heights[] = new int[]{1,2,7};
+
+	@Test
+	public void pack_unpack() {
+		for( int width : widths ) {
+			for( int height : heights ) {
+				ImageUInt8 input = randomBinary(width,height);
+				ImagePackedBinary packed = PackedBinaryOps.pack(input,null);
+
+				for( int y = 0; y < height; y++ ) {
+					for( int x = 0; x < width; x++ ) {
+						assertEquals(input.get(x,y),packed.get(x,y));
+					}
+				}
+
+				BoofTesting.assertEquals(input, PackedBinaryOps.unpack(packed, null), 0);
+			}
+		}
+
+		// sub-images and values other than one
+		ImageUInt8 input = randomBinary(70,5);
+		input.set(3,2,5);
+		ImageUInt8 sub = BoofTesting.createSubImageOf(input);
+		ImagePackedBinary packed = PackedBinaryOps.pack(sub,null);
+		assertEquals(1,packed.get(3,2));
+
+		ImageUInt8 found = BoofTesting.createSubImageOf(new ImageUInt8(70,5));
+		PackedBinaryOps.unpack(packed, found);
+		input.set(3,2,1);
+		BoofTesting.assertEquals(input, found, 0);
+	}
+
+	@Test
+	public void threshold_U8() {
+		ImageUInt8 input = new ImageUInt8(130,7);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		for( boolean down : new boolean[]{true,false}) {
+			ImageUInt8 expected = ThresholdImageOps.threshold(input,null,100,down);
+			ImagePackedBinary found = PackedBinaryOps.threshold(input,null,100,down);
+			BoofTesting.assertEquals(expected, PackedBinaryOps.unpack(found,null), 0);
+		}
+	}
+
+	@Test
+	public void threshold_F32() {
+		ImageFloat32 input = new ImageFloat32(130,7);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		for( boolean down : new boolean[]{true,false}) {
+			ImageUInt8 expected = ThresholdImageOps.threshold(input,null,100,down);
+			ImagePackedBinary found = PackedBinaryOps.threshold(input,null,100,down);
+			BoofTesting.assertEquals(expected, PackedBinaryOps.unpack(found,null), 0);
+		}
+	}
+
+	@Test
+	public void logic() {
+		for( int width : widths ) {
+			ImageUInt8 a = randomBinary(width,4);
+			ImageUInt8 b = randomBinary(width,4);
+			ImagePackedBinary pa = PackedBinaryOps.pack(a,null);
+			ImagePackedBinary pb = PackedBinaryOps.pack(b,null);
+
+			check(BinaryImageOps.logicAnd(a, b, null), PackedBinaryOps.logicAnd(pa, pb, null));
+			check(BinaryImageOps.logicOr(a, b, null), PackedBinaryOps.logicOr(pa, pb, null));
+			check(BinaryImageOps.logicXor(a, b, null), PackedBinaryOps.logicXor(pa, pb, null));
+		}
+	}
+
+	@Test
+	public void morphology() {
+		for( int width : widths ) {
+			for( int height : heights ) {
+				ImageUInt8 input = randomBinary(width,height);
+				ImagePackedBinary packed = PackedBinaryOps.pack(input,null);
+
+				for( int numTimes = 1; numTimes <= 3; numTimes++ ) {
+					check(BinaryImageOps.erode4(input, numTimes, null), PackedBinaryOps.erode4(packed, numTimes, null));
+					check(BinaryImageOps.dilate4(input, numTimes, null), PackedBinaryOps.dilate4(packed, numTimes, null));
+					check(BinaryImageOps.erode8(input, numTimes, null), PackedBinaryOps.erode8(packed, numTimes, null));
+					check(BinaryImageOps.dilate8(input, numTimes, null), PackedBinaryOps.dilate8(packed, numTimes, null));
+				}
+				check(BinaryImageOps.edge4(input, null), PackedBinaryOps.edge4(packed, null));
+				check(BinaryImageOps.edge8(input, null), PackedBinaryOps.edge8(packed, null));
+				check(BinaryImageOps.removePointNoise(input, null), PackedBinaryOps.removePointNoise(packed, null));
+			}
+		}
+	}
+
+	/**
+	 * Every possible number of neighbors should be handled correctly by the bit sliced adder
+	 */
+	@Test
+	public void removePointNoise_counts() {
+		for( int trial = 0; trial < 50; trial++ ) {
+			ImageUInt8 input = new ImageUInt8(70,5);
+			ImageMiscOps.fillUniform(input,rand,0,2);
+			// vary the density so that all counts are seen
+			for( int i = 0; i < trial; i++ ) {
+				input.set(rand.nextInt(70),rand.nextInt(5),1);
+			}
+			ImagePackedBinary packed = PackedBinaryOps.pack(input,null);
+			check(BinaryImageOps.removePointNoise(input, null), PackedBinaryOps.removePointNoise(packed, null));
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void sameInstance() {
+		ImagePackedBinary a = new ImagePackedBinary(10,5);
+		PackedBinaryOps.erode4(a,1,a);
+	}
+
+	private ImageUInt8 randomBinary( int width , int height ) {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(image,rand,0,2);
+		return image;
+	}
+
+	private void check( ImageUInt8 expected , ImagePackedBinary found ) {
+		BoofTesting.assertEquals(expected, PackedBinaryOps.unpack(found, null), 0);
+
+		// bits past the end of each row must be zero
+		long mask = found.getLastWordMask();
+		for( int y = 0; y < found.height; y++ ) {
+			assertEquals(0,found.data[y*found.stride + found.stride-1] & ~mask);
+		}
+	}
+}
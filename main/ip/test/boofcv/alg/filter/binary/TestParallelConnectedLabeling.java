@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestParallelConnectedLabeling {
+
+	Random rand = new Random(234);
+
+	ConnectRule rules[] = new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT};
+
+	/**
+	 * Compare against {@link LinearContourLabelChang2004} for images small enough to be processed as a single stripe
+	 */
+	@Test
+	public void compareToChang_serial() {
+		for( ConnectRule rule : rules ) {
+			for( int trial = 0; trial < 20; trial++ ) {
+				ImageUInt8 input = randomBinary(5 + rand.nextInt(30), 5 + rand.nextInt(30), 0.3 + 0.4*rand.nextDouble());
+				compareToChang(input, rule);
+			}
+		}
+	}
+
+	/**
+	 * Compare against {@link LinearContourLabelChang2004} with blobs that cross stripe boundaries
+	 */
+	@Test
+	public void compareToChang_concurrent() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			for( ConnectRule rule : rules ) {
+				for( int trial = 0; trial < 10; trial++ ) {
+					ImageUInt8 input = randomBinary(40 + rand.nextInt(30), 130 + rand.nextInt(40), 0.3 + 0.4*rand.nextDouble());
+					compareToChang(input, rule);
+				}
+
+				// vertical stripes which span every seam, and a snake which crosses seams multiple times
+				ImageUInt8 input = new ImageUInt8(30,140);
+				for( int x = 1; x < input.width; x += 3 )
+					ImageMiscOps.fillRectangle(input, 1, x, 0, 1, input.height);
+				compareToChang(input, rule);
+
+				ImageMiscOps.fill(input, 0);
+				for( int y = 0; y < input.height; y += 4 ) {
+					ImageMiscOps.fillRectangle(input, 1, 0, y, input.width, 1);
+					int x = (y/4) % 2 == 0 ? input.width - 1 : 0;
+					ImageMiscOps.fillRectangle(input, 1, x, y, 1, 4);
+				}
+				compareToChang(input, rule);
+			}
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	private void compareToChang( ImageUInt8 input , ConnectRule rule ) {
+		ImageSInt32 expected = new ImageSInt32(input.width,input.height);
+		LinearContourLabelChang2004 chang = new LinearContourLabelChang2004(rule);
+		chang.process(input,expected);
+
+		ImageUInt8 inputSub = BoofTesting.createSubImageOf(input);
+		ImageSInt32 found = BoofTesting.createSubImageOf(new ImageSInt32(input.width,input.height));
+
+		ParallelConnectedLabeling alg = new ParallelConnectedLabeling(rule);
+		int numBlobs = alg.process(inputSub, found);
+
+		assertEquals(chang.getContours().size, numBlobs);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		alg.traceContours(inputSub, found);
+		// tracing should not modify the labeled image
+		BoofTesting.assertEquals(expected, found, 0);
+
+		FastQueue<Contour> contoursE = chang.getContours();
+		FastQueue<Contour> contoursF = alg.getContours();
+		assertEquals(contoursE.size, contoursF.size);
+		for( int i = 0; i < contoursE.size; i++ ) {
+			Contour e = contoursE.get(i);
+			Contour f = contoursF.get(i);
+			assertEquals(e.id, f.id);
+			checkEquals(e.external, f.external);
+			assertEquals(e.internal.size(), f.internal.size());
+			for( int j = 0; j < e.internal.size(); j++ )
+				checkEquals(e.internal.get(j), f.internal.get(j));
+		}
+	}
+
+	/**
+	 * Labels are not consecutive but pixels should still be partitioned into the same blobs
+	 */
+	@Test
+	public void notCompact() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			for( ConnectRule rule : rules ) {
+				ImageUInt8 input = randomBinary(50, 150, 0.5);
+
+				ImageSInt32 expected = new ImageSInt32(input.width,input.height);
+				ParallelConnectedLabeling alg = new ParallelConnectedLabeling(rule);
+				int numExpected = alg.process(input, expected);
+
+				ImageSInt32 found = new ImageSInt32(input.width,input.height);
+				alg.setCompact(false);
+				int numFound = alg.process(input, found);
+				assertEquals(numExpected, numFound);
+
+				// there must be a one to one mapping between the labels
+				int forward[] = new int[ input.width*input.height + 1 ];
+				int backward[] = new int[ numExpected + 1 ];
+				for( int y = 0; y < input.height; y++ ) {
+					for( int x = 0; x < input.width; x++ ) {
+						int e = expected.get(x,y);
+						int f = found.get(x,y);
+						assertEquals(e == 0, f == 0);
+						if( e == 0 )
+							continue;
+						if( forward[f] == 0 )
+							forward[f] = e;
+						if( backward[e] == 0 )
+							backward[e] = f;
+						assertEquals(e, forward[f]);
+						assertEquals(f, backward[e]);
+					}
+				}
+
+				try {
+					alg.traceContours(input, found);
+					fail("Should have thrown an exception");
+				} catch( IllegalArgumentException ignore ){}
+			}
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	@Test
+	public void emptyAndFull() {
+		ImageUInt8 input = new ImageUInt8(20,15);
+		ImageSInt32 labeled = new ImageSInt32(20,15);
+		ImageMiscOps.fill(labeled,5);
+
+		ParallelConnectedLabeling alg = new ParallelConnectedLabeling(ConnectRule.EIGHT);
+		assertEquals(0, alg.process(input, labeled));
+		for( int i = 0; i < labeled.data.length; i++ )
+			assertEquals(0, labeled.data[i]);
+
+		ImageMiscOps.fill(input, 1);
+		assertEquals(1, alg.process(input, labeled));
+		for( int i = 0; i < labeled.data.length; i++ )
+			assertEquals(1, labeled.data[i]);
+	}
+
+	private ImageUInt8 randomBinary( int width , int height , double fraction ) {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		for( int i = 0; i < image.data.length; i++ )
+			image.data[i] = (byte)(rand.nextDouble() < fraction ? 1 : 0);
+		return image;
+	}
+
+	private static void checkEquals( List<Point2D_I32> expected , List<Point2D_I32> found ) {
+		assertEquals(expected.size(), found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			assertEquals(expected.get(i).x, found.get(i).x);
+			assertEquals(expected.get(i).y, found.get(i).y);
+		}
+	}
+}
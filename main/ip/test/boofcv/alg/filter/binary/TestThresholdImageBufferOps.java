@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.ConvertImageBuffer;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestThresholdImageBufferOps {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 30;
+
+	@Test
+	public void threshold() {
+		ImageUInt8 origU8 = new ImageUInt8(width,height);
+		ImageSInt16 origS16 = new ImageSInt16(width,height);
+		ImageFloat32 origF32 = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(origU8,rand,0,256);
+		ImageMiscOps.fillUniform(origS16,rand,-100,100);
+		ImageMiscOps.fillUniform(origF32,rand,-100,100);
+
+		BufferU8 inputU8 = ConvertImageBuffer.convert(origU8,(BufferU8)null);
+		BufferS16 inputS16 = ConvertImageBuffer.convert(origS16,(BufferS16)null);
+		BufferF32 inputF32 = ConvertImageBuffer.convert(origF32,(BufferF32)null);
+
+		ImageUInt8 found = BoofTesting.createSubImageOf(new ImageUInt8(width,height));
+
+		for( boolean down : new boolean[]{true,false}) {
+			ThresholdImageBufferOps.threshold(inputU8,found,130,down);
+			BoofTesting.assertEquals(ThresholdImageOps.threshold(origU8,null,130,down),found,0);
+
+			ThresholdImageBufferOps.threshold(inputS16,found,-5,down);
+			BoofTesting.assertEquals(ThresholdImageOps.threshold(origS16,null,-5,down),found,0);
+
+			ImageUInt8 declared = ThresholdImageBufferOps.threshold(inputF32,null,10.5f,down);
+			BoofTesting.assertEquals(ThresholdImageOps.threshold(origF32,null,10.5f,down),declared,0);
+		}
+	}
+}
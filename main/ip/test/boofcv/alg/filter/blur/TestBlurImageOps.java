@@ -23,16 +23,23 @@ import boofcv.alg.filter.convolve.ConvolveNormalized;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedNaive;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.core.image.ConvertImage;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * @author Peter Abeles
  */
@@ -113,6 +120,22 @@ public class TestBlurImageOps {
 		}
 	}
 
+	@Test
+	public void medianConstantTime() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		for( int radius = 1; radius <= 4; radius++ ) {
+			ImplMedianSortNaive.process(input,expected,radius,null);
+			BlurImageOps.medianConstantTime(input,found,radius);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
 	@Test
 	public void median_F32() {
 		ImageFloat32 input = new ImageFloat32(width,height);
@@ -176,4 +199,146 @@ public class TestBlurImageOps {
 			BoofTesting.assertEquals(expected,found,1e-4);
 		}
 	}
+
+	/**
+	 * Integer images should be the rounded result of the floating point image
+	 */
+	@Test
+	public void gaussianRecursive() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		ImageFloat32 inputF = new ImageFloat32(width,height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+		ConvertImage.convert(input,inputF);
+
+		ImageFloat32 expectedF = BlurImageOps.gaussianRecursive(inputF,null,4);
+		BlurImageOps.gaussianRecursive(input,found,4,null);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals((int)(expectedF.get(x,y)+0.5f),found.get(x,y));
+			}
+		}
+	}
+
+	@Test
+	public void mean_IL_U8() {
+		InterleavedU8 input = new InterleavedU8(width,height,3);
+		InterleavedU8 found = new InterleavedU8(width,height,3);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 20);
+
+		for( int radius = 1; radius <= 4; radius++ ) {
+			BlurImageOps.mean(input,found, radius, null);
+
+			for( int band = 0; band < input.numBands; band++ ) {
+				ImageUInt8 inputBand = BoofTesting.extractBand(input,band,ImageUInt8.class);
+				BlurImageOps.mean(inputBand,expected, radius, null);
+				BoofTesting.assertEqualsBand(expected,found,band,0);
+			}
+		}
+	}
+
+	@Test
+	public void mean_IL_F32() {
+		InterleavedF32 input = new InterleavedF32(width,height,3);
+		InterleavedF32 found = new InterleavedF32(width,height,3);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 20);
+
+		for( int radius = 1; radius <= 4; radius++ ) {
+			BlurImageOps.mean(input,found, radius, null);
+
+			for( int band = 0; band < input.numBands; band++ ) {
+				ImageFloat32 inputBand = BoofTesting.extractBand(input,band,ImageFloat32.class);
+				BlurImageOps.mean(inputBand,expected, radius, null);
+				BoofTesting.assertEqualsBand(expected,found,band,1e-4);
+			}
+		}
+	}
+
+	@Test
+	public void gaussian_IL_U8() {
+		InterleavedU8 input = new InterleavedU8(width,height,3);
+		InterleavedU8 found = new InterleavedU8(width,height,3);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 20);
+
+		for( int radius = 1; radius <= 4; radius++ ) {
+			double sigma = FactoryKernelGaussian.sigmaForRadius(radius,0);
+			BlurImageOps.gaussian(input,found,sigma,radius,null);
+
+			for( int band = 0; band < input.numBands; band++ ) {
+				ImageUInt8 inputBand = BoofTesting.extractBand(input,band,ImageUInt8.class);
+				BlurImageOps.gaussian(inputBand,expected,sigma,radius,null);
+				BoofTesting.assertEqualsBand(expected,found,band,0);
+			}
+		}
+	}
+
+	@Test
+	public void gaussian_IL_F32() {
+		InterleavedF32 input = new InterleavedF32(width,height,3);
+		InterleavedF32 found = new InterleavedF32(width,height,3);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 20);
+
+		for( int radius = 1; radius <= 4; radius++ ) {
+			double sigma = FactoryKernelGaussian.sigmaForRadius(radius,0);
+			BlurImageOps.gaussian(input,found,sigma,radius,null);
+
+			for( int band = 0; band < input.numBands; band++ ) {
+				ImageFloat32 inputBand = BoofTesting.extractBand(input,band,ImageFloat32.class);
+				BlurImageOps.gaussian(inputBand,expected,sigma,radius,null);
+				BoofTesting.assertEqualsBand(expected,found,band,1e-4);
+			}
+		}
+	}
+
+	/**
+	 * The filter factory should accept interleaved images and produce the same results as the direct call
+	 */
+	@Test
+	public void gaussian_IL_factory() {
+		InterleavedU8 input = new InterleavedU8(width,height,3);
+		InterleavedU8 found = new InterleavedU8(width,height,3);
+		InterleavedU8 expected = new InterleavedU8(width,height,3);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 20);
+
+		BlurFilter<InterleavedU8> filter = FactoryBlurFilter.gaussian(InterleavedU8.class,-1,2);
+		filter.process(input,found);
+
+		double sigma = FactoryKernelGaussian.sigmaForRadius(2,0);
+		BlurImageOps.gaussian(input,expected,sigma,2,null);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * The filter's internal storage must adjust when the number of bands changes between calls
+	 */
+	@Test
+	public void gaussian_IL_factory_changeBands() {
+		BlurFilter<InterleavedU8> filter = FactoryBlurFilter.gaussian(InterleavedU8.class,-1,2);
+		double sigma = FactoryKernelGaussian.sigmaForRadius(2,0);
+
+		for( int numBands = 3; numBands <= 4; numBands++ ) {
+			InterleavedU8 input = new InterleavedU8(width,height,numBands);
+			InterleavedU8 found = new InterleavedU8(width,height,numBands);
+			InterleavedU8 expected = new InterleavedU8(width,height,numBands);
+
+			GImageMiscOps.fillUniform(input, rand, 0, 20);
+
+			filter.process(input,found);
+			BlurImageOps.gaussian(input,expected,sigma,2,null);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
 }
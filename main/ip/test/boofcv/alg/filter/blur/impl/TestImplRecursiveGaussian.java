@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplRecursiveGaussian {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against convolution with a Gaussian kernel which is wide enough to not be truncated
+	 */
+	@Test
+	public void compareToConvolution() {
+		ImageFloat32 image = new ImageFloat32(60,45);
+		ImageMiscOps.fillUniform(image,rand,0,100);
+
+		ImageFloat32 found = new ImageFloat32(image.width,image.height);
+		ImageFloat32 expected = new ImageFloat32(image.width,image.height);
+
+		BoofTesting.checkSubImage(this, "compareToConvolution", true, image, found, expected);
+	}
+
+	public void compareToConvolution(ImageFloat32 image, ImageFloat32 found, ImageFloat32 expected) {
+		for( double sigma : new double[]{2.5,6,15}) {
+			convolve(image,expected,sigma);
+
+			ImplRecursiveGaussian.horizontal(image,found,sigma);
+			ImplRecursiveGaussian.vertical(found,sigma);
+
+			BoofTesting.assertEquals(expected,found,1.5);
+		}
+	}
+
+	@Test
+	public void compareToConvolution_U8() {
+		ImageUInt8 image = new ImageUInt8(60,45);
+		ImageMiscOps.fillUniform(image,rand,0,100);
+
+		ImageFloat32 imageF = new ImageFloat32(image.width,image.height);
+		for( int y = 0; y < image.height; y++ )
+			for( int x = 0; x < image.width; x++ )
+				imageF.set(x,y,image.get(x,y));
+
+		ImageFloat32 expected = new ImageFloat32(image.width,image.height);
+		ImageFloat32 found = new ImageFloat32(image.width,image.height);
+
+		double sigma = 5;
+		convolve(imageF,expected,sigma);
+
+		ImplRecursiveGaussian.horizontal(image,found,sigma);
+		ImplRecursiveGaussian.vertical(found,sigma);
+
+		BoofTesting.assertEquals(expected,found,1.5);
+	}
+
+	/**
+	 * A constant image should not be changed, including along the border
+	 */
+	@Test
+	public void constantImage() {
+		ImageFloat32 image = new ImageFloat32(30,40);
+		ImageMiscOps.fill(image,50);
+
+		ImageFloat32 found = new ImageFloat32(image.width,image.height);
+		ImplRecursiveGaussian.horizontal(image,found,8);
+		ImplRecursiveGaussian.vertical(found,8);
+
+		BoofTesting.assertEquals(image,found,1e-3);
+	}
+
+	/**
+	 * Images which are smaller than the filter's coefficients
+	 */
+	@Test
+	public void tinyImage() {
+		for( int size = 1; size <= 3; size++ ) {
+			ImageFloat32 image = new ImageFloat32(size,size+1);
+			ImageMiscOps.fillUniform(image,rand,0,100);
+
+			ImageFloat32 expected = new ImageFloat32(image.width,image.height);
+			ImageFloat32 found = new ImageFloat32(image.width,image.height);
+
+			convolve(image,expected,2);
+			ImplRecursiveGaussian.horizontal(image,found,2);
+			ImplRecursiveGaussian.vertical(found,2);
+
+			BoofTesting.assertEquals(expected,found,1.5);
+		}
+	}
+
+	@Test
+	public void round() {
+		ImageFloat32 input = new ImageFloat32(3,2);
+		input.set(0,0,-2);
+		input.set(1,0,10.4f);
+		input.set(2,0,10.6f);
+		input.set(0,1,300);
+
+		ImageUInt8 output = new ImageUInt8(3,2);
+		ImplRecursiveGaussian.round(input,output);
+
+		assertEquals(0,output.get(0,0));
+		assertEquals(10,output.get(1,0));
+		assertEquals(11,output.get(2,0));
+		assertEquals(255,output.get(0,1));
+	}
+
+	/**
+	 * Splitting rows and columns across threads should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 image = new ImageFloat32(400,300);
+		ImageMiscOps.fillUniform(image,rand,0,100);
+
+		ImageFloat32 expected = new ImageFloat32(image.width,image.height);
+		ImageFloat32 found = new ImageFloat32(image.width,image.height);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(false);
+		try {
+			ImplRecursiveGaussian.horizontal(image,expected,7);
+			ImplRecursiveGaussian.vertical(expected,7);
+
+			BoofConcurrency.override(true);
+			BoofConcurrency.setMaxThreads(4);
+			ImplRecursiveGaussian.horizontal(image,found,7);
+			ImplRecursiveGaussian.vertical(found,7);
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void sigmaTooSmall() {
+		ImplRecursiveGaussian.coefficients(0.4);
+	}
+
+	/**
+	 * Naive convolution where the image border is extended
+	 */
+	private void convolve( ImageFloat32 input , ImageFloat32 output , double sigma ) {
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,sigma,(int)(5*sigma));
+		int r = kernel.getRadius();
+
+		ImageFloat32 storage = new ImageFloat32(input.width,input.height);
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				float total = 0;
+				for( int i = -r; i <= r; i++ ) {
+					int xx = Math.min(input.width-1,Math.max(0,x+i));
+					total += kernel.get(i+r)*input.get(xx,y);
+				}
+				storage.set(x,y,total);
+			}
+		}
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				float total = 0;
+				for( int i = -r; i <= r; i++ ) {
+					int yy = Math.min(input.height-1,Math.max(0,y+i));
+					total += kernel.get(i+r)*storage.get(x,yy);
+				}
+				output.set(x,y,total);
+			}
+		}
+	}
+}
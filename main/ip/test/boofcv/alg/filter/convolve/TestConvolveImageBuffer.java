@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.ConvertImageBuffer;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.convolve.Kernel2D_I32;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Compares the results against {@link ConvolveImageNoBorder}
+ *
+ * @author Peter Abeles
+ */
+public class TestConvolveImageBuffer {
+
+	Random rand = new Random(234);
+	int width = 25;
+	int height = 30;
+	int radius = 2;
+
+	@Test
+	public void F32() {
+		ImageFloat32 orig = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(orig,rand,-10,10);
+		BufferF32 input = ConvertImageBuffer.convert(orig,(BufferF32)null);
+		input = BoofTesting.createSubImageOf(input);
+		ConvertImageBuffer.convert(orig,input);
+
+		Kernel1D_F32 kernel1 = FactoryKernel.random1D_F32(radius,-1,1,rand);
+		Kernel2D_F32 kernel2 = FactoryKernel.random2D_F32(radius,-1,1,rand);
+
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+
+		for( boolean border : new boolean[]{true,false} ) {
+			ConvolveImageNoBorder.horizontal(kernel1,orig,expected,border);
+			ConvolveImageBuffer.horizontal(kernel1,input,found,border);
+			BoofTesting.assertEquals(expected,found,1e-4);
+
+			ConvolveImageNoBorder.vertical(kernel1,orig,expected,border);
+			ConvolveImageBuffer.vertical(kernel1,input,found,border);
+			BoofTesting.assertEquals(expected,found,1e-4);
+		}
+
+		ConvolveImageNoBorder.convolve(kernel2,orig,expected);
+		ConvolveImageBuffer.convolve(kernel2,input,found);
+		BoofTesting.assertEquals(expected,found,1e-4);
+	}
+
+	@Test
+	public void U8() {
+		ImageUInt8 orig = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(orig,rand,0,256);
+		BufferU8 input = ConvertImageBuffer.convert(orig,(BufferU8)null);
+
+		Kernel1D_I32 kernel1 = FactoryKernel.random1D_I32(radius,-5,5,rand);
+		Kernel2D_I32 kernel2 = FactoryKernel.random2D_I32(radius,-5,5,rand);
+
+		ImageSInt16 expected = new ImageSInt16(width,height);
+		ImageSInt16 found = new ImageSInt16(width,height);
+
+		for( boolean border : new boolean[]{true,false} ) {
+			ConvolveImageNoBorder.horizontal(kernel1,orig,expected,border);
+			ConvolveImageBuffer.horizontal(kernel1,input,found,border);
+			BoofTesting.assertEquals(expected,found,0);
+
+			ConvolveImageNoBorder.vertical(kernel1,orig,expected,border);
+			ConvolveImageBuffer.vertical(kernel1,input,found,border);
+			BoofTesting.assertEquals(expected,found,0);
+		}
+
+		ConvolveImageNoBorder.convolve(kernel2,orig,expected);
+		ConvolveImageBuffer.convolve(kernel2,input,found);
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	@Test
+	public void S16() {
+		ImageSInt16 orig = new ImageSInt16(width,height);
+		ImageMiscOps.fillUniform(orig,rand,-100,100);
+		BufferS16 input = ConvertImageBuffer.convert(orig,(BufferS16)null);
+
+		Kernel1D_I32 kernel1 = FactoryKernel.random1D_I32(radius,-5,5,rand);
+		Kernel2D_I32 kernel2 = FactoryKernel.random2D_I32(radius,-5,5,rand);
+
+		ImageSInt16 expected = new ImageSInt16(width,height);
+		ImageSInt16 found = new ImageSInt16(width,height);
+
+		for( boolean border : new boolean[]{true,false} ) {
+			ConvolveImageNoBorder.horizontal(kernel1,orig,expected,border);
+			ConvolveImageBuffer.horizontal(kernel1,input,found,border);
+			BoofTesting.assertEquals(expected,found,0);
+
+			ConvolveImageNoBorder.vertical(kernel1,orig,expected,border);
+			ConvolveImageBuffer.vertical(kernel1,input,found,border);
+			BoofTesting.assertEquals(expected,found,0);
+		}
+
+		ConvolveImageNoBorder.convolve(kernel2,orig,expected);
+		ConvolveImageBuffer.convolve(kernel2,input,found);
+		BoofTesting.assertEquals(expected,found,0);
+	}
+}
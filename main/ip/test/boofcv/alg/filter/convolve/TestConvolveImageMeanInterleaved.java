@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveImageMeanInterleaved {
+
+	Random rand = new Random(234);
+
+	int numBands = 3;
+
+	/**
+	 * Compare each band against the single band implementation
+	 */
+	@Test
+	public void compareToSingleBand() {
+		for( int radius : new int[]{1,3} ) {
+			compare(radius, 15, 20);
+		}
+	}
+
+	/**
+	 * Splitting the rows across threads should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			compare(2, 40, 75);
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	private void compare( int radius , int width , int height ) {
+		InterleavedF32 inputF = new InterleavedF32(width,height,numBands);
+		GImageMiscOps.fillUniform(inputF, rand, 0, 100);
+		BoofTesting.checkSubImage(this, "compare", true, inputF, new InterleavedF32(width,height,numBands), radius);
+
+		InterleavedU8 inputU = new InterleavedU8(width,height,numBands);
+		GImageMiscOps.fillUniform(inputU, rand, 0, 100);
+		BoofTesting.checkSubImage(this, "compare", true, inputU, new InterleavedU8(width,height,numBands), radius);
+	}
+
+	public void compare( InterleavedF32 input , InterleavedF32 found , int radius ) {
+		for( int band = 0; band < numBands; band++ ) {
+			ImageFloat32 inputBand = BoofTesting.extractBand(input, band, ImageFloat32.class);
+			ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+
+			ConvolveImageMean.horizontal(inputBand, expected, radius);
+			ConvolveImageMeanInterleaved.horizontal(input, found, radius);
+			BoofTesting.assertEqualsBand(expected, found, band, 1e-4);
+
+			ConvolveImageMean.vertical(inputBand, expected, radius);
+			ConvolveImageMeanInterleaved.vertical(input, found, radius);
+			BoofTesting.assertEqualsBand(expected, found, band, 1e-4);
+		}
+	}
+
+	public void compare( InterleavedU8 input , InterleavedU8 found , int radius ) {
+		for( int band = 0; band < numBands; band++ ) {
+			ImageUInt8 inputBand = BoofTesting.extractBand(input, band, ImageUInt8.class);
+			ImageUInt8 expected = new ImageUInt8(input.width,input.height);
+
+			ConvolveImageMean.horizontal(inputBand, expected, radius);
+			ConvolveImageMeanInterleaved.horizontal(input, found, radius);
+			BoofTesting.assertEqualsBand(expected, found, band, 0);
+
+			ConvolveImageMean.vertical(inputBand, expected, radius);
+			ConvolveImageMeanInterleaved.vertical(input, found, radius);
+			BoofTesting.assertEqualsBand(expected, found, band, 0);
+		}
+	}
+}
@@ -18,6 +18,7 @@
 
 package boofcv.alg.filter.convolve;
 
+import boofcv.concurrency.BoofConcurrency;
 import org.junit.Test;
 
 /**
@@ -30,4 +31,22 @@ public class TestConvolveImageNoBorder {
 		CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder.class);
 		a.performTests(20);
 	}
+
+	/**
+	 * Force it to split the image into bands and see if the output is still identical
+	 */
+	@Test
+	public void compareToStandard_concurrent() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder.class);
+			a.height = 70;
+			a.performTests(20);
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
 }
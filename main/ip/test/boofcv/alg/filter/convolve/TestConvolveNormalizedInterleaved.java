@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveNormalizedInterleaved {
+
+	Random rand = new Random(234);
+
+	int width = 15;
+	int height = 20;
+	int numBands = 3;
+
+	/**
+	 * Compare each band against the single band implementation.  Kernels which are smaller and larger than the
+	 * image are tested.
+	 */
+	@Test
+	public void compareToSingleBand() {
+		for( int radius : new int[]{1,3,12} ) {
+			compare_F32(radius, width, height);
+			compare_U8(radius, width, height);
+		}
+	}
+
+	/**
+	 * Splitting the rows across threads should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			compare_F32(2, 40, 75);
+			compare_U8(2, 40, 75);
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	private void compare_F32( int radius , int width , int height ) {
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, radius);
+
+		InterleavedF32 input = new InterleavedF32(width,height,numBands);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+		InterleavedF32 found = new InterleavedF32(width,height,numBands);
+
+		BoofTesting.checkSubImage(this, "compareHorizontal", true, kernel, input, found);
+		BoofTesting.checkSubImage(this, "compareVertical", true, kernel, input, found);
+	}
+
+	private void compare_U8( int radius , int width , int height ) {
+		Kernel1D_I32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_I32.class, -1, radius);
+
+		InterleavedU8 input = new InterleavedU8(width,height,numBands);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+		InterleavedU8 found = new InterleavedU8(width,height,numBands);
+
+		BoofTesting.checkSubImage(this, "compareHorizontal", true, kernel, input, found);
+		BoofTesting.checkSubImage(this, "compareVertical", true, kernel, input, found);
+	}
+
+	public void compareHorizontal( Kernel1D_F32 kernel , InterleavedF32 input , InterleavedF32 found ) {
+		ConvolveNormalizedInterleaved.horizontal(kernel, input, found);
+
+		for( int band = 0; band < numBands; band++ ) {
+			ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+			ConvolveNormalized.horizontal(kernel, BoofTesting.extractBand(input, band, ImageFloat32.class), expected);
+			BoofTesting.assertEqualsBand(expected, found, band, 1e-4);
+		}
+	}
+
+	public void compareVertical( Kernel1D_F32 kernel , InterleavedF32 input , InterleavedF32 found ) {
+		ConvolveNormalizedInterleaved.vertical(kernel, input, found);
+
+		for( int band = 0; band < numBands; band++ ) {
+			ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+			ConvolveNormalized.vertical(kernel, BoofTesting.extractBand(input, band, ImageFloat32.class), expected);
+			BoofTesting.assertEqualsBand(expected, found, band, 1e-4);
+		}
+	}
+
+	public void compareHorizontal( Kernel1D_I32 kernel , InterleavedU8 input , InterleavedU8 found ) {
+		ConvolveNormalizedInterleaved.horizontal(kernel, input, found);
+
+		for( int band = 0; band < numBands; band++ ) {
+			ImageUInt8 expected = new ImageUInt8(input.width,input.height);
+			ConvolveNormalized.horizontal(kernel, BoofTesting.extractBand(input, band, ImageUInt8.class), expected);
+			BoofTesting.assertEqualsBand(expected, found, band, 0);
+		}
+	}
+
+	public void compareVertical( Kernel1D_I32 kernel , InterleavedU8 input , InterleavedU8 found ) {
+		ConvolveNormalizedInterleaved.vertical(kernel, input, found);
+
+		for( int band = 0; band < numBands; band++ ) {
+			ImageUInt8 expected = new ImageUInt8(input.width,input.height);
+			ConvolveNormalized.vertical(kernel, BoofTesting.extractBand(input, band, ImageUInt8.class), expected);
+			BoofTesting.assertEqualsBand(expected, found, band, 0);
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_I32;
+import boofcv.core.image.border.ImagePadded;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Compares the results against {@link ConvolveWithBorder}
+ *
+ * @author Peter Abeles
+ */
+public class TestConvolvePadded {
+
+	Random rand = new Random(234);
+
+	int width = 20;
+	int height = 15;
+
+	BorderType borders[] = new BorderType[]{BorderType.EXTENDED,BorderType.REFLECT,BorderType.WRAP};
+
+	@Test
+	public void horizontal_F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input,rand,0,100);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+
+		Kernel1D_F32 kernel = FactoryKernel.random1D_F32(3,-1,1,rand);
+
+		for( BorderType type : borders ) {
+			ConvolveWithBorder.horizontal(kernel,input,expected,
+					(ImageBorder_F32)FactoryImageBorder.general(input,type));
+
+			ImagePadded<ImageFloat32> paddedIn = new ImagePadded<ImageFloat32>(ImageFloat32.class,4,type);
+			ImagePadded<ImageFloat32> paddedOut = new ImagePadded<ImageFloat32>(ImageFloat32.class,4,type);
+			paddedIn.setTo(input);
+			ConvolvePadded.horizontal(kernel,paddedIn,paddedOut);
+
+			BoofTesting.assertEquals(expected,paddedOut.getImage(),1e-4);
+		}
+	}
+
+	@Test
+	public void vertical_F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input,rand,0,100);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+
+		Kernel1D_F32 kernel = FactoryKernel.random1D_F32(3,-1,1,rand);
+
+		for( BorderType type : borders ) {
+			ConvolveWithBorder.vertical(kernel,input,expected,
+					(ImageBorder_F32)FactoryImageBorder.general(input,type));
+
+			ImagePadded<ImageFloat32> paddedIn = new ImagePadded<ImageFloat32>(ImageFloat32.class,3,type);
+			ImagePadded<ImageFloat32> paddedOut = new ImagePadded<ImageFloat32>(ImageFloat32.class,3,type);
+			paddedIn.setTo(input);
+			ConvolvePadded.vertical(kernel,paddedIn,paddedOut);
+
+			BoofTesting.assertEquals(expected,paddedOut.getImage(),1e-4);
+		}
+	}
+
+	@Test
+	public void convolve_F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input,rand,0,100);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(2,-1,1,rand);
+
+		for( BorderType type : borders ) {
+			ConvolveWithBorder.convolve(kernel,input,expected,
+					(ImageBorder_F32)FactoryImageBorder.general(input,type));
+
+			ImagePadded<ImageFloat32> paddedIn = new ImagePadded<ImageFloat32>(ImageFloat32.class,2,type);
+			ImagePadded<ImageFloat32> paddedOut = new ImagePadded<ImageFloat32>(ImageFloat32.class,2,type);
+			paddedIn.setTo(input);
+			ConvolvePadded.convolve(kernel,paddedIn,paddedOut);
+
+			BoofTesting.assertEquals(expected,paddedOut.getImage(),1e-4);
+		}
+	}
+
+	@Test
+	public void horizontal_U8_I16() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(input,rand,0,100);
+		ImageSInt16 expected = new ImageSInt16(width,height);
+
+		Kernel1D_I32 kernel = FactoryKernel.random1D_I32(2,-5,5,rand);
+
+		ConvolveWithBorder.horizontal(kernel,input,expected,
+				(ImageBorder_I32)FactoryImageBorder.general(input,BorderType.EXTENDED));
+
+		ImagePadded<ImageUInt8> paddedIn = new ImagePadded<ImageUInt8>(ImageUInt8.class,2,BorderType.EXTENDED);
+		ImagePadded<ImageSInt16> paddedOut = new ImagePadded<ImageSInt16>(ImageSInt16.class,2,BorderType.EXTENDED);
+		paddedIn.setTo(input);
+		ConvolvePadded.horizontal(kernel,paddedIn,paddedOut);
+
+		BoofTesting.assertEquals(expected,paddedOut.getImage(),0);
+	}
+
+	/**
+	 * Apply two filters in a row where the output of the first is the input to the second
+	 */
+	@Test
+	public void chain() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input,rand,0,100);
+		ImageFloat32 storage = new ImageFloat32(width,height);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+
+		Kernel1D_F32 kernel = FactoryKernel.random1D_F32(3,-1,1,rand);
+		ImageBorder_F32 border = (ImageBorder_F32)FactoryImageBorder.general(input,BorderType.REFLECT);
+
+		ConvolveWithBorder.horizontal(kernel,input,storage,border);
+		ConvolveWithBorder.vertical(kernel,storage,expected,border);
+
+		ImagePadded<ImageFloat32> paddedA = new ImagePadded<ImageFloat32>(ImageFloat32.class,3,BorderType.REFLECT);
+		ImagePadded<ImageFloat32> paddedB = new ImagePadded<ImageFloat32>(ImageFloat32.class,3,BorderType.REFLECT);
+		paddedA.setTo(input);
+		ConvolvePadded.horizontal(kernel,paddedA,paddedB);
+		ConvolvePadded.vertical(kernel,paddedB,paddedA);
+
+		BoofTesting.assertEquals(expected,paddedA.getImage(),1e-3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void radiusTooLarge() {
+		ImagePadded<ImageFloat32> paddedIn = new ImagePadded<ImageFloat32>(ImageFloat32.class,2,BorderType.EXTENDED);
+		ImagePadded<ImageFloat32> paddedOut = new ImagePadded<ImageFloat32>(ImageFloat32.class,2,BorderType.EXTENDED);
+		paddedIn.setTo(new ImageFloat32(width,height));
+
+		ConvolvePadded.horizontal(FactoryKernel.random1D_F32(3,-1,1,rand),paddedIn,paddedOut);
+	}
+}
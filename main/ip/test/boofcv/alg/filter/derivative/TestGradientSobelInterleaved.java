@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.derivative;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_I32;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestGradientSobelInterleaved {
+	Random rand = new Random(234);
+
+	int width = 20;
+	int height = 25;
+	int numBands = 3;
+
+	/**
+	 * Each band should be identical to the single band algorithm with an extended border
+	 */
+	@Test
+	public void compareToSingleBand_U8() {
+		InterleavedU8 input = new InterleavedU8(width,height,numBands);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		BoofTesting.checkSubImage(this, "compare", true, input,
+				new InterleavedS16(width,height,numBands), new InterleavedS16(width,height,numBands));
+	}
+
+	@Test
+	public void compareToSingleBand_F32() {
+		InterleavedF32 input = new InterleavedF32(width,height,numBands);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		BoofTesting.checkSubImage(this, "compare", true, input,
+				new InterleavedF32(width,height,numBands), new InterleavedF32(width,height,numBands));
+	}
+
+	public void compare( InterleavedU8 input , InterleavedS16 derivX , InterleavedS16 derivY ) {
+		GradientSobelInterleaved.process(input, derivX, derivY, true);
+
+		ImageSInt16 expectedX = new ImageSInt16(width,height);
+		ImageSInt16 expectedY = new ImageSInt16(width,height);
+		for( int band = 0; band < numBands; band++ ) {
+			ImageUInt8 inputBand = BoofTesting.extractBand(input, band, ImageUInt8.class);
+			ImageBorder_I32 border = (ImageBorder_I32)FactoryImageBorder.general(inputBand, BorderType.EXTENDED);
+			GradientSobel.process(inputBand, expectedX, expectedY, border);
+
+			BoofTesting.assertEqualsBand(expectedX, derivX, band, 0);
+			BoofTesting.assertEqualsBand(expectedY, derivY, band, 0);
+		}
+	}
+
+	public void compare( InterleavedF32 input , InterleavedF32 derivX , InterleavedF32 derivY ) {
+		GradientSobelInterleaved.process(input, derivX, derivY, true);
+
+		ImageFloat32 expectedX = new ImageFloat32(width,height);
+		ImageFloat32 expectedY = new ImageFloat32(width,height);
+		for( int band = 0; band < numBands; band++ ) {
+			ImageFloat32 inputBand = BoofTesting.extractBand(input, band, ImageFloat32.class);
+			ImageBorder_F32 border = (ImageBorder_F32)FactoryImageBorder.general(inputBand, BorderType.EXTENDED);
+			GradientSobel.process(inputBand, expectedX, expectedY, border);
+
+			BoofTesting.assertEqualsBand(expectedX, derivX, band, 1e-4);
+			BoofTesting.assertEqualsBand(expectedY, derivY, band, 1e-4);
+		}
+	}
+
+	/**
+	 * When the border is skipped the inner image should be the same and the border not modified
+	 */
+	@Test
+	public void skipBorder() {
+		InterleavedF32 input = new InterleavedF32(width,height,numBands);
+		InterleavedF32 derivX = new InterleavedF32(width,height,numBands);
+		InterleavedF32 derivY = new InterleavedF32(width,height,numBands);
+		InterleavedF32 expectedX = new InterleavedF32(width,height,numBands);
+		InterleavedF32 expectedY = new InterleavedF32(width,height,numBands);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+		GImageMiscOps.fill(derivX, -1);
+		GImageMiscOps.fill(derivY, -1);
+
+		GradientSobelInterleaved.process(input, derivX, derivY, false);
+		GradientSobelInterleaved.process(input, expectedX, expectedY, true);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				boolean border = x == 0 || y == 0 || x == width-1 || y == height-1;
+				for( int band = 0; band < numBands; band++ ) {
+					if( border ) {
+						assertEquals(-1, derivX.getBand(x, y, band), 1e-8);
+						assertEquals(-1, derivY.getBand(x, y, band), 1e-8);
+					} else {
+						assertEquals(expectedX.getBand(x, y, band), derivX.getBand(x, y, band), 1e-8);
+						assertEquals(expectedY.getBand(x, y, band), derivY.getBand(x, y, band), 1e-8);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Splitting the rows across threads should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			width = 40; height = 75;
+			compareToSingleBand_U8();
+			compareToSingleBand_F32();
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	/**
+	 * Interleaved images should be supported by the derivative factory
+	 */
+	@Test
+	public void factory() {
+		InterleavedU8 input = new InterleavedU8(width,height,numBands);
+		InterleavedS16 derivX = new InterleavedS16(width,height,numBands);
+		InterleavedS16 derivY = new InterleavedS16(width,height,numBands);
+		InterleavedS16 expectedX = new InterleavedS16(width,height,numBands);
+		InterleavedS16 expectedY = new InterleavedS16(width,height,numBands);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageGradient<InterleavedU8,InterleavedS16> alg =
+				FactoryDerivative.sobel(InterleavedU8.class, InterleavedS16.class);
+		assertEquals(0, alg.getBorder());
+		alg.process(input, derivX, derivY);
+
+		GradientSobelInterleaved.process(input, expectedX, expectedY, true);
+		BoofTesting.assertEquals(expectedX, derivX, 0);
+		BoofTesting.assertEquals(expectedY, derivY, 0);
+
+		alg.setBorderType(BorderType.SKIP);
+		assertEquals(1, alg.getBorder());
+	}
+}
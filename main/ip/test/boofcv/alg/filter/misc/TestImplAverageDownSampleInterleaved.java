@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.misc;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplAverageDownSampleInterleaved {
+
+	Random rand = new Random(234);
+
+	int width = 20;
+	int height = 15;
+	int numBands = 3;
+
+	/**
+	 * Compare each band against the single band implementation.  The image size is not divisible by
+	 * the sample width for some of the cases
+	 */
+	@Test
+	public void compareToSingleBand() {
+		for( int sampleWidth = 2; sampleWidth <= 4; sampleWidth++ ) {
+			compare_U8(sampleWidth);
+			compare_F32(sampleWidth);
+		}
+	}
+
+	/**
+	 * Splitting the rows across threads should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			width = 45; height = 70;
+			compare_U8(3);
+			compare_F32(3);
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	private void compare_U8( int sampleWidth ) {
+		int w = AverageDownSampleOps.downSampleSize(width,sampleWidth);
+		int h = AverageDownSampleOps.downSampleSize(height,sampleWidth);
+
+		InterleavedU8 input = new InterleavedU8(width,height,numBands);
+		InterleavedU8 found = new InterleavedU8(w,h,numBands);
+		ImageUInt8 expected = new ImageUInt8(w,h);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		ImplAverageDownSampleInterleaved.down(input, sampleWidth, found);
+
+		for( int band = 0; band < numBands; band++ ) {
+			ImageUInt8 inputBand = BoofTesting.extractBand(input, band, ImageUInt8.class);
+			AverageDownSampleOps.down(inputBand, sampleWidth, expected);
+			BoofTesting.assertEqualsBand(expected, found, band, 0);
+		}
+	}
+
+	private void compare_F32( int sampleWidth ) {
+		int w = AverageDownSampleOps.downSampleSize(width,sampleWidth);
+		int h = AverageDownSampleOps.downSampleSize(height,sampleWidth);
+
+		InterleavedF32 input = new InterleavedF32(width,height,numBands);
+		InterleavedF32 found = new InterleavedF32(w,h,numBands);
+		ImageFloat32 expected = new ImageFloat32(w,h);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		ImplAverageDownSampleInterleaved.down(input, sampleWidth, found);
+
+		for( int band = 0; band < numBands; band++ ) {
+			ImageFloat32 inputBand = BoofTesting.extractBand(input, band, ImageFloat32.class);
+			AverageDownSampleOps.down(inputBand, sampleWidth, expected);
+			BoofTesting.assertEqualsBand(expected, found, band, 1e-4);
+		}
+	}
+
+	/**
+	 * The output image must have the down sampled shape
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void checkShape() {
+		InterleavedU8 input = new InterleavedU8(width,height,numBands);
+		InterleavedU8 output = new InterleavedU8(width,height,numBands);
+
+		ImplAverageDownSampleInterleaved.down(input, 2, output);
+	}
+}
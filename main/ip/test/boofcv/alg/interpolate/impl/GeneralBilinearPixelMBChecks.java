@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.interpolate.impl;
+
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.ImageInterleaved;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares bilinear interpolation of interleaved images against the single band implementation applied
+ * to each band independently.
+ *
+ * @author Peter Abeles
+ */
+public abstract class GeneralBilinearPixelMBChecks<T extends ImageInterleaved, B extends ImageSingleBand> {
+	protected Random rand = new Random(0xff34);
+
+	protected int width = 32;
+	protected int height = 24;
+	protected int numBands = 3;
+
+	Class<T> imageType;
+	Class<B> bandType;
+
+	protected GeneralBilinearPixelMBChecks(Class<T> imageType, Class<B> bandType) {
+		this.imageType = imageType;
+		this.bandType = bandType;
+	}
+
+	protected abstract T createImage( int width , int height , int numBands );
+
+	/**
+	 * Checks the value returned by get() at points inside the image and along its edges
+	 */
+	@Test
+	public void get() {
+		T img = createImage(width, height, numBands);
+		GImageMiscOps.fillUniform(img, rand, 0, 100);
+
+		BoofTesting.checkSubImage(this, "get", false, img);
+	}
+
+	public void get( T img ) {
+		InterpolatePixelMB<T> alg = FactoryInterpolation.bilinearPixelMB(imageType);
+		alg.setImage(img);
+
+		float[] found = new float[numBands];
+		float[][] points = new float[][]{{10,10},{10.1f,10},{10,10.6f},{10.8f,10.6f},
+				{width-1,height/2},{0,height/2},{width/2,height-1},{width/2,0},{0,0},{width-1,height-1},
+				{width-1.5f,height-1}};
+
+		for( int band = 0; band < numBands; band++ ) {
+			InterpolatePixelS<B> expected = FactoryInterpolation.bilinearPixelS(bandType);
+			expected.setImage(BoofTesting.extractBand(img, band, bandType));
+
+			for( float[] p : points ) {
+				alg.get(p[0], p[1], found);
+				assertEquals(expected.get(p[0], p[1]), found[band], 1e-4f);
+			}
+		}
+	}
+
+	/**
+	 * Compares get_fast() against get() inside the fast bounds
+	 */
+	@Test
+	public void get_fast() {
+		T img = createImage(width, height, numBands);
+		GImageMiscOps.fillUniform(img, rand, 0, 100);
+		InterpolatePixelMB<T> alg = FactoryInterpolation.bilinearPixelMB(imageType);
+		alg.setImage(img);
+
+		float[] expected = new float[numBands];
+		float[] found = new float[numBands];
+
+		for( int i = 0; i < 100; i++ ) {
+			float x = rand.nextFloat()*(width-1);
+			float y = rand.nextFloat()*(height-1);
+
+			if( !alg.isInFastBounds(x, y) )
+				continue;
+
+			alg.get(x, y, expected);
+			alg.get_fast(x, y, found);
+
+			for( int band = 0; band < numBands; band++ )
+				assertEquals(expected[band], found[band], 1e-6f);
+		}
+	}
+
+	/**
+	 * Sees if get throws an exception if it is out of bounds
+	 */
+	@Test
+	public void get_outside() {
+		T img = createImage(width, height, numBands);
+		InterpolatePixelMB<T> alg = FactoryInterpolation.bilinearPixelMB(imageType);
+		alg.setImage(img);
+
+		checkOutside(alg, -0.1f, 0);
+		checkOutside(alg, 0, -0.1f);
+		checkOutside(alg, width-0.99f, 0);
+		checkOutside(alg, 0, height-0.99f);
+	}
+
+	private void checkOutside( InterpolatePixelMB<T> alg , float x , float y ) {
+		assertFalse(alg.isInFastBounds(x, y));
+		try {
+			alg.get(x, y, new float[numBands]);
+			fail("Didn't throw an exception when accessing an outside pixel");
+		} catch( IllegalArgumentException e ) {}
+	}
+}
@@ -144,6 +144,63 @@ public abstract class GeneralChecksInterpolationPixelS< T extends ImageSingleBan
 		assertEquals(interp.get(10.8f, 10.6f), interp.get_fast(10.8f, 10.6f), 1e-6);
 	}
 
+	/**
+	 * Compare the batch get_fast against the single point version
+	 */
+	@Test
+	public void get_fast_batch() {
+		T img = createImage(width, height);
+		GImageMiscOps.fillUniform(img, rand, 0, 100);
+
+		BoofTesting.checkSubImage(this, "get_fast_batch", false, img);
+	}
+
+	public void get_fast_batch(T img) {
+		InterpolatePixelS<T> interp = wrap(img, 0, 100);
+
+		int N = 50;
+		float x[] = new float[N+5];
+		float y[] = new float[N+5];
+		float values[] = new float[N+5];
+
+		for( int i = 0; i < N; i++ ) {
+			x[i] = 10 + rand.nextFloat()*(width-20);
+			y[i] = 10 + rand.nextFloat()*(height-20);
+		}
+		values[N] = -1;
+
+		interp.get_fast(x, y, values, N);
+
+		for( int i = 0; i < N; i++ ) {
+			assertEquals(interp.get_fast(x[i], y[i]), values[i], 1e-6);
+		}
+		// should only process the requested number of points
+		assertEquals(-1, values[N], 1e-8);
+	}
+
+	/**
+	 * A copy should produce the same results and not be affected by changes to the original
+	 */
+	@Test
+	public void copy() {
+		T imgA = createImage(width, height);
+		T imgB = createImage(width, height);
+		GImageMiscOps.fillUniform(imgA, rand, 0, 100);
+		GImageMiscOps.fillUniform(imgB, rand, 0, 100);
+
+		InterpolatePixelS<T> interp = wrap(imgA, 0, 100);
+		InterpolatePixelS<T> copy = interp.copy();
+		assertTrue(copy != interp);
+
+		copy.setImage(imgA);
+		interp.setImage(imgB);
+
+		assertTrue(imgA == copy.getImage());
+		assertEquals(compute(imgA, 10.8f, 10.6f), copy.get(10.8f, 10.6f), 1e-5f);
+		assertEquals(interp.getFastBorderX(), copy.getFastBorderX());
+		assertEquals(interp.getFastBorderY(), copy.getFastBorderY());
+	}
+
 	@Test
 	public void getImage() {
 		T img = createImage(width, height);
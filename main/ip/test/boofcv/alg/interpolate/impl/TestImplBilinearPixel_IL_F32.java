@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.interpolate.impl;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedF32;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplBilinearPixel_IL_F32 extends GeneralBilinearPixelMBChecks<InterleavedF32,ImageFloat32>
+{
+	public TestImplBilinearPixel_IL_F32() {
+		super(InterleavedF32.class, ImageFloat32.class);
+	}
+
+	@Override
+	protected InterleavedF32 createImage(int width, int height, int numBands) {
+		return new InterleavedF32(width, height, numBands);
+	}
+}
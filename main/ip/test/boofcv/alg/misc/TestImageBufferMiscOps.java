@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.misc;
+
+import boofcv.core.image.ConvertImageBuffer;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the results against {@link ImageMiscOps}
+ *
+ * @author Peter Abeles
+ */
+public class TestImageBufferMiscOps {
+
+	Random rand = new Random(234);
+	int width = 15;
+	int height = 20;
+
+	@Test
+	public void fill() {
+		BufferU8 a = new BufferU8(width,height).subimage(1,1,width,height,null);
+		ImageBufferMiscOps.fill(a,200);
+		ImageUInt8 expectedA = new ImageUInt8(a.width,a.height);
+		ImageMiscOps.fill(expectedA,200);
+		BoofTesting.assertEquals(expectedA,ConvertImageBuffer.convert(a,(ImageUInt8)null),0);
+
+		BufferS16 b = new BufferS16(width,height);
+		ImageBufferMiscOps.fill(b,-300);
+		ImageSInt16 expectedB = new ImageSInt16(width,height);
+		ImageMiscOps.fill(expectedB,-300);
+		BoofTesting.assertEquals(expectedB,ConvertImageBuffer.convert(b,(ImageSInt16)null),0);
+
+		BufferF32 c = new BufferF32(width,height);
+		ImageBufferMiscOps.fill(c,2.5f);
+		ImageFloat32 expectedC = new ImageFloat32(width,height);
+		ImageMiscOps.fill(expectedC,2.5f);
+		BoofTesting.assertEquals(expectedC,ConvertImageBuffer.convert(c,(ImageFloat32)null),0);
+	}
+
+	@Test
+	public void fillBorder() {
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(expected,rand,0,100);
+		BufferF32 found = ConvertImageBuffer.convert(expected,(BufferF32)null);
+
+		ImageMiscOps.fillBorder(expected,-1,3);
+		ImageBufferMiscOps.fillBorder(found,-1,3);
+		BoofTesting.assertEquals(expected,ConvertImageBuffer.convert(found,(ImageFloat32)null),0);
+	}
+
+	@Test
+	public void fillRectangle() {
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		BufferU8 found = new BufferU8(width,height);
+
+		// partially outside the image
+		ImageMiscOps.fillRectangle(expected,5,-2,4,6,30);
+		ImageBufferMiscOps.fillRectangle(found,5,-2,4,6,30);
+		BoofTesting.assertEquals(expected,ConvertImageBuffer.convert(found,(ImageUInt8)null),0);
+	}
+
+	@Test
+	public void fillUniform() {
+		BufferS16 img = new BufferS16(width,height);
+		ImageBufferMiscOps.fillUniform(img,rand,-10,10);
+
+		boolean nonZero = false;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				int v = img.get(x,y);
+				assertTrue( v >= -10 && v < 10 );
+				nonZero |= v != 0;
+			}
+		}
+		assertTrue(nonZero);
+	}
+}
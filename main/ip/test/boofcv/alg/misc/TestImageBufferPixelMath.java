@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.misc;
+
+import boofcv.core.image.ConvertImageBuffer;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Compares the results against {@link PixelMath}
+ *
+ * @author Peter Abeles
+ */
+public class TestImageBufferPixelMath {
+
+	Random rand = new Random(234);
+	int width = 15;
+	int height = 20;
+
+	@Test
+	public void U8() {
+		ImageUInt8 orig = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(orig,rand,0,256);
+		BufferU8 input = ConvertImageBuffer.convert(orig,(BufferU8)null);
+		BufferU8 output = new BufferU8(width,height);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+
+		PixelMath.multiply(orig,1.7,expected);
+		ImageBufferPixelMath.multiply(input,1.7,output);
+		check(expected,output);
+
+		PixelMath.multiply(orig,1.7,10,200,expected);
+		ImageBufferPixelMath.multiply(input,1.7,10,200,output);
+		check(expected,output);
+
+		PixelMath.divide(orig,2.5,expected);
+		ImageBufferPixelMath.divide(input,2.5,output);
+		check(expected,output);
+
+		PixelMath.divide(orig,0.5,0,255,expected);
+		ImageBufferPixelMath.divide(input,0.5,0,255,output);
+		check(expected,output);
+
+		PixelMath.plus(orig,-20,expected);
+		ImageBufferPixelMath.plus(input,-20,output);
+		check(expected,output);
+
+		PixelMath.plus(orig,-20,0,255,expected);
+		ImageBufferPixelMath.plus(input,-20,0,255,output);
+		check(expected,output);
+
+		// same instance for input and output
+		PixelMath.plus(orig,5,0,255,expected);
+		ImageBufferPixelMath.plus(input,5,0,255,input);
+		check(expected,input);
+	}
+
+	@Test
+	public void S16() {
+		ImageSInt16 orig = new ImageSInt16(width,height);
+		ImageMiscOps.fillUniform(orig,rand,-1000,1000);
+		BufferS16 input = ConvertImageBuffer.convert(orig,(BufferS16)null);
+		BufferS16 output = new BufferS16(width,height);
+		ImageSInt16 expected = new ImageSInt16(width,height);
+
+		PixelMath.abs(orig,expected);
+		ImageBufferPixelMath.abs(input,output);
+		check(expected,output);
+
+		PixelMath.multiply(orig,2.3,expected);
+		ImageBufferPixelMath.multiply(input,2.3,output);
+		check(expected,output);
+
+		PixelMath.multiply(orig,2.3,-500,500,expected);
+		ImageBufferPixelMath.multiply(input,2.3,-500,500,output);
+		check(expected,output);
+
+		PixelMath.divide(orig,3,expected);
+		ImageBufferPixelMath.divide(input,3,output);
+		check(expected,output);
+
+		PixelMath.divide(orig,0.2,-2000,2000,expected);
+		ImageBufferPixelMath.divide(input,0.2,-2000,2000,output);
+		check(expected,output);
+
+		PixelMath.plus(orig,300,expected);
+		ImageBufferPixelMath.plus(input,300,output);
+		check(expected,output);
+
+		PixelMath.plus(orig,300,-100,800,expected);
+		ImageBufferPixelMath.plus(input,300,-100,800,output);
+		check(expected,output);
+	}
+
+	@Test
+	public void F32() {
+		ImageFloat32 orig = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(orig,rand,-100,100);
+		BufferF32 input = ConvertImageBuffer.convert(orig,(BufferF32)null);
+		BufferF32 output = new BufferF32(width,height);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+
+		PixelMath.abs(orig,expected);
+		ImageBufferPixelMath.abs(input,output);
+		check(expected,output);
+
+		PixelMath.multiply(orig,2.3f,expected);
+		ImageBufferPixelMath.multiply(input,2.3f,output);
+		check(expected,output);
+
+		PixelMath.divide(orig,3f,expected);
+		ImageBufferPixelMath.divide(input,3f,output);
+		check(expected,output);
+
+		PixelMath.plus(orig,1.5f,expected);
+		ImageBufferPixelMath.plus(input,1.5f,output);
+		check(expected,output);
+	}
+
+	private void check( ImageUInt8 expected , BufferU8 found ) {
+		BoofTesting.assertEquals(expected,ConvertImageBuffer.convert(found,(ImageUInt8)null),0);
+	}
+
+	private void check( ImageSInt16 expected , BufferS16 found ) {
+		BoofTesting.assertEquals(expected,ConvertImageBuffer.convert(found,(ImageSInt16)null),0);
+	}
+
+	private void check( ImageFloat32 expected , BufferF32 found ) {
+		BoofTesting.assertEquals(expected,ConvertImageBuffer.convert(found,(ImageFloat32)null),1e-4);
+	}
+}
@@ -141,18 +141,30 @@ public class TestImageMiscOps {
 	private void testFill_Single( Method m ) throws InvocationTargetException, IllegalAccessException {
 		Class paramTypes[] = m.getParameterTypes();
 		ImageSingleBand orig = GeneralizedImageOps.createSingleBand(paramTypes[0], width, height);
-		GImageMiscOps.fillUniform(orig, rand, 0,20);
+
+		// entire image, rows which are not back to back, and rows which are back to back
+		testFill_Single(m, orig, 0, 0, width, height);
+		testFill_Single(m, orig, 1, 2, width - 1, height - 3);
+		testFill_Single(m, orig, 0, 2, width, height - 3);
+	}
+
+	private void testFill_Single( Method m , ImageSingleBand orig , int x0 , int y0 , int x1 , int y1 )
+			throws InvocationTargetException, IllegalAccessException {
+		GImageMiscOps.fillUniform(orig, rand, 0,9);
+		ImageSingleBand sub = orig.subimage(x0,y0,x1,y1,null);
 
 		if( orig.getDataType().isInteger()) {
-			m.invoke(null,orig,10);
+			m.invoke(null,sub,10);
 		} else {
-			m.invoke(null,orig,10.0f);
+			m.invoke(null,sub,10.0f);
 		}
 
+		// pixels outside of the sub-image should not be modified
 		GImageSingleBand a = FactoryGImageSingleBand.wrap(orig);
 		for( int i = 0; i < height; i++ ) {
 			for( int j = 0; j < width; j++ ) {
-				assertEquals(10.0,a.get(j,i).doubleValue(),1e-4);
+				boolean inside = j >= x0 && j < x1 && i >= y0 && i < y1;
+				assertEquals(inside,a.get(j,i).doubleValue() == 10.0);
 			}
 		}
 	}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.fft;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFftPlanCache {
+
+	int maxIdle;
+
+	@Before
+	public void before() {
+		maxIdle = FftPlanCache.getMaxIdle();
+		FftPlanCache.clear();
+		FftPlanCache.resetCounters();
+	}
+
+	@After
+	public void after() {
+		FftPlanCache.setMaxIdle(maxIdle);
+		FftPlanCache.clear();
+	}
+
+	@Test
+	public void borrow_recycle_1D() {
+		GeneralPurposeFFT_F32_1D a = FftPlanCache.borrow_F32(10);
+		assertEquals(10, a.getN());
+		FftPlanCache.recycle(a);
+		assertEquals(1, FftPlanCache.getIdle());
+
+		// same size should be reused
+		assertTrue(a == FftPlanCache.borrow_F32(10));
+		assertEquals(0, FftPlanCache.getIdle());
+
+		// different size or precision should not
+		FftPlanCache.recycle(a);
+		assertTrue(a != FftPlanCache.borrow_F32(11));
+		GeneralPurposeFFT_F64_1D b = FftPlanCache.borrow_F64(10);
+		assertEquals(10, b.getN());
+
+		assertEquals(3, FftPlanCache.getAllocations());
+		assertEquals(4, FftPlanCache.getBorrowed());
+	}
+
+	@Test
+	public void borrow_recycle_2D() {
+		GeneralPurposeFFT_F64_2D a = FftPlanCache.borrow_F64(10,12);
+		assertEquals(10, a.getRows());
+		assertEquals(12, a.getColumns());
+		FftPlanCache.recycle(a);
+
+		// shape is transposed
+		GeneralPurposeFFT_F64_2D b = FftPlanCache.borrow_F64(12,10);
+		assertTrue(a != b);
+		assertTrue(a == FftPlanCache.borrow_F64(10,12));
+
+		GeneralPurposeFFT_F32_2D c = FftPlanCache.borrow_F32(10,12);
+		FftPlanCache.recycle(c);
+		assertTrue(c == FftPlanCache.borrow_F32(10,12));
+
+		assertEquals(3, FftPlanCache.getAllocations());
+	}
+
+	/**
+	 * When there are too many idle plans the least recently used sizes should be discarded first
+	 */
+	@Test
+	public void maxIdle() {
+		FftPlanCache.setMaxIdle(2);
+
+		GeneralPurposeFFT_F32_1D a = FftPlanCache.borrow_F32(5);
+		GeneralPurposeFFT_F32_1D b = FftPlanCache.borrow_F32(6);
+		GeneralPurposeFFT_F32_1D c = FftPlanCache.borrow_F32(7);
+
+		FftPlanCache.recycle(a);
+		FftPlanCache.recycle(b);
+		// a is now the most recently used
+		assertTrue(a == FftPlanCache.borrow_F32(5));
+		FftPlanCache.recycle(a);
+		FftPlanCache.recycle(c);
+
+		assertEquals(2, FftPlanCache.getIdle());
+		assertTrue(a == FftPlanCache.borrow_F32(5));
+		assertTrue(c == FftPlanCache.borrow_F32(7));
+		assertTrue(b != FftPlanCache.borrow_F32(6));
+
+		// shrinking the limit discards plans
+		FftPlanCache.recycle(a);
+		FftPlanCache.recycle(c);
+		FftPlanCache.setMaxIdle(0);
+		assertEquals(0, FftPlanCache.getIdle());
+	}
+}
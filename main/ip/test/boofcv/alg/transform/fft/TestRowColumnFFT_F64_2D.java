@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.fft;
+
+import boofcv.concurrency.BoofConcurrency;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRowColumnFFT_F64_2D {
+
+	double tol = 1e-8;
+
+	Random rand = new Random(234);
+
+	int sizes[] = new int[]{1,2,3,7,16,32,100,103};
+
+	/**
+	 * Compare against the results from {@link GeneralPurposeFFT_F64_2D}
+	 */
+	@Test
+	public void complexForward() {
+		for( boolean concurrent : new boolean[]{false,true}) {
+			Boolean previous = BoofConcurrency.override(concurrent);
+			int maxThreads = BoofConcurrency.getMaxThreads();
+			try {
+				BoofConcurrency.setMaxThreads(4);
+				for( int i = 0; i < sizes.length; i++ ) {
+					for( int j = 0; j < sizes.length; j++ ) {
+						checkComplexForward(sizes[i], sizes[j]);
+					}
+				}
+			} finally {
+				BoofConcurrency.override(previous);
+				BoofConcurrency.setMaxThreads(maxThreads);
+			}
+		}
+	}
+
+	private void checkComplexForward(int numRows , int numColumns) {
+		double input[] = random(numRows*numColumns*2);
+		double expected[] = input.clone();
+
+		new GeneralPurposeFFT_F64_2D(numRows,numColumns).complexForward(expected);
+
+		RowColumnFFT_F64_2D alg = new RowColumnFFT_F64_2D(numRows,numColumns);
+		alg.complexForward(input);
+		checkEquals(expected, input, numRows*numColumns);
+
+		alg.complexInverse(input,true);
+		new GeneralPurposeFFT_F64_2D(numRows,numColumns).complexInverse(expected,true);
+		checkEquals(expected, input, 1);
+	}
+
+	@Test
+	public void realForwardFull() {
+		for( boolean concurrent : new boolean[]{false,true}) {
+			Boolean previous = BoofConcurrency.override(concurrent);
+			int maxThreads = BoofConcurrency.getMaxThreads();
+			try {
+				BoofConcurrency.setMaxThreads(4);
+				for( int i = 0; i < sizes.length; i++ ) {
+					for( int j = 0; j < sizes.length; j++ ) {
+						checkRealForwardFull(sizes[i], sizes[j]);
+					}
+				}
+			} finally {
+				BoofConcurrency.override(previous);
+				BoofConcurrency.setMaxThreads(maxThreads);
+			}
+		}
+	}
+
+	private void checkRealForwardFull(int numRows , int numColumns) {
+		double input[] = random(numRows*numColumns);
+		double expected[] = new double[numRows*numColumns*2];
+		System.arraycopy(input,0,expected,0,input.length);
+
+		new GeneralPurposeFFT_F64_2D(numRows,numColumns).realForwardFull(expected);
+
+		double found[] = new double[expected.length];
+		double original[] = input.clone();
+		new RowColumnFFT_F64_2D(numRows,numColumns).realForwardFull(input, found);
+
+		checkEquals(expected, found, numRows*numColumns);
+		// input should not be modified
+		checkEquals(original, input, 0);
+	}
+
+	/**
+	 * The packed format should be the same as the first columns/2+1 columns of the full transform.  Inverse
+	 * should return the original data.
+	 */
+	@Test
+	public void realPacked() {
+		for( boolean concurrent : new boolean[]{false,true}) {
+			Boolean previous = BoofConcurrency.override(concurrent);
+			int maxThreads = BoofConcurrency.getMaxThreads();
+			try {
+				BoofConcurrency.setMaxThreads(4);
+				for( int i = 0; i < sizes.length; i++ ) {
+					for( int j = 0; j < sizes.length; j++ ) {
+						checkRealPacked(sizes[i], sizes[j]);
+					}
+				}
+			} finally {
+				BoofConcurrency.override(previous);
+				BoofConcurrency.setMaxThreads(maxThreads);
+			}
+		}
+	}
+
+	private void checkRealPacked(int numRows , int numColumns) {
+		double input[] = random(numRows*numColumns);
+		double full[] = new double[numRows*numColumns*2];
+		System.arraycopy(input,0,full,0,input.length);
+
+		new GeneralPurposeFFT_F64_2D(numRows,numColumns).realForwardFull(full);
+
+		int width = RowColumnFFT_F64_2D.packedWidth(numColumns);
+		double packed[] = new double[numRows*width*2];
+
+		RowColumnFFT_F64_2D alg = new RowColumnFFT_F64_2D(numRows,numColumns);
+		alg.realForwardPacked(input, packed);
+
+		for( int row = 0; row < numRows; row++ ) {
+			for( int col = 0; col < width; col++ ) {
+				int indexFull = row*numColumns*2 + col*2;
+				int indexPacked = row*width*2 + col*2;
+
+				assertEquals(full[indexFull],packed[indexPacked],tol*numRows*numColumns);
+				assertEquals(full[indexFull+1],packed[indexPacked+1],tol*numRows*numColumns);
+			}
+		}
+
+		double found[] = new double[input.length];
+		alg.realInversePacked(packed,found,true);
+
+		checkEquals(input, found, 1);
+	}
+
+	private double[] random( int length ) {
+		double a[] = new double[length];
+		for( int i = 0; i < length; i++ ) {
+			a[i] = (double)rand.nextGaussian();
+		}
+		return a;
+	}
+
+	/**
+	 * Tolerance is scaled by the number of elements since the magnitude of the transform grows with it
+	 */
+	private void checkEquals( double expected[] , double found[] , double scale ) {
+		for( int i = 0; i < expected.length; i++ ) {
+			assertEquals(expected[i],found[i],tol*Math.max(1,scale));
+		}
+	}
+}
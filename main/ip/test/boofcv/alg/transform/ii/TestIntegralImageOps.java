@@ -18,11 +18,17 @@
 
 package boofcv.alg.transform.ii;
 
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.ii.impl.ImplIntegralImageIncremental;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.ImageRectangle;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -41,6 +47,57 @@ public class TestIntegralImageOps {
 		assertEquals(expected, found);
 	}
 
+	@Test
+	public void transformIncremental() {
+		int expected = countName("transformIncremental",IntegralImageOps.class);
+		int found = countName("transform",ImplIntegralImageIncremental.class);
+
+		assertTrue(found != 0 );
+		assertEquals(expected, found);
+	}
+
+	/**
+	 * The incremental update should be identical to recomputing the integral image when concurrency is
+	 * turned on, for any number of threads
+	 */
+	@Test
+	public void transformIncremental_concurrent() {
+		Random rand = new Random(234);
+		ImageFloat32 input = new ImageFloat32(640,480);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+		ImageFloat32 found = new ImageFloat32(input.width,input.height);
+		ImageFloat32 serial = new ImageFloat32(input.width,input.height);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(false);
+		try {
+			IntegralImageOps.transform(input,serial);
+
+			BoofConcurrency.override(true);
+			for( int threads = 2; threads <= 4; threads++ ) {
+				BoofConcurrency.setMaxThreads(threads);
+				ImageMiscOps.fillUniform(input,rand,0,255);
+				IntegralImageOps.transform(input,found);
+
+				ImageMiscOps.fillRectangle(input,150,100,200,50,60);
+				IntegralImageOps.transformIncremental(input,new ImageRectangle(100,200,150,260),found);
+				IntegralImageOps.transform(input,expected);
+				BoofTesting.assertEquals(expected,found,0);
+
+				// the result should not depend on the number of threads
+				BoofConcurrency.override(false);
+				IntegralImageOps.transform(input,serial);
+				BoofConcurrency.override(true);
+				BoofTesting.assertEquals(serial,expected,0);
+			}
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
 	@Test
 	public void convolve() {
 		int expected = countName("convolve",IntegralImageOps.class);
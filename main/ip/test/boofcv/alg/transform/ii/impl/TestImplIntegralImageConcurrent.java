@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.ii.impl;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplIntegralImageConcurrent {
+
+	Random rand = new Random(234);
+	// wide enough to be split into several bands of columns
+	int width = 300;
+	int height = 75;
+
+	@Test
+	public void transform() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			int numFound = BoofTesting.findMethodThenCall(this,"transform",ImplIntegralImageConcurrent.class,"transform");
+			assertEquals(3, numFound);
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	/**
+	 * Compare against the serial algorithm
+	 */
+	public void transform( Method m ) {
+		Class paramType[] = m.getParameterTypes();
+		Class inputType = paramType[0];
+		Class outputType = paramType[1];
+
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(inputType, width, height);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageSingleBand expected = GeneralizedImageOps.createSingleBand(outputType, width, height);
+		BoofTesting.callStaticMethod(ImplIntegralImageOps.class,"transform",input,expected);
+
+		ImageSingleBand found = GeneralizedImageOps.createSingleBand(outputType, width, height);
+
+		BoofTesting.checkSubImage(this,"checkTransformResults",true,m,input,found,expected);
+	}
+
+	public void checkTransformResults(Method m , ImageSingleBand input, ImageSingleBand found ,
+									  ImageSingleBand expected ) throws Exception {
+		m.invoke(null,input,found);
+
+		// the output should be identical, even for floating point images
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.ii.impl;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplIntegralImageIncremental {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 30;
+
+	@Test
+	public void transform() {
+		int numFound = BoofTesting.findMethodThenCall(this,"transform",ImplIntegralImageIncremental.class,"transform");
+		assertEquals(3, numFound);
+	}
+
+	public void transform( Method m ) {
+		Class paramType[] = m.getParameterTypes();
+		Class inputType = paramType[0];
+		Class outputType = paramType[1];
+
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(inputType, width, height);
+		ImageSingleBand found = GeneralizedImageOps.createSingleBand(outputType, width, height);
+		ImageSingleBand expected = GeneralizedImageOps.createSingleBand(outputType, width, height);
+
+		BoofTesting.checkSubImage(this,"checkTransformResults",true,m,input,found,expected);
+	}
+
+	/**
+	 * Modify part of the image, update the integral image, and compare against recomputing the whole thing.  The
+	 * results should be identical.
+	 */
+	public void checkTransformResults(Method m , ImageSingleBand input, ImageSingleBand found ,
+									  ImageSingleBand expected ) throws Exception {
+		int regions[][] = new int[][]{{5,7,9,12},{0,0,4,4},{0,10,width,11},{12,0,14,height},{width-1,height-1,width,height}};
+
+		for( int[] r : regions ) {
+			GImageMiscOps.fillUniform(input, rand, 0, 100);
+			BoofTesting.callStaticMethod(ImplIntegralImageOps.class,"transform",input,found);
+
+			GImageMiscOps.fillRectangle(input, 150, r[0], r[1], r[2]-r[0], r[3]-r[1]);
+			m.invoke(null,input,found,r[0],r[1]);
+
+			BoofTesting.callStaticMethod(ImplIntegralImageOps.class,"transform",input,expected);
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+}
@@ -23,10 +23,13 @@ import boofcv.alg.misc.GImageStatistics;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.ImagePyramidBase;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 
@@ -64,5 +67,86 @@ public abstract class GenericPyramidTests<T extends ImageSingleBand> {
 		}
 	}
 
+	/**
+	 * A lazy pyramid should produce the same layers as one which computes every layer when processed
+	 */
+	@Test
+	public void lazy_compareToEager() {
+		ImagePyramid<T> eager = createPyramid(1,2,4);
+		ImagePyramidBase<T> lazy = (ImagePyramidBase<T>)createPyramid(1,2,4);
+		lazy.setLazy(true);
+
+		for( int trial = 0; trial < 2; trial++ ) {
+			T input = GeneralizedImageOps.createSingleBand(imageType, width, height);
+			GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			eager.process(input);
+			lazy.process(input);
+
+			// request the top layer first so that the lower layers are computed recursively
+			for( int i = lazy.getNumLayers()-1; i >= 0; i-- ) {
+				BoofTesting.assertEquals(eager.getLayer(i), lazy.getLayer(i), 1e-4);
+			}
+		}
+	}
+
+	/**
+	 * Layers should only be computed once they have been requested
+	 */
+	@Test
+	public void lazy_onlyRequestedLayers() {
+		T input = GeneralizedImageOps.createSingleBand(imageType, width, height);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImagePyramidBase<T> pyramid = (ImagePyramidBase<T>)createPyramid(1,2,4);
+		pyramid.setLazy(true);
+		pyramid.process(input);
+
+		assertFalse(pyramid.isLayerComputed(1));
+		assertFalse(pyramid.isLayerComputed(2));
+
+		pyramid.getLayer(1);
+		assertTrue(pyramid.isLayerComputed(0));
+		assertTrue(pyramid.isLayerComputed(1));
+		assertFalse(pyramid.isLayerComputed(2));
+
+		// a new image should invalidate all the layers
+		pyramid.process(input);
+		assertFalse(pyramid.isLayerComputed(1));
+	}
+
+	/**
+	 * When a region is requested the pixels inside of it must be the same as when the whole pyramid is computed
+	 */
+	@Test
+	public void lazy_region() {
+		T input = GeneralizedImageOps.createSingleBand(imageType, width, height);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImagePyramid<T> eager = createPyramid(1,2,4);
+		eager.process(input);
+
+		ImagePyramidBase<T> lazy = (ImagePyramidBase<T>)createPyramid(1,2,4);
+		lazy.setLazy(true);
+		lazy.process(input);
+
+		T expected = eager.getLayer(2);
+		T found = lazy.getLayer(2, 3, 5, 12, 20);
+		checkRegion(expected, found, 3, 5, 12, 20);
+
+		// a second region which doesn't overlap the first
+		found = lazy.getLayer(2, 13, 2, 17, 4);
+		checkRegion(expected, found, 3, 5, 12, 20);
+		checkRegion(expected, found, 13, 2, 17, 4);
+
+		// the entire layer
+		BoofTesting.assertEquals(expected, lazy.getLayer(2), 1e-4);
+		assertTrue(lazy.isLayerComputed(2));
+	}
+
+	private void checkRegion( T expected , T found , int x0 , int y0 , int x1 , int y1 ) {
+		BoofTesting.assertEquals(expected.subimage(x0,y0,x1,y1,null), found.subimage(x0,y0,x1,y1,null), 1e-4);
+	}
+
 	protected abstract ImagePyramid<T> createPyramid( int... scales);
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.transform.pyramid;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.ImageGenerator;
+import boofcv.core.image.inst.SingleBandGenerator;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCachedScaleSpace {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 30;
+
+	// number of bytes in a single image
+	long imageBytes = width*height*4;
+
+	ImageGenerator<ImageFloat32> generator = new SingleBandGenerator<ImageFloat32>(ImageFloat32.class);
+
+	ImageFloat32 original = new ImageFloat32(width,height);
+
+	@Before
+	public void setup() {
+		GImageMiscOps.fillUniform(original, rand, 0, 40);
+	}
+
+	private CachedScaleSpace<ImageFloat32,ImageFloat32> createAlg( long budget ) {
+		CachedScaleSpace<ImageFloat32,ImageFloat32> alg =
+				new CachedScaleSpace<ImageFloat32,ImageFloat32>(generator,generator,budget);
+		alg.setScales(1.2,2.3,3.5);
+		alg.setImage(original);
+		return alg;
+	}
+
+	private NoCacheScaleSpace<ImageFloat32,ImageFloat32> createExpected( int scale ) {
+		NoCacheScaleSpace<ImageFloat32,ImageFloat32> expected =
+				new NoCacheScaleSpace<ImageFloat32,ImageFloat32>(generator,generator);
+		expected.setScales(1.2,2.3,3.5);
+		expected.setImage(original);
+		expected.setActiveScale(scale);
+		return expected;
+	}
+
+	/**
+	 * Compare against the results of {@link NoCacheScaleSpace}
+	 */
+	@Test
+	public void compareToNoCache() {
+		CachedScaleSpace<ImageFloat32,ImageFloat32> alg = createAlg(Long.MAX_VALUE);
+
+		for( int scale = 0; scale < 3; scale++ ) {
+			NoCacheScaleSpace<ImageFloat32,ImageFloat32> expected = createExpected(scale);
+			alg.setActiveScale(scale);
+
+			assertEquals(expected.getCurrentScale(), alg.getCurrentScale(), 1e-8);
+			BoofTesting.assertEquals(expected.getScaledImage(),alg.getScaledImage(), 1e-4);
+			// do one out of order which will force it to meet all the dependencies
+			BoofTesting.assertEquals(expected.getDerivative(false,false,false),alg.getDerivative(false,false,false), 1e-4);
+			BoofTesting.assertEquals(expected.getDerivative(true),alg.getDerivative(true), 1e-4);
+			BoofTesting.assertEquals(expected.getDerivative(false),alg.getDerivative(false), 1e-4);
+			BoofTesting.assertEquals(expected.getDerivative(true,true),alg.getDerivative(true,true), 1e-4);
+			BoofTesting.assertEquals(expected.getDerivative(true,false),alg.getDerivative(true,false), 1e-4);
+			BoofTesting.assertEquals(expected.getDerivative(false,false),alg.getDerivative(false,false), 1e-4);
+			BoofTesting.assertEquals(expected.getDerivative(false,false,true),alg.getDerivative(false,false,true), 1e-4);
+		}
+	}
+
+	/**
+	 * Request images without changing the active scale
+	 */
+	@Test
+	public void directAccess() {
+		CachedScaleSpace<ImageFloat32,ImageFloat32> alg = createAlg(Long.MAX_VALUE);
+		alg.setActiveScale(0);
+
+		NoCacheScaleSpace<ImageFloat32,ImageFloat32> expected = createExpected(2);
+
+		BoofTesting.assertEquals(expected.getScaledImage(),alg.getScaledImage(2), 1e-4);
+		BoofTesting.assertEquals(expected.getDerivative(true,false),alg.getDerivative(2,true,false), 1e-4);
+		assertEquals(1.2, alg.getCurrentScale(), 1e-8);
+	}
+
+	/**
+	 * Repeated requests, possibly from different consumers, should not cause the image to be computed again
+	 */
+	@Test
+	public void hitsAndMisses() {
+		CachedScaleSpace<ImageFloat32,ImageFloat32> alg = createAlg(Long.MAX_VALUE);
+		alg.setActiveScale(1);
+
+		// scaled image, x-derivative, and xy-derivative are all computed
+		ImageFloat32 a = alg.getDerivative(true,false);
+		assertEquals(0,alg.getHits());
+		assertEquals(3,alg.getMisses());
+		assertTrue(alg.isCached(1));
+		assertTrue(alg.isCached(1,true));
+		assertTrue(alg.isCached(1,true,false));
+		assertFalse(alg.isCached(1,false,true));
+
+		// the second consumer gets the same image
+		ImageFloat32 b = alg.getDerivative(true,false);
+		assertTrue(a == b);
+		assertEquals(1,alg.getHits());
+		assertEquals(3,alg.getMisses());
+
+		// only the last derivative needs to be computed
+		alg.getDerivative(true,true);
+		assertEquals(2,alg.getHits());
+		assertEquals(4,alg.getMisses());
+		assertEquals(4*imageBytes,alg.getMemoryUsed());
+
+		alg.resetCounters();
+		assertEquals(0,alg.getHits());
+		assertEquals(0,alg.getMisses());
+	}
+
+	/**
+	 * The least recently used images should be discarded when the budget is exceeded
+	 */
+	@Test
+	public void eviction() {
+		CachedScaleSpace<ImageFloat32,ImageFloat32> alg = createAlg(2*imageBytes);
+		alg.setActiveScale(0);
+
+		alg.getScaledImage(0);
+		alg.getScaledImage(1);
+		alg.getScaledImage(2);
+
+		// scale 1 is the oldest which is not at the active scale
+		assertEquals(1,alg.getEvictions());
+		assertEquals(2*imageBytes,alg.getMemoryUsed());
+		assertTrue(alg.isCached(0));
+		assertFalse(alg.isCached(1));
+		assertTrue(alg.isCached(2));
+
+		// recomputing an evicted image should produce the correct results
+		NoCacheScaleSpace<ImageFloat32,ImageFloat32> expected = createExpected(1);
+		BoofTesting.assertEquals(expected.getScaledImage(),alg.getScaledImage(1), 1e-4);
+		BoofTesting.assertEquals(expected.getDerivative(false),alg.getDerivative(1,false), 1e-4);
+		assertTrue(alg.getMemoryUsed() <= 2*imageBytes);
+
+		// reducing the budget evicts everything which is not at the active scale
+		alg.setMemoryBudget(0);
+		assertEquals(imageBytes,alg.getMemoryUsed());
+		assertTrue(alg.isCached(0));
+	}
+
+	/**
+	 * A new input image should invalidate all the cached images
+	 */
+	@Test
+	public void setImage() {
+		CachedScaleSpace<ImageFloat32,ImageFloat32> alg = createAlg(Long.MAX_VALUE);
+		alg.setActiveScale(1);
+		alg.getDerivative(true);
+
+		GImageMiscOps.fillUniform(original, rand, 0, 40);
+		alg.setImage(original);
+		assertEquals(0,alg.getMemoryUsed());
+		assertFalse(alg.isCached(1));
+
+		NoCacheScaleSpace<ImageFloat32,ImageFloat32> expected = createExpected(1);
+		BoofTesting.assertEquals(expected.getDerivative(true),alg.getDerivative(true), 1e-4);
+
+		// change the shape
+		original = new ImageFloat32(width+5,height);
+		GImageMiscOps.fillUniform(original, rand, 0, 40);
+		alg.setImage(original);
+		expected = createExpected(1);
+		BoofTesting.assertEquals(expected.getDerivative(true),alg.getDerivative(true), 1e-4);
+	}
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.convolve.GenericConvolveDown;
+import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.interpolate.impl.ImplBilinearPixel_F32;
+import boofcv.alg.filter.convolve.GConvolveImageOps;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.ConvertImage;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.convolve.FactoryConvolveDown;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFusedBlurResample {
+
+	Random rand = new Random(234);
+
+	int width = 45;
+	int height = 50;
+
+	Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, 1.5, -1);
+
+	/**
+	 * Compare against blurring the whole image and then interpolating it
+	 */
+	@Test
+	public void fractionalScale_F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		checkF32(input, new ImageFloat32(20, 23));
+		// scale factor of one along one axis
+		checkF32(input, new ImageFloat32(width, 17));
+		// more than two times smaller
+		checkF32(input, new ImageFloat32(9, 8));
+	}
+
+	/**
+	 * Integer scale factors should sample the blurred image without interpolation
+	 */
+	@Test
+	public void integerScale_F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		for( int skip = 1; skip <= 4; skip++ ) {
+			ImageFloat32 found = new ImageFloat32((width+skip-1)/skip,(height+skip-1)/skip);
+
+			FusedBlurResample<ImageFloat32> alg = FactoryPyramid.fusedBlurResample(ImageFloat32.class);
+			alg.setKernel(kernel);
+			alg.process(input,found,skip,skip);
+
+			ImageFloat32 blurred = blur(input);
+			for( int y = 0; y < found.height; y++ ) {
+				for( int x = 0; x < found.width; x++ ) {
+					assertEquals(blurred.get(x*skip,y*skip),found.get(x,y),1e-4f);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compare against separately blurring and down sampling the image with {@link GenericConvolveDown}, which is
+	 * what {@link PyramidDiscreteSampleBlur} does when the fused algorithm isn't used.  The results should be
+	 * identical, including rounding of integer images.  The separate approach only writes to the first
+	 * width/skip columns and height/skip rows, so the last row and column of a layer whose size is rounded up are
+	 * compared against the whole blurred image instead.
+	 */
+	@Test
+	public void compareToConvolveDown() {
+		for( Class type : new Class[]{ImageUInt8.class,ImageFloat32.class}) {
+			for( int skip = 1; skip <= 3; skip++ ) {
+				compareToConvolveDown(type, width, height, skip);
+				compareToConvolveDown(type, 48, 42, skip);
+			}
+		}
+	}
+
+	private void compareToConvolveDown( Class type , int width , int height , int skip ) {
+		Kernel1D kernel = FactoryKernelGaussian.gaussian1D(type,-1,2);
+
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(type,width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		// shape of a layer in the pyramid
+		ImageSingleBand found = GeneralizedImageOps.createSingleBand(type,(width+skip-1)/skip,(height+skip-1)/skip);
+
+		FusedBlurResample alg = FactoryPyramid.fusedBlurResample(type);
+		alg.setKernel(kernel);
+		alg.process(input,found,skip,skip);
+
+		GenericConvolveDown horizontal = FactoryConvolveDown.convolve(kernel,type,type,BorderType.NORMALIZED,true,skip);
+		GenericConvolveDown vertical = FactoryConvolveDown.convolve(kernel,type,type,BorderType.NORMALIZED,false,skip);
+		ImageSingleBand temp = GeneralizedImageOps.createSingleBand(type,width/skip,height);
+		ImageSingleBand expected = GeneralizedImageOps.createSingleBand(type,width/skip,height/skip);
+		horizontal.process(input,temp);
+		vertical.process(temp,expected);
+
+		// blur the whole image for the pixels which the separate approach does not compute
+		ImageSingleBand blurred = GeneralizedImageOps.createSingleBand(type,width,height);
+		ImageSingleBand storage = GeneralizedImageOps.createSingleBand(type,width,height);
+		GConvolveImageOps.horizontalNormalized(kernel,input,storage);
+		GConvolveImageOps.verticalNormalized(kernel,storage,blurred);
+
+		for( int y = 0; y < found.height; y++ ) {
+			for( int x = 0; x < found.width; x++ ) {
+				double f = GeneralizedImageOps.get(found,x,y);
+				if( x < expected.width && y < expected.height )
+					assertEquals(GeneralizedImageOps.get(expected,x,y),f,1e-4);
+				else
+					assertEquals(GeneralizedImageOps.get(blurred,x*skip,y*skip),f,1e-4);
+			}
+		}
+	}
+
+	/**
+	 * An integer kernel should produce the same results as the equivalent float kernel
+	 */
+	@Test
+	public void integerKernel() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		Kernel1D_I32 kernelI = new Kernel1D_I32(new int[]{1,4,6,4,1},5);
+		Kernel1D_F32 kernelF = new Kernel1D_F32(new float[]{1,4,6,4,1},5);
+
+		ImageFloat32 expected = new ImageFloat32(20,23);
+		ImageFloat32 found = new ImageFloat32(20,23);
+
+		FusedBlurResample<ImageFloat32> alg = FactoryPyramid.fusedBlurResample(ImageFloat32.class);
+		alg.setKernel(kernelF);
+		alg.process(input,expected,2.2f,2.2f);
+		alg.setKernel(kernelI);
+		alg.process(input,found,2.2f,2.2f);
+
+		BoofTesting.assertEquals(expected, found, 1e-4);
+	}
+
+	/**
+	 * Compare against the floating point algorithm.  Results should be within round off error.
+	 */
+	@Test
+	public void compare_U8() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 200);
+		ImageFloat32 inputF = ConvertImage.convert(input, (ImageFloat32) null);
+
+		ImageUInt8 found = new ImageUInt8(20,23);
+		ImageFloat32 expected = new ImageFloat32(20,23);
+
+		FusedBlurResample<ImageUInt8> alg = FactoryPyramid.fusedBlurResample(ImageUInt8.class);
+		alg.setKernel(kernel);
+		alg.process(input,found,44f/19f,49f/22f);
+
+		FusedBlurResample<ImageFloat32> algF = FactoryPyramid.fusedBlurResample(ImageFloat32.class);
+		algF.setKernel(kernel);
+		algF.process(inputF,expected,44f/19f,49f/22f);
+
+		for( int y = 0; y < found.height; y++ ) {
+			for( int x = 0; x < found.width; x++ ) {
+				assertEquals(Math.round(expected.get(x,y)),found.get(x,y));
+			}
+		}
+	}
+
+	@Test
+	public void subimage() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		ImageFloat32 output = new ImageFloat32(20,23);
+
+		BoofTesting.checkSubImage(this, "_subimage", true, input, output);
+	}
+
+	public void _subimage( ImageFloat32 input , ImageFloat32 output ) {
+		FusedBlurResample<ImageFloat32> alg = FactoryPyramid.fusedBlurResample(ImageFloat32.class);
+		alg.setKernel(kernel);
+		alg.process(input,output,44f/19f,49f/22f);
+	}
+
+	/**
+	 * Only the requested region should be computed and it should be the same as processing the whole image
+	 */
+	@Test
+	public void region() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageFloat32 expected = new ImageFloat32(20,23);
+		ImageFloat32 found = new ImageFloat32(20,23);
+		ImageMiscOps.fill(found,-1);
+
+		FusedBlurResample<ImageFloat32> alg = FactoryPyramid.fusedBlurResample(ImageFloat32.class);
+		alg.setKernel(kernel);
+		alg.process(input,expected,44f/19f,49f/22f);
+		alg.process(input,found,44f/19f,49f/22f,3,4,15,23);
+
+		for( int y = 0; y < found.height; y++ ) {
+			for( int x = 0; x < found.width; x++ ) {
+				if( x >= 3 && x < 15 && y >= 4 )
+					assertEquals(expected.get(x,y),found.get(x,y),1e-4f);
+				else
+					assertEquals(-1,found.get(x,y),1e-8f);
+			}
+		}
+	}
+
+	/**
+	 * Processing the image in parallel bands should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 input = new ImageFloat32(200,210);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageFloat32 expected = new ImageFloat32(90,100);
+		ImageFloat32 found = new ImageFloat32(90,100);
+
+		FusedBlurResample<ImageFloat32> alg = FactoryPyramid.fusedBlurResample(ImageFloat32.class);
+		alg.setKernel(kernel);
+
+		Boolean previous = BoofConcurrency.override(false);
+		try {
+			alg.process(input,expected,199f/89f,209f/99f);
+			BoofConcurrency.override(true);
+			alg.process(input,found,199f/89f,209f/99f);
+		} finally {
+			BoofConcurrency.override(previous);
+		}
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	private void checkF32( ImageFloat32 input , ImageFloat32 found ) {
+		float scaleX = (float)(input.width-1)/(float)(found.width-1);
+		float scaleY = (float)(input.height-1)/(float)(found.height-1);
+
+		FusedBlurResample<ImageFloat32> alg = FactoryPyramid.fusedBlurResample(ImageFloat32.class);
+		alg.setKernel(kernel);
+		alg.process(input,found,scaleX,scaleY);
+
+		ImplBilinearPixel_F32 interp = new ImplBilinearPixel_F32(blur(input));
+
+		for( int y = 0; y < found.height; y++ ) {
+			float sy = Math.min(y*scaleY,input.height-1);
+			for( int x = 0; x < found.width; x++ ) {
+				float sx = Math.min(x*scaleX,input.width-1);
+				assertEquals(interp.get(sx,sy),found.get(x,y),1e-4f);
+			}
+		}
+	}
+
+	private ImageFloat32 blur( ImageFloat32 input ) {
+		ImageFloat32 storage = new ImageFloat32(input.width,input.height);
+		ImageFloat32 blurred = new ImageFloat32(input.width,input.height);
+		ConvolveNormalized.horizontal(kernel,input,storage);
+		ConvolveNormalized.vertical(kernel,storage,blurred);
+		return blurred;
+	}
+}
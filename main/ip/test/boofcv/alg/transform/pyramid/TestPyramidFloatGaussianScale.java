@@ -20,17 +20,24 @@ package boofcv.alg.transform.pyramid;
 
 import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.alg.distort.DistortImageOps;
+import boofcv.alg.filter.blur.BlurImageOps;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.misc.BoofMiscOps;
+import boofcv.struct.BoofDefaults;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.pyramid.ImagePyramid;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 
 /**
@@ -115,4 +122,32 @@ public class TestPyramidFloatGaussianScale extends GenericPyramidTests<ImageFloa
 		assertEquals(1,alg.getSigma(0),1e-6);
 		assertEquals(4.123105625617661,alg.getSigma(1),0.001);
 	}
+
+	/**
+	 * By default layers with a large sigma are convolved.  Once enabled they should be blurred using the
+	 * recursive filter.
+	 */
+	@Test
+	public void largeSigma() {
+		ImageFloat32 img = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(img,new Random(234),0,100);
+
+		InterpolatePixelS<ImageFloat32> interp = FactoryInterpolation.bilinearPixelS(img);
+		double sigmas[] = new double[]{1,6};
+		PyramidFloatGaussianScale<ImageFloat32> alg = new PyramidFloatGaussianScale<ImageFloat32>(interp,scales,sigmas,imageType);
+		assertNotNull(alg.kernels[1]);
+
+		alg.setRecursiveSigma(BoofDefaults.RECURSIVE_GAUSSIAN_SIGMA);
+		alg.process(img);
+
+		// the fused algorithm can't be used with the recursive filter
+		assertNull(alg.kernels[1]);
+
+		ImageFloat32 prev = alg.getLayer(0);
+		ImageFloat32 blurrImg = BlurImageOps.gaussianRecursive(prev,null,sigmas[1]);
+		ImageFloat32 expected = new ImageFloat32((int)Math.ceil(width/5.0),(int)Math.ceil(height/5.0));
+		DistortImageOps.scale(blurrImg, expected, TypeInterpolate.BILINEAR);
+
+		BoofTesting.assertEquals(expected,alg.getLayer(1), 1e-4);
+	}
 }
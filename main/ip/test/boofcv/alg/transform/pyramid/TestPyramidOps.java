@@ -23,6 +23,7 @@ import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
@@ -128,6 +129,9 @@ public class TestPyramidOps {
 		@Override
 		public void process(T input) {}
 
+		@Override
+		protected void computeLayer(int layer, ImageRectangle region) {}
+
 		@Override
 		public double getSampleOffset(int layer) {return 0;}
 
@@ -19,6 +19,7 @@
 package boofcv.alg.transform.wavelet;
 
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.transform.wavelet.FactoryWaveletDaub;
@@ -181,6 +182,49 @@ public class TestWaveletTransformOps {
 		checkBounds(found,100,150);
 	}
 
+	/**
+	 * Splitting the image across threads should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		for( Class t : types ) {
+			concurrent(t);
+		}
+	}
+
+	public <T extends ImageSingleBand> void concurrent( Class<T> typeInput ) {
+		WaveletDescription<?> desc = createDesc(typeInput);
+
+		// odd sized image to test the border and uneven bands
+		int width = 251;
+		int height = 303;
+		ImageDimension dim = UtilWavelet.transformDimension(width,height,3);
+
+		T input = GeneralizedImageOps.createSingleBand(typeInput, width, height);
+		GImageMiscOps.fillUniform(input, rand, 0, 150);
+
+		ImageSingleBand transform[] = new ImageSingleBand[2];
+		ImageSingleBand found[] = new ImageSingleBand[2];
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(false);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			for( int i = 0; i < 2; i++ ) {
+				BoofConcurrency.override(i == 1);
+				transform[i] = GeneralizedImageOps.createSingleBand(typeInput, dim.width, dim.height);
+				found[i] = GeneralizedImageOps.createSingleBand(typeInput, width, height);
+				invokeTransformN(desc, (ImageSingleBand)input.clone(), transform[i], found[i], 3, 0, 150);
+			}
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+
+		BoofTesting.assertEquals(transform[0], transform[1], 0);
+		BoofTesting.assertEquals(found[0], found[1], 0);
+	}
+
 	private void invokeTransform( WaveletDescription desc,
 								  ImageSingleBand input, ImageSingleBand output, ImageSingleBand found,
 								  double minValue , double maxValue ) {
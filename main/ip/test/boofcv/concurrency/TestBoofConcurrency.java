@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.concurrency;
+
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	int maxThreads;
+
+	@Before
+	public void before() {
+		maxThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(maxThreads);
+		BoofConcurrency.override(null);
+	}
+
+	/**
+	 * Every index should be processed exactly once
+	 */
+	@Test
+	public void loopBands_coverage() {
+		final int counts[] = new int[103];
+
+		BoofConcurrency.loopBands(2,101,5,new IntRangeTask() {
+			@Override
+			public void process(int minInclusive, int maxExclusive) {
+				for( int i = minInclusive; i < maxExclusive; i++ )
+					counts[i]++;
+			}
+		});
+
+		for( int i = 0; i < counts.length; i++ ) {
+			if( i < 2 || i >= 101 )
+				assertEquals(0,counts[i]);
+			else
+				assertEquals(1,counts[i]);
+		}
+	}
+
+	/**
+	 * Inside a concurrent region everything should be serial
+	 */
+	@Test
+	public void loopBands_nested() {
+		final boolean[] results = new boolean[100];
+
+		BoofConcurrency.loopBands(0,100,1,new IntRangeTask() {
+			@Override
+			public void process(int minInclusive, int maxExclusive) {
+				for( int i = minInclusive; i < maxExclusive; i++ )
+					results[i] = BoofConcurrency.isInsideConcurrent() &&
+							!BoofConcurrency.isConcurrent(new ImageUInt8(1000,1000));
+			}
+		});
+
+		for( boolean b : results )
+			assertTrue(b);
+		assertFalse(BoofConcurrency.isInsideConcurrent());
+	}
+
+	@Test
+	public void loopBands_exception() {
+		try {
+			BoofConcurrency.loopBands(0,100,1,new IntRangeTask() {
+				@Override
+				public void process(int minInclusive, int maxExclusive) {
+					if( minInclusive > 0 )
+						throw new IllegalArgumentException("Test");
+				}
+			});
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	@Test
+	public void isConcurrent() {
+		ImageUInt8 small = new ImageUInt8(10,10);
+		ImageUInt8 large = new ImageUInt8(1000,1000);
+
+		assertFalse(BoofConcurrency.isConcurrent(small));
+		assertEquals(BoofConcurrency.USE_CONCURRENT,BoofConcurrency.isConcurrent(large));
+
+		BoofConcurrency.override(true);
+		assertTrue(BoofConcurrency.isConcurrent(small));
+		BoofConcurrency.override(false);
+		assertFalse(BoofConcurrency.isConcurrent(large));
+
+		BoofConcurrency.override(null);
+		BoofConcurrency.setMaxThreads(1);
+		assertFalse(BoofConcurrency.isConcurrent(large));
+	}
+
+	/**
+	 * Wide and short images are split into a single band.  Code which calls itself on each band used to
+	 * recurse without end when concurrency was forced on.
+	 */
+	@Test
+	public void loopBands_singleBand_wideImage() {
+		Random rand = new Random(234);
+		ImageFloat32 input = new ImageFloat32(10000,12);
+		ImageMiscOps.fillUniform(input,rand,0,100);
+		ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+		ImageFloat32 found = new ImageFloat32(input.width,input.height);
+
+		Kernel1D_F32 kernel = FactoryKernel.random1D_F32(2,-1,1,rand);
+
+		BoofConcurrency.override(false);
+		ConvolveImageNoBorder.horizontal(kernel,input,expected,true);
+		ConvolveImageNoBorder.vertical(kernel,input,expected,true);
+
+		BoofConcurrency.override(true);
+		ConvolveImageNoBorder.horizontal(kernel,input,found,true);
+		ConvolveImageNoBorder.vertical(kernel,input,found,true);
+
+		BoofTesting.assertEquals(expected,found,0);
+		assertFalse(BoofConcurrency.isInsideConcurrent());
+	}
+
+	/**
+	 * Changing the number of threads while other threads are processing tasks should not cause any
+	 * band to be skipped or a task to fail
+	 */
+	@Test
+	public void setMaxThreads_whileRunning() throws InterruptedException {
+		final AtomicInteger processed = new AtomicInteger();
+		final int numLoops = 200;
+		final Throwable[] error = new Throwable[1];
+
+		Thread worker = new Thread() {
+			@Override
+			public void run() {
+				try {
+					for( int i = 0; i < numLoops; i++ ) {
+						BoofConcurrency.loopBands(0,100,1,new IntRangeTask() {
+							@Override
+							public void process(int minInclusive, int maxExclusive) {
+								processed.addAndGet(maxExclusive-minInclusive);
+							}
+						});
+					}
+				} catch( Throwable t ) {
+					error[0] = t;
+				}
+			}
+		};
+		worker.start();
+
+		while( worker.isAlive() ) {
+			BoofConcurrency.setMaxThreads(3);
+			BoofConcurrency.setMaxThreads(4);
+		}
+		worker.join();
+
+		assertNull(error[0]);
+		assertEquals(numLoops*100,processed.get());
+	}
+}
@@ -27,7 +27,8 @@ import org.junit.Test;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.image.BufferedImage;
+import java.awt.color.ColorSpace;
+import java.awt.image.*;
 import java.util.Random;
 
 import static org.junit.Assert.*;
@@ -160,6 +161,146 @@ public class TestConvertBufferedImage {
 		BoofTesting.checkEquals(img, srcImg);
 	}
 
+	@Test
+	public void canExtract() {
+		BufferedImage gray = new BufferedImage(imgWidth,imgHeight,BufferedImage.TYPE_BYTE_GRAY);
+		BufferedImage bgr = new BufferedImage(imgWidth,imgHeight,BufferedImage.TYPE_3BYTE_BGR);
+		BufferedImage abgr = new BufferedImage(imgWidth,imgHeight,BufferedImage.TYPE_4BYTE_ABGR);
+		BufferedImage rgb = new BufferedImage(imgWidth,imgHeight,BufferedImage.TYPE_INT_RGB);
+		BufferedImage indexed = new BufferedImage(imgWidth,imgHeight,BufferedImage.TYPE_BYTE_INDEXED);
+
+		assertTrue(ConvertBufferedImage.canExtractInterleavedU8(gray));
+		assertTrue(ConvertBufferedImage.canExtractInterleavedU8(bgr));
+		assertTrue(ConvertBufferedImage.canExtractInterleavedU8(abgr));
+		assertTrue(ConvertBufferedImage.canExtractInterleavedU8(bgr.getSubimage(1,2,5,6)));
+		assertFalse(ConvertBufferedImage.canExtractInterleavedU8(rgb));
+		assertFalse(ConvertBufferedImage.canExtractInterleavedU8(indexed));
+
+		assertTrue(ConvertBufferedImage.canExtractImageUInt8(gray));
+		assertTrue(ConvertBufferedImage.canExtractImageUInt8(gray.getSubimage(1,2,5,6)));
+		assertFalse(ConvertBufferedImage.canExtractImageUInt8(bgr));
+		assertFalse(ConvertBufferedImage.canExtractImageUInt8(rgb));
+		assertFalse(ConvertBufferedImage.canExtractImageUInt8(indexed));
+	}
+
+	@Test
+	public void extractOrConvert_U8() {
+		// wrap the data
+		BufferedImage orig = TestConvertRaster.createByteBuffByType(imgWidth,imgHeight,BufferedImage.TYPE_BYTE_GRAY,rand);
+		BufferedImage sub = orig.getSubimage(1,2,5,6);
+		ImageUInt8 storage = new ImageUInt8(1,1);
+		ImageUInt8 found = ConvertBufferedImage.extractOrConvert(sub,storage);
+
+		assertTrue(found != storage);
+		assertTrue(ConvertBufferedImage.isSharingData(sub,found));
+		BoofTesting.checkEquals(sub, found);
+		// changes should be visible in the original image
+		found.set(1,1,123);
+		assertEquals(123,orig.getRaster().getSample(2,3,0));
+
+		// copy the data
+		orig = TestConvertRaster.createIntBuff(imgWidth, imgHeight, rand);
+		found = ConvertBufferedImage.extractOrConvert(orig,storage);
+
+		assertTrue(found == storage);
+		assertFalse(ConvertBufferedImage.isSharingData(orig,found));
+		BoofTesting.assertEquals(ConvertBufferedImage.convertFrom(orig,(ImageUInt8)null),found,0);
+
+		// null storage
+		found = ConvertBufferedImage.extractOrConvert(orig,(ImageUInt8)null);
+		BoofTesting.assertEquals(ConvertBufferedImage.convertFrom(orig,(ImageUInt8)null),found,0);
+	}
+
+	@Test
+	public void extractOrConvert_Interleaved() {
+		// wrap the data
+		BufferedImage orig = TestConvertRaster.createByteBuffByType(imgWidth,imgHeight,BufferedImage.TYPE_3BYTE_BGR,rand);
+		BufferedImage sub = orig.getSubimage(1,2,5,6);
+		InterleavedU8 storage = new InterleavedU8(1,1,1);
+		InterleavedU8 found = ConvertBufferedImage.extractOrConvert(sub,storage);
+
+		assertTrue(found != storage);
+		assertTrue(ConvertBufferedImage.isSharingData(sub,found));
+		assertEquals(3,found.numBands);
+		BoofTesting.assertEquals(ConvertBufferedImage.convertFrom(sub,(InterleavedU8)null),found,0);
+		// bands are in BGR order
+		found.setBand(1,1,2,(byte)123);
+		assertEquals(123,(orig.getRGB(2,3) >> 16) & 0xFF);
+
+		// copy the data
+		orig = TestConvertRaster.createIntBuff(imgWidth, imgHeight, rand);
+		found = ConvertBufferedImage.extractOrConvert(orig,storage);
+
+		assertTrue(found == storage);
+		assertFalse(ConvertBufferedImage.isSharingData(orig,found));
+		assertEquals(3,found.numBands);
+		BoofTesting.assertEquals(ConvertBufferedImage.convertFrom(orig,(InterleavedU8)null),found,0);
+	}
+
+	@Test
+	public void convertFrom_interleaved() {
+		// a single band image
+		BufferedImage orig = TestConvertRaster.createByteBuffByType(imgWidth,imgHeight,BufferedImage.TYPE_BYTE_GRAY,rand);
+		InterleavedU8 found = ConvertBufferedImage.convertFrom(orig,(InterleavedU8)null);
+		assertEquals(1,found.numBands);
+		assertFalse(ConvertBufferedImage.isSharingData(orig,found));
+		BoofTesting.assertEquals(ConvertBufferedImage.extractInterleavedU8(orig),found,0);
+
+		// RGB image
+		orig = TestConvertRaster.createIntBuff(imgWidth, imgHeight, rand);
+		found = new InterleavedU8(imgWidth,imgHeight,3);
+		ConvertBufferedImage.convertFrom(orig,found);
+		for( int y = 0; y < imgHeight; y++ ) {
+			for( int x = 0; x < imgWidth; x++ ) {
+				int rgb = orig.getRGB(x,y);
+				assertEquals((rgb >> 16) & 0xFF, found.getBand(x,y,0));
+				assertEquals((rgb >> 8) & 0xFF, found.getBand(x,y,1));
+				assertEquals(rgb & 0xFF, found.getBand(x,y,2));
+			}
+		}
+
+		// image shape mismatch
+		try {
+			ConvertBufferedImage.convertFrom(orig,new InterleavedU8(imgWidth+1,imgHeight,3));
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	/**
+	 * Byte raster where the pixel stride is larger than the number of bands.  Here 3 bands are read out of
+	 * 4 bytes per pixel.  The data can't be wrapped or copied directly and must be converted.
+	 */
+	@Test
+	public void convertFrom_interleaved_pixelStride() {
+		byte data[] = new byte[imgWidth*imgHeight*4];
+		rand.nextBytes(data);
+		DataBufferByte buffer = new DataBufferByte(data,data.length);
+		WritableRaster raster = Raster.createInterleavedRaster(buffer,imgWidth,imgHeight,imgWidth*4,4,
+				new int[]{3,2,1},null);
+		ColorModel model = new ComponentColorModel(ColorSpace.getInstance(ColorSpace.CS_sRGB),
+				false,false,Transparency.OPAQUE,DataBuffer.TYPE_BYTE);
+		BufferedImage orig = new BufferedImage(model,raster,false,null);
+		assertEquals(3,orig.getRaster().getNumBands());
+
+		assertFalse(ConvertBufferedImage.canExtractInterleavedU8(orig));
+
+		InterleavedU8 found = ConvertBufferedImage.convertFrom(orig,(InterleavedU8)null);
+		assertEquals(3,found.numBands);
+		for( int y = 0; y < imgHeight; y++ ) {
+			for( int x = 0; x < imgWidth; x++ ) {
+				int rgb = orig.getRGB(x,y);
+				assertEquals((rgb >> 16) & 0xFF, found.getBand(x,y,0));
+				assertEquals((rgb >> 8) & 0xFF, found.getBand(x,y,1));
+				assertEquals(rgb & 0xFF, found.getBand(x,y,2));
+			}
+		}
+
+		// the same when the storage is provided
+		InterleavedU8 storage = new InterleavedU8(1,1,1);
+		assertTrue(storage == ConvertBufferedImage.extractOrConvert(orig,storage));
+		BoofTesting.assertEquals(found,storage,0);
+	}
+
 	/**
 	 * Predeclare an image to convert the buffered image into and step through each data type and image type
 	 */
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.core.image;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvertImageBuffer {
+
+	Random rand = new Random(234);
+	int width = 15;
+	int height = 20;
+
+	@Test
+	public void U8() {
+		ImageUInt8 orig = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(orig,rand,0,256);
+
+		BufferU8 buffer = new BufferU8(width+2,height+3).subimage(1,2,width+1,height+2,null);
+		ConvertImageBuffer.convert(orig,buffer);
+		ImageUInt8 found = ConvertImageBuffer.convert(buffer,(ImageUInt8)null);
+		BoofTesting.assertEquals(orig,found,0);
+
+		found = BoofTesting.createSubImageOf(orig);
+		ConvertImageBuffer.convert(buffer,found);
+		BoofTesting.assertEquals(orig,found,0);
+
+		ImageSInt16 foundS16 = ConvertImageBuffer.convert(buffer,(ImageSInt16)null);
+		BoofTesting.assertEquals(ConvertImage.convert(orig,(ImageSInt16)null),foundS16,0);
+
+		ImageFloat32 foundF32 = ConvertImageBuffer.convert(buffer,(ImageFloat32)null);
+		BoofTesting.assertEquals(ConvertImage.convert(orig,(ImageFloat32)null),foundF32,0);
+	}
+
+	@Test
+	public void S16() {
+		ImageSInt16 orig = new ImageSInt16(width,height);
+		ImageMiscOps.fillUniform(orig,rand,-1000,1000);
+
+		BufferS16 buffer = new BufferS16(width+2,height+3).subimage(1,2,width+1,height+2,null);
+		ConvertImageBuffer.convert(orig,buffer);
+		ImageSInt16 found = ConvertImageBuffer.convert(buffer,(ImageSInt16)null);
+		BoofTesting.assertEquals(orig,found,0);
+
+		ImageFloat32 foundF32 = ConvertImageBuffer.convert(buffer,(ImageFloat32)null);
+		BoofTesting.assertEquals(ConvertImage.convert(orig,(ImageFloat32)null),foundF32,0);
+	}
+
+	@Test
+	public void F32() {
+		ImageFloat32 orig = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(orig,rand,-100,100);
+
+		BufferF32 buffer = ConvertImageBuffer.convert(orig,(BufferF32)null);
+		ImageFloat32 found = BoofTesting.createSubImageOf(orig);
+		ConvertImageBuffer.convert(buffer,found);
+		BoofTesting.assertEquals(orig,found,0);
+	}
+}
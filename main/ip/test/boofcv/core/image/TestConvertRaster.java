@@ -120,12 +120,117 @@ public class TestConvertRaster {
 		assertEquals(2005, out.get(0, 0));
 	}
 
+	@Test
+	public void bufferedToInterleaved_byte() {
+		int types[] = new int[]{BufferedImage.TYPE_3BYTE_BGR,BufferedImage.TYPE_4BYTE_ABGR,BufferedImage.TYPE_BYTE_GRAY};
+
+		for( int type : types ) {
+			BufferedImage input = createByteBuffByType(imgWidth, imgHeight, type, rand);
+			if( type == BufferedImage.TYPE_4BYTE_ABGR )
+				randomizeAlpha(input, rand);
+
+			for( BufferedImage img : new BufferedImage[]{input,input.getSubimage(1,2,imgWidth-1,imgHeight-2)}) {
+				int numBands = img.getRaster().getNumBands();
+				InterleavedU8 found = new InterleavedU8(img.getWidth(),img.getHeight(),numBands);
+				ConvertRaster.bufferedToInterleaved((ByteInterleavedRaster)img.getRaster(),found);
+
+				for( int y = 0; y < img.getHeight(); y++ ) {
+					for( int x = 0; x < img.getWidth(); x++ ) {
+						int argb = img.getRGB(x,y);
+						if( numBands == 1 ) {
+							assertEquals(img.getRaster().getSample(x,y,0), found.getBand(x,y,0));
+						} else {
+							// bands are in the same order as they are stored in memory
+							int offset = numBands == 4 ? 1 : 0;
+							if( numBands == 4 )
+								assertEquals((argb >>> 24) & 0xFF, found.getBand(x,y,0));
+							assertEquals(argb & 0xFF, found.getBand(x,y,offset));
+							assertEquals((argb >> 8) & 0xFF, found.getBand(x,y,offset+1));
+							assertEquals((argb >> 16) & 0xFF, found.getBand(x,y,offset+2));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void bufferedToInterleaved_int() {
+		int types[] = new int[]{BufferedImage.TYPE_INT_RGB,BufferedImage.TYPE_INT_ARGB};
+
+		for( int type : types ) {
+			BufferedImage input = createByteBuffByType(imgWidth, imgHeight, type, rand);
+			if( type == BufferedImage.TYPE_INT_ARGB )
+				randomizeAlpha(input, rand);
+
+			for( BufferedImage img : new BufferedImage[]{input,input.getSubimage(1,2,imgWidth-1,imgHeight-2)}) {
+				int numBands = img.getRaster().getNumBands();
+				InterleavedU8 found = new InterleavedU8(img.getWidth(),img.getHeight(),numBands);
+				ConvertRaster.bufferedToInterleaved((IntegerInterleavedRaster)img.getRaster(),found);
+				checkRGB(img, found);
+
+				// should produce the same results as the generic version
+				InterleavedU8 expected = new InterleavedU8(img.getWidth(),img.getHeight(),numBands);
+				ConvertRaster.bufferedToInterleaved(img,expected);
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		}
+	}
+
+	@Test
+	public void bufferedToInterleaved_generic() {
+		BufferedImage img = createIntBuff(imgWidth, imgHeight, rand);
+		InterleavedU8 found = new InterleavedU8(imgWidth,imgHeight,3);
+		ConvertRaster.bufferedToInterleaved(img,found);
+		checkRGB(img, found);
+
+		// gray scale images should not be mangled by getRGB()
+		img = createByteBuffByType(imgWidth, imgHeight, BufferedImage.TYPE_BYTE_GRAY, rand);
+		found = new InterleavedU8(imgWidth,imgHeight,1);
+		ConvertRaster.bufferedToInterleaved(img,found);
+		for( int y = 0; y < imgHeight; y++ ) {
+			for( int x = 0; x < imgWidth; x++ ) {
+				assertEquals(img.getRaster().getSample(x,y,0), found.getBand(x,y,0));
+			}
+		}
+	}
+
+	/**
+	 * Checks to see if the interleaved image is in RGB or ARGB order
+	 */
+	private void checkRGB( BufferedImage img , InterleavedU8 found ) {
+		int offset = found.numBands == 4 ? 1 : 0;
+		for( int y = 0; y < img.getHeight(); y++ ) {
+			for( int x = 0; x < img.getWidth(); x++ ) {
+				int argb = img.getRGB(x,y);
+				if( offset == 1 )
+					assertEquals((argb >>> 24) & 0xFF, found.getBand(x,y,0));
+				assertEquals((argb >> 16) & 0xFF, found.getBand(x,y,offset));
+				assertEquals((argb >> 8) & 0xFF, found.getBand(x,y,offset+1));
+				assertEquals(argb & 0xFF, found.getBand(x,y,offset+2));
+			}
+		}
+	}
+
+	private static void randomizeAlpha(BufferedImage img, Random rand) {
+		for (int i = 0; i < img.getWidth(); i++) {
+			for (int j = 0; j < img.getHeight(); j++) {
+				img.setRGB(i, j, img.getRGB(i,j) | (rand.nextInt(256) << 24));
+			}
+		}
+	}
+
 	private boolean isTestMethod(Method m) {
 		Class<?> types[] = m.getParameterTypes();
 
 		if (types.length != 2)
 			return false;
 
+		// interleaved images are tested separately
+		if (ImageInterleaved.class.isAssignableFrom(types[0]) ||
+				ImageInterleaved.class.isAssignableFrom(types[1]))
+			return false;
+
 		if (ImageBase.class.isAssignableFrom(types[0]) ||
 				ImageBase.class.isAssignableFrom(types[1]))
 			return true;
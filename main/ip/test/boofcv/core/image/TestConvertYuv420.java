@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.core.image;
+
+import boofcv.alg.color.ColorYuv;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvertYuv420 {
+
+	Random rand = new Random(234);
+
+	// odd shape to make sure the chroma planes are rounded up
+	int width = 25;
+	int height = 31;
+
+	@Test
+	public void yuvToGray() {
+		byte data[] = createData(width, height);
+
+		ImageUInt8 found = ConvertYuv420.yuvToGray(data, width, height, (ImageUInt8) null);
+		ImageFloat32 foundF = new ImageFloat32(width,height);
+		ConvertYuv420.yuvToGray(data, width, height, foundF);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(data[y*width+x]&0xFF,found.get(x,y));
+				assertEquals(data[y*width+x]&0xFF,foundF.get(x,y),1e-8);
+			}
+		}
+
+		// sub-images
+		ImageUInt8 sub = BoofTesting.createSubImageOf(found);
+		ConvertYuv420.yuvToGray(data, width, height, sub);
+		BoofTesting.assertEquals(found,sub,0);
+
+		ImageFloat32 subF = BoofTesting.createSubImageOf(foundF);
+		ConvertYuv420.yuvToGray(data, width, height, subF);
+		BoofTesting.assertEquals(foundF,subF,0);
+	}
+
+	@Test
+	public void yuvToMsRgb_U8() {
+		for( ConvertYuv420.Layout layout : ConvertYuv420.Layout.values() ) {
+			byte data[] = createData(width, height);
+
+			MultiSpectral<ImageUInt8> found = ConvertYuv420.yuvToMsRgb_U8(data, width, height, layout, null);
+
+			byte rgb[] = new byte[3];
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					expected(data, x, y, layout, rgb);
+					for( int band = 0; band < 3; band++ )
+						assertEquals(rgb[band]&0xFF,found.getBand(band).get(x,y));
+				}
+			}
+
+			MultiSpectral<ImageUInt8> sub = BoofTesting.createSubImageOf(found);
+			ConvertYuv420.yuvToMsRgb_U8(data, width, height, layout, sub);
+			BoofTesting.assertEquals(found,sub,0);
+		}
+	}
+
+	@Test
+	public void yuvToMsRgb_F32() {
+		for( ConvertYuv420.Layout layout : ConvertYuv420.Layout.values() ) {
+			byte data[] = createData(width, height);
+
+			MultiSpectral<ImageUInt8> expected = ConvertYuv420.yuvToMsRgb_U8(data, width, height, layout, null);
+			MultiSpectral<ImageFloat32> found = ConvertYuv420.yuvToMsRgb_F32(data, width, height, layout, null);
+			BoofTesting.assertEquals(expected,found,1e-8);
+
+			MultiSpectral<ImageFloat32> sub = BoofTesting.createSubImageOf(found);
+			ConvertYuv420.yuvToMsRgb_F32(data, width, height, layout, sub);
+			BoofTesting.assertEquals(found,sub,0);
+		}
+	}
+
+	@Test
+	public void yuvToInterleavedRgb() {
+		for( ConvertYuv420.Layout layout : ConvertYuv420.Layout.values() ) {
+			byte data[] = createData(width, height);
+
+			MultiSpectral<ImageUInt8> expected = ConvertYuv420.yuvToMsRgb_U8(data, width, height, layout, null);
+			InterleavedU8 found = ConvertYuv420.yuvToInterleavedRgb(data, width, height, layout, null);
+
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					for( int band = 0; band < 3; band++ )
+						assertEquals(expected.getBand(band).get(x,y),found.getBand(x,y,band));
+				}
+			}
+
+			InterleavedU8 sub = BoofTesting.createSubImageOf(found);
+			ConvertYuv420.yuvToInterleavedRgb(data, width, height, layout, sub);
+			BoofTesting.assertEquals(found,sub,0);
+		}
+	}
+
+	/**
+	 * Results should be identical when processed concurrently
+	 */
+	@Test
+	public void concurrent() {
+		int width = 60, height = 95;
+		byte data[] = createData(width, height);
+
+		MultiSpectral<ImageUInt8> expected = ConvertYuv420.yuvToMsRgb_U8(data, width, height, ConvertYuv420.Layout.NV21, null);
+		ImageFloat32 expectedGray = ConvertYuv420.yuvToGray(data, width, height, (ImageFloat32) null);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		Boolean previous = BoofConcurrency.override(true);
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			MultiSpectral<ImageUInt8> found = ConvertYuv420.yuvToMsRgb_U8(data, width, height, ConvertYuv420.Layout.NV21, null);
+			ImageFloat32 foundGray = ConvertYuv420.yuvToGray(data, width, height, (ImageFloat32) null);
+
+			BoofTesting.assertEquals(expected,found,0);
+			BoofTesting.assertEquals(expectedGray,foundGray,0);
+		} finally {
+			BoofConcurrency.override(previous);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	@Test
+	public void checkArguments() {
+		byte data[] = createData(width, height);
+
+		try {
+			ConvertYuv420.yuvToMsRgb_U8(new byte[data.length-1], width, height, ConvertYuv420.Layout.NV21, null);
+			fail("Data is too short");
+		} catch( IllegalArgumentException ignore ) {}
+
+		try {
+			ConvertYuv420.yuvToInterleavedRgb(data, width, height, ConvertYuv420.Layout.NV21, new InterleavedU8(width,height+1,3));
+			fail("Output has the wrong shape");
+		} catch( IllegalArgumentException ignore ) {}
+
+		try {
+			ConvertYuv420.yuvToInterleavedRgb(data, width, height, ConvertYuv420.Layout.NV21, new InterleavedU8(width,height,4));
+			fail("Output has the wrong number of bands");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	private byte[] createData( int width , int height ) {
+		byte data[] = new byte[ConvertYuv420.dataLength(width, height)];
+		rand.nextBytes(data);
+		return data;
+	}
+
+	/**
+	 * Looks up the chroma using an independent computation of its location and converts it into RGB
+	 */
+	private void expected( byte data[] , int x , int y , ConvertYuv420.Layout layout , byte rgb[] ) {
+		int sizeY = width*height;
+		int cw = (width+1)/2;
+		int ch = (height+1)/2;
+
+		int indexU,indexV;
+		switch( layout ) {
+			case NV21:
+				indexV = sizeY + (y/2)*cw*2 + (x/2)*2;
+				indexU = indexV + 1;
+				break;
+
+			case NV12:
+				indexU = sizeY + (y/2)*cw*2 + (x/2)*2;
+				indexV = indexU + 1;
+				break;
+
+			case I420:
+				indexU = sizeY + (y/2)*cw + x/2;
+				indexV = indexU + cw*ch;
+				break;
+
+			case YV12:
+				indexV = sizeY + (y/2)*cw + x/2;
+				indexU = indexV + cw*ch;
+				break;
+
+			default:
+				throw new RuntimeException("Unknown layout");
+		}
+
+		ColorYuv.ycbcrToRgb(data[y*width+x]&0xFF,data[indexU]&0xFF,data[indexV]&0xFF,rgb);
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.core.image;
+
+import boofcv.abst.filter.FilterImageInterface;
+import boofcv.abst.filter.FilterSequence;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageTileProcessor {
+
+	Random rand = new Random(234);
+
+	ImageTileProcessor.FilterFactory<ImageFloat32,ImageFloat32> factory =
+			new ImageTileProcessor.FilterFactory<ImageFloat32, ImageFloat32>() {
+		@Override
+		public FilterImageInterface<ImageFloat32, ImageFloat32> create() {
+			return new FilterSequence<ImageFloat32,ImageFloat32>(
+					FactoryBlurFilter.gaussian(ImageFloat32.class,-1,2),
+					FactoryBlurFilter.gaussian(ImageFloat32.class,-1,2));
+		}
+	};
+
+	/**
+	 * If the halo is large enough the results should be identical to processing the whole image
+	 */
+	@Test
+	public void compareToWholeImage() {
+		compareToWholeImage(false);
+		compareToWholeImage(true);
+	}
+
+	private void compareToWholeImage( boolean concurrent ) {
+		ImageFloat32 input = new ImageFloat32(60,45);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageFloat32 expected = new ImageFloat32(60,45);
+		factory.create().process(input,expected);
+
+		ImageFloat32 found = new ImageFloat32(60,45);
+		ImageTileProcessor<ImageFloat32,ImageFloat32> alg =
+				new ImageTileProcessor<ImageFloat32, ImageFloat32>(17,13,4,factory);
+
+		Boolean previous = BoofConcurrency.override(concurrent);
+		try {
+			alg.process(input, found);
+		} finally {
+			BoofConcurrency.override(previous);
+		}
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	/**
+	 * Make sure sub-images are handled correctly
+	 */
+	@Test
+	public void subimage() {
+		ImageFloat32 input = new ImageFloat32(30,25);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageFloat32 expected = new ImageFloat32(30,25);
+		new ImageTileProcessor<ImageFloat32, ImageFloat32>(8,9,4,factory).process(input, expected);
+
+		ImageFloat32 inputSub = BoofTesting.createSubImageOf(input);
+		ImageFloat32 found = BoofTesting.createSubImageOf(new ImageFloat32(30,25));
+		new ImageTileProcessor<ImageFloat32, ImageFloat32>(8,9,4,factory).process(inputSub, found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	/**
+	 * Without a halo the tile borders should be visible
+	 */
+	@Test
+	public void noHalo() {
+		ImageFloat32 input = new ImageFloat32(30,25);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageFloat32 expected = new ImageFloat32(30,25);
+		factory.create().process(input,expected);
+
+		ImageFloat32 found = new ImageFloat32(30,25);
+		new ImageTileProcessor<ImageFloat32, ImageFloat32>(10,10,0,factory).process(input, found);
+
+		// just inside the first tile's right border
+		assertEquals(true, Math.abs(expected.get(9, 5) - found.get(9, 5)) > 1e-4f);
+		// center of the first tile
+		assertEquals(expected.get(5, 5), found.get(5, 5), 1e-4f);
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.image.border;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImagePadded {
+
+	Random rand = new Random(234);
+
+	Class types[] = new Class[]{ImageUInt8.class,ImageFloat32.class};
+	BorderType borders[] = new BorderType[]{BorderType.EXTENDED,BorderType.REFLECT,BorderType.WRAP};
+
+	/**
+	 * Compare the margin against the values returned by {@link ImageBorder}
+	 */
+	@Test
+	public void compareToImageBorder() {
+		for( Class type : types ) {
+			ImageSingleBand input = GeneralizedImageOps.createSingleBand(type,15,12);
+			GImageMiscOps.fillUniform(input,rand,0,100);
+
+			BoofTesting.checkSubImage(this,"compareToImageBorder",false,input);
+		}
+	}
+
+	public void compareToImageBorder( ImageSingleBand input ) {
+		for( BorderType borderType : borders ) {
+			ImagePadded alg = new ImagePadded(input.getClass(),4,borderType);
+			alg.setTo(input);
+
+			checkMargin(alg,FactoryImageBorder.general(input,borderType));
+		}
+	}
+
+	@Test
+	public void valueBorder() {
+		ImageFloat32 input = new ImageFloat32(10,8);
+		GImageMiscOps.fillUniform(input,rand,0,100);
+
+		ImagePadded<ImageFloat32> alg = new ImagePadded<ImageFloat32>(ImageFloat32.class,3,2.5);
+		alg.setTo(input);
+
+		checkMargin(alg,FactoryImageBorder.value(input,2.5));
+	}
+
+	/**
+	 * The margin is wider than the image
+	 */
+	@Test
+	public void borderLargerThanImage() {
+		ImageFloat32 input = new ImageFloat32(3,2);
+		GImageMiscOps.fillUniform(input,rand,0,100);
+
+		for( BorderType borderType : borders ) {
+			ImagePadded<ImageFloat32> alg = new ImagePadded<ImageFloat32>(ImageFloat32.class,7,borderType);
+			alg.setTo(input);
+
+			ImageFloat32 padded = alg.getPadded();
+			for( int y = 0; y < padded.height; y++ ) {
+				for( int x = 0; x < padded.width; x++ ) {
+					float value = padded.get(x,y);
+					boolean found = false;
+					for( int i = 0; i < input.data.length; i++ )
+						found |= input.data[i] == value;
+					assertTrue(found);
+				}
+			}
+			// extended border is easy to check
+			if( borderType == BorderType.EXTENDED ) {
+				assertEquals(input.get(0,0),padded.get(0,0),1e-8);
+				assertEquals(input.get(2,1),padded.get(padded.width-1,padded.height-1),1e-8);
+			}
+		}
+	}
+
+	/**
+	 * Reuse the same instance for images of different sizes
+	 */
+	@Test
+	public void reuse() {
+		ImagePadded<ImageUInt8> alg = new ImagePadded<ImageUInt8>(ImageUInt8.class,2,BorderType.EXTENDED);
+
+		for( int size = 10; size >= 4; size -= 3 ) {
+			ImageUInt8 input = new ImageUInt8(size,size+2);
+			GImageMiscOps.fillUniform(input,rand,0,100);
+
+			alg.setTo(input);
+			assertEquals(size,alg.getImage().width);
+			assertEquals(size+2,alg.getImage().height);
+			assertEquals(size+4,alg.getPadded().width);
+			BoofTesting.assertEquals(input,alg.getImage(),0);
+			checkMargin(alg,FactoryImageBorder.general(input,BorderType.EXTENDED));
+		}
+	}
+
+	/**
+	 * After the image is modified the margin should be updated by fillBorder()
+	 */
+	@Test
+	public void fillBorder() {
+		ImageFloat32 input = new ImageFloat32(10,8);
+		ImagePadded<ImageFloat32> alg = new ImagePadded<ImageFloat32>(ImageFloat32.class,3,BorderType.REFLECT);
+		alg.setTo(input);
+
+		GImageMiscOps.fillUniform(alg.getImage(),rand,0,100);
+		alg.fillBorder();
+
+		checkMargin(alg,FactoryImageBorder.general(alg.getImage().clone(),BorderType.REFLECT));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unsupportedBorder() {
+		new ImagePadded<ImageFloat32>(ImageFloat32.class,3,BorderType.NORMALIZED);
+	}
+
+	private void checkMargin( ImagePadded alg , ImageBorder border ) {
+		ImageSingleBand padded = alg.getPadded();
+		int b = alg.getBorder();
+
+		for( int y = 0; y < padded.height; y++ ) {
+			for( int x = 0; x < padded.width; x++ ) {
+				double expected = border.getGeneral(x-b,y-b);
+				double found = GeneralizedImageOps.get(padded,x,y);
+				assertEquals(x+" "+y,expected,found,1e-4);
+			}
+		}
+	}
+}
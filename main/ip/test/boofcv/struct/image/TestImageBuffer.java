@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageBuffer {
+
+	@Test
+	public void constructor() {
+		BufferS16 img = new BufferS16(10,20);
+
+		assertEquals(10,img.width);
+		assertEquals(20,img.height);
+		assertEquals(10,img.stride);
+		assertEquals(0,img.startIndex);
+		assertTrue(img.buffer.isDirect());
+		assertEquals(ByteOrder.nativeOrder(),img.buffer.order());
+		assertEquals(10*20*2,img.buffer.capacity());
+	}
+
+	@Test
+	public void get_set() {
+		BufferU8 a = new BufferU8(10,20);
+		a.set(2,3,200);
+		assertEquals(200,a.get(2,3));
+		assertEquals((byte)200,a.buffer.get(3*10+2));
+
+		BufferS16 b = new BufferS16(10,20);
+		b.set(2,3,-1200);
+		assertEquals(-1200,b.get(2,3));
+
+		BufferF32 c = new BufferF32(10,20);
+		c.set(2,3,2.5f);
+		assertEquals(2.5f,c.get(2,3),1e-8f);
+		assertEquals(2.5f,c.buffer.getFloat((3*10+2)*4),1e-8f);
+	}
+
+	@Test
+	public void accessorBounds() {
+		BufferU8 img = new BufferU8(10,20);
+
+		checkException(img,-1,0);
+		checkException(img,0,-1);
+		checkException(img,10,0);
+		checkException(img,0,20);
+	}
+
+	private void checkException( BufferU8 img , int x , int y ) {
+		try {
+			img.get(x,y);
+			fail("Exception should have been thrown");
+		} catch( ImageAccessException ignore ) {}
+		try {
+			img.set(x,y,1);
+			fail("Exception should have been thrown");
+		} catch( ImageAccessException ignore ) {}
+	}
+
+	/**
+	 * Wrap a buffer which has padding at the end of each row and doesn't start at zero
+	 */
+	@Test
+	public void wrap() {
+		int width = 5, height = 4, stride = 7;
+		ByteBuffer raw = ByteBuffer.allocateDirect(6+stride*height*2).order(ByteOrder.LITTLE_ENDIAN);
+		raw.position(6);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < stride; x++ ) {
+				raw.putShort(6+(y*stride+x)*2,(short)(y*100+x));
+			}
+		}
+
+		BufferS16 img = new BufferS16();
+		img.wrap(raw,width,height,stride);
+
+		assertEquals(width,img.width);
+		assertEquals(height,img.height);
+		assertEquals(stride,img.stride);
+		assertEquals(ByteOrder.LITTLE_ENDIAN,img.buffer.order());
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(y*100+x,img.get(x,y));
+			}
+		}
+
+		// changes are visible in the original buffer
+		img.set(1,2,-5);
+		assertEquals(-5,raw.getShort(6+(2*stride+1)*2));
+	}
+
+	@Test
+	public void wrap_tooSmall() {
+		try {
+			new BufferF32().wrap(ByteBuffer.allocateDirect(4*10),3,4,3);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+		try {
+			new BufferF32().wrap(ByteBuffer.allocateDirect(4*100),5,4,3);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	@Test
+	public void subimage() {
+		BufferF32 img = new BufferF32(10,20);
+		for( int i = 0; i < 200; i++ )
+			img.data.put(i,i);
+
+		BufferF32 sub = img.subimage(2,3,5,7,null);
+
+		assertTrue(sub.isSubimage());
+		assertTrue(sub.buffer == img.buffer);
+		assertEquals(3,sub.width);
+		assertEquals(4,sub.height);
+		assertEquals(img.get(2,3),sub.get(0,0),1e-8f);
+		assertEquals(img.get(4,6),sub.get(2,3),1e-8f);
+
+		sub.set(1,1,-2);
+		assertEquals(-2,img.get(3,4),1e-8f);
+	}
+
+	@Test
+	public void reshape() {
+		BufferU8 img = new BufferU8(10,20);
+		ByteBuffer orig = img.buffer;
+
+		img.reshape(5,6);
+		assertTrue(orig == img.buffer);
+		assertEquals(5,img.width);
+		assertEquals(6,img.height);
+		assertEquals(5,img.stride);
+
+		img.reshape(30,20);
+		assertTrue(orig != img.buffer);
+		assertEquals(30*20,img.buffer.capacity());
+
+		try {
+			img.subimage(0,0,2,2,null).reshape(1,1);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	@Test
+	public void setTo() {
+		BufferS16 a = new BufferS16(10,20);
+		for( int i = 0; i < 200; i++ )
+			a.data.put(i,(short)i);
+
+		// copy into a sub-image
+		BufferS16 b = new BufferS16(15,25).subimage(2,3,12,23,null);
+		b.setTo(a);
+		for( int y = 0; y < 20; y++ ) {
+			for( int x = 0; x < 10; x++ ) {
+				assertEquals(a.get(x,y),b.get(x,y));
+			}
+		}
+
+		// copy from a sub-image
+		BufferS16 c = new BufferS16(10,20);
+		c.setTo(b);
+		for( int y = 0; y < 20; y++ ) {
+			for( int x = 0; x < 10; x++ ) {
+				assertEquals(a.get(x,y),c.get(x,y));
+			}
+		}
+	}
+
+	@Test
+	public void dataType() {
+		assertEquals(ImageDataType.U8,ImageDataType.classToType(BufferU8.class));
+		assertEquals(ImageDataType.S16,ImageDataType.classToType(BufferS16.class));
+		assertEquals(ImageDataType.F32,ImageDataType.classToType(BufferF32.class));
+		assertEquals(1,new BufferU8().getBytesPerPixel());
+		assertEquals(2,new BufferS16().getBytesPerPixel());
+		assertEquals(4,new BufferF32().getBytesPerPixel());
+	}
+
+	@Test
+	public void imageType() {
+		ImageBuffer[] images = new ImageBuffer[]{new BufferU8(5,6),new BufferS16(),new BufferF32(5,6)};
+
+		for( ImageBuffer image : images ) {
+			ImageType type = image.getImageType();
+			assertTrue(type != null);
+			assertEquals(ImageType.Family.BUFFER,type.getFamily());
+			assertEquals(image.getDataType(),type.getDataType());
+			assertTrue(image.getClass() == type.getImageClass());
+
+			ImageBuffer created = (ImageBuffer)type.createImage(3,4);
+			assertTrue(image.getClass() == created.getClass());
+			assertEquals(3,created.width);
+			assertEquals(4,created.height);
+		}
+	}
+}
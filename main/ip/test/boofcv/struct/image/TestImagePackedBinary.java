@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImagePackedBinary {
+
+	@Test
+	public void constructor() {
+		ImagePackedBinary a = new ImagePackedBinary(65,3);
+		assertEquals(65,a.width);
+		assertEquals(3,a.height);
+		assertEquals(2,a.stride);
+		assertEquals(6,a.data.length);
+	}
+
+	@Test
+	public void get_set() {
+		ImagePackedBinary a = new ImagePackedBinary(130,4);
+
+		a.set(0,0,1);
+		a.set(63,1,1);
+		a.set(64,1,1);
+		a.set(129,3,5);
+
+		assertEquals(1,a.get(0,0));
+		assertEquals(1,a.get(63,1));
+		assertEquals(1,a.get(64,1));
+		assertEquals(1,a.get(129,3));
+		assertEquals(0,a.get(1,0));
+		assertEquals(0,a.get(65,1));
+
+		assertEquals(1L,a.data[0]);
+		assertEquals(1L << 63,a.data[3]);
+		assertEquals(1L,a.data[4]);
+
+		a.set(64,1,0);
+		assertEquals(0,a.get(64,1));
+		assertEquals(0L,a.data[4]);
+	}
+
+	@Test(expected=ImageAccessException.class)
+	public void get_outOfBounds() {
+		new ImagePackedBinary(10,4).get(10,0);
+	}
+
+	@Test
+	public void reshape() {
+		ImagePackedBinary a = new ImagePackedBinary(130,4);
+		long data[] = a.data;
+
+		a.reshape(20,10);
+		assertTrue(data == a.data);
+		assertEquals(1,a.stride);
+
+		a.reshape(200,10);
+		assertTrue(data != a.data);
+		assertEquals(4,a.stride);
+	}
+
+	@Test
+	public void getLastWordMask() {
+		assertEquals(0x01L,new ImagePackedBinary(1,1).getLastWordMask());
+		assertEquals(0x07L,new ImagePackedBinary(67,1).getLastWordMask());
+		assertEquals(~0L,new ImagePackedBinary(64,1).getLastWordMask());
+	}
+
+	@Test
+	public void setTo_clone() {
+		ImagePackedBinary a = new ImagePackedBinary(70,4);
+		a.set(65,2,1);
+
+		ImagePackedBinary b = a.clone();
+		assertEquals(70,b.width);
+		assertEquals(1,b.get(65,2));
+
+		ImagePackedBinary c = new ImagePackedBinary(5,5);
+		c.setTo(a);
+		assertEquals(70,c.width);
+		assertEquals(4,c.height);
+		assertEquals(1,c.get(65,2));
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageWorkspace {
+
+	@Test
+	public void borrow_declare() {
+		ImageWorkspace alg = new ImageWorkspace();
+
+		ImageFloat32 a = alg.borrow(ImageFloat32.class, 20, 30);
+		assertEquals(20,a.width);
+		assertEquals(30,a.height);
+
+		MultiSpectral<ImageUInt8> b = alg.borrow(ImageType.ms(3, ImageUInt8.class), 10, 15);
+		assertEquals(3,b.getNumBands());
+		assertEquals(10,b.width);
+		assertEquals(15,b.height);
+
+		assertEquals(2,alg.getAllocations());
+		assertEquals(2,alg.getBorrowed());
+		assertEquals(0,alg.getRecycled());
+	}
+
+	@Test
+	public void borrow_reuse() {
+		ImageWorkspace alg = new ImageWorkspace();
+
+		ImageFloat32 a = alg.borrow(ImageFloat32.class, 20, 30);
+		alg.recycle(a);
+		assertEquals(1,alg.getAvailable());
+
+		ImageFloat32 b = alg.borrow(ImageFloat32.class, 20, 30);
+		assertTrue(a == b);
+		assertEquals(0,alg.getAvailable());
+
+		assertEquals(1,alg.getAllocations());
+		assertEquals(2,alg.getBorrowed());
+		assertEquals(1,alg.getRecycled());
+	}
+
+	/**
+	 * Images of a different type or shape should not be returned
+	 */
+	@Test
+	public void borrow_differentKey() {
+		ImageWorkspace alg = new ImageWorkspace();
+
+		ImageFloat32 a = alg.borrow(ImageFloat32.class, 20, 30);
+		alg.recycle(a);
+
+		assertTrue(a != alg.borrow(ImageFloat32.class, 30, 20));
+		assertTrue(a != alg.borrow(ImageFloat32.class, 20, 31));
+		assertTrue((Object)a != alg.borrow(ImageType.ms(1, ImageFloat32.class), 20, 30));
+		ImageUInt8 c = alg.borrow(ImageUInt8.class, 20, 30);
+		assertTrue(c.getClass() == ImageUInt8.class);
+
+		assertEquals(5,alg.getAllocations());
+		assertEquals(1,alg.getAvailable());
+	}
+
+	@Test
+	public void borrowLike() {
+		ImageWorkspace alg = new ImageWorkspace();
+
+		ImageUInt8 orig = new ImageUInt8(12,13);
+		alg.recycle(orig);
+
+		ImageUInt8 found = alg.borrowLike(new ImageUInt8(12,13));
+		assertTrue(orig == found);
+		assertEquals(0,alg.getAllocations());
+	}
+
+	@Test
+	public void recycle_subimage() {
+		ImageWorkspace alg = new ImageWorkspace();
+
+		ImageUInt8 orig = new ImageUInt8(12,13);
+		try {
+			alg.recycle(orig.subimage(0,0,5,5,null));
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+
+		// null is silently ignored
+		alg.recycle((ImageBase)null);
+		assertEquals(0,alg.getRecycled());
+	}
+
+	/**
+	 * Recycling the same image twice would let two callers borrow it at once
+	 */
+	@Test
+	public void recycle_twice() {
+		ImageWorkspace alg = new ImageWorkspace();
+
+		ImageUInt8 a = alg.borrow(ImageUInt8.class,12,13);
+		alg.recycle(a);
+		try {
+			alg.recycle(a);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+		assertEquals(1,alg.getRecycled());
+
+		// only one copy is in the workspace
+		assertTrue(a == alg.borrow(ImageUInt8.class,12,13));
+		assertTrue(a != alg.borrow(ImageUInt8.class,12,13));
+	}
+
+	@Test
+	public void clear_resetCounters() {
+		ImageWorkspace alg = new ImageWorkspace();
+
+		alg.recycle(alg.borrow(ImageUInt8.class,5,6),alg.borrow(ImageUInt8.class,5,6));
+		assertEquals(2,alg.getAvailable());
+
+		alg.clear();
+		assertEquals(0,alg.getAvailable());
+
+		alg.resetCounters();
+		assertEquals(0,alg.getAllocations());
+		assertEquals(0,alg.getBorrowed());
+		assertEquals(0,alg.getRecycled());
+	}
+}
@@ -19,8 +19,10 @@
 package boofcv.struct.pyramid;
 
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.ImageWorkspace;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
@@ -103,6 +105,39 @@ public class TestImagePyramidBase {
 		assertTrue(pyramid.layers[0] != null);
 	}
 
+	/**
+	 * Layers should be borrowed from the workspace and recycled when the shape changes
+	 */
+	@Test
+	public void initialize_workspace() {
+		ImageWorkspace workspace = new ImageWorkspace();
+
+		Dummy pyramid = new Dummy(ImageUInt8.class,true);
+		pyramid.setWorkspace(workspace);
+		pyramid.setScaleFactors(1,2,4);
+		pyramid.initialize(100,120);
+
+		// the first layer references the input image and is not declared
+		assertTrue(pyramid.layers[0] == null);
+		assertEquals(2,workspace.getAllocations());
+		ImageBase layer1 = pyramid.getLayer(1);
+
+		// switch back and forth between two shapes
+		pyramid.initialize(50,60);
+		assertEquals(2,workspace.getRecycled());
+		// the old 25x30 layer is reused
+		assertEquals(3,workspace.getAllocations());
+		pyramid.initialize(100,120);
+		assertTrue(layer1 == pyramid.getLayer(1));
+
+		// steady state has been reached and no more images should be declared
+		for( int i = 0; i < 5; i++ ) {
+			pyramid.initialize(50,60);
+			pyramid.initialize(100,120);
+		}
+		assertEquals(3,workspace.getAllocations());
+	}
+
 	@Test
 	public void getWidth_Height() {
 		Dummy pyramid = new Dummy(ImageUInt8.class,false);
@@ -158,6 +193,9 @@ public class TestImagePyramidBase {
 		@Override
 		public void process(ImageBase input) {}
 
+		@Override
+		protected void computeLayer(int layer, ImageRectangle region) {}
+
 		@Override
 		public double getScale(int layer) {
 			return scales[layer];
@@ -18,6 +18,7 @@
 
 package boofcv.struct.pyramid;
 
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
 import org.junit.Test;
@@ -81,6 +82,9 @@ public class TestPyramidDiscrete {
 		@Override
 		public void process(T input) {}
 
+		@Override
+		protected void computeLayer(int layer, ImageRectangle region) {}
+
 		@Override
 		public double getSampleOffset(int layer) {return 0;}
 
@@ -18,6 +18,7 @@
 
 package boofcv.struct.pyramid;
 
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
 import org.junit.Test;
@@ -67,6 +68,9 @@ public class TestPyramidFloat {
 		@Override
 		public void process(T input) {}
 
+		@Override
+		protected void computeLayer(int layer, ImageRectangle region) {}
+
 		@Override
 		public double getSampleOffset(int layer) {return 0;}
 